@@ -0,0 +1,105 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.logic.Term;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.helper.FindResources;
+
+/**
+ * Access to the fixed problems of the example collection which are used by the benchmarks. The
+ * location of the examples is determined by {@link FindResources#getExampleDirectory()}, i.e., it
+ * can be set using the system property {@code KEY_EXAMPLES_DIR}.
+ */
+final class BenchmarkProblems {
+    /** a small arithmetic problem without Java code */
+    static final String CUBIC_SUM = "standard_key/arith/cubicSum.key";
+
+    /** the proof obligation of a JML contract of a method searching in an array */
+    static final String BINARY_SEARCH = "firstTouch/06-BinarySearch/project.key";
+
+    /** a closed proof of a JML contract of a method reversing an array */
+    static final String REVERSE_ARRAY_PROOF = "firstTouch/05-ReverseArray/reverseArray.proof";
+
+    /** a closed proof of a JML contract with quantifiers */
+    static final String PERMUTED_SUM_PROOF = "heap/permutedSum/perm.proof";
+
+    private BenchmarkProblems() {
+    }
+
+    /**
+     * Resolves a problem relative to the example directory.
+     *
+     * @param path the path relative to the example directory
+     * @return the problem file
+     */
+    static File file(String path) {
+        final File examples = FindResources.getExampleDirectory();
+        if (examples == null) {
+            throw new IllegalStateException(
+                "Could not find the examples directory, set the property KEY_EXAMPLES_DIR.");
+        }
+        final File file = new File(examples, path);
+        if (!file.exists()) {
+            throw new IllegalStateException("Benchmark problem not found: " + file);
+        }
+        return file;
+    }
+
+    /**
+     * Loads a problem (or proof) of the example directory.
+     *
+     * @param path the path relative to the example directory
+     * @return the environment containing the loaded proof
+     * @throws ProblemLoaderException if loading fails
+     */
+    static KeYEnvironment<?> load(String path) throws ProblemLoaderException {
+        return KeYEnvironment.load(file(path));
+    }
+
+    /**
+     * Continues the given proof using its strategy for at most the given number of rule
+     * applications. As the strategy is deterministic, this always results in the same proof.
+     *
+     * @param proof the proof to continue
+     * @param steps the maximal number of rule applications
+     */
+    static void advance(Proof proof, int steps) {
+        final ProofStarter starter = new ProofStarter(false);
+        starter.init(proof);
+        starter.setMaxRuleApplications(steps);
+        starter.start();
+    }
+
+    /**
+     * Collects all subterms of all formulas of the given sequent (in pre-order).
+     *
+     * @param sequent the sequent
+     * @return the list of subterms, may contain duplicates
+     */
+    static List<Term> subterms(Sequent sequent) {
+        final List<Term> result = new ArrayList<>();
+        for (SequentFormula sf : sequent) {
+            collect(sf.formula(), result);
+        }
+        return result;
+    }
+
+    private static void collect(Term term, List<Term> result) {
+        result.add(term);
+        for (int i = 0; i < term.arity(); i++) {
+            collect(term.sub(i), result);
+        }
+    }
+}
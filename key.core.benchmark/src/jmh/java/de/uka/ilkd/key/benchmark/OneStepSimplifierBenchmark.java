@@ -0,0 +1,110 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.benchmark;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.OneStepSimplifier;
+import de.uka.ilkd.key.rule.OneStepSimplifierRuleApp;
+import de.uka.ilkd.key.util.MiscTools;
+
+import org.key_project.logic.PosInTerm;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures {@link OneStepSimplifier#apply} on a realistic sequent: the proof is continued by the
+ * strategy for {@link #AUTO_MODE_STEPS} steps and then pruned back to the last node at which the
+ * strategy applied the simplifier. The application is undone by pruning after each invocation,
+ * hence the benchmark includes the (warm) caches of the simplifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OneStepSimplifierBenchmark {
+    private static final int AUTO_MODE_STEPS = 200;
+
+    @Param({ BenchmarkProblems.CUBIC_SUM, BenchmarkProblems.BINARY_SEARCH })
+    public String problem;
+
+    private KeYEnvironment<?> env;
+    private Services services;
+    private Proof proof;
+    private Node node;
+    private OneStepSimplifier simplifier;
+
+    private Goal goal;
+    private OneStepSimplifierRuleApp app;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        env = BenchmarkProblems.load(problem);
+        services = env.getLoadedProof().getServices();
+        proof = env.getLoadedProof();
+        simplifier = MiscTools.findOneStepSimplifier(proof);
+        if (simplifier == null) {
+            throw new IllegalStateException("The profile has no one step simplifier.");
+        }
+        BenchmarkProblems.advance(proof, AUTO_MODE_STEPS);
+        node = lastSimplification(proof);
+        proof.pruneProof(node);
+    }
+
+    /**
+     * @return the node with the highest serial number at which the simplifier has been applied,
+     *         or the root if there is none
+     */
+    private Node lastSimplification(Proof proof) {
+        Node result = proof.root();
+        final Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            final Node n = it.next();
+            if (n.getAppliedRuleApp() != null && n.getAppliedRuleApp().rule() == simplifier
+                    && n.serialNr() > result.serialNr()) {
+                result = n;
+            }
+        }
+        return result;
+    }
+
+    @Setup(Level.Invocation)
+    public void createApp() {
+        goal = proof.getOpenGoal(node);
+        app = null;
+        for (SequentFormula sf : goal.sequent()) {
+            final boolean inAntec = goal.sequent().antecedent().contains(sf);
+            final PosInOccurrence pio =
+                new PosInOccurrence(sf, PosInTerm.getTopLevel(), inAntec);
+            if (simplifier.isApplicable(goal, pio)) {
+                app = simplifier.createApp(pio, services);
+                return;
+            }
+        }
+        throw new IllegalStateException("No formula of " + problem + " can be simplified.");
+    }
+
+    @TearDown(Level.Invocation)
+    public void undo() {
+        proof.pruneProof(node);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        env.dispose();
+    }
+
+    @Benchmark
+    public ImmutableList<Goal> apply() {
+        return simplifier.apply(goal, app);
+    }
+}
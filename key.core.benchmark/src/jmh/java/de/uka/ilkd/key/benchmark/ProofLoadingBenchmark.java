@@ -0,0 +1,38 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures loading and replaying of saved proofs, i.e., parsing of the problem and the proof
+ * script and the re-application of all rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ProofLoadingBenchmark {
+    @Param({ BenchmarkProblems.REVERSE_ARRAY_PROOF, BenchmarkProblems.PERMUTED_SUM_PROOF })
+    public String proofFile;
+
+    @Benchmark
+    public int loadAndReplay() throws ProblemLoaderException {
+        final KeYEnvironment<?> env = BenchmarkProblems.load(proofFile);
+        try {
+            if (!env.getLoadedProof().closed()) {
+                throw new IllegalStateException(proofFile + " could not be replayed");
+            }
+            return env.getLoadedProof().countNodes();
+        } finally {
+            env.dispose();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.strategy.QueueRuleApplicationManager;
+
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.strategy.RuleApplicationManager;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the selection of the next rule application by {@link QueueRuleApplicationManager}:
+ * {@link #peek()} rebuilds the queue of rule applications from the rule app index and evaluates
+ * the costs of all of them, {@link #next()} takes the cheapest application from an existing queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RuleApplicationManagerBenchmark {
+    @Param({ BenchmarkProblems.CUBIC_SUM, BenchmarkProblems.BINARY_SEARCH })
+    public String problem;
+
+    private KeYEnvironment<?> env;
+    private Goal goal;
+
+    /** a copy of the manager of {@link #goal} with a filled queue, used by {@link #next()} */
+    private RuleApplicationManager<Goal> filled;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        env = BenchmarkProblems.load(problem);
+        goal = env.getLoadedProof().openGoals().head();
+        if (!(goal.getRuleAppManager() instanceof QueueRuleApplicationManager)) {
+            throw new IllegalStateException("Unexpected rule application manager: "
+                + goal.getRuleAppManager().getClass());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fillQueue() {
+        goal.getRuleAppManager().peekNext();
+        filled = goal.getRuleAppManager().copy();
+        filled.setGoal(goal);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        env.dispose();
+    }
+
+    @Benchmark
+    public RuleApp peek() {
+        goal.getRuleAppManager().clearCache();
+        return goal.getRuleAppManager().peekNext();
+    }
+
+    @Benchmark
+    public RuleApp next() {
+        return filled.next();
+    }
+}
@@ -0,0 +1,57 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.DefaultSMTSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.smt.SMTSettings;
+import de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator;
+
+import org.key_project.prover.sequent.Sequent;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the translation of the sequent of the first open goal of a proof to SMT-LIB 2 by the
+ * {@link ModularSMTLib2Translator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SMTTranslationBenchmark {
+    @Param({ BenchmarkProblems.CUBIC_SUM, BenchmarkProblems.BINARY_SEARCH })
+    public String problem;
+
+    private KeYEnvironment<?> env;
+    private Services services;
+    private Sequent sequent;
+    private SMTSettings settings;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        env = BenchmarkProblems.load(problem);
+        final Proof proof = env.getLoadedProof();
+        services = proof.getServices();
+        sequent = proof.openGoals().head().sequent();
+        settings = new DefaultSMTSettings(proof.getSettings().getSMTSettings(),
+            ProofIndependentSettings.DEFAULT_INSTANCE.getSMTSettings(),
+            proof.getSettings().getNewSMTSettings(), proof);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        env.dispose();
+    }
+
+    @Benchmark
+    public CharSequence translate() {
+        // a new translator for each invocation as translators are not reusable
+        return new ModularSMTLib2Translator().translateProblem(sequent, services, settings);
+    }
+}
@@ -0,0 +1,75 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.TacletAppIndex;
+
+import org.key_project.prover.sequent.SequentChangeInfo;
+import org.key_project.prover.sequent.SequentFormula;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the creation of a {@link TacletAppIndex} for the sequent of the first open goal of a
+ * proof and the update of an index after a formula has been added to the sequent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TacletAppIndexBenchmark {
+    @Param({ BenchmarkProblems.CUBIC_SUM, BenchmarkProblems.BINARY_SEARCH })
+    public String problem;
+
+    private KeYEnvironment<?> env;
+    private Services services;
+    private Goal goal;
+
+    /** a filled index for the sequent of {@link #goal}, used by {@link #update()} */
+    private TacletAppIndex index;
+
+    /** adds the first succedent formula to the antecedent of the sequent of {@link #goal} */
+    private SequentChangeInfo change;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        env = BenchmarkProblems.load(problem);
+        services = env.getLoadedProof().getServices();
+        goal = env.getLoadedProof().openGoals().head();
+        final SequentFormula formula = goal.sequent().succedent().get(0);
+        change = goal.sequent().addFormula(new SequentFormula(formula.formula()), true, true);
+    }
+
+    @Setup(Level.Invocation)
+    public void createIndex() {
+        index = create();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        env.dispose();
+    }
+
+    /**
+     * Creates a new index with its own index cache, so that the index is computed from scratch.
+     */
+    @Benchmark
+    public TacletAppIndex create() {
+        final TacletAppIndex result = new TacletAppIndex(goal.indexOfTaclets(), goal, services);
+        result.clearAndDetachCache();
+        result.fillCache();
+        return result;
+    }
+
+    @Benchmark
+    public TacletAppIndex update() {
+        index.sequentChanged(change);
+        index.fillCache();
+        return index;
+    }
+}
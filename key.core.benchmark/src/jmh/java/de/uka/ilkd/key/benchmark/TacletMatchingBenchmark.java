@@ -0,0 +1,68 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.match.vm.VMTacletMatcher;
+
+import org.key_project.logic.Term;
+import org.key_project.prover.rules.TacletMatcher;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the matching of the find parts of all taclets of a proof against all subterms of the
+ * sequent of its first open goal using {@link VMTacletMatcher#matchFind}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TacletMatchingBenchmark {
+    @Param({ BenchmarkProblems.CUBIC_SUM, BenchmarkProblems.BINARY_SEARCH })
+    public String problem;
+
+    private KeYEnvironment<?> env;
+    private Services services;
+    private List<TacletMatcher> matchers;
+    private List<Term> terms;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        env = BenchmarkProblems.load(problem);
+        services = env.getLoadedProof().getServices();
+        final Goal goal = env.getLoadedProof().openGoals().head();
+        matchers = new ArrayList<>();
+        for (NoPosTacletApp app : goal.indexOfTaclets().allNoPosTacletApps()) {
+            if (app.taclet() instanceof FindTaclet) {
+                matchers.add(app.taclet().getMatcher());
+            }
+        }
+        terms = BenchmarkProblems.subterms(goal.sequent());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        env.dispose();
+    }
+
+    @Benchmark
+    public void matchFind(Blackhole bh) {
+        for (TacletMatcher matcher : matchers) {
+            for (Term term : terms) {
+                bh.consume(
+                    matcher.matchFind(term, MatchConditions.EMPTY_MATCHCONDITIONS, services));
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.ldt.IntegerLDT;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.TermFactory;
+import de.uka.ilkd.key.logic.op.JFunction;
+
+import org.key_project.util.ConcurrentLRUCache;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the creation of terms by {@link TermFactory#createTerm}, with and without the term cache
+ * of the proof environment. Half of the created terms are equal to previously created ones, so the
+ * cached variant profits from the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TermFactoryBenchmark {
+    private static final int NUMBER_OF_LEAVES = 64;
+
+    /** whether the factory uses a term cache */
+    @Param({ "true", "false" })
+    public boolean cached;
+
+    private KeYEnvironment<?> env;
+    private TermFactory factory;
+    private JFunction add;
+    private JFunction mul;
+    private Term[] leaves;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        env = BenchmarkProblems.load(BenchmarkProblems.CUBIC_SUM);
+        final Services services = env.getLoadedProof().getServices();
+        final IntegerLDT integerLDT = services.getTypeConverter().getIntegerLDT();
+        add = integerLDT.getAdd();
+        mul = integerLDT.getMul();
+        leaves = new Term[NUMBER_OF_LEAVES];
+        for (int i = 0; i < leaves.length; i++) {
+            leaves[i] = services.getTermBuilder().zTerm(i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createFactory() {
+        factory = cached ? new TermFactory(new ConcurrentLRUCache<>(20000)) : new TermFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        env.dispose();
+    }
+
+    @Benchmark
+    public void createTerms(Blackhole bh) {
+        for (int i = 0; i < NUMBER_OF_LEAVES; i++) {
+            // the second half creates the same terms as the first one
+            final int j = i % (NUMBER_OF_LEAVES / 2);
+            final Term product = factory.createTerm(mul, leaves[j], leaves[j + 1]);
+            bh.consume(factory.createTerm(add, product, leaves[NUMBER_OF_LEAVES - 1 - j]));
+        }
+    }
+}
@@ -3,6 +3,7 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.symbolic_execution;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -12,6 +13,11 @@ import org.key_project.util.java.XMLUtil;
 /**
  * Provides the basic functionality for classes like {@link ExecutionNodeWriter} and
  * {@link SymbolicLayoutWriter} which encodes an object structure as XML.
+ * <p>
+ * The XML is appended piece by piece to an {@link Appendable}, which is a {@link StringBuilder}
+ * when the XML is requested as {@link String} and a buffered {@link java.io.Writer} when it is
+ * written into an {@link java.io.OutputStream}. In the latter case the XML is never kept in memory
+ * as a whole.
  *
  * @author Martin Hentschel
  */
@@ -42,99 +48,116 @@ public abstract class AbstractWriter {
     public static final String ATTRIBUTE_XML_ID = "xml:id";
 
     /**
-     * Appends an empty tag to the given {@link StringBuilder}.
+     * Appends an empty tag to the given {@link Appendable}.
      *
      * @param level The level.
      * @param tagName The tag name.
      * @param attributeValues The attributes.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendEmptyTag(int level, String tagName, Map<String, String> attributeValues,
-            StringBuilder sb) {
-        XMLUtil.appendEmptyTag(level, tagName, attributeValues, sb);
+            Appendable out) throws IOException {
+        appendWhiteSpace(level, out);
+        out.append("<");
+        out.append(tagName);
+        for (Entry<String, String> entry : attributeValues.entrySet()) {
+            appendAttribute(entry.getKey(), entry.getValue(), out);
+        }
+        out.append("/>");
+        appendNewLine(out);
     }
 
     /**
-     * Appends a start tag to the given {@link StringBuilder}.
+     * Appends a start tag to the given {@link Appendable}.
      *
      * @param level The level.
      * @param tagName The tag name.
      * @param attributeValues The attributes.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendStartTag(int level, String tagName, Map<String, String> attributeValues,
-            StringBuilder sb) {
-        appendWhiteSpace(level, sb);
-        sb.append("<");
-        sb.append(tagName);
+            Appendable out) throws IOException {
+        appendWhiteSpace(level, out);
+        out.append("<");
+        out.append(tagName);
         for (Entry<String, String> entry : attributeValues.entrySet()) {
-            appendAttribute(entry.getKey(), entry.getValue(), sb);
+            appendAttribute(entry.getKey(), entry.getValue(), out);
         }
-        sb.append(">");
-        appendNewLine(sb);
+        out.append(">");
+        appendNewLine(out);
     }
 
     /**
-     * Appends an end tag to the given {@link StringBuilder}.
+     * Appends an end tag to the given {@link Appendable}.
      *
      * @param level The level.
      * @param tagName The tag name.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendEndTag(int level, String tagName, StringBuilder sb) {
-        appendWhiteSpace(level, sb);
-        sb.append("</");
-        sb.append(tagName);
-        sb.append(">");
-        appendNewLine(sb);
+    protected void appendEndTag(int level, String tagName, Appendable out) throws IOException {
+        appendWhiteSpace(level, out);
+        out.append("</");
+        out.append(tagName);
+        out.append(">");
+        appendNewLine(out);
     }
 
     /**
-     * Adds leading white space to the {@link StringBuilder}.
+     * Adds leading white space to the {@link Appendable}.
      *
      * @param level The level in the tree used for leading white space (formatting).
-     * @param sb The {@link StringBuilder} to write to.
+     * @param out The {@link Appendable} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendWhiteSpace(int level, StringBuilder sb) {
-        sb.append(LEADING_WHITE_SPACE_PER_LEVEL.repeat(Math.max(0, level)));
+    protected void appendWhiteSpace(int level, Appendable out) throws IOException {
+        for (int i = 0; i < level; i++) {
+            out.append(LEADING_WHITE_SPACE_PER_LEVEL);
+        }
     }
 
     /**
-     * Adds an XML attribute to the given {@link StringBuilder}.
+     * Adds an XML attribute to the given {@link Appendable}.
      *
      * @param attributeName The attribute name.
      * @param value The attribute value.
-     * @param sb The {@link StringBuilder} to write to.
+     * @param out The {@link Appendable} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendAttribute(String attributeName, String value, StringBuilder sb) {
+    protected void appendAttribute(String attributeName, String value, Appendable out)
+            throws IOException {
         if (attributeName != null && value != null) {
-            sb.append(" ");
-            sb.append(attributeName);
-            sb.append("=\"");
-            sb.append(XMLUtil.encodeText(value));
-            sb.append("\"");
+            out.append(" ");
+            out.append(attributeName);
+            out.append("=\"");
+            out.append(XMLUtil.encodeText(value));
+            out.append("\"");
         }
     }
 
     /**
-     * Adds an XML header to the given {@link StringBuilder}.
+     * Adds an XML header to the given {@link Appendable}.
      *
      * @param encoding The encoding to use.
-     * @param sb The {@link StringBuilder} to write to.
+     * @param out The {@link Appendable} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendXmlHeader(String encoding, StringBuilder sb) {
-        sb.append("<?xml version=\"1.0\"");
-        appendAttribute(ATTRIBUTE_ENCODING, encoding, sb);
-        sb.append("?>");
-        appendNewLine(sb);
+    protected void appendXmlHeader(String encoding, Appendable out) throws IOException {
+        out.append("<?xml version=\"1.0\"");
+        appendAttribute(ATTRIBUTE_ENCODING, encoding, out);
+        out.append("?>");
+        appendNewLine(out);
     }
 
     /**
-     * Adds a line break to the given {@link StringBuilder}.
+     * Adds a line break to the given {@link Appendable}.
      *
-     * @param sb The {@link StringBuilder} to write to.
+     * @param out The {@link Appendable} to write to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendNewLine(StringBuilder sb) {
-        sb.append(NEW_LINE);
+    protected void appendNewLine(Appendable out) throws IOException {
+        out.append(NEW_LINE);
     }
 }
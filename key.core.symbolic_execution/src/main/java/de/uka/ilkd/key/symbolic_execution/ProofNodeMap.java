@@ -0,0 +1,97 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution;
+
+import java.util.Arrays;
+
+import de.uka.ilkd.key.proof.Node;
+
+/**
+ * A map from the {@link Node}s of a single proof to values, stored in arrays indexed by
+ * {@link Node#serialNr()}. As the serial numbers of a proof are consecutive, this needs less memory
+ * and time than a hash map for the large number of {@link Node}s of a symbolic execution.
+ * <p>
+ * The {@link Node} itself is stored next to the value, so that a {@link Node} of another proof or a
+ * {@link Node} removed by pruning is never confused with a current {@link Node} of the same serial
+ * number.
+ *
+ * @param <V> The type of the values.
+ */
+final class ProofNodeMap<V> {
+    /**
+     * The initial capacity.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The {@link Node}s by serial number.
+     */
+    private Node[] nodes = new Node[INITIAL_CAPACITY];
+
+    /**
+     * The values by serial number.
+     */
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    /**
+     * Returns the value of the given {@link Node}.
+     *
+     * @param node The {@link Node}.
+     * @return The value or {@code null} if not available.
+     */
+    @SuppressWarnings("unchecked")
+    V get(Node node) {
+        final int index = node.serialNr();
+        return index < nodes.length && nodes[index] == node ? (V) values[index] : null;
+    }
+
+    /**
+     * Checks if a value is available for the given {@link Node}.
+     *
+     * @param node The {@link Node}.
+     * @return {@code true} value available, {@code false} value not available.
+     */
+    boolean containsKey(Node node) {
+        final int index = node.serialNr();
+        return index < nodes.length && nodes[index] == node;
+    }
+
+    /**
+     * Sets the value of the given {@link Node}.
+     *
+     * @param node The {@link Node}.
+     * @param value The value.
+     */
+    void put(Node node, V value) {
+        final int index = node.serialNr();
+        if (index >= nodes.length) {
+            final int capacity = Math.max(index + 1, 2 * nodes.length);
+            nodes = Arrays.copyOf(nodes, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        nodes[index] = node;
+        values[index] = value;
+    }
+
+    /**
+     * Removes the value of the given {@link Node}.
+     *
+     * @param node The {@link Node}.
+     */
+    void remove(Node node) {
+        final int index = node.serialNr();
+        if (index < nodes.length && nodes[index] == node) {
+            nodes[index] = null;
+            values[index] = null;
+        }
+    }
+
+    /**
+     * Removes all values.
+     */
+    void clear() {
+        nodes = new Node[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+    }
+}
@@ -67,7 +67,8 @@ import org.key_project.util.java.ArrayUtil;
  * <p>
  * The symbolic execution tree is not updated automatically when KeY's proof tree has changed. The
  * update must be started manually via {@link #analyse()}. In this case the proof tree will be
- * analyzed and the execution tree model created or updated if it already exist.
+ * analyzed and the execution tree model created or updated if it already exist. Only the subtrees
+ * of the leaves of the previous analysis are visited, unless the proof tree was pruned in between.
  * </p>
  * <p>
  * Proof trees and also symbolic execution trees are very large even in small programs. For this
@@ -127,8 +128,7 @@ public class SymbolicExecutionTreeBuilder {
      * a return statement and a method return, the last node is returned.
      * </p>
      */
-    private Map<Node, AbstractExecutionNode<?>> keyNodeMapping =
-        new LinkedHashMap<>();
+    private ProofNodeMap<AbstractExecutionNode<?>> keyNodeMapping = new ProofNodeMap<>();
 
     /**
      * In case a {@link Node} is represented by multiple {@link AbstractExecutionNode}s, this map
@@ -141,15 +141,54 @@ public class SymbolicExecutionTreeBuilder {
      * Maps a loop condition of a {@link Node} of KeY's proof tree to his execution tree model
      * representation ({@link IExecutionLoopCondition}) if it is available.
      */
-    private Map<Node, ExecutionLoopCondition> keyNodeLoopConditionMapping =
-        new LinkedHashMap<>();
+    private ProofNodeMap<ExecutionLoopCondition> keyNodeLoopConditionMapping =
+        new ProofNodeMap<>();
 
     /**
      * Maps a branch condition of a {@link Node} of KeY's proof tree to his execution tree model
      * representation ({@link IExecutionBranchCondition}) if it is available.
      */
-    private Map<Node, ExecutionBranchCondition> keyNodeBranchConditionMapping =
-        new LinkedHashMap<>();
+    private ProofNodeMap<ExecutionBranchCondition> keyNodeBranchConditionMapping =
+        new ProofNodeMap<>();
+
+    /**
+     * Maps the {@link Node} in KeY's proof tree to the {@link IExecutionNode} of the symbolic
+     * execution tree where the {@link Node}s children should be added to.
+     */
+    private ProofNodeMap<AbstractExecutionNode<?>> addToMapping = new ProofNodeMap<>();
+
+    /**
+     * The leaves of the proof tree at the end of the previous {@link #analyse()} in the order of a
+     * preorder traversal. Only their subtrees need to be visited by the next {@link #analyse()}.
+     */
+    private List<Node> analysedLeaves = new ArrayList<>();
+
+    /**
+     * {@code true} the whole proof tree needs to be visited by the next {@link #analyse()},
+     * {@code false} only the subtrees of {@link #analysedLeaves} need to be visited.
+     */
+    private boolean completeAnalysisRequired = true;
+
+    /**
+     * Contains all {@link Node}s which are closed after a join.
+     */
+    private ImmutableList<Node> joinNodes = ImmutableSLList.nil();
+
+    /**
+     * Requests a complete analysis if the proof tree has changed in another way than by expanding
+     * its leaves.
+     */
+    private final ProofTreeListener proofTreeListener = new ProofTreeListener() {
+        @Override
+        public void proofPruned(ProofTreeEvent e) {
+            completeAnalysisRequired = true;
+        }
+
+        @Override
+        public void proofStructureChanged(ProofTreeEvent e) {
+            completeAnalysisRequired = true;
+        }
+    };
 
     /**
      * Contains the method call stacks for each tracked symbolic execution modality. As key is
@@ -233,6 +272,7 @@ public class SymbolicExecutionTreeBuilder {
         this.startNode = new ExecutionStart(settings, proof.root());
         this.keyNodeMapping.put(proof.root(), this.startNode);
         initMethodCallStack(proof.root(), proof.getServices());
+        proof.addProofTreeListener(proofTreeListener);
     }
 
     /**
@@ -399,6 +439,9 @@ public class SymbolicExecutionTreeBuilder {
      * exceptions.
      */
     public void dispose() {
+        if (proof != null) {
+            proof.removeProofTreeListener(proofTreeListener);
+        }
         if (keyNodeMapping != null) {
             keyNodeMapping.clear();
             keyNodeMapping = null;
@@ -411,6 +454,12 @@ public class SymbolicExecutionTreeBuilder {
             keyNodeBranchConditionMapping.clear();
             keyNodeBranchConditionMapping = null;
         }
+        if (addToMapping != null) {
+            addToMapping.clear();
+            addToMapping = null;
+        }
+        analysedLeaves = null;
+        joinNodes = null;
         if (methodCallStackMap != null) {
             methodCallStackMap.clear();
             methodCallStackMap = null;
@@ -455,17 +504,44 @@ public class SymbolicExecutionTreeBuilder {
     public SymbolicExecutionCompletions analyse() {
         SymbolicExecutionCompletions completions = new SymbolicExecutionCompletions();
         AnalyzerProofVisitor visitor = new AnalyzerProofVisitor(completions);
-        NodePreorderIterator iter = new NodePreorderIterator(proof.root());
+        List<Node> leaves = new ArrayList<>();
+        if (completeAnalysisRequired) {
+            addToMapping.clear();
+            joinNodes = ImmutableSLList.nil();
+            completeAnalysisRequired = false;
+            analyse(proof.root(), visitor, leaves);
+        } else {
+            // Nodes analyzed before, which were no leaves, are not changed by further rule
+            // applications
+            for (Node leaf : analysedLeaves) {
+                analyse(leaf, visitor, leaves);
+            }
+        }
+        analysedLeaves = leaves;
+        visitor.completeTree();
+        visitor.injectLinks(); // Needs to be execute after the completeTree() is called.
+        return completions;
+    }
+
+    /**
+     * Visits the subtree of the given {@link Node} with the given {@link AnalyzerProofVisitor}.
+     *
+     * @param root The root of the subtree to visit.
+     * @param visitor The {@link AnalyzerProofVisitor} to use.
+     * @param leaves The {@link List} to add the leaves of the subtree to.
+     */
+    private void analyse(Node root, AnalyzerProofVisitor visitor, List<Node> leaves) {
+        NodePreorderIterator iter = new NodePreorderIterator(root);
         while (iter.hasNext()) {
             Node node = iter.next();
             visitor.visit(proof, node); // This visitor pattern must be used because a recursive
                                         // iteration causes StackOverflowErrors if the proof tree in
                                         // KeY is to deep (e.g. simple list with 2000 elements
                                         // during computation of fibonacci(7)
+            if (node.leaf()) {
+                leaves.add(node);
+            }
         }
-        visitor.completeTree();
-        visitor.injectLinks(); // Needs to be execute after the completeTree() is called.
-        return completions;
     }
 
     /**
@@ -675,13 +751,6 @@ public class SymbolicExecutionTreeBuilder {
          */
         private final SymbolicExecutionCompletions completions;
 
-        /**
-         * Maps the {@link Node} in KeY's proof tree to the {@link IExecutionNode} of the symbolic
-         * execution tree where the {@link Node}s children should be added to.
-         */
-        private final Map<Node, AbstractExecutionNode<?>> addToMapping =
-            new LinkedHashMap<>();
-
         /**
          * This utility {@link Map} helps to find a {@link List} in {@link #branchConditionsStack}
          * for the given parent node to that elements in the {@link List} should be added.
@@ -689,11 +758,6 @@ public class SymbolicExecutionTreeBuilder {
         private final Map<AbstractExecutionNode<?>, List<ExecutionBranchCondition>> parentToBranchConditionMapping =
             new LinkedHashMap<>();
 
-        /**
-         * Contains all {@link Node}s which are closed after a join.
-         */
-        private ImmutableList<Node> joinNodes = ImmutableSLList.nil();
-
         /**
          * Constructor.
          *
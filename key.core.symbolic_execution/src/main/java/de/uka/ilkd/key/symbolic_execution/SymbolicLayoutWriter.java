@@ -3,10 +3,14 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.symbolic_execution;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Iterator;
 import java.util.Map;
@@ -143,8 +147,10 @@ public class SymbolicLayoutWriter extends AbstractWriter {
             try (out) {
                 Charset charset =
                     encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
-                String xml = toXML(model, charset.displayName());
-                out.write(xml.getBytes(charset));
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+                appendXmlHeader(charset.displayName(), writer);
+                appendModel(0, model, writer);
+                writer.flush();
             }
         }
     }
@@ -158,110 +164,121 @@ public class SymbolicLayoutWriter extends AbstractWriter {
      */
     public String toXML(ISymbolicLayout model, String encoding) {
         StringBuilder sb = new StringBuilder();
-        appendXmlHeader(encoding, sb);
-        appendModel(0, model, sb);
+        try {
+            appendXmlHeader(encoding, sb);
+            appendModel(0, model, sb);
+        } catch (IOException e) {
+            // a StringBuilder never throws an IOException
+            throw new UncheckedIOException(e);
+        }
         return sb.toString();
     }
 
     /**
      * Appends the given {@link ISymbolicLayout} with its children to the given
-     * {@link StringBuilder}.
+     * {@link Appendable}.
      *
      * @param level The level to use.
      * @param model The {@link ISymbolicLayout} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendModel(int level, ISymbolicLayout model, StringBuilder sb) {
+    protected void appendModel(int level, ISymbolicLayout model, Appendable out)
+            throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
-        appendStartTag(level, TAG_MODEL, attributeValues, sb);
+        appendStartTag(level, TAG_MODEL, attributeValues, out);
         for (ISymbolicEquivalenceClass ec : model.getEquivalenceClasses()) {
-            appendEquivalenceClass(level + 1, ec, sb);
+            appendEquivalenceClass(level + 1, ec, out);
         }
-        appendState(level + 1, model, model.getState(), sb);
+        appendState(level + 1, model, model.getState(), out);
         for (ISymbolicObject object : model.getObjects()) {
-            appendObject(level + 1, model, object, sb);
+            appendObject(level + 1, model, object, out);
         }
-        appendEndTag(level, TAG_MODEL, sb);
+        appendEndTag(level, TAG_MODEL, out);
     }
 
     /**
      * Appends the given {@link ISymbolicEquivalenceClass} with its children to the given
-     * {@link StringBuilder}.
+     * {@link Appendable}.
      *
      * @param level The level to use.
      * @param ec The {@link ISymbolicEquivalenceClass} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendEquivalenceClass(int level, ISymbolicEquivalenceClass ec,
-            StringBuilder sb) {
+            Appendable out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_REPRESENTATIVE, ec.getRepresentativeString());
-        appendStartTag(level, TAG_EQUIVALENCE_CLASS, attributeValues, sb);
+        appendStartTag(level, TAG_EQUIVALENCE_CLASS, attributeValues, out);
         for (String term : ec.getTermStrings()) {
             Map<String, String> termAttributeValues = new LinkedHashMap<>();
             termAttributeValues.put(ATTRIBUTE_TERM, term);
-            appendEmptyTag(level + 1, TAG_TERM, termAttributeValues, sb);
+            appendEmptyTag(level + 1, TAG_TERM, termAttributeValues, out);
         }
-        appendEndTag(level, TAG_EQUIVALENCE_CLASS, sb);
+        appendEndTag(level, TAG_EQUIVALENCE_CLASS, out);
     }
 
     /**
      * Appends the given {@link ISymbolicState} with its children to the
-     * given {@link StringBuilder}.
+     * given {@link Appendable}.
      *
      * @param level The level to use.
      * @param model The {@link ISymbolicLayout} which provides all objects.
      * @param state The {@link ISymbolicState} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendState(int level, ISymbolicLayout model, ISymbolicState state,
-            StringBuilder sb) {
+            Appendable out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, state.getName());
-        appendStartTag(level, TAG_STATE, attributeValues, sb);
+        appendStartTag(level, TAG_STATE, attributeValues, out);
         for (ISymbolicValue value : state.getValues()) {
-            appendValue(level + 1, value, sb);
+            appendValue(level + 1, value, out);
         }
         for (ISymbolicAssociation association : state.getAssociations()) {
-            appendAssociation(level + 1, model, association, sb);
+            appendAssociation(level + 1, model, association, out);
         }
-        appendEndTag(level, TAG_STATE, sb);
+        appendEndTag(level, TAG_STATE, out);
     }
 
     /**
      * Appends the given {@link ISymbolicObject} with its children to the given
-     * {@link StringBuilder}.
+     * {@link Appendable}.
      *
      * @param level The level to use.
      * @param model The {@link ISymbolicLayout} which provides all objects.
      * @param object The {@link ISymbolicObject} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendObject(int level, ISymbolicLayout model, ISymbolicObject object,
-            StringBuilder sb) {
+            Appendable out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_XML_ID, computeObjectId(model, object));
         attributeValues.put(ATTRIBUTE_NAME, object.getNameString());
         attributeValues.put(ATTRIBUTE_TYPE, object.getTypeString());
-        appendStartTag(level, TAG_OBJECT, attributeValues, sb);
+        appendStartTag(level, TAG_OBJECT, attributeValues, out);
         for (ISymbolicValue value : object.getValues()) {
-            appendValue(level + 1, value, sb);
+            appendValue(level + 1, value, out);
         }
         for (ISymbolicAssociation association : object.getAssociations()) {
-            appendAssociation(level + 1, model, association, sb);
+            appendAssociation(level + 1, model, association, out);
         }
-        appendEndTag(level, TAG_OBJECT, sb);
+        appendEndTag(level, TAG_OBJECT, out);
     }
 
     /**
      * Appends the given {@link ISymbolicValue} with its children to the
-     * given {@link StringBuilder}.
+     * given {@link Appendable}.
      *
      * @param level The level to use.
      * @param value The {@link ISymbolicValue} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
-    protected void appendValue(int level, ISymbolicValue value, StringBuilder sb) {
+    protected void appendValue(int level, ISymbolicValue value, Appendable out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, value.getName());
         attributeValues.put(ATTRIBUTE_PROGRAM_VARIABLE, value.getProgramVariableString());
@@ -272,20 +289,21 @@ public class SymbolicLayoutWriter extends AbstractWriter {
         if (value.getConditionString() != null) {
             attributeValues.put(ATTRIBUTE_CONDITION, value.getConditionString());
         }
-        appendEmptyTag(level, TAG_VALUE, attributeValues, sb);
+        appendEmptyTag(level, TAG_VALUE, attributeValues, out);
     }
 
     /**
      * Appends the given {@link ISymbolicAssociation} with its children to the given
-     * {@link StringBuilder}.
+     * {@link Appendable}.
      *
      * @param level The level to use.
      * @param model The {@link ISymbolicLayout} which provides all objects.
      * @param association The {@link ISymbolicAssociation} to append.
-     * @param sb The {@link StringBuilder} to append to.
+     * @param out The {@link Appendable} to append to.
+     * @throws IOException Occurred Exception.
      */
     protected void appendAssociation(int level, ISymbolicLayout model,
-            ISymbolicAssociation association, StringBuilder sb) {
+            ISymbolicAssociation association, Appendable out) throws IOException {
         Map<String, String> attributeValues = new LinkedHashMap<>();
         attributeValues.put(ATTRIBUTE_NAME, association.getName());
         attributeValues.put(ATTRIBUTE_PROGRAM_VARIABLE, association.getProgramVariableString());
@@ -295,7 +313,7 @@ public class SymbolicLayoutWriter extends AbstractWriter {
         if (association.getConditionString() != null) {
             attributeValues.put(ATTRIBUTE_CONDITION, association.getConditionString());
         }
-        appendEmptyTag(level, TAG_ASSOCIATION, attributeValues, sb);
+        appendEmptyTag(level, TAG_ASSOCIATION, attributeValues, out);
     }
 
     /**
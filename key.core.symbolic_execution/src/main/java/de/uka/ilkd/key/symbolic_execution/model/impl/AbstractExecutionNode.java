@@ -20,6 +20,7 @@ import de.uka.ilkd.key.symbolic_execution.ExecutionNodeSymbolicLayoutExtractor;
 import de.uka.ilkd.key.symbolic_execution.model.*;
 import de.uka.ilkd.key.symbolic_execution.object_model.ISymbolicEquivalenceClass;
 import de.uka.ilkd.key.symbolic_execution.object_model.ISymbolicLayout;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofScheduler;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil;
 
 import org.key_project.prover.sequent.PosInOccurrence;
@@ -266,6 +267,17 @@ public abstract class AbstractExecutionNode<S extends SourceElement>
         }
     }
 
+    /**
+     * Schedules the computation of the values of all variables returned by {@link #getVariables()}
+     * on the {@link SideProofScheduler}. The side proofs are performed concurrently, so that later
+     * calls of {@link IExecutionVariable#getValues()} do not have to wait for each one in turn.
+     *
+     * @throws ProofInputException Occurred Exception.
+     */
+    public void scheduleVariableValues() throws ProofInputException {
+        ExecutionVariable.scheduleValues(getVariables());
+    }
+
     /**
      * Computes the variables lazily when {@link #getVariables()} is called the first time.
      *
@@ -26,6 +26,8 @@ import org.key_project.prover.engine.impl.ApplyStrategyInfo;
 import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.sequent.Sequent;
 
+import org.jspecify.annotations.Nullable;
+
 /**
  * An implementation of {@link IExecutionVariable} used to query all array indices at the same time.
  * This supports also arrays where the length is symbolic and not a concrete number.
@@ -91,63 +93,64 @@ public class ExecutionAllArrayIndicesVariable extends ExecutionVariable {
     }
 
     /**
-     * Computes the value for {@link #getValues()} lazily when the method is called the first time.
-     *
-     * @throws ProofInputException Occurred Exception.
+     * {@inheritDoc}
+     * <p>
+     * The values are never shared, because each variable introduces its own index constant.
      */
-    protected ExecutionValue[] lazyComputeValues() throws ProofInputException {
-        InitConfig initConfig = getInitConfig();
-        if (initConfig != null) { // Otherwise proof is disposed.
-            // New OneStepSimplifier is required because it has an internal state and the default
-            // instance can't be used parallel.
-            final ProofEnvironment sideProofEnv = SymbolicExecutionSideProofUtil
-                    .cloneProofEnvironmentWithOwnOneStepSimplifier(initConfig, true);
-            final Services sideServices = sideProofEnv.getServicesForEnvironment();
-            final TermBuilder tb = sideServices.getTermBuilder();
-            // Start site proof to extract the value of the result variable.
-            Term siteProofCondition = getAdditionalCondition() != null
-                    ? tb.and(getAdditionalCondition(), getParentValue().getCondition())
-                    : getParentValue().getCondition();
-            Term arrayTerm = createArrayTerm();
-            // Create index constant
-            Function constantFunction =
-                new JFunction(new Name(tb.newName(ARRAY_INDEX_CONSTANT_NAME)),
-                    sideServices.getTypeConverter().getIntegerLDT().targetSort());
-            constant = tb.func(constantFunction);
-            setName(lazyComputeName()); // Update name because constant has changed
-            Term arrayIndex = tb.dotArr(arrayTerm, constant);
-            // Create if check
-            Function arrayLengthFunction =
-                sideServices.getTypeConverter().getHeapLDT().getLength();
-            Term arrayRange = tb.and(tb.geq(constant, tb.zero()),
-                tb.lt(constant, tb.func(arrayLengthFunction, arrayTerm)));
-            Term resultIf = tb.ife(arrayRange, arrayIndex, notAValue);
-
-            // Create predicate which will be used in formulas to store the value interested in.
-            JFunction resultPredicate =
-                new JFunction(new Name(tb.newName("ResultPredicate")),
-                    JavaDLTheory.FORMULA, resultIf.sort());
-            // Create formula which contains the value interested in.
-            Term resultTerm = tb.func(resultPredicate, resultIf);
-            // Create Sequent to prove with new succedent.
-            Sequent sequent = SymbolicExecutionUtil.createSequentToProveWithNewSuccedent(
-                getProofNode(), getModalityPIO(), siteProofCondition, resultTerm, false);
-            // Perform side proof
-            ApplyStrategyInfo info = SymbolicExecutionSideProofUtil.startSideProof(getProof(),
-                sideProofEnv, sequent, StrategyProperties.METHOD_NONE, StrategyProperties.LOOP_NONE,
-                StrategyProperties.QUERY_OFF, StrategyProperties.SPLITTING_DELAYED);
-            try {
-                return instantiateValuesFromSideProof(initConfig, sideServices, tb, info,
-                    resultPredicate, arrayTerm, // Pass array to ensure that unknown values are
-                                                // correctly computed.
-                    siteProofCondition);
-            } finally {
-                SymbolicExecutionSideProofUtil.disposeOrStore(
-                    "All array indices value computation on node " + getProofNode().serialNr(),
-                    info);
-            }
-        } else {
-            return null;
+    @Override
+    protected @Nullable Object createValuesKey() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ExecutionValue[] computeValues(InitConfig initConfig, ProofEnvironment sideProofEnv)
+            throws ProofInputException {
+        final Services sideServices = sideProofEnv.getServicesForEnvironment();
+        final TermBuilder tb = sideServices.getTermBuilder();
+        // Start site proof to extract the value of the result variable.
+        Term siteProofCondition = getAdditionalCondition() != null
+                ? tb.and(getAdditionalCondition(), getParentValue().getCondition())
+                : getParentValue().getCondition();
+        Term arrayTerm = createArrayTerm();
+        // Create index constant
+        Function constantFunction =
+            new JFunction(new Name(tb.newName(ARRAY_INDEX_CONSTANT_NAME)),
+                sideServices.getTypeConverter().getIntegerLDT().targetSort());
+        constant = tb.func(constantFunction);
+        setName(lazyComputeName()); // Update name because constant has changed
+        Term arrayIndex = tb.dotArr(arrayTerm, constant);
+        // Create if check
+        Function arrayLengthFunction =
+            sideServices.getTypeConverter().getHeapLDT().getLength();
+        Term arrayRange = tb.and(tb.geq(constant, tb.zero()),
+            tb.lt(constant, tb.func(arrayLengthFunction, arrayTerm)));
+        Term resultIf = tb.ife(arrayRange, arrayIndex, notAValue);
+
+        // Create predicate which will be used in formulas to store the value interested in.
+        JFunction resultPredicate =
+            new JFunction(new Name(tb.newName("ResultPredicate")),
+                JavaDLTheory.FORMULA, resultIf.sort());
+        // Create formula which contains the value interested in.
+        Term resultTerm = tb.func(resultPredicate, resultIf);
+        // Create Sequent to prove with new succedent.
+        Sequent sequent = SymbolicExecutionUtil.createSequentToProveWithNewSuccedent(
+            getProofNode(), getModalityPIO(), siteProofCondition, resultTerm, false);
+        // Perform side proof
+        ApplyStrategyInfo info = SymbolicExecutionSideProofUtil.startSideProof(getProof(),
+            sideProofEnv, sequent, StrategyProperties.METHOD_NONE, StrategyProperties.LOOP_NONE,
+            StrategyProperties.QUERY_OFF, StrategyProperties.SPLITTING_DELAYED);
+        try {
+            return instantiateValuesFromSideProof(initConfig, sideServices, tb, info,
+                resultPredicate, arrayTerm, // Pass array to ensure that unknown values are
+                                            // correctly computed.
+                siteProofCondition);
+        } finally {
+            SymbolicExecutionSideProofUtil.disposeOrStore(
+                "All array indices value computation on node " + getProofNode().serialNr(),
+                info);
         }
     }
 
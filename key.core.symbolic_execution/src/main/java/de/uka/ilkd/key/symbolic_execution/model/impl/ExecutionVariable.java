@@ -9,6 +9,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.Term;
@@ -25,6 +27,7 @@ import de.uka.ilkd.key.strategy.StrategyProperties;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionNode;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionValue;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofScheduler;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionSideProofUtil;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil.SiteProofVariableValueInput;
@@ -33,6 +36,8 @@ import org.key_project.prover.engine.impl.ApplyStrategyInfo;
 import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.util.collection.ImmutableList;
 
+import org.jspecify.annotations.Nullable;
+
 /**
  * The default implementation of {@link IExecutionVariable}.
  *
@@ -54,6 +59,11 @@ public class ExecutionVariable extends AbstractExecutionVariable {
      */
     private ExecutionValue[] values;
 
+    /**
+     * The scheduled computation of {@link #values}.
+     */
+    private Future<ExecutionValue[]> scheduledValues;
+
     /**
      * Constructor for a "normal" value.
      *
@@ -116,66 +126,192 @@ public class ExecutionVariable extends AbstractExecutionVariable {
     public ExecutionValue[] getValues() throws ProofInputException {
         synchronized (this) {
             if (values == null) {
-                values = lazyComputeValues();
+                values = adoptValues(SideProofScheduler.DEFAULT_INSTANCE.get(scheduleValues()));
             }
             return values;
         }
     }
 
     /**
-     * Computes the value for {@link #getValues()} lazily when the method is called the first time.
+     * Schedules the computation of the values on the {@link SideProofScheduler} unless it has
+     * already been scheduled. A computation of equal values of another {@link ExecutionVariable}
+     * on the same proof node is reused.
      *
+     * @return The {@link Future} providing the computed values.
      * @throws ProofInputException Occurred Exception.
      */
-    protected ExecutionValue[] lazyComputeValues() throws ProofInputException {
-        InitConfig initConfig = getInitConfig();
-        if (initConfig != null) { // Otherwise proof is disposed.
-            // New OneStepSimplifier is required because it has an internal state and the default
-            // instance can't be used parallel.
-            final ProofEnvironment sideProofEnv = SymbolicExecutionSideProofUtil
-                    .cloneProofEnvironmentWithOwnOneStepSimplifier(initConfig, true);
-            final Services services = sideProofEnv.getServicesForEnvironment();
-            final TermBuilder tb = services.getTermBuilder();
-            // Start site proof to extract the value of the result variable.
-            SiteProofVariableValueInput sequentToProve;
-            Term siteProofSelectTerm = null;
-            Term siteProofCondition;
-            if (getAdditionalCondition() != null) {
-                siteProofCondition = getAdditionalCondition();
-            } else {
-                siteProofCondition = tb.tt();
-            }
-            if (getParentValue() != null
-                    || SymbolicExecutionUtil.isStaticVariable(getProgramVariable())) {
-                siteProofSelectTerm = createSelectTerm();
-                if (getParentValue() != null) { // Is null at static variables
-                    siteProofCondition =
-                        tb.and(siteProofCondition, getParentValue().getCondition());
-                }
-                if (lengthValue != null) {
-                    siteProofCondition = tb.and(siteProofCondition, lengthValue.getCondition());
-                }
-                sequentToProve =
-                    SymbolicExecutionUtil.createExtractTermSequent(services, getProofNode(),
-                        getModalityPIO(), siteProofCondition, siteProofSelectTerm, true);
-            } else {
-                sequentToProve = SymbolicExecutionUtil.createExtractVariableValueSequent(services,
-                    getProofNode(), getModalityPIO(), siteProofCondition, getProgramVariable());
+    public Future<ExecutionValue[]> scheduleValues() throws ProofInputException {
+        synchronized (this) {
+            if (scheduledValues == null) {
+                scheduledValues = SideProofScheduler.DEFAULT_INSTANCE.schedule(getProofNode(),
+                    createValuesKey(), this::prepareValues);
             }
-            ApplyStrategyInfo info = SymbolicExecutionSideProofUtil.startSideProof(getProof(),
-                sideProofEnv, sequentToProve.getSequentToProve(), StrategyProperties.METHOD_NONE,
-                StrategyProperties.LOOP_NONE, StrategyProperties.QUERY_OFF,
-                StrategyProperties.SPLITTING_DELAYED);
-            try {
-                return instantiateValuesFromSideProof(initConfig, services, tb, info,
-                    sequentToProve.getOperator(), siteProofSelectTerm, siteProofCondition);
-            } finally {
-                SymbolicExecutionSideProofUtil.disposeOrStore(
-                    "Value computation on node " + getProofNode().serialNr(), info);
+            return scheduledValues;
+        }
+    }
+
+    /**
+     * Prepares the side proof computing the values on the thread scheduling it.
+     *
+     * @return The computation of the values.
+     */
+    private Callable<ExecutionValue[]> prepareValues() {
+        final InitConfig initConfig = getInitConfig();
+        if (initConfig == null) { // Proof is disposed.
+            return () -> null;
+        }
+        final ProofEnvironment sideProofEnv = createSideProofEnvironment(initConfig);
+        return () -> computeValues(initConfig, sideProofEnv);
+    }
+
+    /**
+     * Schedules the computation of the values of all given variables on the
+     * {@link SideProofScheduler}, so that their side proofs are performed concurrently before the
+     * values are requested one after the other.
+     *
+     * @param variables The variables whose values will be requested.
+     * @throws ProofInputException Occurred Exception.
+     */
+    public static void scheduleValues(IExecutionVariable[] variables) throws ProofInputException {
+        for (IExecutionVariable variable : variables) {
+            if (variable instanceof ExecutionVariable executionVariable) {
+                executionVariable.scheduleValues();
             }
-        } else {
+        }
+    }
+
+    /**
+     * Creates the key which identifies the side proof computing the values of this variable.
+     * Variables with equal keys on the same proof node share the side proof.
+     *
+     * @return The key or {@code null} if the values should not be shared.
+     * @throws ProofInputException Occurred Exception.
+     */
+    protected @Nullable Object createValuesKey() throws ProofInputException {
+        final Services services = getServices();
+        if (services == null) { // Proof is disposed.
             return null;
         }
+        final TermBuilder tb = services.getTermBuilder();
+        if (hasSiteProofSelectTerm()) {
+            return new ValuesKey(getClass(), getModalityPIO(), createSelectTerm(),
+                createSiteProofCondition(tb));
+        } else {
+            return new ValuesKey(getClass(), getModalityPIO(), getProgramVariable(),
+                createSiteProofCondition(tb));
+        }
+    }
+
+    /**
+     * Uses the values computed by a side proof shared with another {@link ExecutionVariable} as
+     * values of this variable.
+     *
+     * @param computed The computed values.
+     * @return The values with this variable as parent.
+     * @throws ProofInputException Occurred Exception.
+     */
+    private ExecutionValue[] adoptValues(ExecutionValue[] computed) throws ProofInputException {
+        if (computed == null || computed.length == 0 || computed[0].getVariable() == this) {
+            return computed;
+        }
+        ExecutionValue[] result = new ExecutionValue[computed.length];
+        for (int i = 0; i < computed.length; i++) {
+            ExecutionValue value = computed[i];
+            result[i] = new ExecutionValue(getProofNode(), this, value.isValueUnknown(),
+                value.getValue(), value.getValueString(), value.getTypeString(),
+                value.getCondition(), value.getConditionString());
+        }
+        return result;
+    }
+
+    /**
+     * Creates the {@link ProofEnvironment} of the side proof computing the values. It is created
+     * on the thread scheduling the side proof, because cloning it accesses the namespaces of the
+     * main proof.
+     *
+     * @param initConfig The {@link InitConfig} of the main proof.
+     * @return The {@link ProofEnvironment} of the side proof.
+     */
+    protected ProofEnvironment createSideProofEnvironment(InitConfig initConfig) {
+        // New OneStepSimplifier is required because it has an internal state and the default
+        // instance can't be used parallel.
+        return SymbolicExecutionSideProofUtil
+                .cloneProofEnvironmentWithOwnOneStepSimplifier(initConfig, true);
+    }
+
+    /**
+     * Computes the value for {@link #getValues()} by a side proof, possibly on a worker thread of
+     * the {@link SideProofScheduler}.
+     *
+     * @param initConfig The {@link InitConfig} of the main proof.
+     * @param sideProofEnv The {@link ProofEnvironment} of the side proof.
+     * @return The computed values.
+     * @throws ProofInputException Occurred Exception.
+     */
+    protected ExecutionValue[] computeValues(InitConfig initConfig, ProofEnvironment sideProofEnv)
+            throws ProofInputException {
+        final Services services = sideProofEnv.getServicesForEnvironment();
+        final TermBuilder tb = services.getTermBuilder();
+        // Start site proof to extract the value of the result variable.
+        SiteProofVariableValueInput sequentToProve;
+        Term siteProofSelectTerm = null;
+        Term siteProofCondition = createSiteProofCondition(tb);
+        if (hasSiteProofSelectTerm()) {
+            siteProofSelectTerm = createSelectTerm();
+            sequentToProve =
+                SymbolicExecutionUtil.createExtractTermSequent(services, getProofNode(),
+                    getModalityPIO(), siteProofCondition, siteProofSelectTerm, true);
+        } else {
+            sequentToProve = SymbolicExecutionUtil.createExtractVariableValueSequent(services,
+                getProofNode(), getModalityPIO(), siteProofCondition, getProgramVariable());
+        }
+        ApplyStrategyInfo info = SymbolicExecutionSideProofUtil.startSideProof(getProof(),
+            sideProofEnv, sequentToProve.getSequentToProve(), StrategyProperties.METHOD_NONE,
+            StrategyProperties.LOOP_NONE, StrategyProperties.QUERY_OFF,
+            StrategyProperties.SPLITTING_DELAYED);
+        try {
+            return instantiateValuesFromSideProof(initConfig, services, tb, info,
+                sequentToProve.getOperator(), siteProofSelectTerm, siteProofCondition);
+        } finally {
+            SymbolicExecutionSideProofUtil.disposeOrStore(
+                "Value computation on node " + getProofNode().serialNr(), info);
+        }
+    }
+
+    /**
+     * Checks if the value is queried via {@link #createSelectTerm()} instead of the program
+     * variable.
+     *
+     * @return {@code true} select term is used, {@code false} program variable is used.
+     */
+    private boolean hasSiteProofSelectTerm() {
+        return getParentValue() != null
+                || SymbolicExecutionUtil.isStaticVariable(getProgramVariable());
+    }
+
+    /**
+     * Creates the condition under which the value is queried.
+     *
+     * @param tb The {@link TermBuilder} to use.
+     * @return The condition under which the value is queried.
+     * @throws ProofInputException Occurred Exception.
+     */
+    private Term createSiteProofCondition(TermBuilder tb) throws ProofInputException {
+        Term siteProofCondition;
+        if (getAdditionalCondition() != null) {
+            siteProofCondition = getAdditionalCondition();
+        } else {
+            siteProofCondition = tb.tt();
+        }
+        if (hasSiteProofSelectTerm()) {
+            if (getParentValue() != null) { // Is null at static variables
+                siteProofCondition = tb.and(siteProofCondition, getParentValue().getCondition());
+            }
+            if (lengthValue != null) {
+                siteProofCondition = tb.and(siteProofCondition, lengthValue.getCondition());
+            }
+        }
+        return siteProofCondition;
     }
 
     /**
@@ -354,4 +490,16 @@ public class ExecutionVariable extends AbstractExecutionVariable {
     public ExecutionValue getLengthValue() {
         return lengthValue;
     }
+
+    /**
+     * Identifies the side proof computing the values of an {@link ExecutionVariable}.
+     *
+     * @param type The class of the variable.
+     * @param modalityPIO The {@link PosInOccurrence} of the modality of interest.
+     * @param variable The queried program variable or select term.
+     * @param condition The condition under which the value is queried.
+     */
+    private record ValuesKey(Class<?> type, PosInOccurrence modalityPIO, Object variable,
+            Term condition) {
+    }
 }
@@ -0,0 +1,249 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.symbolic_execution.util;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.init.ProofInputException;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Executes computations based on side proofs, like the values of
+ * {@link de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable}s, on a bounded pool of
+ * worker threads.
+ * <p>
+ * A computation is scheduled for a {@link Node} of the proof tree under a key which identifies the
+ * side proof. Computations scheduled for the same {@link Node} under equal keys are performed only
+ * once, and their results are cached at the {@link Node} as long as it exists.
+ * <p>
+ * Waiting for a result that has not been picked up by a worker yet performs the computation on the
+ * waiting thread, so that a single request is never delayed by scheduled computations which are
+ * not needed yet. Side proofs need to be independent of each other for this, which is ensured by
+ * {@link SymbolicExecutionSideProofUtil#cloneProofEnvironmentWithOwnOneStepSimplifier}. The proof
+ * environment of a side proof is cloned by {@link SideProof#prepare()} on the scheduling thread,
+ * because copying the namespaces marks the namespaces of the main proof as shared (see
+ * {@link org.key_project.logic.Namespace#copy()}), which must not race with the main proof
+ * extending them. Workers only operate on the cloned environment.
+ * <p>
+ * The workers are disabled by default, i.e., all computations are performed on the requesting
+ * thread, and enabled with <code>-D{@value #WORKER_COUNT_PROPERTY}=n</code> or
+ * {@link #setWorkerCount(int)}.
+ * <p>
+ * The only instance of this class {@link #DEFAULT_INSTANCE} is used by the symbolic execution
+ * tree.
+ */
+public final class SideProofScheduler {
+    /**
+     * System property defining the number of threads performing side proofs. A value of zero
+     * performs all computations on the requesting thread.
+     */
+    public static final String WORKER_COUNT_PROPERTY = "key.symbolic_execution.sideProofWorkers";
+
+    /**
+     * The default and only instance of this class.
+     */
+    public static final SideProofScheduler DEFAULT_INSTANCE =
+        new SideProofScheduler(Integer.getInteger(WORKER_COUNT_PROPERTY, 0));
+
+    /**
+     * The number of threads performing side proofs.
+     */
+    private int workerCount;
+
+    /**
+     * The worker threads or {@code null} if computations are performed on the requesting thread.
+     */
+    private volatile @Nullable ExecutorService workers;
+
+    /**
+     * Constructor.
+     *
+     * @param workerCount The number of threads performing side proofs.
+     */
+    private SideProofScheduler(int workerCount) {
+        setWorkerCount(workerCount);
+    }
+
+    /**
+     * Returns the number of threads performing side proofs.
+     *
+     * @return The number of threads or zero if computations are performed on the requesting
+     *         thread.
+     */
+    public synchronized int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Sets the number of threads performing side proofs. Computations which have already been
+     * handed to the previous workers are still performed by them.
+     *
+     * @param workerCount The number of threads or zero to perform computations on the requesting
+     *        thread.
+     */
+    public synchronized void setWorkerCount(int workerCount) {
+        if (workers != null) {
+            workers.shutdown();
+        }
+        this.workerCount = Math.max(0, workerCount);
+        if (this.workerCount > 0) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(this.workerCount, r -> {
+                final Thread thread =
+                    new Thread(r, "side-proof-worker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            workers = null;
+        }
+    }
+
+    /**
+     * Schedules a side proof unless an equal side proof has already been scheduled for the given
+     * {@link Node}. The side proof is prepared on the current thread if it is going to be
+     * performed by a worker.
+     *
+     * @param node The {@link Node} the side proof belongs to.
+     * @param key The key identifying the side proof or {@code null} if it should not be shared.
+     * @param sideProof The side proof to perform.
+     * @param <T> The type of the result.
+     * @return The {@link Future} providing the result of the side proof.
+     * @throws ProofInputException Occurred Exception.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> schedule(Node node, @Nullable Object key, SideProof<T> sideProof)
+            throws ProofInputException {
+        final @Nullable ExecutorService currentWorkers = workers;
+        if (key == null) {
+            return submit(createTask(sideProof, currentWorkers), currentWorkers);
+        }
+        final Map<Object, FutureTask<?>> results = getResults(node);
+        final FutureTask<?> existing = results.get(key);
+        if (existing != null) {
+            return (Future<T>) existing;
+        }
+        final FutureTask<T> created = createTask(sideProof, currentWorkers);
+        final FutureTask<?> task = results.putIfAbsent(key, created);
+        if (task != null) {
+            // scheduled concurrently by another thread
+            return (Future<T>) task;
+        }
+        return submit(created, currentWorkers);
+    }
+
+    /**
+     * Waits for the result of a scheduled computation. If no worker has started the computation
+     * yet, it is performed on the current thread.
+     *
+     * @param future The {@link Future} returned by {@link #schedule(Node, Object, SideProof)}.
+     * @param <T> The type of the result.
+     * @return The result of the computation.
+     * @throws ProofInputException Occurred Exception.
+     */
+    public <T> T get(Future<T> future) throws ProofInputException {
+        if (future instanceof FutureTask<T> task) {
+            // does nothing if the task is already running or done
+            task.run();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProofInputException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProofInputException pie) {
+                throw pie;
+            } else if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            } else if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ProofInputException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Creates the task performing the given side proof. Without workers, the preparation is
+     * deferred until the result is requested, as the task is performed on the requesting thread.
+     *
+     * @param sideProof The side proof to perform.
+     * @param currentWorkers The workers performing the task or {@code null}.
+     * @param <T> The type of the result.
+     * @return The created task.
+     * @throws ProofInputException Occurred Exception.
+     */
+    private static <T> FutureTask<T> createTask(SideProof<T> sideProof,
+            @Nullable ExecutorService currentWorkers) throws ProofInputException {
+        if (currentWorkers == null) {
+            return new FutureTask<>(() -> sideProof.prepare().call());
+        }
+        return new FutureTask<>(sideProof.prepare());
+    }
+
+    private static <T> FutureTask<T> submit(FutureTask<T> task,
+            @Nullable ExecutorService currentWorkers) {
+        if (currentWorkers != null) {
+            try {
+                currentWorkers.execute(task);
+            } catch (RejectedExecutionException e) {
+                // the workers have been replaced, get(Future) performs the task
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Returns the results of the computations scheduled for the given {@link Node}.
+     *
+     * @param node The {@link Node}.
+     * @return The results by key of the computations.
+     */
+    private static Map<Object, FutureTask<?>> getResults(Node node) {
+        synchronized (node) {
+            NodeResults results = node.lookup(NodeResults.class);
+            if (results == null) {
+                results = new NodeResults();
+                node.register(results, NodeResults.class);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * A side proof performed by the {@link SideProofScheduler}.
+     *
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    public interface SideProof<T> {
+        /**
+         * Prepares the side proof on the scheduling thread, in particular clones the proof
+         * environment of the main proof, so that the returned computation does not modify any
+         * state of the main proof.
+         *
+         * @return The computation performing the side proof, possibly on a worker thread.
+         * @throws ProofInputException Occurred Exception.
+         */
+        Callable<T> prepare() throws ProofInputException;
+    }
+
+    /**
+     * The results of the computations scheduled for a {@link Node}, registered as user data of
+     * the {@link Node}.
+     */
+    private static final class NodeResults extends ConcurrentHashMap<Object, FutureTask<?>> {
+    }
+}
@@ -21,6 +21,7 @@ import de.uka.ilkd.key.symbolic_execution.model.IExecutionTermination.Terminatio
 import org.junit.jupiter.api.Test;
 import org.xml.sax.SAXException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -126,6 +127,7 @@ public class TestExecutionNodeWriterAndReader {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
             writer.write(expectedNode, ExecutionNodeWriter.DEFAULT_ENCODING, out, saveVariabes,
                 saveCallStack, saveReturnValues, saveConstraints);
+            assertEquals(xml, out.toString(ExecutionNodeWriter.DEFAULT_ENCODING));
             // Read from input stream
             currentNode = reader.read(new ByteArrayInputStream(out.toByteArray()));
         }
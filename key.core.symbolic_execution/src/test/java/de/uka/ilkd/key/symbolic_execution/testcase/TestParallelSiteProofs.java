@@ -4,18 +4,25 @@
 package de.uka.ilkd.key.symbolic_execution.testcase;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import javax.xml.parsers.ParserConfigurationException;
 
 import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.init.ProofInputException;
 import de.uka.ilkd.key.proof.io.ProblemLoaderException;
 import de.uka.ilkd.key.symbolic_execution.ExecutionNodePreorderIterator;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionMethodReturn;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionNode;
+import de.uka.ilkd.key.symbolic_execution.model.IExecutionValue;
 import de.uka.ilkd.key.symbolic_execution.model.IExecutionVariable;
+import de.uka.ilkd.key.symbolic_execution.model.impl.AbstractExecutionNode;
+import de.uka.ilkd.key.symbolic_execution.strategy.ExecutedSymbolicExecutionTreeNodesStopCondition;
+import de.uka.ilkd.key.symbolic_execution.util.SideProofScheduler;
 import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionEnvironment;
+import de.uka.ilkd.key.symbolic_execution.util.SymbolicExecutionUtil;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
@@ -23,6 +30,10 @@ import org.junit.jupiter.api.Test;
 import org.xml.sax.SAXException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This test class makes sure that parallel site proofs are working. It is only verified that no
@@ -33,6 +44,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class TestParallelSiteProofs extends AbstractSymbolicExecutionTestCase {
     private static final int NUMBER_OF_THREADS = 21;
 
+    /**
+     * The number of workers of the {@link SideProofScheduler} used by the tests.
+     */
+    private static final int NUMBER_OF_WORKERS = 4;
+
     /**
      * Tests parallel site proofs on a new instantiate proof after applying "resume" on it.
      */
@@ -80,6 +96,116 @@ public class TestParallelSiteProofs extends AbstractSymbolicExecutionTestCase {
         }
     }
 
+    /**
+     * Tests that values scheduled on the {@link SideProofScheduler} are computed concurrently and
+     * that equal side proofs of different variables on the same node are shared.
+     */
+    @Test
+    public void testScheduledValues() throws Exception {
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env =
+            doSETTest(testCaseDirectory, "/set/conditionalVariables/test/Number.java", "Number",
+                "equals", null, "/set/conditionalVariables/oracle/Number.xml", false, false, false,
+                false, 1000, false, false, false, false, false, false, false, false, false, true);
+        final int oldWorkerCount = SideProofScheduler.DEFAULT_INSTANCE.getWorkerCount();
+        SideProofScheduler.DEFAULT_INSTANCE.setWorkerCount(NUMBER_OF_WORKERS);
+        try {
+            List<AbstractExecutionNode<?>> nodes = new LinkedList<>();
+            ExecutionNodePreorderIterator iter =
+                new ExecutionNodePreorderIterator(env.getBuilder().getStartNode());
+            while (iter.hasNext()) {
+                IExecutionNode<?> next = iter.next();
+                if (next instanceof AbstractExecutionNode<?> node) {
+                    node.scheduleVariableValues();
+                    nodes.add(node);
+                }
+            }
+            int sharedValues = 0;
+            for (AbstractExecutionNode<?> node : nodes) {
+                IExecutionVariable[] variables = node.getVariables();
+                // new instances of the same variables, which share the side proofs
+                IExecutionVariable[] copies = SymbolicExecutionUtil.createExecutionVariables(node);
+                assertEquals(variables.length, copies.length);
+                for (int i = 0; i < variables.length; i++) {
+                    IExecutionValue[] values = variables[i].getValues();
+                    IExecutionValue[] copiedValues = copies[i].getValues();
+                    assertEquals(values.length, copiedValues.length);
+                    for (int j = 0; j < values.length; j++) {
+                        assertSame(variables[i], values[j].getVariable());
+                        assertSame(copies[i], copiedValues[j].getVariable());
+                        assertEquals(values[j].getValueString(), copiedValues[j].getValueString());
+                        assertEquals(values[j].getConditionString(),
+                            copiedValues[j].getConditionString());
+                        if (values[j].getValue() == copiedValues[j].getValue()) {
+                            sharedValues++;
+                        }
+                    }
+                }
+            }
+            Assertions.assertTrue(sharedValues > 0, "Side proofs should have been shared");
+        } finally {
+            SideProofScheduler.DEFAULT_INSTANCE.setWorkerCount(oldWorkerCount);
+            env.dispose();
+        }
+    }
+
+    /**
+     * Tests that values scheduled on the {@link SideProofScheduler} are computed while the main
+     * proof continues and extends its namespaces.
+     */
+    @Test
+    public void testScheduledValuesWhileProofContinues() throws Exception {
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env =
+            createSymbolicExecutionEnvironment(testCaseDirectory, "/set/magic42/test/Magic42.java",
+                "Magic42", "compute", null, false, false, false, false, false, false, false,
+                false, false, false);
+        final int oldWorkerCount = SideProofScheduler.DEFAULT_INSTANCE.getWorkerCount();
+        SideProofScheduler.DEFAULT_INSTANCE.setWorkerCount(NUMBER_OF_WORKERS);
+        try {
+            Proof proof = env.getProof();
+            // Execute some statements, so that there are variables with values
+            runAutoMode(env, 5);
+            List<IExecutionVariable> variables = new LinkedList<>();
+            ExecutionNodePreorderIterator iter =
+                new ExecutionNodePreorderIterator(env.getBuilder().getStartNode());
+            while (iter.hasNext()) {
+                IExecutionNode<?> next = iter.next();
+                if (next instanceof AbstractExecutionNode<?> node) {
+                    node.scheduleVariableValues();
+                    variables.addAll(Arrays.asList(node.getVariables()));
+                }
+            }
+            assertFalse(variables.isEmpty(), "No variables to compute values of");
+            // Continue the main proof while the workers perform the side proofs
+            final int nodeCount = proof.countNodes();
+            runAutoMode(env,
+                ExecutedSymbolicExecutionTreeNodesStopCondition.MAXIMAL_NUMBER_OF_SET_NODES_TO_EXECUTE_PER_GOAL_IN_COMPLETE_RUN);
+            assertTrue(proof.countNodes() > nodeCount, "The main proof did not continue");
+            for (IExecutionVariable variable : variables) {
+                assertNotNull(variable.getValues());
+            }
+        } finally {
+            SideProofScheduler.DEFAULT_INSTANCE.setWorkerCount(oldWorkerCount);
+            env.dispose();
+        }
+    }
+
+    /**
+     * Runs the auto mode on the proof of the given {@link SymbolicExecutionEnvironment} until the
+     * given number of symbolic execution tree nodes are executed per goal.
+     *
+     * @param env The {@link SymbolicExecutionEnvironment} to use.
+     * @param maximalNumberOfSetNodes The maximal number of symbolic execution tree nodes to
+     *        execute per goal.
+     */
+    private static void runAutoMode(SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env,
+            int maximalNumberOfSetNodes) {
+        Proof proof = env.getProof();
+        proof.getSettings().getStrategySettings().setCustomApplyStrategyStopCondition(
+            new ExecutedSymbolicExecutionTreeNodesStopCondition(maximalNumberOfSetNodes));
+        env.getUi().getProofControl().startAndWaitForAutoMode(proof);
+        env.getBuilder().analyse();
+    }
+
     /**
      * Executes the test steps to make sure that parallel tests are working without thrown
      * {@link Exception}s.
@@ -11,7 +11,9 @@ import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
 import de.uka.ilkd.key.control.KeYEnvironment;
 import de.uka.ilkd.key.java.PositionInfo;
 import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.init.JavaProfile;
+import de.uka.ilkd.key.symbolic_execution.ExecutionNodeWriter;
 import de.uka.ilkd.key.symbolic_execution.SymbolicExecutionTreeBuilder;
 import de.uka.ilkd.key.symbolic_execution.SymbolicExecutionTreeBuilder.SymbolicExecutionCompletions;
 import de.uka.ilkd.key.symbolic_execution.model.*;
@@ -621,6 +623,66 @@ public class TestSymbolicExecutionTreeBuilder extends AbstractSymbolicExecutionT
         }
     }
 
+    /**
+     * Makes sure that updating the symbolic execution tree after each step via
+     * {@link SymbolicExecutionTreeBuilder#analyse()}, which visits only the new proof nodes, creates
+     * the same tree as a single analysis of the final proof.
+     */
+    @Test
+    public void testIncrementalAnalysis() throws Exception {
+        SymbolicExecutionEnvironment<DefaultUserInterfaceControl> env = null;
+        SymbolicExecutionTreeBuilder completeBuilder = null;
+        Map<String, String> originalTacletOptions = null;
+        boolean originalOneStepSimplification = isOneStepSimplificationEnabled(null);
+        try {
+            String javaPathInBaseDir = "/set/loopIterationTest/test/LoopIterationTest.java";
+            String containerTypeName = "LoopIterationTest";
+            String methodFullName = "loopMultipleTimes";
+            // Make sure that the correct taclet options are defined.
+            originalTacletOptions = setDefaultTacletOptions(testCaseDirectory, javaPathInBaseDir,
+                containerTypeName, methodFullName);
+            setOneStepSimplificationEnabled(null, true);
+            // Create proof environment for symbolic execution
+            env = createSymbolicExecutionEnvironment(testCaseDirectory, javaPathInBaseDir,
+                containerTypeName, methodFullName, null, false, false, false, false, false, false,
+                false, false, false, true);
+            SymbolicExecutionTreeBuilder builder = env.getBuilder();
+            Proof proof = builder.getProof();
+            proof.getSettings().getStrategySettings()
+                    .setCustomApplyStrategyStopCondition(
+                        new ExecutedSymbolicExecutionTreeNodesStopCondition(
+                            ExecutedSymbolicExecutionTreeNodesStopCondition.MAXIMAL_NUMBER_OF_SET_NODES_TO_EXECUTE_PER_GOAL_FOR_ONE_STEP));
+            // Perform steps into until the symbolic execution has finished
+            int steps = 0;
+            int nodes;
+            do {
+                nodes = proof.countNodes();
+                env.getUi().getProofControl().startAndWaitForAutoMode(proof);
+                builder.analyse();
+                steps++;
+            } while (nodes != proof.countNodes());
+            assertTrue(steps > 2);
+            // Analyse the final proof at once
+            completeBuilder =
+                new SymbolicExecutionTreeBuilder(proof, false, false, false, false, true);
+            completeBuilder.analyse();
+            ExecutionNodeWriter writer = new ExecutionNodeWriter();
+            assertEquals(
+                writer.toXML(completeBuilder.getStartNode(), "UTF-8", false, true, false, false),
+                writer.toXML(builder.getStartNode(), "UTF-8", false, true, false, false));
+        } finally {
+            // Restore original options
+            setOneStepSimplificationEnabled(null, originalOneStepSimplification);
+            restoreTacletOptions(originalTacletOptions);
+            if (completeBuilder != null) {
+                completeBuilder.dispose();
+            }
+            if (env != null) {
+                env.dispose();
+            }
+        }
+    }
+
     /**
      * Tests example: /set/allNodeTypesTest in the Java Profile
      */
@@ -47,6 +47,7 @@ public class TestSymbolicLayoutWriterAndReader {
         // Serialize model to output stream
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         writer.write(expectedNode, ExecutionNodeWriter.DEFAULT_ENCODING, out);
+        Assertions.assertEquals(xml, out.toString(ExecutionNodeWriter.DEFAULT_ENCODING));
         // Read from input stream
         currentNode = reader.read(new ByteArrayInputStream(out.toByteArray()));
         TestSymbolicLayoutExtractor.assertModel(expectedNode, currentNode);
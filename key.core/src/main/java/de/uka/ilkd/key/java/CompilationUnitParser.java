@@ -0,0 +1,151 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jspecify.annotations.Nullable;
+import recoder.io.DataLocation;
+import recoder.java.CompilationUnit;
+
+/**
+ * Parses the sources of several compilation units on a pool of worker threads.
+ * <p>
+ * Only the parsing itself is distributed. The sources are read by the calling thread before, as
+ * {@link de.uka.ilkd.key.proof.io.consistency.FileRepo}s are not thread safe. Everything working
+ * on the recoder model, i.e. the cross-referencing, the model transformers and the conversion into
+ * KeY's AST, stays with the calling thread, too, as it shares caches and namespaces between all
+ * compilation units.
+ *
+ * @see Recoder2KeY
+ */
+final class CompilationUnitParser {
+    /**
+     * The system property setting the number of threads parsing compilation units. A value of one
+     * parses all compilation units on the calling thread.
+     */
+    static final String WORKER_COUNT_PROPERTY = "key.java.parserWorkers";
+
+    private static final int WORKER_COUNT = Math.max(1,
+        Integer.getInteger(WORKER_COUNT_PROPERTY, Runtime.getRuntime().availableProcessors()));
+
+    /** the worker threads or {@code null} if compilation units are parsed on the calling thread */
+    private static final @Nullable ExecutorService WORKERS = createWorkers();
+
+    private CompilationUnitParser() {
+    }
+
+    /**
+     * The text of a compilation unit together with its location.
+     *
+     * @param text the source code
+     * @param location the location the source code was read from
+     */
+    record Source(String text, DataLocation location) {
+        /**
+         * @return a reader for the source code
+         */
+        Reader reader() {
+            return new StringReader(text);
+        }
+    }
+
+    /**
+     * Parses a single compilation unit. Implementations are called concurrently.
+     *
+     * @param <E> the type of exceptions thrown
+     */
+    @FunctionalInterface
+    interface Parser<E extends Exception> {
+        /**
+         * @param source the source to parse
+         * @return the parsed compilation unit
+         * @throws E if parsing fails
+         */
+        CompilationUnit parse(Source source) throws E;
+    }
+
+    /**
+     * reads a source completely.
+     *
+     * @param in the reader to read from, not closed by this method
+     * @param location the location of the source
+     * @return the source read
+     * @throws IOException if reading fails
+     */
+    static Source read(Reader in, DataLocation location) throws IOException {
+        final StringWriter text = new StringWriter();
+        in.transferTo(text);
+        return new Source(text.toString(), location);
+    }
+
+    /**
+     * parses the given sources, in parallel if more than one worker thread is configured.
+     *
+     * @param sources the sources to parse
+     * @param parser the parser for a single source
+     * @return the compilation units in the order of the sources
+     * @param <E> the type of exceptions thrown by the parser
+     * @throws E the exception thrown by the parser for the first source that could not be parsed
+     */
+    @SuppressWarnings("unchecked")
+    static <E extends Exception> List<CompilationUnit> parse(List<Source> sources,
+            Parser<E> parser) throws E {
+        final List<CompilationUnit> result = new ArrayList<>(sources.size());
+        if (WORKERS == null || sources.size() <= 1) {
+            for (Source source : sources) {
+                result.add(parser.parse(source));
+            }
+            return result;
+        }
+        final List<Future<CompilationUnit>> futures = new ArrayList<>(sources.size());
+        for (Source source : sources) {
+            futures.add(WORKERS.submit(() -> parser.parse(source)));
+        }
+        try {
+            for (Future<CompilationUnit> future : futures) {
+                result.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConvertException("Interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            // the parser throws nothing else
+            throw (E) cause;
+        } finally {
+            for (Future<CompilationUnit> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return result;
+    }
+
+    private static @Nullable ExecutorService createWorkers() {
+        if (WORKER_COUNT <= 1) {
+            return null;
+        }
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(WORKER_COUNT, r -> {
+            final Thread thread = new Thread(r, "java-parser-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
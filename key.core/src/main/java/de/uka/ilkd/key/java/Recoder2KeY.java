@@ -327,42 +327,62 @@ public class Recoder2KeY implements JavaReader {
     }
 
     /**
-     * Helper method for parsing a single compilation unit when a FileRepo is present.
+     * Helper method for reading a single compilation unit when a FileRepo is present.
      *
      * @param fileRepo the FileRepo that provides the InputStream
      * @param filename the name of the file to read
-     * @return the parsed compilation unit
+     * @return the source of the compilation unit
      * @throws ParseExceptionInFile exceptions are wrapped into this to provide location information
      */
-    private CompilationUnit readViaFileRepo(FileRepo fileRepo, String filename)
+    private CompilationUnitParser.Source readViaFileRepo(FileRepo fileRepo, String filename)
             throws ParseExceptionInFile {
         try (InputStream is = fileRepo.getInputStream(Paths.get(filename));
-                Reader fr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(fr)) {
-            return servConf.getProgramFactory().parseCompilationUnit(br);
-        } catch (Throwable e) {
-            // using throwable here since TokenMgrErrors are not Exceptions ...
+                Reader fr = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+            return CompilationUnitParser.read(fr, new DataFileLocation(filename));
+        } catch (Exception e) {
             throw new ParseExceptionInFile(filename, e);
         }
     }
 
     /**
-     * Helper method for parsing a single compilation unit directly from a file, in case no FileRepo
+     * Helper method for reading a single compilation unit directly from a file, in case no FileRepo
      * is present.
      *
      * @param filename the name of the file to read
-     * @return the parsed compilation unit
+     * @return the source of the compilation unit
      * @throws ParseExceptionInFile exceptions are wrapped into this to provide location information
      */
-    private CompilationUnit readWithoutFileRepo(String filename) throws ParseExceptionInFile {
-        try (Reader fr = new FileReader(filename, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(fr)) {
-            return servConf.getProgramFactory().parseCompilationUnit(br);
+    private CompilationUnitParser.Source readWithoutFileRepo(String filename)
+            throws ParseExceptionInFile {
+        try (Reader fr = new FileReader(filename, StandardCharsets.UTF_8)) {
+            return CompilationUnitParser.read(fr, new DataFileLocation(filename));
         } catch (Exception e) {
             throw new ParseExceptionInFile(filename, e);
         }
     }
 
+    /**
+     * Helper method for parsing a single compilation unit read from a file. It is called
+     * concurrently for several files.
+     *
+     * @param source the source read from the file
+     * @return the parsed compilation unit
+     * @throws ParseExceptionInFile exceptions are wrapped into this to provide location information
+     */
+    private CompilationUnit parseFile(CompilationUnitParser.Source source)
+            throws ParseExceptionInFile {
+        final DataFileLocation location = (DataFileLocation) source.location();
+        try {
+            final CompilationUnit cu =
+                servConf.getProgramFactory().parseCompilationUnit(source.reader());
+            cu.setDataLocation(location);
+            return cu;
+        } catch (Throwable e) {
+            // using throwable here since TokenMgrErrors are not Exceptions ...
+            throw new ParseExceptionInFile(location.getFile().getPath(), e);
+        }
+    }
+
     /**
      * parse a list of java files.
      *
@@ -378,20 +398,18 @@ public class Recoder2KeY implements JavaReader {
         List<recoder.java.CompilationUnit> cUnits = new ArrayList<>();
         parseSpecialClasses(fileRepo);
         try {
+            final List<CompilationUnitParser.Source> sources =
+                new ArrayList<>(cUnitStrings.length);
             for (String filename : cUnitStrings) {
-                final CompilationUnit cu;
-
                 if (fileRepo != null) {
                     // open stream via FileRepo
-                    cu = readViaFileRepo(fileRepo, filename);
+                    sources.add(readViaFileRepo(fileRepo, filename));
                 } else {
                     // fallback without FileRepo
-                    cu = readWithoutFileRepo(filename);
+                    sources.add(readWithoutFileRepo(filename));
                 }
-
-                cu.setDataLocation(new DataFileLocation(filename));
-                cUnits.add(cu);
             }
+            cUnits.addAll(CompilationUnitParser.parse(sources, this::parseFile));
 
             final ChangeHistory changeHistory = servConf.getChangeHistory();
             for (CompilationUnit cUnit : cUnits) {
@@ -543,26 +561,30 @@ public class Recoder2KeY implements JavaReader {
             walker = bootCollection.createWalker(new String[] { ".java", ".jml" });
         }
 
-
+        List<CompilationUnitParser.Source> sources = new ArrayList<>();
         while (walker.step()) {
             DataLocation loc = walker.getCurrentDataLocation();
             try (InputStream is = walker.openCurrent(fileRepo);
-                    Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                    Reader f = new BufferedReader(isr)) {
-
-                recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
-                rcu.setDataLocation(loc);
-                // done by parser : rcu.makeAllParentRolesValid();
-                rcuList.add(rcu);
+                    Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+                sources.add(CompilationUnitParser.read(isr, loc));
             } catch (Exception ex) {
                 throw new ParseExceptionInFile(loc.toString(), ex);
             }
-
-            if (Debug.ENABLE_DEBUG) {
-                LOGGER.debug("parsed: {}", loc);
-            }
         }
 
+        rcuList.addAll(CompilationUnitParser.parse(sources, source -> {
+            try {
+                recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(source.reader());
+                rcu.setDataLocation(source.location());
+                // done by parser : rcu.makeAllParentRolesValid();
+                if (Debug.ENABLE_DEBUG) {
+                    LOGGER.debug("parsed: {}", source.location());
+                }
+                return rcu;
+            } catch (Exception ex) {
+                throw new ParseExceptionInFile(source.location().toString(), ex);
+            }
+        }));
     }
 
     /**
@@ -610,44 +632,10 @@ public class Recoder2KeY implements JavaReader {
         DataLocation currentDataLocation;
 
         // -- read jml files --
-        for (FileCollection fc : sources) {
-            FileCollection.Walker walker = fc.createWalker(".jml");
-            while (walker.step()) {
-                currentDataLocation = walker.getCurrentDataLocation();
-                try (InputStream is = walker.openCurrent(fileRepo);
-                        Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                        Reader f = new BufferedReader(isr)) {
-
-                    recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
-                    rcu.setDataLocation(currentDataLocation);
-                    removeCodeFromClasses(rcu, false);
-                    rcuList.add(rcu);
-                } catch (Exception ex) {
-                    throw new ConvertException(
-                        "Error while loading: " + walker.getCurrentDataLocation(), ex);
-                }
-            }
-        }
+        rcuList.addAll(parseLibraryFiles(pf, sources, ".jml", false, fileRepo));
 
         // -- read java files --
-        for (FileCollection fc : sources) {
-            FileCollection.Walker walker = fc.createWalker(".java");
-            while (walker.step()) {
-                currentDataLocation = walker.getCurrentDataLocation();
-                try (InputStream is = walker.openCurrent(fileRepo);
-                        Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                        Reader f = new BufferedReader(isr)) {
-
-                    recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
-                    rcu.setDataLocation(currentDataLocation);
-                    removeCodeFromClasses(rcu, true);
-                    rcuList.add(rcu);
-                } catch (Exception ex) {
-                    throw new ConvertException(
-                        "Error while loading: " + walker.getCurrentDataLocation(), ex);
-                }
-            }
-        }
+        rcuList.addAll(parseLibraryFiles(pf, sources, ".java", true, fileRepo));
 
         // -- read class files --
         ClassFileDeclarationManager manager = new ClassFileDeclarationManager(pf);
@@ -676,6 +664,46 @@ public class Recoder2KeY implements JavaReader {
 
     }
 
+    /**
+     * reads and parses the files with the given extension of the library class path.
+     *
+     * @param pf the factory used for parsing
+     * @param sources the entries of the class path
+     * @param extension the extension of the files to read
+     * @param allowed whether the files may contain code (see
+     *        {@link #removeCodeFromClasses(CompilationUnit, boolean)})
+     * @param fileRepo the FileRepo for obtaining InputStreams
+     * @return the parsed compilation units, with code removed
+     * @throws IOException if a file collection cannot be walked
+     */
+    private List<recoder.java.CompilationUnit> parseLibraryFiles(ProgramFactory pf,
+            List<FileCollection> sources, String extension, boolean allowed, FileRepo fileRepo)
+            throws IOException {
+        List<CompilationUnitParser.Source> files = new ArrayList<>();
+        for (FileCollection fc : sources) {
+            FileCollection.Walker walker = fc.createWalker(extension);
+            while (walker.step()) {
+                DataLocation currentDataLocation = walker.getCurrentDataLocation();
+                try (InputStream is = walker.openCurrent(fileRepo);
+                        Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+                    files.add(CompilationUnitParser.read(isr, currentDataLocation));
+                } catch (Exception ex) {
+                    throw new ConvertException("Error while loading: " + currentDataLocation, ex);
+                }
+            }
+        }
+        return CompilationUnitParser.parse(files, source -> {
+            try {
+                recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(source.reader());
+                rcu.setDataLocation(source.location());
+                removeCodeFromClasses(rcu, allowed);
+                return rcu;
+            } catch (Exception ex) {
+                throw new ConvertException("Error while loading: " + source.location(), ex);
+            }
+        });
+    }
+
     /*
      * removes code from a parsed compilation unit. This includes method bodies, initial
      * assignments, compile-time constants, static blocks.
@@ -3,10 +3,13 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.java;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
 
 import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.TermFactory;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.PrefixTermTacletAppIndexCacheImpl.CacheKey;
 import de.uka.ilkd.key.proof.Proof;
@@ -27,7 +30,8 @@ import org.key_project.prover.proof.SessionCaches;
 import org.key_project.prover.rules.instantiation.caches.AssumesFormulaInstantiationCache;
 import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.strategy.costbased.RuleAppCost;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
+import org.key_project.util.collection.ConcurrentWeakInterner;
 import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
@@ -76,11 +80,23 @@ public class ServiceCaches implements SessionCaches {
      */
     public static final int MAX_TERM_TACLET_APP_INDEX_ENTRIES = 5000;
 
+    /**
+     * Prefix of the system properties which overwrite the default sizes of the bounded caches, e.g.
+     * {@code servicecaches.betaCandidates.size=2000}.
+     */
+    public static final String CACHE_SIZE_PROPERTY_PREFIX = "servicecaches.";
+
+    /**
+     * All bounded caches of this instance by their names, used to report their statistics.
+     * Declared before the caches as they register themselves during initialization.
+     */
+    private final Map<String, ConcurrentLRUCache<?, ?>> boundedCaches = new LinkedHashMap<>();
+
     /**
      * The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    private final Map<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
-        new LRUCache<>(MAX_TERM_TACLET_APP_INDEX_ENTRIES);
+    private final ConcurrentLRUCache<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
+        createCache("termTacletAppIndex", MAX_TERM_TACLET_APP_INDEX_ENTRIES);
 
     /*
      * Table of formulas which could be splitted using the beta rule This is the cache the method
@@ -88,36 +104,52 @@ public class ServiceCaches implements SessionCaches {
      *
      * keys: Term values: TermInfo
      */
-    private final LRUCache<Term, TermInfo> betaCandidates = new LRUCache<>(1000);
+    private final ConcurrentLRUCache<Term, TermInfo> betaCandidates =
+        createCache("betaCandidates", 1000);
 
-    private final LRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
-        new LRUCache<>(1000);
+    private final ConcurrentLRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
+        createCache("ifThenElseMalus", 1000);
 
-    private final LRUCache<Operator, Integer> introductionTimeCache =
-        new LRUCache<>(10000);
+    private final ConcurrentLRUCache<Operator, Integer> introductionTimeCache =
+        createCache("introductionTime", 10000);
 
-    private final LRUCache<org.key_project.logic.Term, Monomial> monomialCache =
-        new LRUCache<>(2000);
+    private final ConcurrentLRUCache<org.key_project.logic.Term, Monomial> monomialCache =
+        createCache("monomial", 2000);
 
-    private final LRUCache<org.key_project.logic.Term, Polynomial> polynomialCache =
-        new LRUCache<>(2000);
+    private final ConcurrentLRUCache<org.key_project.logic.Term, Polynomial> polynomialCache =
+        createCache("polynomial", 2000);
 
     /**
      * a <code>HashMap</code> from <code>Term</code> to <code>TriggersSet</code> uses to cache all
      * created TriggersSets
      */
-    private final Map<org.key_project.logic.Term, TriggersSet> triggerSetCache =
-        new LRUCache<>(1000);
+    private final ConcurrentLRUCache<org.key_project.logic.Term, TriggersSet> triggerSetCache =
+        createCache("triggerSet", 1000);
 
     /**
      * Map from <code>Term</code>(allTerm) to <code>ClausesGraph</code>
      */
-    private final Map<org.key_project.logic.Term, ClausesGraph> graphCache = new LRUCache<>(1000);
+    private final ConcurrentLRUCache<org.key_project.logic.Term, ClausesGraph> graphCache =
+        createCache("graph", 1000);
+
+    /**
+     * Whether the {@link TermFactory} performs hash-consing via {@link #termInterner} instead of
+     * using the bounded {@link #termCache}. Enabled by setting the system property
+     * {@code termfactory.hashconsing.enabled} to {@code true}.
+     */
+    private static final boolean TERM_HASH_CONSING =
+        Boolean.getBoolean("termfactory.hashconsing.enabled");
 
     /**
      * Cache used by the TermFactory to avoid unnecessary creation of terms
      */
-    private final Map<Term, Term> termCache = new LRUCache<>(20000);
+    private final ConcurrentLRUCache<Term, Term> termCache = createCache("termFactory", 20000);
+
+    /**
+     * Interning table used by the TermFactory if hash-consing is enabled
+     */
+    private final ConcurrentWeakInterner<Term> termInterner =
+        TERM_HASH_CONSING ? new ConcurrentWeakInterner<>() : null;
 
     /**
      * Cache used by TypeComparisonCondition
@@ -128,15 +160,17 @@ public class ServiceCaches implements SessionCaches {
     /**
      * Cache used by HandleArith for caching formatted terms
      */
-    private final LRUCache<Term, Term> formattedTermCache = new LRUCache<>(5000);
+    private final ConcurrentLRUCache<Term, Term> formattedTermCache =
+        createCache("formattedTerm", 5000);
 
     /**
      * Caches used bu HandleArith to cache proof results
      */
-    private final LRUCache<Term, Term> provedByArithFstCache = new LRUCache<>(5000);
+    private final ConcurrentLRUCache<Term, Term> provedByArithFstCache =
+        createCache("provedByArithFst", 5000);
 
-    private final LRUCache<Pair<Term, Term>, Term> provedByArithSndCache =
-        new LRUCache<>(5000);
+    private final ConcurrentLRUCache<Pair<Term, Term>, Term> provedByArithSndCache =
+        createCache("provedByArithSnd", 5000);
 
     /** Cache used by the exhaustive macro */
     private final Map<Node, PosInOccurrence> exhaustiveMacroCache =
@@ -154,7 +188,8 @@ public class ServiceCaches implements SessionCaches {
         new AppliedRuleAppsNameCache();
 
     /** Cache used by EqualityConstraint to speed up meta variable search */
-    private final LRUCache<Term, ImmutableSet<Metavariable>> mvCache = new LRUCache<>(2000);
+    private final ConcurrentLRUCache<Term, ImmutableSet<Metavariable>> mvCache =
+        createCache("metavariables", 2000);
 
 
     /**
@@ -162,55 +197,65 @@ public class ServiceCaches implements SessionCaches {
      *
      * @return The cache used by {@link TermTacletAppIndexCacheSet} instances.
      */
-    public final Map<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
+    public final ConcurrentLRUCache<CacheKey, TermTacletAppIndex> getTermTacletAppIndexCache() {
         return termTacletAppIndexCache;
     }
 
-    public final LRUCache<Term, TermInfo> getBetaCandidates() {
+    public final ConcurrentLRUCache<Term, TermInfo> getBetaCandidates() {
         return betaCandidates;
     }
 
-    public final LRUCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
+    public final ConcurrentLRUCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
         return ifThenElseMalusCache;
     }
 
-    public final LRUCache<Operator, Integer> getIntroductionTimeCache() {
+    public final ConcurrentLRUCache<Operator, Integer> getIntroductionTimeCache() {
         return introductionTimeCache;
     }
 
-    public final LRUCache<org.key_project.logic.Term, Monomial> getMonomialCache() {
+    public final ConcurrentLRUCache<org.key_project.logic.Term, Monomial> getMonomialCache() {
         return monomialCache;
     }
 
-    public final LRUCache<org.key_project.logic.Term, Polynomial> getPolynomialCache() {
+    public final ConcurrentLRUCache<org.key_project.logic.Term, Polynomial> getPolynomialCache() {
         return polynomialCache;
     }
 
-    public final Map<org.key_project.logic.Term, TriggersSet> getTriggerSetCache() {
+    public final ConcurrentLRUCache<org.key_project.logic.Term, TriggersSet> getTriggerSetCache() {
         return triggerSetCache;
     }
 
-    public final Map<org.key_project.logic.Term, ClausesGraph> getGraphCache() {
+    public final ConcurrentLRUCache<org.key_project.logic.Term, ClausesGraph> getGraphCache() {
         return graphCache;
     }
 
-    public final Map<Term, Term> getTermFactoryCache() {
+    public final ConcurrentLRUCache<Term, Term> getTermFactoryCache() {
         return termCache;
     }
 
+    /**
+     * Creates a {@link TermFactory} using the term cache of this instance, i.e., the interning table
+     * if hash-consing is enabled and the bounded term cache otherwise.
+     *
+     * @return a new {@link TermFactory} sharing the term cache of this instance
+     */
+    public final TermFactory createTermFactory() {
+        return termInterner != null ? new TermFactory(termInterner) : new TermFactory(termCache);
+    }
+
     public final Map<Sort, Map<Sort, Boolean>> getDisjointnessCache() {
         return disjointnessCache;
     }
 
-    public final LRUCache<Term, Term> getFormattedTermCache() {
+    public final ConcurrentLRUCache<Term, Term> getFormattedTermCache() {
         return formattedTermCache;
     }
 
-    public final LRUCache<Term, Term> getProvedByArithFstCache() {
+    public final ConcurrentLRUCache<Term, Term> getProvedByArithFstCache() {
         return provedByArithFstCache;
     }
 
-    public final LRUCache<Pair<Term, Term>, Term> getProvedByArithSndCache() {
+    public final ConcurrentLRUCache<Pair<Term, Term>, Term> getProvedByArithSndCache() {
         return provedByArithSndCache;
     }
 
@@ -230,8 +275,48 @@ public class ServiceCaches implements SessionCaches {
         return appliedRuleAppsNameCache;
     }
 
-    public LRUCache<Term, ImmutableSet<Metavariable>> getMVCache() {
+    public ConcurrentLRUCache<Term, ImmutableSet<Metavariable>> getMVCache() {
         return mvCache;
     }
 
+    /**
+     * Returns the bounded caches of this instance by their names. The hit, miss and eviction counts
+     * of the caches can be used to choose their sizes (see {@link #CACHE_SIZE_PROPERTY_PREFIX}).
+     *
+     * @return an unmodifiable view of the bounded caches
+     */
+    public final Map<String, ConcurrentLRUCache<?, ?>> getBoundedCaches() {
+        return Collections.unmodifiableMap(boundedCaches);
+    }
+
+    /**
+     * Returns a human-readable report of the statistics of all bounded caches.
+     *
+     * @return one line per cache with its size, hit rate and number of evictions
+     */
+    public final String getCacheStatistics() {
+        final StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, ConcurrentLRUCache<?, ?>> entry : boundedCaches.entrySet()) {
+            sb.append(entry.getKey()).append(": ").append(entry.getValue().getStatistics())
+                    .append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates and registers a bounded cache. The size can be overwritten by the system property
+     * {@code servicecaches.<name>.size}.
+     *
+     * @param name the name of the cache
+     * @param defaultSize the size used if no system property is set
+     * @return the new cache
+     */
+    private <K, V> ConcurrentLRUCache<K, V> createCache(String name, int defaultSize) {
+        final int size =
+            Integer.getInteger(CACHE_SIZE_PROPERTY_PREFIX + name + ".size", defaultSize);
+        final ConcurrentLRUCache<K, V> cache = new ConcurrentLRUCache<>(size);
+        boundedCaches.put(name, cache);
+        return cache;
+    }
+
 }
@@ -101,7 +101,7 @@ public class Services implements TermServices, LogicServices, ProofServices {
         this.profile = profile;
         this.counters = new LinkedHashMap<>();
         this.caches = new ServiceCaches();
-        this.termBuilder = new TermBuilder(new TermFactory(caches.getTermFactoryCache()), this);
+        this.termBuilder = new TermBuilder(caches.createTermFactory(), this);
         this.termBuilderWithoutCache = new TermBuilder(new TermFactory(), this);
         this.specRepos = new SpecificationRepository(this);
         cee = new ConstantExpressionEvaluator(this);
@@ -120,7 +120,7 @@ public class Services implements TermServices, LogicServices, ProofServices {
         this.profile = profile;
         this.counters = counters;
         this.caches = caches;
-        this.termBuilder = new TermBuilder(new TermFactory(caches.getTermFactoryCache()), this);
+        this.termBuilder = new TermBuilder(caches.createTermFactory(), this);
         this.termBuilderWithoutCache = new TermBuilder(new TermFactory(), this);
         this.specRepos = new SpecificationRepository(this);
         cee = new ConstantExpressionEvaluator(this);
@@ -142,7 +142,7 @@ public class Services implements TermServices, LogicServices, ProofServices {
         this.nameRecorder = s.nameRecorder;
         this.factory = s.factory;
         this.caches = s.caches;
-        this.termBuilder = new TermBuilder(new TermFactory(caches.getTermFactoryCache()), this);
+        this.termBuilder = new TermBuilder(caches.createTermFactory(), this);
         this.termBuilderWithoutCache = new TermBuilder(new TermFactory(), this);
         this.originFactory = s.originFactory;
     }
@@ -271,8 +271,10 @@ public class Services implements TermServices, LogicServices, ProofServices {
      */
     private HashMap<String, Counter> copyCounters() {
         HashMap<String, Counter> result = new LinkedHashMap<>();
-        for (Entry<String, Counter> entry : counters.entrySet()) {
-            result.put(entry.getKey(), entry.getValue().copy());
+        synchronized (counters) {
+            for (Entry<String, Counter> entry : counters.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().copy());
+            }
         }
         return result;
     }
@@ -315,13 +317,9 @@ public class Services implements TermServices, LogicServices, ProofServices {
      * returns an existing named counter, creates a new one otherwise
      */
     public Counter getCounter(String name) {
-        Counter c = counters.get(name);
-        if (c != null) {
-            return c;
+        synchronized (counters) {
+            return counters.computeIfAbsent(name, Counter::new);
         }
-        c = new Counter(name);
-        counters.put(name, c);
-        return c;
     }
 
     /**
@@ -332,7 +330,9 @@ public class Services implements TermServices, LogicServices, ProofServices {
         if (proof.root().childrenCount() > 0) {
             throw new IllegalStateException("tried to reset counters on non-empty proof");
         }
-        counters.clear();
+        synchronized (counters) {
+            counters.clear();
+        }
     }
 
     /**
@@ -5,6 +5,7 @@ package de.uka.ilkd.key.java.recoderext;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.util.List;
 
 import de.uka.ilkd.key.java.recoderext.adt.MethodSignature;
@@ -69,9 +70,11 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
 
 
     /**
-     * For internal reuse and synchronization.
+     * The parsers for internal reuse, one per thread as a parser can be used by one thread at a
+     * time only.
      */
-    private static final ProofJavaParser parser = new ProofJavaParser(System.in);
+    private static final ThreadLocal<ProofJavaParser> PARSERS =
+        ThreadLocal.withInitial(() -> new ProofJavaParser(new StringReader("")));
 
     private static final Position ZERO_POSITION = new Position(0, 0);
 
@@ -200,13 +203,21 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
         }
     }
 
+    /**
+     * Returns the parser of the current thread, prepared to read from the given reader.
+     */
+    private static ProofJavaParser initializeParser(Reader in) {
+        final ProofJavaParser parser = PARSERS.get();
+        parser.initialize(in);
+        return parser;
+    }
+
     /**
      * Perform post work on the created element. Creates parent links and assigns comments.
      */
-    private static void postWork(ProgramElement programElem) {
+    private static void postWork(ProgramElement programElem, List<Comment> comments) {
         makeParentRolesValid(programElem);
 
-        List<Comment> comments = ProofJavaParser.getComments();
         int commentIndex = 0;
         int commentCount = comments.size();
         if (commentCount == 0) {
@@ -280,15 +291,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public CompilationUnit parseCompilationUnit(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                CompilationUnit res = ProofJavaParser.CompilationUnit();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            CompilationUnit res = parser.CompilationUnit();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -297,16 +306,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public TypeDeclaration parseTypeDeclaration(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                TypeDeclaration res = ProofJavaParser.TypeDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            TypeDeclaration res = parser.TypeDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -315,16 +321,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public FieldDeclaration parseFieldDeclaration(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                FieldDeclaration res = ProofJavaParser.FieldDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            FieldDeclaration res = parser.FieldDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -333,16 +336,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public MethodDeclaration parseMethodDeclaration(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                MethodDeclaration res = ProofJavaParser.MethodDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            MethodDeclaration res = parser.MethodDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -351,16 +351,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public MemberDeclaration parseMemberDeclaration(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                MemberDeclaration res = ProofJavaParser.ClassBodyDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            MemberDeclaration res = parser.ClassBodyDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -370,16 +367,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
     @Override
     public ParameterDeclaration parseParameterDeclaration(Reader in)
             throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                ParameterDeclaration res = ProofJavaParser.FormalParameter();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            ParameterDeclaration res = parser.FormalParameter();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -389,16 +383,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
     @Override
     public ConstructorDeclaration parseConstructorDeclaration(Reader in)
             throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                ConstructorDeclaration res = ProofJavaParser.ConstructorDeclaration();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            ConstructorDeclaration res = parser.ConstructorDeclaration();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -407,16 +398,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public TypeReference parseTypeReference(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                TypeReference res = ProofJavaParser.ResultType();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            TypeReference res = parser.ResultType();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -425,16 +413,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public Expression parseExpression(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                Expression res = ProofJavaParser.Expression();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            Expression res = parser.Expression();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -443,18 +428,15 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public ASTList<Statement> parseStatements(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                ASTList<Statement> res = ProofJavaParser.GeneralizedStatements();
-                for (Statement re : res) {
-                    postWork(re);
-                }
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            ASTList<Statement> res = parser.GeneralizedStatements();
+            for (Statement re : res) {
+                postWork(re, parser.getComments());
             }
-
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -463,16 +445,13 @@ public class ProofJavaProgramFactory extends JavaProgramFactory {
      */
     @Override
     public StatementBlock parseStatementBlock(Reader in) throws IOException, ParserException {
-        synchronized (parser) {
-            try {
-                ProofJavaParser.initialize(in);
-                StatementBlock res = ProofJavaParser.StartBlock();
-                postWork(res);
-                return res;
-            } catch (ParseException e) {
-                throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
-            }
-
+        final ProofJavaParser parser = initializeParser(in);
+        try {
+            StatementBlock res = parser.StartBlock();
+            postWork(res, parser.getComments());
+            return res;
+        } catch (ParseException e) {
+            throw (ParserException) (new ParserException(e.getMessage())).initCause(e);
         }
     }
 
@@ -4,7 +4,7 @@
 package de.uka.ilkd.key.logic;
 
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.Optional;
 
 import de.uka.ilkd.key.logic.label.TermLabel;
@@ -12,6 +12,7 @@ import de.uka.ilkd.key.logic.op.Operator;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 
 import org.key_project.logic.TermCreationException;
+import org.key_project.util.collection.ConcurrentWeakInterner;
 import org.key_project.util.collection.ImmutableArray;
 
 import org.jspecify.annotations.NonNull;
@@ -29,7 +30,10 @@ public final class TermFactory {
 
 
     private static final ImmutableArray<Term> NO_SUBTERMS = new ImmutableArray<>();
-    private final Map<Term, Term> cache;
+    /** bounded cache of created terms, shared by the factories of a proof environment */
+    private final ConcurrentMap<Term, Term> cache;
+    /** interning table used for hash-consing instead of {@link #cache} */
+    private final ConcurrentWeakInterner<Term> interner;
 
 
     // -------------------------------------------------------------------------
@@ -39,10 +43,24 @@ public final class TermFactory {
 
     public TermFactory() {
         this.cache = null;
+        this.interner = null;
     }
 
-    public TermFactory(Map<Term, Term> cache) {
+    public TermFactory(ConcurrentMap<Term, Term> cache) {
         this.cache = cache;
+        this.interner = null;
+    }
+
+    /**
+     * Creates a term factory performing hash-consing: all created terms (without Java blocks) are
+     * interned in the given table, so that equal terms are represented by the same object as long
+     * as they are in use.
+     *
+     * @param interner the interning table shared by all factories of a proof environment
+     */
+    public TermFactory(ConcurrentWeakInterner<Term> interner) {
+        this.cache = null;
+        this.interner = interner;
     }
 
     // -------------------------------------------------------------------------
@@ -124,16 +142,14 @@ public final class TermFactory {
         // Check if caching is possible. It is not possible if a non-empty JavaBlock is available
         // in the term or in one of its children because the meta information like PositionInfos
         // may be different.
-        if (cache != null && !newTerm.containsJavaBlockRecursive()) {
-            Term term;
-            synchronized (cache) {
-                term = cache.get(newTerm);
-            }
+        if (interner != null && !newTerm.containsJavaBlockRecursive()) {
+            final Term term = interner.get(newTerm);
+            return term != null ? term : interner.intern(newTerm.checked());
+        } else if (cache != null && !newTerm.containsJavaBlockRecursive()) {
+            Term term = cache.get(newTerm);
             if (term == null) {
                 term = newTerm.checked();
-                synchronized (cache) {
-                    cache.put(term, term);
-                }
+                cache.put(term, term);
             }
             return term;
         } else {
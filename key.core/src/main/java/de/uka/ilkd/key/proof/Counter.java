@@ -4,7 +4,10 @@
 package de.uka.ilkd.key.proof;
 
 
-/** Proof-specific counter object: taclet names, var names, node numbers, etc */
+/**
+ * Proof-specific counter object: taclet names, var names, node numbers, etc. Counters may be
+ * incremented concurrently, e.g., when rule applications are selected on several threads.
+ */
 public class Counter {
 
     private final String name;
@@ -19,19 +22,19 @@ public class Counter {
         this.count = count;
     }
 
-    public int getCount() {
+    public synchronized int getCount() {
         return count;
     }
 
-    public int getCountPlusPlus() {
+    public synchronized int getCountPlusPlus() {
         return count++;
     }
 
-    public String toString() {
+    public synchronized String toString() {
         return "Counter " + name + ": " + count;
     }
 
-    public Counter copy() {
+    public synchronized Counter copy() {
         return new Counter(name, count);
     }
 }
@@ -0,0 +1,286 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.SortDependingFunction;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+
+import org.key_project.logic.op.Modality;
+import org.key_project.logic.op.Operator;
+import org.key_project.logic.op.sv.SchemaVariable;
+import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A persistent discrimination tree over the find expressions of taclets. It is used by
+ * {@link TacletIndex} to select the taclets whose find expression may match a given term by
+ * comparing the operators of the first {@value #MAX_DEPTH} levels of the term with those of the
+ * find expressions, so that only these taclets have to be matched.
+ *
+ * <p>
+ * Each find expression is stored along the sequence of its operators in pre-order. Schema
+ * variables, program blocks and all subterms below depth {@value #MAX_DEPTH} are represented by a
+ * wildcard which matches any subterm. The operators are compared as by the taclet matcher, i.e.,
+ * sort depending functions are compared by their kind and elementary updates regardless of their
+ * left hand side. The tree is hence an over-approximation: each taclet whose find expression
+ * matches a term is returned, but not each returned taclet needs to match.
+ * </p>
+ *
+ * <p>
+ * The taclets are returned in the reverse order of their insertion, which is the order of the
+ * lists of {@link TacletIndex}. Trees are immutable and thus can be shared between copies of a
+ * taclet index and be accessed concurrently.
+ * </p>
+ */
+final class DiscriminationTree {
+    /** the empty tree */
+    static final DiscriminationTree EMPTY = new DiscriminationTree(Node.EMPTY, 0);
+
+    /** the depth up to which subterms are compared, the root has depth 0 */
+    static final int MAX_DEPTH = 3;
+
+    /** the key representing a subterm which is not compared */
+    private static final Object WILDCARD = new Object() {
+        @Override
+        public String toString() {
+            return "*";
+        }
+    };
+
+    /** source of the insertion numbers which determine the order of retrieved taclets */
+    private static final AtomicLong INSERTIONS = new AtomicLong();
+
+    private final Node root;
+    private final int size;
+
+    private DiscriminationTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Checks whether the given taclet can be stored in a tree. This is the case for all find
+     * taclets whose find expression is neither a schema variable nor a program.
+     *
+     * @param taclet the taclet to check
+     * @return true iff {@link #add(NoPosTacletApp)} accepts the taclet
+     */
+    static boolean isIndexable(FindTaclet taclet) {
+        final Term find = taclet.find();
+        return find.javaBlock().isEmpty() && !(find.op() instanceof SchemaVariable)
+                && !(find.op() instanceof Modality);
+    }
+
+    /**
+     * @return the number of stored taclet apps
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a taclet app. It is returned before all taclet apps added earlier.
+     *
+     * @param app the taclet app to add, its taclet has to be {@link #isIndexable(FindTaclet)}
+     * @return the tree additionally containing <code>app</code>
+     */
+    DiscriminationTree add(NoPosTacletApp app) {
+        final List<Object> keys = keysOf(((FindTaclet) app.taclet()).find());
+        final Entry entry = new Entry(INSERTIONS.incrementAndGet(), app);
+        return new DiscriminationTree(root.add(keys, 0, entry), size + 1);
+    }
+
+    /**
+     * Removes all occurrences of a taclet app.
+     *
+     * @param app the taclet app to remove
+     * @return the tree without <code>app</code>
+     */
+    DiscriminationTree remove(NoPosTacletApp app) {
+        final List<Object> keys = keysOf(((FindTaclet) app.taclet()).find());
+        final Node newRoot = root.remove(keys, 0, app);
+        return newRoot == root ? this : new DiscriminationTree(newRoot, count(newRoot));
+    }
+
+    /**
+     * Determines the taclet apps whose find expression may match the given term.
+     *
+     * @param term the term to match
+     * @return the candidates in reverse order of their insertion
+     */
+    ImmutableList<NoPosTacletApp> getCandidates(Term term) {
+        final List<Entry> found = new ArrayList<>();
+        collect(root, new Pending(term, 0, null), found);
+        if (found.isEmpty()) {
+            return ImmutableSLList.nil();
+        }
+        found.sort(null);
+        ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
+        for (Entry entry : found) {
+            result = result.prepend(entry.app);
+        }
+        return result;
+    }
+
+    private static void collect(Node node, @Nullable Pending pending, List<Entry> found) {
+        if (pending == null) {
+            for (Entry entry : node.entries) {
+                found.add(entry);
+            }
+            return;
+        }
+        final Node wildcard = node.children.get(WILDCARD);
+        if (wildcard != null) {
+            collect(wildcard, pending.next, found);
+        }
+        final Term term = pending.term;
+        final Object key = pending.depth > MAX_DEPTH ? null : keyOf(term);
+        final Node child = key == null ? null : node.children.get(key);
+        if (child != null) {
+            Pending next = pending.next;
+            for (int i = term.arity() - 1; i >= 0; i--) {
+                next = new Pending(term.sub(i), pending.depth + 1, next);
+            }
+            collect(child, next, found);
+        }
+    }
+
+    /**
+     * @return the key of the top level operator of the given term or <code>null</code> if the
+     *         operator is only matched by wildcards
+     */
+    private static @Nullable Object keyOf(Term term) {
+        final Operator op = term.op();
+        if (!term.javaBlock().isEmpty() || op instanceof Modality) {
+            return null;
+        } else if (op instanceof SortDependingFunction sortDependingFunction) {
+            return sortDependingFunction.getKind();
+        } else if (op instanceof ElementaryUpdate) {
+            return ElementaryUpdate.class;
+        }
+        return op;
+    }
+
+    private static List<Object> keysOf(Term pattern) {
+        final List<Object> keys = new ArrayList<>();
+        collectKeys(pattern, 0, keys);
+        return keys;
+    }
+
+    private static void collectKeys(Term pattern, int depth, List<Object> keys) {
+        final Object key = depth > MAX_DEPTH || pattern.op() instanceof SchemaVariable ? null
+                : keyOf(pattern);
+        if (key == null) {
+            keys.add(WILDCARD);
+            return;
+        }
+        keys.add(key);
+        for (int i = 0; i < pattern.arity(); i++) {
+            collectKeys(pattern.sub(i), depth + 1, keys);
+        }
+    }
+
+    private static int count(Node node) {
+        int result = node.entries.size();
+        for (Node child : node.children.values()) {
+            result += count(child);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscriminationTree(" + size + " taclets)";
+    }
+
+    /**
+     * A stored taclet app with its insertion number.
+     */
+    private record Entry(long insertion, NoPosTacletApp app) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            return Long.compare(insertion, o.insertion);
+        }
+    }
+
+    /**
+     * The subterms of a term which still have to be compared, as a linked list.
+     */
+    private record Pending(Term term, int depth, @Nullable Pending next) {
+    }
+
+    /**
+     * An immutable node of the tree. The entries are those of the find expressions ending in
+     * this node.
+     */
+    private static final class Node {
+        static final Node EMPTY = new Node(ImmutableSLList.nil(), Collections.emptyMap());
+
+        final ImmutableList<Entry> entries;
+        final Map<Object, Node> children;
+
+        Node(ImmutableList<Entry> entries, Map<Object, Node> children) {
+            this.entries = entries;
+            this.children = children;
+        }
+
+        boolean isEmpty() {
+            return entries.isEmpty() && children.isEmpty();
+        }
+
+        Node add(List<Object> keys, int index, Entry entry) {
+            if (index == keys.size()) {
+                return new Node(entries.prepend(entry), children);
+            }
+            final Object key = keys.get(index);
+            final Node child = children.getOrDefault(key, EMPTY);
+            return withChild(key, child.add(keys, index + 1, entry));
+        }
+
+        Node remove(List<Object> keys, int index, NoPosTacletApp app) {
+            if (index == keys.size()) {
+                ImmutableList<Entry> remaining = ImmutableSLList.nil();
+                boolean changed = false;
+                for (Entry entry : entries) {
+                    if (entry.app.equals(app)) {
+                        changed = true;
+                    } else {
+                        remaining = remaining.prepend(entry);
+                    }
+                }
+                return changed ? new Node(remaining.reverse(), children) : this;
+            }
+            final Object key = keys.get(index);
+            final Node child = children.get(key);
+            if (child == null) {
+                return this;
+            }
+            final Node newChild = child.remove(keys, index + 1, app);
+            return newChild == child ? this : withChild(key, newChild);
+        }
+
+        private Node withChild(Object key, Node child) {
+            final Map<Object, Node> newChildren = new HashMap<>(children);
+            if (child.isEmpty()) {
+                newChildren.remove(key);
+            } else {
+                newChildren.put(key, child);
+            }
+            return new Node(entries, newChildren.isEmpty() ? Collections.emptyMap()
+                    : Collections.unmodifiableMap(newChildren));
+        }
+    }
+}
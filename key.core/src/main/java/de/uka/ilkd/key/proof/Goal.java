@@ -7,7 +7,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.NamespaceSet;
@@ -15,6 +14,8 @@ import de.uka.ilkd.key.logic.op.IProgramVariable;
 import de.uka.ilkd.key.logic.op.ProgramVariable;
 import de.uka.ilkd.key.pp.LogicPrinter;
 import de.uka.ilkd.key.pp.NotationInfo;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
 import de.uka.ilkd.key.proof.proofevent.NodeChangeJournal;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
 import de.uka.ilkd.key.rule.AbstractExternalSolverRuleApp;
@@ -60,12 +61,6 @@ import org.jspecify.annotations.NonNull;
  */
 public final class Goal implements ProofGoal<@NonNull Goal> {
 
-    public static final AtomicLong PERF_APP_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_TAG_MANAGER = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_RULE_APP_INDEX = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_LISTENERS = new AtomicLong();
-
     /**
      * If an application of a rule added some information for the strategy, then this information is
      * stored in this map.
@@ -238,17 +233,18 @@ public final class Goal implements ProofGoal<@NonNull Goal> {
      */
     private void fireSequentChanged(
             SequentChangeInfo sci) {
-        var time = System.nanoTime();
+        final ProofProfile profile = proof().getProfile();
+        long start = profile.start();
         getFormulaTagManager().sequentChanged(this, sci);
-        var time1 = System.nanoTime();
-        PERF_UPDATE_TAG_MANAGER.getAndAdd(time1 - time);
+        profile.stop(Category.PHASE, "Goal update tag manager", start);
+        start = profile.start();
         ruleAppIndex.sequentChanged(sci);
-        var time2 = System.nanoTime();
-        PERF_UPDATE_RULE_APP_INDEX.getAndAdd(time2 - time1);
+        profile.stop(Category.PHASE, "Goal update rule app index", start);
+        start = profile.start();
         for (GoalListener listener : listeners) {
             listener.sequentChanged(this, sci);
         }
-        PERF_UPDATE_LISTENERS.getAndAdd(System.nanoTime() - time2);
+        profile.stop(Category.PHASE, "Goal update listeners", start);
     }
 
     private void fireGoalReplaced(Goal goal, Node parent, ImmutableList<Goal> newGoals) {
@@ -386,10 +382,11 @@ public final class Goal implements ProofGoal<@NonNull Goal> {
         }
         node().setSequent(sci.sequent());
         node().getNodeInfo().setSequentChangeInfo(sci);
-        var time = System.nanoTime();
+        final ProofProfile profile = proof().getProfile();
+        final long start = profile.start();
         // updates the index
         fireSequentChanged(sci);
-        PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - time);
+        profile.stop(Category.PHASE, "Goal setSequent", start);
     }
 
     /**
@@ -626,7 +623,8 @@ public final class Goal implements ProofGoal<@NonNull Goal> {
          * caught.
          */
         final ImmutableList<Goal> goalList;
-        var time = System.nanoTime();
+        final ProofProfile profile = proof.getProfile();
+        final long start = profile.start();
         ruleApp.checkApplicability();
         ruleApp.registerSkolemConstants(localNamespaces.functions());
         addAppliedRuleApp(ruleApp);
@@ -637,7 +635,7 @@ public final class Goal implements ProofGoal<@NonNull Goal> {
             node().setAppliedRuleApp(null);
             return null;
         } finally {
-            PERF_APP_EXECUTE.getAndAdd(System.nanoTime() - time);
+            profile.stopRule(ruleApp, start);
         }
 
         proof.getServices().saveNameRecorder(n);
@@ -656,6 +654,9 @@ public final class Goal implements ProofGoal<@NonNull Goal> {
         adaptNamespacesNewGoals(goalList);
         final RuleAppInfo ruleAppInfo = journal.getRuleAppInfo(ruleApp);
         proof.fireRuleApplied(new ProofEvent(proof, ruleAppInfo, goalList));
+        if (proof.getSequentCheckpointInterval() > 0) {
+            n.dropSequent(proof.getSequentCheckpointInterval());
+        }
         return goalList;
     }
 
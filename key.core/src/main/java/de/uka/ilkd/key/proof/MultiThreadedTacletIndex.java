@@ -7,6 +7,7 @@ import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 
 import de.uka.ilkd.key.java.Services;
@@ -20,9 +21,18 @@ import org.key_project.util.collection.ImmutableSLList;
 
 /**
  * A multi-threaded taclet index implementation. It executes method
- * {@link #matchTaclets(ImmutableList, RuleFilter, PosInOccurrence, Services)}
- * using multiple
- * threads (depending on the number of taclets being matched and number of available processors).
+ * {@link #matchTaclets(ImmutableList, RuleFilter, PosInOccurrence, Services)} and the batch
+ * matching of {@link #getFindTaclets(List, RuleFilter, Services)} using multiple threads of a
+ * dedicated pool.
+ *
+ * <p>
+ * Whether matching is distributed is decided adaptively: the index learns the average time
+ * needed to match a single taclet resp. all taclets at a single position (as exponentially
+ * weighted moving averages over all sequential matching runs) and only forks if the estimated
+ * work is at least {@value #MIN_PARALLEL_WORK_PROPERTY} nanoseconds (default
+ * {@value #DEFAULT_MIN_PARALLEL_WORK}). The number of threads is given by the system property
+ * {@value #PARALLELISM_PROPERTY} (default: number of available processors).
+ * </p>
  *
  * Do not create this index directly. Use the {@link TacletIndexKit#createTacletIndex()} resp.
  * {@link TacletIndexKit#createTacletIndex(Iterable)}.
@@ -32,9 +42,40 @@ import org.key_project.util.collection.ImmutableSLList;
  */
 final class MultiThreadedTacletIndex extends TacletIndex {
 
-    private static final ForkJoinPool execs = ForkJoinPool.commonPool(); // <- Use this once we
-                                                                         // switch to
-    // Java 8
+    /** the system property setting the number of matching threads */
+    static final String PARALLELISM_PROPERTY = "tacletindex.threading.parallelism";
+
+    /** the system property setting the minimal estimated work (in ns) worth distributing */
+    static final String MIN_PARALLEL_WORK_PROPERTY = "tacletindex.threading.minParallelWork";
+
+    /** default of {@link #MIN_PARALLEL_WORK_PROPERTY} */
+    static final long DEFAULT_MIN_PARALLEL_WORK = 200_000;
+
+    private static final int PARALLELISM = Math.max(1,
+        Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()));
+
+    private static final long MIN_PARALLEL_WORK =
+        Long.getLong(MIN_PARALLEL_WORK_PROPERTY, DEFAULT_MIN_PARALLEL_WORK);
+
+    /** minimal number of taclets matched by one task */
+    private static final int MIN_TACLETS_PER_TASK = 16;
+
+    /** tasks per thread when matching several positions, as their costs differ a lot */
+    private static final int POSITION_TASKS_PER_THREAD = 4;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM, pool -> {
+        final ForkJoinWorkerThread thread =
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("TacletMatcher-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
+
+    /** learned time needed to match a single taclet */
+    private static final CostEstimate TACLET_COST = new CostEstimate(1_000);
+
+    /** learned time needed to match all taclets at a single position */
+    private static final CostEstimate POSITION_COST = new CostEstimate(10_000);
 
     MultiThreadedTacletIndex(Iterable<Taclet> tacletSet) {
         super(tacletSet);
@@ -47,9 +88,13 @@ final class MultiThreadedTacletIndex extends TacletIndex {
     private MultiThreadedTacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
             HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
             HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+            HashMap<Object, DiscriminationTree> rwTrees,
+            HashMap<Object, DiscriminationTree> antecTrees,
+            HashMap<Object, DiscriminationTree> succTrees,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
-        super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
+        super(rwList, antecList, succList, rwTrees, antecTrees, succTrees, noFindList,
+            partialInstantiatedRuleApps);
     }
 
     /**
@@ -61,7 +106,10 @@ final class MultiThreadedTacletIndex extends TacletIndex {
         return new MultiThreadedTacletIndex(
             (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
             (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
+            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(),
+            (HashMap<Object, DiscriminationTree>) rwTrees.clone(),
+            (HashMap<Object, DiscriminationTree>) antecTrees.clone(),
+            (HashMap<Object, DiscriminationTree>) succTrees.clone(), noFindList,
             (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
     }
 
@@ -78,31 +126,10 @@ final class MultiThreadedTacletIndex extends TacletIndex {
             return result;
         }
 
-        if (tacletApps.size() > 256) {
-            NoPosTacletApp[] toMatch = tacletApps.toArray(NoPosTacletApp.class);
-            final int localParallelism =
-                (Math.min(toMatch.length >> 5, execs.getParallelism()));
-            final int partitionSize = toMatch.length / localParallelism;
-
-            List<TacletSetMatchTask> forks = new ArrayList<>();
-
-            for (int lower = 0; lower < toMatch.length; lower += partitionSize) {
-                int upper = lower + partitionSize;
-                upper = Math.min(upper, toMatch.length);
-                forks.add(new TacletSetMatchTask(toMatch, lower, upper, pos, p_filter, services));
-            }
-
-            List<NoPosTacletApp> matchedRules = new LinkedList<>();
-
-            try {
-                for (Future<List<NoPosTacletApp>> res : execs.invokeAll(forks)) {
-                    matchedRules.addAll(res.get());
-                }
-            } catch (InterruptedException | ExecutionException e) {
-                throw new IllegalStateException(e);
-            }
-            result = result.prependReverse(matchedRules);
-        } else {
+        final int size = tacletApps.size();
+        final int tasks = Math.min(PARALLELISM, size / MIN_TACLETS_PER_TASK);
+        if (tasks < 2 || !worthForking(TACLET_COST, size)) {
+            final long start = System.nanoTime();
             for (final NoPosTacletApp tacletApp : tacletApps) {
                 if (!p_filter.filter(tacletApp.taclet())) {
                     continue;
@@ -112,11 +139,130 @@ final class MultiThreadedTacletIndex extends TacletIndex {
                     result = result.prepend(newTacletApp);
                 }
             }
+            TACLET_COST.update(size, System.nanoTime() - start);
+            return result;
+        }
+
+        final NoPosTacletApp[] toMatch = tacletApps.toArray(NoPosTacletApp.class);
+        final List<TacletSetMatchTask> forks = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            forks.add(new TacletSetMatchTask(toMatch, (int) ((long) size * i / tasks),
+                (int) ((long) size * (i + 1) / tasks), pos, p_filter, services));
         }
 
+        final List<NoPosTacletApp> matchedRules = new ArrayList<>();
+        for (List<NoPosTacletApp> matched : invokeAll(forks)) {
+            matchedRules.addAll(matched);
+        }
+        // same order as in the sequential case
+        return result.prependReverse(matchedRules);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> getFindTaclets(
+            List<PosInOccurrence> positions, RuleFilter filter, Services services) {
+        final int size = positions.size();
+        final int tasks = Math.min(PARALLELISM * POSITION_TASKS_PER_THREAD, size);
+        if (tasks < 2 || !worthForking(POSITION_COST, size)) {
+            final long start = System.nanoTime();
+            final Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> result =
+                super.getFindTaclets(positions, filter, services);
+            POSITION_COST.update(size, System.nanoTime() - start);
+            return result;
+        }
+
+        final List<PositionsMatchTask> forks = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            forks.add(new PositionsMatchTask(positions.subList((int) ((long) size * i / tasks),
+                (int) ((long) size * (i + 1) / tasks)), filter, services));
+        }
+
+        final Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> result =
+            new HashMap<>(size * 2);
+        for (Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> matched : invokeAll(forks)) {
+            result.putAll(matched);
+        }
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsBatchMatching() {
+        return PARALLELISM > 1;
+    }
+
+    /**
+     * Decides whether distributing work is worth the overhead. Matching is never distributed from
+     * within a matching thread, e.g., when matching the taclets at one of several positions
+     * matched in parallel, as the pool is already busy then.
+     *
+     * @param cost the learned cost of one work item
+     * @param items the number of work items
+     * @return true iff the work is to be distributed
+     */
+    private static boolean worthForking(CostEstimate cost, int items) {
+        if (Thread.currentThread() instanceof ForkJoinWorkerThread worker
+                && worker.getPool() == POOL) {
+            return false;
+        }
+        return cost.estimate(items) >= MIN_PARALLEL_WORK;
+    }
+
+    private static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+        final List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> res : POOL.invokeAll(tasks)) {
+                results.add(res.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Exponentially weighted moving average of the time needed for one item of work. Concurrent
+     * updates may get lost, which is acceptable for an estimate.
+     */
+    static final class CostEstimate {
+        /** weight of a new measurement */
+        private static final double ALPHA = 0.05;
+
+        private volatile double nanosPerItem;
+
+        CostEstimate(double initialNanosPerItem) {
+            this.nanosPerItem = initialNanosPerItem;
+        }
+
+        /**
+         * @param items number of work items
+         * @return the estimated time in nanoseconds to process the items sequentially
+         */
+        double estimate(int items) {
+            return nanosPerItem * items;
+        }
+
+        /**
+         * takes a measurement into account
+         *
+         * @param items number of processed work items
+         * @param nanos time needed to process the items sequentially
+         */
+        void update(int items, long nanos) {
+            if (items > 0) {
+                nanosPerItem = (1 - ALPHA) * nanosPerItem + ALPHA * ((double) nanos / items);
+            }
+        }
+    }
+
     /**
      * The callable implementing the actual matching task.
      */
@@ -153,7 +299,8 @@ final class MultiThreadedTacletIndex extends TacletIndex {
 
         @Override
         public List<NoPosTacletApp> call() {
-            List<NoPosTacletApp> result = new LinkedList<>();
+            final long start = System.nanoTime();
+            List<NoPosTacletApp> result = new ArrayList<>();
             for (int i = lower; i < upper; i++) {
                 NoPosTacletApp tacletApp = toMatch[i];
                 if (!ruleFilter.filter(tacletApp.taclet())) {
@@ -164,8 +311,42 @@ final class MultiThreadedTacletIndex extends TacletIndex {
                     result.add(newTacletApp);
                 }
             }
+            TACLET_COST.update(upper - lower, System.nanoTime() - start);
             return result;
         }
 
     }
+
+    /**
+     * The callable matching the taclets at several positions.
+     */
+    private final class PositionsMatchTask
+            implements Callable<Map<PosInOccurrence, ImmutableList<NoPosTacletApp>>> {
+        private final List<PosInOccurrence> positions;
+        private final RuleFilter ruleFilter;
+        private final Services services;
+
+        /**
+         * Creates a task which matches the taclets of this index at each of the given positions.
+         *
+         * @param positions the positions to match the taclets against
+         * @param ruleFilter {@link RuleFilter} constraining the taclets to be matched
+         * @param services the {@link Services}
+         */
+        PositionsMatchTask(List<PosInOccurrence> positions, RuleFilter ruleFilter,
+                Services services) {
+            this.positions = positions;
+            this.ruleFilter = ruleFilter;
+            this.services = services;
+        }
+
+        @Override
+        public Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> call() {
+            final long start = System.nanoTime();
+            final Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> result =
+                MultiThreadedTacletIndex.super.getFindTaclets(positions, ruleFilter, services);
+            POSITION_COST.update(positions.size(), System.nanoTime() - start);
+            return result;
+        }
+    }
 }
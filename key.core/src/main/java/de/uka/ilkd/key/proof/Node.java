@@ -60,7 +60,16 @@ public class Node implements Iterable<Node> {
      */
     private BranchLocation branchLocation = null;
 
-    private Sequent seq = JavaDLSequentKit.getInstance().getEmptySequent();
+    /**
+     * The sequent of this node, or {@code null} if it has been dropped in favour of
+     * {@link #sequentDelta} (see {@link Proof#setSequentCheckpointInterval(int)}).
+     */
+    private @Nullable Sequent seq = JavaDLSequentKit.getInstance().getEmptySequent();
+
+    /**
+     * Restores the dropped sequent of this inner node from the sequent of its only child.
+     */
+    private @Nullable SequentDelta sequentDelta = null;
 
     private final ArrayList<Node> children = new ArrayList<>(1);
 
@@ -123,7 +132,7 @@ public class Node implements Iterable<Node> {
     /**
      * Holds the undo methods for the information added by rules to the {@code Goal.strategyInfos}.
      */
-    private final List<StrategyInfoUndoMethod> undoInfoForStrategyInfo = new ArrayList<>();
+    private List<StrategyInfoUndoMethod> undoInfoForStrategyInfo = List.of();
 
 
     /**
@@ -158,12 +167,74 @@ public class Node implements Iterable<Node> {
      * sets the sequent at this node
      */
     public void setSequent(Sequent seq) {
+        if (parent != null) {
+            // the difference stored by the parent refers to the old sequent
+            parent.restoreSequent();
+        }
         this.seq = seq;
+        this.sequentDelta = null;
     }
 
     /** returns the sequent of this node */
     public Sequent sequent() {
-        return seq;
+        if (seq != null) {
+            return seq;
+        }
+        // the sequent has been dropped: go down to the next node that still has its sequent and
+        // restore the sequents on the way back
+        final List<Node> path = new ArrayList<>();
+        Node current = this;
+        while (current.seq == null) {
+            path.add(current);
+            current = current.children.get(0);
+        }
+        Sequent result = current.seq;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            result = path.get(i).sequentDelta.restore(result);
+        }
+        return result;
+    }
+
+    /**
+     * @return true iff this node keeps its sequent, i.e., its sequent has not been dropped
+     */
+    boolean hasSequent() {
+        return seq != null;
+    }
+
+    /**
+     * Drops the sequent of this inner node if it is neither a branching point nor a checkpoint.
+     * The sequent is restored on demand from the sequent of the only child.
+     *
+     * @param checkpointInterval the maximal number of consecutive nodes on a branch without a
+     *        sequent plus one
+     */
+    void dropSequent(int checkpointInterval) {
+        // the change information refers to the sequent of the parent and is only used for goals
+        nodeInfo.setSequentChangeInfo(null);
+        if (seq == null || children.size() != 1) {
+            return;
+        }
+        int dropped = 1;
+        for (Node n = parent; n != null && n.seq == null; n = n.parent) {
+            dropped++;
+        }
+        if (dropped >= checkpointInterval) {
+            return;
+        }
+        sequentDelta = SequentDelta.create(children.get(0).sequent(), seq);
+        seq = null;
+    }
+
+    /**
+     * Restores the sequent of this node if it has been dropped. This is necessary before the
+     * children of the node are changed.
+     */
+    void restoreSequent() {
+        if (seq == null) {
+            seq = sequent();
+            sequentDelta = null;
+        }
     }
 
     /**
@@ -409,6 +480,7 @@ public class Node implements Iterable<Node> {
      * @return false iff the given node was not child of this node and nothing has been done.
      */
     boolean remove(Node child) {
+        restoreSequent();
         if (children.remove(child)) {
             child.parent = null;
             final ListIterator<Node> it = children.listIterator(child.siblingNr);
@@ -751,6 +823,10 @@ public class Node implements Iterable<Node> {
     }
 
     public void addStrategyInfoUndoMethod(StrategyInfoUndoMethod undoMethod) {
+        if (undoInfoForStrategyInfo.isEmpty()) {
+            // most nodes have no undo methods, so the list is created on demand
+            undoInfoForStrategyInfo = new ArrayList<>(1);
+        }
         undoInfoForStrategyInfo.add(undoMethod);
     }
 
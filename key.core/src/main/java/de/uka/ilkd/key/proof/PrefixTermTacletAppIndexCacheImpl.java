@@ -14,13 +14,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The abstract superclass of caches for taclet app indexes that are implemented using a common
- * backend <code>LRUCache</code> (the backend is stored in <code>TermTacletAppIndexCacheSet</code>).
+ * backend map (the backend is provided by <code>ServiceCaches</code>).
  * The backend is accessed in a way that guarantees that two distinct instances of this class never
  * interfere, by choosing cache keys that are specific for a particular instance of
  * <code>PrefixTermTacletAppIndexCacheImpl</code> and cannot be created by other instances. This
- * ensures that it is safe to use one instance of <code>LRUCache</code> for many instances of
+ * ensures that it is safe to use one backend for many instances of
  * <code>PrefixTermTacletAppIndexCacheImpl</code> (different proofs, different proof branches,
- * different locations).
+ * different locations). If the index is computed concurrently, the backend has to be thread-safe.
  */
 public abstract class PrefixTermTacletAppIndexCacheImpl extends PrefixTermTacletAppIndexCache {
     private static final Logger LOGGER =
@@ -36,7 +36,7 @@ public abstract class PrefixTermTacletAppIndexCacheImpl extends PrefixTermTaclet
 
     @Override
     public TermTacletAppIndex getIndexForTerm(Term t) {
-        return cache.get(getQueryKey(t));
+        return cache.get(getNewKey(t));
     }
 
     private int hits = 0;
@@ -72,18 +72,6 @@ public abstract class PrefixTermTacletAppIndexCacheImpl extends PrefixTermTaclet
         return new CacheKey(this, t);
     }
 
-    /**
-     * @return a key for the term <code>t</code> that can be used for cache queries. Calling this
-     *         method twice will return the same object (with different attribute values), i.e., the
-     *         result is not supposed to be stored anywhere
-     */
-    private CacheKey getQueryKey(Term t) {
-        queryCacheKey.analysedTerm = t;
-        return queryCacheKey;
-    }
-
-    private final CacheKey queryCacheKey = new CacheKey(this, null);
-
     public static final class CacheKey {
         private final PrefixTermTacletAppIndexCacheImpl parent;
         public Term analysedTerm;
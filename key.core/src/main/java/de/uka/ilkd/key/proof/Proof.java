@@ -21,6 +21,7 @@ import de.uka.ilkd.key.proof.init.Profile;
 import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
 import de.uka.ilkd.key.proof.mgt.ProofCorrectnessMgt;
 import de.uka.ilkd.key.proof.mgt.ProofEnvironment;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
 import de.uka.ilkd.key.proof.replay.CopyingProofReplayer;
 import de.uka.ilkd.key.rule.OneStepSimplifier;
@@ -56,6 +57,10 @@ import org.jspecify.annotations.Nullable;
  */
 @NullMarked
 public class Proof implements ProofObject<Goal>, Named {
+    /**
+     * System property giving the default of {@link #setSequentCheckpointInterval(int)}.
+     */
+    public static final String SEQUENT_CHECKPOINT_PROPERTY = "key.proof.sequentCheckpoints";
 
     /**
      * The time when the {@link Proof} instance was created.
@@ -133,6 +138,11 @@ public class Proof implements ProofObject<Goal>, Named {
 
     private long autoModeTime = 0;
 
+    /**
+     * timing information about the rule applications of this proof
+     */
+    private final ProofProfile profile;
+
     private @Nullable Strategy activeStrategy;
 
     private PropertyChangeListener settingsListener;
@@ -166,11 +176,19 @@ public class Proof implements ProofObject<Goal>, Named {
      */
     private boolean mutedProofCloseEvents = false;
 
+    /**
+     * The maximal number of consecutive nodes on a branch without their own sequent plus one, or
+     * {@code 0} if all nodes keep their sequents.
+     */
+    private int sequentCheckpointInterval =
+        Math.max(0, Integer.getInteger(SEQUENT_CHECKPOINT_PROPERTY, 0));
+
     /**
      * constructs a new empty proof with name
      */
     private Proof(Name name, InitConfig initConfig) {
         this.name = name;
+        this.profile = new ProofProfile(name.toString());
         assert initConfig != null : "Tried to create proof without valid services.";
         this.initConfig = initConfig;
 
@@ -359,6 +377,16 @@ public class Proof implements ProofObject<Goal>, Named {
         autoModeTime += time;
     }
 
+    /**
+     * Returns the timing information of this proof. Note that measurements are only taken if
+     * profiling is enabled, see {@link ProofProfile}.
+     *
+     * @return the profile of this proof
+     */
+    public ProofProfile getProfile() {
+        return profile;
+    }
+
 
     /**
      * sets the variable, function, sort, heuristics namespaces
@@ -1325,6 +1353,34 @@ public class Proof implements ProofObject<Goal>, Named {
         this.mutedProofCloseEvents = mutedProofCloseEvents;
     }
 
+    /**
+     * @return the checkpoint interval for the sequents of inner nodes, {@code 0} if all nodes keep
+     *         their sequents
+     * @see #setSequentCheckpointInterval(int)
+     */
+    public int getSequentCheckpointInterval() {
+        return sequentCheckpointInterval;
+    }
+
+    /**
+     * Sets whether inner nodes created from now on keep their sequents. With an interval
+     * {@code n > 1}, the sequent of a node is dropped after a rule has been applied to it, unless
+     * the node is a branching point or the last {@code n - 1} nodes above it have already dropped
+     * their sequents. Open and closed goals always keep their sequents.
+     * <p>
+     * A dropped sequent is restored on demand from the sequent of the only child (see
+     * {@link Node#sequent()}), which takes at most {@code n - 1} steps. This saves memory for large
+     * proofs whose inner sequents are rarely looked at, e.g., in batch mode. The change
+     * information of inner nodes (used to highlight changes of goals) is dropped as well.
+     * <p>
+     * The default is given by the system property {@value #SEQUENT_CHECKPOINT_PROPERTY}.
+     *
+     * @param interval the checkpoint interval, {@code 0} to keep all sequents
+     */
+    public void setSequentCheckpointInterval(int interval) {
+        this.sequentCheckpointInterval = Math.max(0, interval);
+    }
+
     /**
      * For each branch closed by reference to another proof,
      * copy the relevant proof steps into this proof.
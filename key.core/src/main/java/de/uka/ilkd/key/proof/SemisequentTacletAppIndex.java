@@ -6,9 +6,10 @@ package de.uka.ilkd.key.proof;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.TacletApp;
 
@@ -22,10 +23,6 @@ import org.key_project.util.collection.*;
  * This class holds <code>TermTacletAppIndex</code>s for all formulas of a semisequent.
  */
 public class SemisequentTacletAppIndex {
-    public static final AtomicLong PERF_UPDATE = new AtomicLong();
-    public static final AtomicLong PERF_ADD = new AtomicLong();
-    public static final AtomicLong PERF_REMOVE = new AtomicLong();
-
     private ImmutableMap<SequentFormula, TermTacletAppIndex> termIndices =
         DefaultImmutableMap.nilMap();
 
@@ -232,17 +229,18 @@ public class SemisequentTacletAppIndex {
         if (sci.hasChanged(antec)) {
             final SemisequentTacletAppIndex result = copy();
 
-            var time = System.nanoTime();
+            final ProofProfile profile = ProofProfile.of(services);
+            long start = profile.start();
             result.removeTermIndices(sci.removedFormulas(antec));
-            PERF_REMOVE.getAndAdd(System.nanoTime() - time);
+            profile.stop(Category.PHASE, "Semi Taclet app index update remove", start);
 
-            time = System.nanoTime();
+            start = profile.start();
             result.updateTermIndices(sci.modifiedFormulas(antec), services, tacletIndex, listener);
-            PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            profile.stop(Category.PHASE, "Semi Taclet app index update update", start);
 
-            time = System.nanoTime();
+            start = profile.start();
             result.addTermIndices(sci.addedFormulas(antec), services, tacletIndex, listener);
-            PERF_ADD.getAndAdd(System.nanoTime() - time);
+            profile.stop(Category.PHASE, "Semi Taclet app index update add", start);
             return result;
         }
 
@@ -0,0 +1,110 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
+
+import org.key_project.prover.sequent.Semisequent;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * The difference between the sequent of an inner proof node and the sequent of its only child.
+ * It replaces the sequent of a node whose sequent has been dropped (see
+ * {@link Proof#setSequentCheckpointInterval(int)}) and allows to restore it from the sequent of
+ * the child.
+ * <p>
+ * For each semisequent, only the formulas between the longest common prefix and the longest
+ * common suffix (compared by identity) are stored. As a rule application usually changes only
+ * few formulas, these are mostly the formulas that have been replaced or removed by the rule.
+ */
+final class SequentDelta {
+    /** The stored difference of the antecedents. */
+    private final Part antecedent;
+    /** The stored difference of the succedents. */
+    private final Part succedent;
+
+    private SequentDelta(Part antecedent, Part succedent) {
+        this.antecedent = antecedent;
+        this.succedent = succedent;
+    }
+
+    /**
+     * Computes the difference of two sequents.
+     *
+     * @param child the sequent to restore from
+     * @param original the sequent to restore
+     * @return the difference, which restores {@code original} when applied to {@code child}
+     */
+    static SequentDelta create(Sequent child, Sequent original) {
+        return new SequentDelta(Part.create(child.antecedent(), original.antecedent()),
+            Part.create(child.succedent(), original.succedent()));
+    }
+
+    /**
+     * Restores the original sequent.
+     *
+     * @param child the sequent this difference has been computed from
+     * @return a sequent equal to the original sequent
+     */
+    Sequent restore(Sequent child) {
+        return JavaDLSequentKit.createSequent(antecedent.restore(child.antecedent()),
+            succedent.restore(child.succedent()));
+    }
+
+    /**
+     * The difference of two semisequents.
+     *
+     * @param prefix the number of leading formulas that are shared
+     * @param formulas the formulas of the original semisequent between the shared prefix and suffix
+     * @param suffix the number of trailing formulas that are shared
+     */
+    private record Part(int prefix, SequentFormula[] formulas, int suffix) {
+        private static final SequentFormula[] NO_FORMULAS = new SequentFormula[0];
+
+        static Part create(Semisequent child, Semisequent original) {
+            final ImmutableList<SequentFormula> childList = child.asList();
+            final ImmutableList<SequentFormula> originalList = original.asList();
+            final int childSize = childList.size();
+            final int originalSize = originalList.size();
+
+            int prefix = 0;
+            ImmutableList<SequentFormula> c = childList;
+            ImmutableList<SequentFormula> o = originalList;
+            while (!c.isEmpty() && !o.isEmpty() && c.head() == o.head()) {
+                c = c.tail();
+                o = o.tail();
+                prefix++;
+            }
+
+            final SequentFormula[] rest = o.toArray(SequentFormula.class);
+            final SequentFormula[] childRest = c.toArray(SequentFormula.class);
+            int suffix = 0;
+            while (suffix < rest.length && suffix < childRest.length
+                    && rest[rest.length - 1 - suffix] == childRest[childRest.length - 1 - suffix]) {
+                suffix++;
+            }
+            assert prefix + suffix <= Math.min(childSize, originalSize);
+
+            final int count = originalSize - prefix - suffix;
+            final SequentFormula[] formulas = count == 0 ? NO_FORMULAS : new SequentFormula[count];
+            System.arraycopy(rest, 0, formulas, 0, count);
+            return new Part(prefix, formulas, suffix);
+        }
+
+        ImmutableList<SequentFormula> restore(Semisequent child) {
+            final ImmutableList<SequentFormula> childList = child.asList();
+            ImmutableList<SequentFormula> result =
+                childList.take(childList.size() - suffix).prepend(formulas);
+            final SequentFormula[] head = new SequentFormula[prefix];
+            ImmutableList<SequentFormula> c = childList;
+            for (int i = 0; i < prefix; i++) {
+                head[i] = c.head();
+                c = c.tail();
+            }
+            return result.prepend(head);
+        }
+    }
+}
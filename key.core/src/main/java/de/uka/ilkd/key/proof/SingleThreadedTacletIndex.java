@@ -40,9 +40,13 @@ final class SingleThreadedTacletIndex extends TacletIndex {
     private SingleThreadedTacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
             HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
             HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+            HashMap<Object, DiscriminationTree> rwTrees,
+            HashMap<Object, DiscriminationTree> antecTrees,
+            HashMap<Object, DiscriminationTree> succTrees,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
-        super(rwList, antecList, succList, noFindList, partialInstantiatedRuleApps);
+        super(rwList, antecList, succList, rwTrees, antecTrees, succTrees, noFindList,
+            partialInstantiatedRuleApps);
     }
 
     /**
@@ -54,7 +58,10 @@ final class SingleThreadedTacletIndex extends TacletIndex {
         return new SingleThreadedTacletIndex(
             (HashMap<Object, ImmutableList<NoPosTacletApp>>) rwList.clone(),
             (HashMap<Object, ImmutableList<NoPosTacletApp>>) antecList.clone(),
-            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(), noFindList,
+            (HashMap<Object, ImmutableList<NoPosTacletApp>>) succList.clone(),
+            (HashMap<Object, DiscriminationTree>) rwTrees.clone(),
+            (HashMap<Object, DiscriminationTree>) antecTrees.clone(),
+            (HashMap<Object, DiscriminationTree>) succTrees.clone(), noFindList,
             (HashSet<NoPosTacletApp>) partialInstantiatedRuleApps.clone());
     }
 
@@ -5,10 +5,11 @@ package de.uka.ilkd.key.proof;
 
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.proof.PrefixTermTacletAppIndexCacheImpl.CacheKey;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.util.Debug;
 
@@ -35,9 +36,6 @@ import org.jspecify.annotations.NonNull;
  */
 
 public class TacletAppIndex {
-    public static final AtomicLong PERF_CREATE_ALL = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE = new AtomicLong();
-
     private final TacletIndex tacletIndex;
 
     private SemisequentTacletAppIndex antecIndex;
@@ -141,7 +139,8 @@ public class TacletAppIndex {
     }
 
     private void createAllFromGoal() {
-        var time = System.nanoTime();
+        final ProofProfile profile = goal.proof().getProfile();
+        final long start = profile.start();
         try {
             this.seq = getNode().sequent();
 
@@ -152,7 +151,7 @@ public class TacletAppIndex {
                 new SemisequentTacletAppIndex(getSequent(), false, getServices(), tacletIndex(),
                     newRuleListener, ruleFilter, indexCaches);
         } finally {
-            PERF_CREATE_ALL.getAndAdd(System.nanoTime() - time);
+            profile.stop(Category.PHASE, "Taclet app index create all", start);
         }
     }
 
@@ -310,9 +309,10 @@ public class TacletAppIndex {
             // we are not up-to-date and have to rebuild everything (lazy)
             clearIndexes();
         } else {
-            var time = System.nanoTime();
+            final ProofProfile profile = goal.proof().getProfile();
+            final long start = profile.start();
             updateIndices(sci);
-            PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            profile.stop(Category.PHASE, "Taclet app index update", start);
         }
     }
 
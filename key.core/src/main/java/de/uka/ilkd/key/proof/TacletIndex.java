@@ -39,6 +39,14 @@ public abstract class TacletIndex {
     private static final Object DEFAULT_SV_KEY = new Object();
     private static final Object DEFAULT_PROGSV_KEY = new Object();
 
+    /**
+     * whether the taclets indexed by an operator are additionally stored in
+     * {@link DiscriminationTree}s, which are used to select the taclets to be matched; can be
+     * disabled using the system property {@code tacletindex.discrimination.enabled}
+     */
+    private static final boolean DISCRIMINATION_TREES =
+        !"false".equals(System.getProperty("tacletindex.discrimination.enabled", "true"));
+
     /** contains rewrite Taclets */
     protected HashMap<Object, ImmutableList<NoPosTacletApp>> rwList = new LinkedHashMap<>();
 
@@ -48,6 +56,14 @@ public abstract class TacletIndex {
     /** contains succedent Taclets */
     protected HashMap<Object, ImmutableList<NoPosTacletApp>> succList = new LinkedHashMap<>();
 
+    /**
+     * discrimination trees of the rewrite, antecedent and succedent taclets; contain for each key
+     * of the respective list map which is an operator the same taclets as the list
+     */
+    protected HashMap<Object, DiscriminationTree> rwTrees = new HashMap<>();
+    protected HashMap<Object, DiscriminationTree> antecTrees = new HashMap<>();
+    protected HashMap<Object, DiscriminationTree> succTrees = new HashMap<>();
+
     /** contains NoFind-Taclets */
     protected ImmutableList<NoPosTacletApp> noFindList = ImmutableSLList.nil();
 
@@ -69,17 +85,26 @@ public abstract class TacletIndex {
         antecList = new LinkedHashMap<>();
         succList = new LinkedHashMap<>();
         noFindList = ImmutableSLList.nil();
+        rwTrees = new HashMap<>();
+        antecTrees = new HashMap<>();
+        succTrees = new HashMap<>();
         addTaclets(toNoPosTacletApp(tacletSet));
     }
 
     protected TacletIndex(HashMap<Object, ImmutableList<NoPosTacletApp>> rwList,
             HashMap<Object, ImmutableList<NoPosTacletApp>> antecList,
             HashMap<Object, ImmutableList<NoPosTacletApp>> succList,
+            HashMap<Object, DiscriminationTree> rwTrees,
+            HashMap<Object, DiscriminationTree> antecTrees,
+            HashMap<Object, DiscriminationTree> succTrees,
             ImmutableList<NoPosTacletApp> noFindList,
             HashSet<NoPosTacletApp> partialInstantiatedRuleApps) {
         this.rwList = rwList;
         this.antecList = antecList;
         this.succList = succList;
+        this.rwTrees = rwTrees;
+        this.antecTrees = antecTrees;
+        this.succTrees = succTrees;
         this.noFindList = noFindList;
         this.partialInstantiatedRuleApps = partialInstantiatedRuleApps;
     }
@@ -129,17 +154,24 @@ public abstract class TacletIndex {
 
 
     private void insertToMap(NoPosTacletApp tacletApp,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
-        Object indexObj = getIndexObj((FindTaclet) tacletApp.taclet());
+            HashMap<Object, ImmutableList<NoPosTacletApp>> map,
+            HashMap<Object, DiscriminationTree> trees) {
+        final FindTaclet taclet = (FindTaclet) tacletApp.taclet();
+        Object indexObj = getIndexObj(taclet);
         ImmutableList<NoPosTacletApp> opList = map.get(indexObj);
         opList = Objects.requireNonNullElseGet(opList,
             ImmutableSLList::<NoPosTacletApp>nil).prepend(tacletApp);
         map.put(indexObj, opList);
+        if (DISCRIMINATION_TREES && DiscriminationTree.isIndexable(taclet)) {
+            trees.put(indexObj,
+                trees.getOrDefault(indexObj, DiscriminationTree.EMPTY).add(tacletApp));
+        }
     }
 
 
     private void removeFromMap(NoPosTacletApp tacletApp,
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map) {
+            HashMap<Object, ImmutableList<NoPosTacletApp>> map,
+            HashMap<Object, DiscriminationTree> trees) {
         Object op = getIndexObj((FindTaclet) tacletApp.taclet());
         ImmutableList<NoPosTacletApp> opList = map.get(op);
         if (opList != null) {
@@ -150,6 +182,15 @@ public abstract class TacletIndex {
                 map.put(op, opList);
             }
         }
+        final DiscriminationTree tree = trees.get(op);
+        if (tree != null) {
+            final DiscriminationTree newTree = tree.remove(tacletApp);
+            if (newTree.size() == 0) {
+                trees.remove(op);
+            } else {
+                trees.put(op, newTree);
+            }
+        }
     }
 
     /**
@@ -188,9 +229,9 @@ public abstract class TacletIndex {
     public void add(NoPosTacletApp tacletApp) {
         Taclet taclet = tacletApp.taclet();
         switch (taclet) {
-        case RewriteTaclet ignored -> insertToMap(tacletApp, rwList);
-        case AntecTaclet ignored -> insertToMap(tacletApp, antecList);
-        case SuccTaclet ignored -> insertToMap(tacletApp, succList);
+        case RewriteTaclet ignored -> insertToMap(tacletApp, rwList, rwTrees);
+        case AntecTaclet ignored -> insertToMap(tacletApp, antecList, antecTrees);
+        case SuccTaclet ignored -> insertToMap(tacletApp, succList, succTrees);
         case NoFindTaclet ignored -> noFindList = noFindList.prepend(tacletApp);
         case null, default ->
             // should never be reached
@@ -210,9 +251,9 @@ public abstract class TacletIndex {
     public void remove(NoPosTacletApp tacletApp) {
         Taclet rule = tacletApp.taclet();
         switch (rule) {
-        case RewriteTaclet ignored -> removeFromMap(tacletApp, rwList);
-        case AntecTaclet ignored -> removeFromMap(tacletApp, antecList);
-        case SuccTaclet ignored -> removeFromMap(tacletApp, succList);
+        case RewriteTaclet ignored -> removeFromMap(tacletApp, rwList, rwTrees);
+        case AntecTaclet ignored -> removeFromMap(tacletApp, antecList, antecTrees);
+        case SuccTaclet ignored -> removeFromMap(tacletApp, succList, succTrees);
         case NoFindTaclet ignored -> noFindList = noFindList.removeAll(tacletApp);
         case null, default ->
             // should never be reached
@@ -311,11 +352,12 @@ public abstract class TacletIndex {
     }
 
     @SuppressWarnings("deprecation")
-    private ImmutableList<NoPosTacletApp> getListHelp(
-            final HashMap<Object, ImmutableList<NoPosTacletApp>> map, final Term term,
-            final boolean ignoreUpdates, final PrefixOccurrences prefixOccurrences) {
+    private void getListHelp(
+            final HashMap<Object, ImmutableList<NoPosTacletApp>> map,
+            final HashMap<Object, DiscriminationTree> trees, final Term term,
+            final boolean ignoreUpdates, final PrefixOccurrences prefixOccurrences,
+            final Selection res) {
 
-        ImmutableList<NoPosTacletApp> res = ImmutableSLList.nil();
         final Operator op = term.op();
 
         assert !(op instanceof Metavariable)
@@ -324,37 +366,55 @@ public abstract class TacletIndex {
         if (!term.javaBlock().isEmpty()) {
             prefixOccurrences.reset();
             final StatementBlock sb = (StatementBlock) term.javaBlock().program();
-            res = getJavaTacletList(map, sb.getStatementAt(0), prefixOccurrences);
+            res.merge(getJavaTacletList(map, sb.getStatementAt(0), prefixOccurrences));
         }
 
         if (!term.javaBlock().isEmpty() || op instanceof ProgramVariable) {
-            res = merge(res, map.get(DEFAULT_PROGSV_KEY));
+            res.merge(map.get(DEFAULT_PROGSV_KEY));
         }
 
-        final ImmutableList<NoPosTacletApp> inMap = switch (op) {
+        switch (op) {
         case SortDependingFunction sortDependingFunction ->
-            map.get(sortDependingFunction.getKind());
-        case ElementaryUpdate ignored -> map.get(ElementaryUpdate.class);
-        case Modality ignored -> map.get(Modality.class);
-        default -> map.get(op);
-        };
-
-        res = merge(res, inMap);
+            mergeDiscriminated(map, trees, sortDependingFunction.getKind(), term, res);
+        case ElementaryUpdate ignored ->
+            mergeDiscriminated(map, trees, ElementaryUpdate.class, term, res);
+        case Modality ignored -> res.merge(map.get(Modality.class));
+        default -> mergeDiscriminated(map, trees, op, term, res);
+        }
 
         // collect taclets for target term, if updates shall be ignored
         if (ignoreUpdates && op instanceof UpdateApplication) {
             final Term target = UpdateApplication.getTarget(term);
             if (!(target.op() instanceof UpdateApplication)) {
-                final ImmutableList<NoPosTacletApp> targetIndexed =
-                    getListHelp(map, target, false, prefixOccurrences);
-                return merge(res, targetIndexed);// otherwise only duplicates are added
+                final Selection targetIndexed = new Selection();
+                getListHelp(map, trees, target, false, prefixOccurrences, targetIndexed);
+                res.merge(targetIndexed.list, targetIndexed.size);
+                return;// otherwise only duplicates are added
             }
         }
 
-        res = merge(res, map.get(term.sort()));
-        res = merge(res, map.get(DEFAULT_SV_KEY));
+        res.merge(map.get(term.sort()));
+        res.merge(map.get(DEFAULT_SV_KEY));
+        res.merge(map.get(GenericSort.class));
+    }
 
-        return merge(res, map.get(GenericSort.class));
+    /**
+     * Adds the taclets indexed by the top level operator of the term. If there is a
+     * discrimination tree for the operator, only those taclets are selected which may match the
+     * term.
+     */
+    private static void mergeDiscriminated(HashMap<Object, ImmutableList<NoPosTacletApp>> map,
+            HashMap<Object, DiscriminationTree> trees, Object key, Term term, Selection res) {
+        final ImmutableList<NoPosTacletApp> inMap = map.get(key);
+        if (inMap == null) {
+            return;
+        }
+        final DiscriminationTree tree = trees.get(key);
+        if (tree == null) {
+            res.merge(inMap);
+        } else {
+            res.merge(tree.getCandidates(term), inMap.size());
+        }
     }
 
     /**
@@ -394,8 +454,11 @@ public abstract class TacletIndex {
      * @param term the term that is used to find the selection
      */
     private ImmutableList<NoPosTacletApp> getList(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> map, Term term, boolean ignoreUpdates) {
-        return getListHelp(map, term, ignoreUpdates, new PrefixOccurrences());
+            HashMap<Object, ImmutableList<NoPosTacletApp>> map,
+            HashMap<Object, DiscriminationTree> trees, Term term, boolean ignoreUpdates) {
+        final Selection res = new Selection();
+        getListHelp(map, trees, term, ignoreUpdates, new PrefixOccurrences(), res);
+        return res.list;
     }
 
     /**
@@ -411,7 +474,7 @@ public abstract class TacletIndex {
     public ImmutableList<NoPosTacletApp> getAntecedentTaclet(
             PosInOccurrence pos, RuleFilter filter,
             Services services) {
-        return getTopLevelTaclets(antecList, filter, pos, services);
+        return getTopLevelTaclets(antecList, antecTrees, filter, pos, services);
     }
 
     /**
@@ -428,19 +491,22 @@ public abstract class TacletIndex {
             PosInOccurrence pos, RuleFilter filter,
             Services services) {
 
-        return getTopLevelTaclets(succList, filter, pos, services);
+        return getTopLevelTaclets(succList, succTrees, filter, pos, services);
     }
 
     private ImmutableList<NoPosTacletApp> getTopLevelTaclets(
-            HashMap<Object, ImmutableList<NoPosTacletApp>> findTaclets, RuleFilter filter,
+            HashMap<Object, ImmutableList<NoPosTacletApp>> findTaclets,
+            HashMap<Object, DiscriminationTree> findTrees, RuleFilter filter,
             PosInOccurrence pos, Services services) {
 
         assert pos.isTopLevel();
 
         final ImmutableList<NoPosTacletApp> rwTaclets =
-            getFindTaclet(getList(rwList, (Term) pos.subTerm(), true), filter, pos, services);
+            getFindTaclet(getList(rwList, rwTrees, (Term) pos.subTerm(), true), filter, pos,
+                services);
         final ImmutableList<NoPosTacletApp> seqTaclets =
-            getFindTaclet(getList(findTaclets, (Term) pos.subTerm(), true), filter, pos, services);
+            getFindTaclet(getList(findTaclets, findTrees, (Term) pos.subTerm(), true), filter, pos,
+                services);
         return !rwTaclets.isEmpty() ? rwTaclets.prependReverse(seqTaclets)
                 : seqTaclets.prependReverse(rwTaclets);
     }
@@ -457,7 +523,63 @@ public abstract class TacletIndex {
      */
     public ImmutableList<NoPosTacletApp> getRewriteTaclet(PosInOccurrence pos, RuleFilter filter,
             Services services) {
-        return matchTaclets(getList(rwList, (Term) pos.subTerm(), false), filter, pos, services);
+        return matchTaclets(getList(rwList, rwTrees, (Term) pos.subTerm(), false), filter, pos,
+            services);
+    }
+
+
+    /**
+     * get all Taclets with a find expression matching at the given position, i.e., the antecedent
+     * resp. succedent taclets for a top level position and the rewrite taclets otherwise.
+     *
+     * @param pos the position to match the find expressions against
+     * @param filter Only return taclets the filter selects
+     * @param services the Services object encapsulating information about the java datastructures
+     *        like (static)types etc.
+     * @return IList<NoPosTacletApp> containing all applicable rules and the corresponding
+     *         instantiations to get the rule fit.
+     */
+    public ImmutableList<NoPosTacletApp> getFindTaclet(PosInOccurrence pos, RuleFilter filter,
+            Services services) {
+        if (pos.isTopLevel()) {
+            return pos.isInAntec() ? getAntecedentTaclet(pos, filter, services)
+                    : getSuccedentTaclet(pos, filter, services);
+        }
+        return getRewriteTaclet(pos, filter, services);
+    }
+
+
+    /**
+     * Determines the taclets with a find expression for several positions at once (see
+     * {@link #getFindTaclet(PosInOccurrence, RuleFilter, Services)}). This allows implementations
+     * to distribute the matching of all positions of a new formula, which is cheaper than
+     * distributing the matching at each single position. The default implementation matches the
+     * positions one after another.
+     *
+     * @param positions the positions to match the find expressions against
+     * @param filter Only return taclets the filter selects
+     * @param services the Services object encapsulating information about the java datastructures
+     *        like (static)types etc.
+     * @return a map from each of the given positions to the applicable rules at that position
+     */
+    public Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> getFindTaclets(
+            List<PosInOccurrence> positions, RuleFilter filter, Services services) {
+        final Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> result =
+            new HashMap<>(positions.size() * 2);
+        for (PosInOccurrence pos : positions) {
+            result.put(pos, getFindTaclet(pos, filter, services));
+        }
+        return result;
+    }
+
+
+    /**
+     * @return true iff {@link #getFindTaclets(List, RuleFilter, Services)} is faster than
+     *         matching the positions one by one, i.e., iff callers should collect the positions
+     *         to match in advance
+     */
+    public boolean supportsBatchMatching() {
+        return false;
     }
 
 
@@ -527,6 +649,35 @@ public abstract class TacletIndex {
                 """.formatted(antecList, succList, rwList, noFindList);
     }
 
+    /**
+     * The taclets selected for a term, merged in the same order as by
+     * {@link #merge(ImmutableList, ImmutableList)}. As the merge order depends on the length of
+     * the lists, the length of the unfiltered list is used for lists filtered by a
+     * {@link DiscriminationTree}, so that the selected taclets are always in the same order as
+     * without filtering.
+     */
+    private static final class Selection {
+        /** the selected taclets */
+        private ImmutableList<NoPosTacletApp> list = ImmutableSLList.nil();
+        /** the number of taclets selected if no taclets had been filtered */
+        private int size;
+
+        void merge(@Nullable ImmutableList<NoPosTacletApp> other) {
+            if (other != null) {
+                merge(other, other.size());
+            }
+        }
+
+        void merge(ImmutableList<NoPosTacletApp> other, int otherSize) {
+            if (otherSize < size) {
+                list = list.prependReverse(other);
+            } else {
+                list = other.prependReverse(list);
+            }
+            size += otherSize;
+        }
+    }
+
     /**
      * Inner class to track the occurrences of prefix elements in java blocks
      */
@@ -3,6 +3,10 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.op.UpdateApplication;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
@@ -20,6 +24,8 @@ import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.strategy.NewRuleListener;
 import org.key_project.util.collection.*;
 
+import org.jspecify.annotations.Nullable;
+
 /**
  * Class whose objects represent an index of taclet apps for one particular position within a
  * formula, and that also contain references to the indices of direct subformulas
@@ -51,22 +57,6 @@ public class TermTacletAppIndex {
     }
 
 
-    /**
-     * collects all RewriteTacletInstantiations for the given heuristics in a subterm of the
-     * constrainedFormula described by a PosInOccurrence
-     *
-     * @param pos the {@link PosInOccurrence} to focus
-     * @param services the {@link Services} object encapsulating information about the java
-     *        datastructures like (static)types etc.
-     * @return list of all possible instantiations
-     */
-    private static ImmutableList<NoPosTacletApp> getRewriteTaclet(
-            PosInOccurrence pos,
-            RuleFilter filter, Services services, TacletIndex tacletIndex) {
-
-        return tacletIndex.getRewriteTaclet(pos, filter, services);
-    }
-
     /**
      * collects all FindTaclets with instantiations for the given heuristics and position
      *
@@ -78,48 +68,42 @@ public class TermTacletAppIndex {
     private static ImmutableList<NoPosTacletApp> getFindTaclet(
             PosInOccurrence pos,
             RuleFilter filter, Services services, TacletIndex tacletIndex) {
-        ImmutableList<NoPosTacletApp> tacletInsts = ImmutableSLList.nil();
-        if (pos.isTopLevel()) {
-            if (pos.isInAntec()) {
-                tacletInsts = tacletInsts.prepend(antecTaclet(pos, filter, services, tacletIndex));
-            } else {
-                tacletInsts = tacletInsts.prepend(succTaclet(pos, filter, services, tacletIndex));
-            }
-        } else {
-            tacletInsts = tacletInsts.prepend(getRewriteTaclet(pos, filter, services, tacletIndex));
-        }
-        return tacletInsts;
+        return tacletIndex.getFindTaclet(pos, filter, services);
     }
 
-
     /**
-     * collects all AntecedentTaclet instantiations for the given heuristics and SequentFormula
+     * Matches the taclets at all positions below (and including) <code>pos</code> whose index
+     * is not cached at once, if the taclet index supports this. The result is used by
+     * {@link #createHelp} instead of matching position by position.
      *
-     * @param pos the PosInOccurrence of the SequentFormula the taclets have to be connected to (pos
-     *        must point to the top level formula, i.e. <tt>pos.isTopLevel()</tt> must be true)
-     * @param services the Services object encapsulating information about the java datastructures
-     *        like (static)types etc.
-     * @return list of all possible instantiations
+     * @param pos pointer to the term/formula for which an index is to be created
+     * @return the taclet apps for each uncached position or <code>null</code> if the positions
+     *         are to be matched one by one
      */
-    private static ImmutableList<NoPosTacletApp> antecTaclet(
-            PosInOccurrence pos, RuleFilter filter,
-            Services services, TacletIndex tacletIndex) {
-        return tacletIndex.getAntecedentTaclet(pos, filter, services);
+    private static @Nullable Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> matchUncached(
+            PosInOccurrence pos, Services services, TacletIndex tacletIndex, RuleFilter filter,
+            ITermTacletAppIndexCache indexCache) {
+        if (!tacletIndex.supportsBatchMatching()) {
+            return null;
+        }
+        final List<PosInOccurrence> positions = new ArrayList<>();
+        collectUncached(pos, indexCache, positions);
+        if (positions.size() < 2) {
+            return null;
+        }
+        return tacletIndex.getFindTaclets(positions, filter, services);
     }
 
-    /**
-     * collects all SuccedentTaclet instantiations for the given heuristics and SequentFormula
-     *
-     * @param pos the PosInOccurrence of the SequentFormula the taclets have to be connected to (pos
-     *        must point to the top level formula, i.e. <tt>pos.isTopLevel()</tt> must be true)
-     * @param services the Services object encapsulating information about the java datastructures
-     *        like (static)types etc.
-     * @return list of all possible instantiations
-     */
-    private static ImmutableList<NoPosTacletApp> succTaclet(
-            PosInOccurrence pos, RuleFilter filter,
-            Services services, TacletIndex tacletIndex) {
-        return tacletIndex.getSuccedentTaclet(pos, filter, services);
+    private static void collectUncached(PosInOccurrence pos,
+            ITermTacletAppIndexCache indexCache, List<PosInOccurrence> positions) {
+        final Term localTerm = pos.subTerm();
+        if (indexCache.getIndexForTerm(localTerm) != null) {
+            return;
+        }
+        positions.add(pos);
+        for (int i = 0; i < localTerm.arity(); i++) {
+            collectUncached(pos.down(i), indexCache.descend(localTerm, i), positions);
+        }
     }
 
     /**
@@ -131,13 +115,14 @@ public class TermTacletAppIndex {
     private static ImmutableArray<TermTacletAppIndex> createSubIndices(
             PosInOccurrence pos,
             Services services, TacletIndex tacletIndex, NewRuleListener listener, RuleFilter filter,
-            ITermTacletAppIndexCache indexCache) {
+            ITermTacletAppIndexCache indexCache,
+            @Nullable Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> matched) {
         final Term localTerm = pos.subTerm();
         final TermTacletAppIndex[] result = new TermTacletAppIndex[localTerm.arity()];
 
         for (int i = 0; i < result.length; i++) {
             result[i] = createHelp(pos.down(i), services, tacletIndex, listener, filter,
-                indexCache.descend(localTerm, i));
+                indexCache.descend(localTerm, i), matched);
         }
 
         return new ImmutableArray<>(result);
@@ -159,7 +144,7 @@ public class TermTacletAppIndex {
 
         final ITermTacletAppIndexCache indexCache = determineIndexCache(pos, indexCaches);
 
-        return createHelp(pos, services, tacletIndex, listener, filter, indexCache);
+        return createMatched(pos, services, tacletIndex, listener, filter, indexCache);
     }
 
     private static ITermTacletAppIndexCache determineIndexCache(
@@ -173,10 +158,23 @@ public class TermTacletAppIndex {
     }
 
 
-    private static TermTacletAppIndex createHelp(PosInOccurrence pos,
+    /**
+     * Create an index for the given term, matching all uncached positions in advance if possible
+     */
+    private static TermTacletAppIndex createMatched(PosInOccurrence pos,
             Services services,
             TacletIndex tacletIndex, NewRuleListener listener, RuleFilter filter,
             ITermTacletAppIndexCache indexCache) {
+        return createHelp(pos, services, tacletIndex, listener, filter, indexCache,
+            matchUncached(pos, services, tacletIndex, filter, indexCache));
+    }
+
+
+    private static TermTacletAppIndex createHelp(PosInOccurrence pos,
+            Services services,
+            TacletIndex tacletIndex, NewRuleListener listener, RuleFilter filter,
+            ITermTacletAppIndexCache indexCache,
+            @Nullable Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> matched) {
         final Term localTerm = pos.subTerm();
 
         final TermTacletAppIndex cached = indexCache.getIndexForTerm(localTerm);
@@ -185,11 +183,13 @@ public class TermTacletAppIndex {
             return cached;
         }
 
-        final ImmutableList<NoPosTacletApp> localApps =
-            getFindTaclet(pos, filter, services, tacletIndex);
+        ImmutableList<NoPosTacletApp> localApps = matched == null ? null : matched.get(pos);
+        if (localApps == null) {
+            localApps = getFindTaclet(pos, filter, services, tacletIndex);
+        }
 
         final ImmutableArray<TermTacletAppIndex> subIndices =
-            createSubIndices(pos, services, tacletIndex, listener, filter, indexCache);
+            createSubIndices(pos, services, tacletIndex, listener, filter, indexCache, matched);
 
         fireRulesAdded(listener, localApps, pos);
 
@@ -312,7 +312,7 @@ public class TermTacletAppIndex {
             return updateLocalApps(pos, newTerm, services, tacletIndex, listener, subtermIndices);
         }
 
-        return createHelp(pos, services, tacletIndex, listener, ruleFilter, indexCache);
+        return createMatched(pos, services, tacletIndex, listener, ruleFilter, indexCache);
     }
 
 
@@ -376,7 +376,7 @@ public class TermTacletAppIndex {
                 listener, toBeRemoved.subtermIndices);
         } else {
             // the target is updated completely otherwise
-            newSubIndex = createHelp(targetPos, services, tacletIndex, listener,
+            newSubIndex = createMatched(targetPos, services, tacletIndex, listener,
                 toBeRemoved.ruleFilter, indexCache);
         }
 
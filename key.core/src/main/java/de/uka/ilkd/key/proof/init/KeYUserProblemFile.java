@@ -11,8 +11,10 @@ import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.nparser.*;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.ProofAggregate;
+import de.uka.ilkd.key.proof.io.BinaryProofRuleSource;
 import de.uka.ilkd.key.proof.io.IProofFileParser;
 import de.uka.ilkd.key.proof.io.KeYFile;
+import de.uka.ilkd.key.proof.io.RuleSource;
 import de.uka.ilkd.key.proof.io.consistency.FileRepo;
 import de.uka.ilkd.key.settings.Configuration;
 import de.uka.ilkd.key.settings.ProofSettings;
@@ -83,6 +85,20 @@ public final class KeYUserProblemFile extends KeYFile implements ProofOblInput {
         super(name, file, fileRepo, monitor, profile, compressed);
     }
 
+    /**
+     * Instantiates a new user problem file.
+     *
+     * @param name the name of the file
+     * @param file the rule source to read from
+     * @param fileRepo the fileRepo which will store the file
+     * @param monitor the possibly <tt>null</tt> monitor for progress
+     * @param profile the KeY profile under which to load
+     */
+    public KeYUserProblemFile(String name, RuleSource file, FileRepo fileRepo,
+            ProgressMonitor monitor, Profile profile) {
+        super(name, file, monitor, profile, fileRepo);
+    }
+
     // -------------------------------------------------------------------------
     // public interface
     // -------------------------------------------------------------------------
@@ -189,9 +205,13 @@ public final class KeYUserProblemFile extends KeYFile implements ProofOblInput {
     }
 
     /**
-     * Reads a saved proof of a .key file.
+     * Reads a saved proof of a .key file or a binary proof file.
      */
     public void readProof(IProofFileParser prl) throws IOException {
+        if (file instanceof BinaryProofRuleSource binary) {
+            binary.readProof(prl);
+            return;
+        }
         KeyAst.File ctx = getParseContext();
         Token token = ctx.findProof();
         if (token != null) {
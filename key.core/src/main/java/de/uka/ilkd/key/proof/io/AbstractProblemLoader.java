@@ -26,7 +26,7 @@ import de.uka.ilkd.key.proof.init.loader.ProofObligationLoader;
 import de.uka.ilkd.key.proof.io.consistency.DiskFileRepo;
 import de.uka.ilkd.key.proof.io.consistency.FileRepo;
 import de.uka.ilkd.key.proof.io.consistency.SimpleFileRepo;
-import de.uka.ilkd.key.prover.impl.PerfScope;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
 import de.uka.ilkd.key.rule.OneStepSimplifier;
 import de.uka.ilkd.key.settings.Configuration;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
@@ -304,14 +304,14 @@ public abstract class AbstractProblemLoader {
         LOGGER.info("Loading environment from " + file);
         envInput = createEnvInput(fileRepo);
         LOGGER.debug(
-            "Environment load took " + PerfScope.formatTime(System.nanoTime() - timeBeforeEnv));
+            "Environment load took " + ProofProfile.formatTime(System.nanoTime() - timeBeforeEnv));
         problemInitializer = createProblemInitializer(fileRepo);
         var beforeInitConfig = System.nanoTime();
         LOGGER.info("Creating init config");
         initConfig = createInitConfig();
         initConfig.setFileRepo(fileRepo);
         LOGGER.debug(
-            "Init config took " + PerfScope.formatTime(System.nanoTime() - beforeInitConfig));
+            "Init config took " + ProofProfile.formatTime(System.nanoTime() - beforeInitConfig));
         if (!problemInitializer.getWarnings().isEmpty() && !ignoreWarnings) {
             control.reportWarnings(problemInitializer.getWarnings());
         }
@@ -498,6 +498,10 @@ public abstract class AbstractProblemLoader {
 
             return new KeYUserProblemFile(unzippedProof.toString(), unzippedProof.toFile(),
                 fileRepo, control, profileOfNewProofs, false);
+        } else if (filename.endsWith(BinaryProofFormat.FILE_EXTENSION)) {
+            // saved proof in binary format
+            return new KeYUserProblemFile(filename, RuleSourceFactory.initBinaryProofFile(file),
+                fileRepo, control, profileOfNewProofs);
         } else if (filename.endsWith(".key") || filename.endsWith(".proof")
                 || filename.endsWith(".proof.gz")) {
             // KeY problem specification or saved proof
@@ -512,8 +516,8 @@ public abstract class AbstractProblemLoader {
             if (filename.lastIndexOf('.') != -1) {
                 throw new IllegalArgumentException("Unsupported file extension '"
                     + filename.substring(filename.lastIndexOf('.')) + "' of read-in file "
-                    + filename + ". Allowed extensions are: .key, .proof, .java or "
-                    + "complete directories.");
+                    + filename + ". Allowed extensions are: .key, .proof, .proof.bin, .java "
+                    + "or complete directories.");
             } else {
                 throw new FileNotFoundException(
                     "File or directory\n\t " + filename + "\n not found.");
@@ -0,0 +1,654 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import de.uka.ilkd.key.nparser.KeYLexer;
+import de.uka.ilkd.key.nparser.ParsingFacade;
+import de.uka.ilkd.key.nparser.ProofReplayer;
+import de.uka.ilkd.key.proof.io.IProofFileParser.ProofElementID;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.Interval;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Compact binary representation of saved proofs, stored in files with the extension
+ * {@value #FILE_EXTENSION}.
+ *
+ * <p>
+ * A saved proof consists of a header (profile, settings, declarations and the problem) and the
+ * proof section, which is a tree of s-expressions like
+ * <code>(rule "andRight" (formula "1") (term "0,1"))</code> that is reported to an
+ * {@link IProofFileParser} by {@link ProofReplayer}. A binary proof contains the header as text,
+ * since it has to be parsed anyway, and the proof section as a sequence of records, which is
+ * replayed to an {@link IProofFileParser} without lexing the proof section. Hence, binary proofs
+ * are read by the same {@link IntermediatePresentationProofFileParser} and
+ * {@link IntermediateProofReplayer} as textual proofs.
+ * </p>
+ *
+ * <p>
+ * Layout (all numbers are unsigned LEB128 varints unless noted otherwise):
+ * </p>
+ *
+ * <pre>
+ * file     := "KeYB" version header record*
+ * header   := length utf8-bytes
+ * record   := 0 zigzag(line - previous line)         -- end of the innermost element
+ *           | (1 + element id ordinal) argument      -- begin of an element
+ * argument := kind | (payload &lt;&lt; 3)
+ *   NONE       no argument
+ *   NEW_STRING payload = length of the following utf8-bytes, which are added to the string table
+ *   STRING_REF payload = index in the string table
+ *   INT        payload = the non-negative number
+ *   POSITION   payload = number of the following numbers of a term position
+ * </pre>
+ *
+ * <p>
+ * The line numbers are those of the textual proof the binary proof was created from; they are
+ * used in error messages of the replayer. The conversion between textual and binary proofs is
+ * lossless with respect to the header and the proof section, whereas the layout of the proof
+ * section is normalized when converting to text.
+ * </p>
+ */
+public final class BinaryProofFormat {
+    /** the extension of binary proof files */
+    public static final String FILE_EXTENSION = ".proof.bin";
+
+    /** the current version of the format */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = { 'K', 'e', 'Y', 'B' };
+
+    private static final int KIND_BITS = 3;
+    private static final int NONE = 0;
+    private static final int NEW_STRING = 1;
+    private static final int STRING_REF = 2;
+    private static final int INT = 3;
+    private static final int POSITION = 4;
+
+    /** numbers with at most this many digits are stored as numbers, since they fit a varint */
+    private static final int MAX_INT_DIGITS = 8;
+
+    private static final ProofElementID[] ELEMENT_IDS = ProofElementID.values();
+
+    private BinaryProofFormat() {
+    }
+
+    /**
+     * @param file a file
+     * @return true iff the file starts like a binary proof
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinaryProof(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return Arrays.equals(MAGIC, in.readNBytes(MAGIC.length));
+        }
+    }
+
+    /**
+     * Converts a textual proof into a binary proof or vice versa, depending on the extension of
+     * the source. Textual proofs ending in <code>.gz</code> are (de)compressed.
+     *
+     * @param source the proof to convert
+     * @param target the file to write the converted proof to
+     * @throws IOException if reading or writing fails
+     */
+    public static void convert(Path source, Path target) throws IOException {
+        if (source.toString().endsWith(FILE_EXTENSION)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(source));
+                    OutputStream out = openTextOutput(target)) {
+                toText(in, out);
+            }
+        } else {
+            final CharStream text =
+                RuleSourceFactory.initRuleFile(source.toFile(), source.toString().endsWith(".gz"))
+                        .getCharStream();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+                fromText(text, out, source.toUri());
+            }
+        }
+    }
+
+    private static OutputStream openTextOutput(Path target) throws IOException {
+        final OutputStream out = new BufferedOutputStream(Files.newOutputStream(target));
+        return target.toString().endsWith(".gz") ? new GZIPOutputStream(out) : out;
+    }
+
+    /**
+     * Writes the binary representation of a textual proof.
+     *
+     * @param text the textual proof
+     * @param out the stream to write to
+     * @param source the source of the text, used in error messages
+     * @throws IOException if writing fails
+     */
+    public static void fromText(CharStream text, OutputStream out, URI source)
+            throws IOException {
+        final Encoder encoder = new Encoder(out);
+        // the lexer stops after the \proof token, everything before is the header
+        final KeYLexer lexer = ParsingFacade.createLexer(text);
+        Token token = lexer.nextToken();
+        while (token.getType() != KeYLexer.PROOF && token.getType() != Token.EOF) {
+            token = lexer.nextToken();
+        }
+        if (token.getType() == KeYLexer.PROOF) {
+            encoder.writeHeader(text.getText(Interval.of(0, token.getStartIndex() - 1)));
+            ProofReplayer.run(token, text, encoder, source);
+        } else {
+            encoder.writeHeader(text.getText(Interval.of(0, text.size() - 1)));
+        }
+        encoder.finish();
+    }
+
+    /**
+     * Reads the header of a binary proof. Afterwards, the stream is positioned at the proof
+     * section, which can be read by {@link #readProof(InputStream, IProofFileParser)}.
+     *
+     * @param in the binary proof
+     * @return the textual header
+     * @throws IOException if the stream is not a binary proof of a supported version
+     */
+    public static String readHeader(InputStream in) throws IOException {
+        if (!Arrays.equals(MAGIC, in.readNBytes(MAGIC.length))) {
+            throw new IOException("Not a binary proof");
+        }
+        final int version = readVarInt(in);
+        if (version > VERSION) {
+            throw new IOException("Unsupported version " + version + " of binary proof");
+        }
+        return readString(in, readVarInt(in));
+    }
+
+    /**
+     * Replays the proof section of a binary proof, whose header has already been read by
+     * {@link #readHeader(InputStream)}.
+     *
+     * @param in the binary proof
+     * @param prl the receiver of the proof elements
+     * @throws IOException if the stream is corrupt
+     */
+    public static void readProof(InputStream in, IProofFileParser prl) throws IOException {
+        final List<String> strings = new ArrayList<>();
+        final Deque<ProofElementID> stack = new ArrayDeque<>();
+        int line = 0;
+        int op;
+        while ((op = in.read()) != -1) {
+            // ops are single bytes as long as there are less than 127 element ids
+            if (op == 0) {
+                line += zigZagDecode(readVarInt(in));
+                if (stack.isEmpty()) {
+                    throw new IOException("Unbalanced end of proof element");
+                }
+                prl.endExpr(stack.pop(), line);
+            } else {
+                if (op > ELEMENT_IDS.length) {
+                    throw new IOException("Unknown proof element " + op);
+                }
+                final ProofElementID eid = ELEMENT_IDS[op - 1];
+                prl.beginExpr(eid, readArgument(in, strings));
+                stack.push(eid);
+            }
+        }
+    }
+
+    private static @Nullable String readArgument(InputStream in, List<String> strings)
+            throws IOException {
+        final int arg = readVarInt(in);
+        final int payload = arg >>> KIND_BITS;
+        return switch (arg & ((1 << KIND_BITS) - 1)) {
+        case NONE -> null;
+        case NEW_STRING -> {
+            final String s = readString(in, payload);
+            strings.add(s);
+            yield s;
+        }
+        case STRING_REF -> {
+            if (payload >= strings.size()) {
+                throw new IOException("Invalid string reference " + payload);
+            }
+            yield strings.get(payload);
+        }
+        case INT -> Integer.toString(payload);
+        case POSITION -> {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < payload; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(readVarInt(in));
+            }
+            yield sb.toString();
+        }
+        default -> throw new IOException("Unknown argument kind " + arg);
+        };
+    }
+
+    /**
+     * Writes the textual representation of a binary proof.
+     *
+     * @param in the binary proof
+     * @param out the stream to write the textual proof to (in UTF-8)
+     * @throws IOException if reading or writing fails
+     */
+    public static void toText(InputStream in, OutputStream out) throws IOException {
+        final Writer writer =
+            new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(readHeader(in));
+        final TextWriter textWriter = new TextWriter(writer);
+        writer.write("\\proof {");
+        readProof(in, textWriter);
+        if (textWriter.error != null) {
+            throw textWriter.error;
+        }
+        writer.write("\n\n}\n");
+        writer.flush();
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.read();
+            if (b == -1) {
+                throw new EOFException("Truncated binary proof");
+            }
+            result |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed number in binary proof");
+    }
+
+    private static String readString(InputStream in, int length) throws IOException {
+        final byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Truncated binary proof");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int zigZagDecode(int n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    /**
+     * Writes the proof elements reported by {@link ProofReplayer} as records.
+     */
+    private static final class Encoder implements IProofFileParser {
+        private final OutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<Throwable> errors = new ArrayList<>();
+        private int line = 0;
+
+        Encoder(OutputStream out) {
+            this.out = out;
+        }
+
+        void writeHeader(String header) throws IOException {
+            out.write(MAGIC);
+            writeVarInt(VERSION);
+            final byte[] bytes = header.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void finish() throws IOException {
+            if (!errors.isEmpty()) {
+                final Throwable error = errors.get(0);
+                throw error instanceof IOException ioe ? ioe : new IOException(error);
+            }
+            out.flush();
+        }
+
+        @Override
+        public void beginExpr(ProofElementID eid, @Nullable String str) {
+            try {
+                writeVarInt(1 + eid.ordinal());
+                writeArgument(eid, str);
+            } catch (IOException e) {
+                errors.add(e);
+            }
+        }
+
+        @Override
+        public void endExpr(ProofElementID eid, int lineNr) {
+            try {
+                out.write(0);
+                final int delta = lineNr - line;
+                writeVarInt((delta << 1) ^ (delta >> 31));
+                line = lineNr;
+            } catch (IOException e) {
+                errors.add(e);
+            }
+        }
+
+        private void writeArgument(ProofElementID eid, @Nullable String str) throws IOException {
+            if (str == null) {
+                writeVarInt(NONE);
+            } else if (isNumber(str)) {
+                writeVarInt(Integer.parseInt(str) << KIND_BITS | INT);
+            } else if (eid == ProofElementID.TERM && isPosition(str)) {
+                final String[] indices = str.split(",");
+                writeVarInt(indices.length << KIND_BITS | POSITION);
+                for (String index : indices) {
+                    writeVarInt(Integer.parseInt(index));
+                }
+            } else {
+                final Integer index = strings.get(str);
+                if (index != null) {
+                    writeVarInt(index << KIND_BITS | STRING_REF);
+                } else {
+                    strings.put(str, strings.size());
+                    final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(bytes.length << KIND_BITS | NEW_STRING);
+                    out.write(bytes);
+                }
+            }
+        }
+
+        /**
+         * @return true iff <code>s</code> is a number that is printed as <code>s</code> and
+         *         whose payload fits into a varint
+         */
+        private static boolean isNumber(String s) {
+            if (s.isEmpty() || s.length() > MAX_INT_DIGITS
+                    || (s.length() > 1 && s.charAt(0) == '0')) {
+                return false;
+            }
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) < '0' || s.charAt(i) > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isPosition(String s) {
+            for (String index : s.split(",", -1)) {
+                if (!isNumber(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7f) != 0) {
+                out.write((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+
+        @Override
+        public String getStatus() {
+            return "";
+        }
+
+        @Override
+        public List<Throwable> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Encodes the textual proof written by {@link OutputStreamProofSaver} while it is written, so
+     * that the textual proof is neither kept in memory nor lexed by the {@link KeYLexer}. The
+     * header is kept until the <code>\proof</code> keyword at the beginning of a line, the
+     * proof section is tokenized like {@link ProofReplayer} does. This suffices for the
+     * s-expressions written by {@link OutputStreamProofSaver}, but not for arbitrary textual
+     * proofs, e.g., comments are not supported. For these, the result equals the one of
+     * {@link #fromText(CharStream, OutputStream, URI)}.
+     */
+    static final class StreamingEncoder extends Writer {
+        private static final String PROOF = "\\proof";
+        private static final Map<String, ProofElementID> ELEMENTS_BY_NAME = new HashMap<>();
+
+        static {
+            for (ProofElementID eid : ELEMENT_IDS) {
+                ELEMENTS_BY_NAME.put(eid.getRawName(), eid);
+            }
+        }
+
+        private enum State {
+            HEADER, DEFAULT, NAME, AFTER_NAME, ARGUMENT, ARGUMENT_ESCAPE, STRING, STRING_ESCAPE
+        }
+
+        private final Encoder encoder;
+        private final StringBuilder header = new StringBuilder();
+        /** the name or the argument of the current element */
+        private final StringBuilder token = new StringBuilder();
+        private final Deque<ProofElementID> elements = new ArrayDeque<>();
+        private final Deque<Integer> lines = new ArrayDeque<>();
+        private State state = State.HEADER;
+        private int line = 1;
+        private int nameLine;
+        private @Nullable ProofElementID element;
+
+        StreamingEncoder(OutputStream out) {
+            encoder = new Encoder(out);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            for (int i = off; i < off + len && encoder.errors.isEmpty(); i++) {
+                accept(cbuf[i]);
+                if (cbuf[i] == '\n') {
+                    line++;
+                }
+            }
+        }
+
+        private void accept(char c) {
+            switch (state) {
+            case HEADER -> {
+                if ((Character.isWhitespace(c) || c == '{') && headerEndsWithProof()) {
+                    try {
+                        encoder.writeHeader(
+                            header.substring(0, header.length() - PROOF.length()));
+                    } catch (IOException e) {
+                        encoder.errors.add(e);
+                    }
+                    header.setLength(0);
+                    header.trimToSize();
+                    state = State.DEFAULT;
+                } else {
+                    header.append(c);
+                }
+            }
+            case DEFAULT -> {
+                if (c == '(') {
+                    token.setLength(0);
+                    nameLine = line;
+                    state = State.NAME;
+                } else if (c == ')') {
+                    if (elements.isEmpty()) {
+                        encoder.errors.add(new IOException("Unbalanced end of proof element"));
+                    } else {
+                        encoder.endExpr(elements.pop(), lines.pop());
+                    }
+                } else if (c == '"') {
+                    state = State.STRING;
+                }
+            }
+            case NAME -> {
+                if (c == '(' || c == ')' || c == '"' || Character.isWhitespace(c)) {
+                    element = ELEMENTS_BY_NAME.get(token.toString());
+                    if (element == null) {
+                        encoder.errors.add(new IOException("Unknown proof element: " + token));
+                        return;
+                    }
+                    state = State.AFTER_NAME;
+                    accept(c);
+                } else {
+                    token.append(c);
+                }
+            }
+            case AFTER_NAME -> {
+                if (c == '"') {
+                    token.setLength(0);
+                    state = State.ARGUMENT;
+                } else if (!Character.isWhitespace(c)) {
+                    begin(null);
+                    accept(c);
+                }
+            }
+            case ARGUMENT -> {
+                if (c == '"') {
+                    begin(unescape(token.toString()));
+                } else {
+                    token.append(c);
+                    if (c == '\\') {
+                        state = State.ARGUMENT_ESCAPE;
+                    }
+                }
+            }
+            case ARGUMENT_ESCAPE -> {
+                token.append(c);
+                state = State.ARGUMENT;
+            }
+            case STRING -> {
+                if (c == '"') {
+                    state = State.DEFAULT;
+                } else if (c == '\\') {
+                    state = State.STRING_ESCAPE;
+                }
+            }
+            case STRING_ESCAPE -> state = State.STRING;
+            }
+        }
+
+        private boolean headerEndsWithProof() {
+            final int start = header.length() - PROOF.length();
+            return start >= 0 && PROOF.contentEquals(header.subSequence(start, header.length()))
+                    && (start == 0 || header.charAt(start - 1) == '\n');
+        }
+
+        private void begin(@Nullable String argument) {
+            encoder.beginExpr(element, argument);
+            elements.push(element);
+            // the line numbers reported by ProofReplayer are one off
+            lines.push(nameLine + 1);
+            state = State.DEFAULT;
+        }
+
+        /**
+         * Writes the header if the text has no proof section and flushes the binary proof.
+         *
+         * @throws IOException if writing failed or the text is no proof
+         */
+        void finish() throws IOException {
+            if (state == State.HEADER && encoder.errors.isEmpty()) {
+                encoder.writeHeader(header.toString());
+            }
+            encoder.finish();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /** unescapes a string literal like {@link ProofReplayer} */
+        private static String unescape(String text) {
+            return text.replace("\\\\", "\\").replace("\\\"", "\"");
+        }
+    }
+
+    /**
+     * Writes the proof elements in the syntax of {@link OutputStreamProofSaver}: rule
+     * applications and branches start on a new line, their details follow on the same line.
+     */
+    private static final class TextWriter implements IProofFileParser {
+        private final Writer out;
+        private int branches = 0;
+        private @Nullable IOException error;
+
+        TextWriter(Writer out) {
+            this.out = out;
+        }
+
+        private static boolean startsLine(ProofElementID eid) {
+            return switch (eid) {
+            case BRANCH, RULE, BUILT_IN_RULE, OPEN_GOAL, KeY_LOG, AUTOMODE_TIME -> true;
+            default -> false;
+            };
+        }
+
+        private void newLine() throws IOException {
+            out.write('\n');
+            for (int i = 1; i < branches; i++) {
+                out.write("   ");
+            }
+        }
+
+        @Override
+        public void beginExpr(ProofElementID eid, @Nullable String str) {
+            try {
+                if (startsLine(eid)) {
+                    if (eid == ProofElementID.BRANCH && branches == 0
+                            || eid == ProofElementID.AUTOMODE_TIME) {
+                        out.write('\n');
+                    }
+                    newLine();
+                } else {
+                    out.write(' ');
+                }
+                out.write('(');
+                out.write(eid.getRawName());
+                if (str != null) {
+                    out.write(" \"");
+                    out.write(OutputStreamProofSaver.escapeCharacters(str));
+                    out.write('"');
+                }
+                if (eid == ProofElementID.BRANCH) {
+                    branches++;
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+
+        @Override
+        public void endExpr(ProofElementID eid, int lineNr) {
+            try {
+                if (eid == ProofElementID.BRANCH) {
+                    branches--;
+                    newLine();
+                }
+                out.write(')');
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+
+        @Override
+        public String getStatus() {
+            return "";
+        }
+
+        @Override
+        public List<Throwable> getErrors() {
+            return List.of();
+        }
+    }
+}
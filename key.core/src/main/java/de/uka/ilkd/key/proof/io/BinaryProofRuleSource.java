@@ -0,0 +1,60 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A binary proof file (see {@link BinaryProofFormat}). The textual header is presented as the
+ * content of the file, so that it is parsed like a <code>.proof</code> file without proof
+ * section; the proof section is read by {@link #readProof(IProofFileParser)}.
+ */
+public class BinaryProofRuleSource extends FileRuleSource {
+    private @Nullable String header;
+
+    BinaryProofRuleSource(File ruleFile) {
+        super(ruleFile);
+    }
+
+    private String getHeader() throws IOException {
+        if (header == null) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(ruleFile))) {
+                header = BinaryProofFormat.readHeader(in);
+            }
+        }
+        return header;
+    }
+
+    /**
+     * Replays the proof section of the file.
+     *
+     * @param prl the receiver of the proof elements
+     * @throws IOException if the file cannot be read
+     */
+    public void readProof(IProofFileParser prl) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(ruleFile), 1 << 16)) {
+            BinaryProofFormat.readHeader(in);
+            BinaryProofFormat.readProof(in, prl);
+        }
+    }
+
+    @Override
+    public InputStream getNewStream() {
+        try {
+            return new ByteArrayInputStream(getHeader().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading the binary proof " + ruleFile, e);
+        }
+    }
+
+    @Override
+    public CharStream getCharStream() throws IOException {
+        return CharStreams.fromString(getHeader(), ruleFile.toString());
+    }
+}
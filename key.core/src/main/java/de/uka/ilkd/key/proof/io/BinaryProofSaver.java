@@ -0,0 +1,39 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.*;
+
+import de.uka.ilkd.key.proof.Proof;
+
+/**
+ * A file saver that writes proofs in the binary format of {@link BinaryProofFormat}.
+ */
+public class BinaryProofSaver extends ProofSaver {
+    /**
+     * Instantiates a new proof saver.
+     *
+     * @param proof the non-<code>null</code> proof to save
+     * @param fileName the name of the file to write to
+     * @param internalVersion the internal version
+     */
+    public BinaryProofSaver(Proof proof, String fileName, String internalVersion) {
+        super(proof, fileName, internalVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This subclass encodes the textual proof in the binary format while it is written.
+     */
+    @Override
+    protected void save(File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            final BinaryProofFormat.StreamingEncoder encoder =
+                new BinaryProofFormat.StreamingEncoder(out);
+            save(encoder);
+            encoder.finish();
+        }
+    }
+}
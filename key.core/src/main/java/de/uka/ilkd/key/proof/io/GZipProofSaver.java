@@ -17,6 +17,8 @@ import de.uka.ilkd.key.proof.Proof;
  * @author tbormer on 12.02.16.
  */
 public class GZipProofSaver extends ProofSaver {
+    /** size of the buffer of the compressor in bytes */
+    private static final int BUFFER_SIZE = 1 << 16;
 
     /**
      * Instantiates a new proof saver.
@@ -36,6 +38,6 @@ public class GZipProofSaver extends ProofSaver {
      */
     @Override
     protected void save(File file) throws IOException {
-        super.save(new GZIPOutputStream(new FileOutputStream(file)));
+        super.save(new GZIPOutputStream(new FileOutputStream(file), BUFFER_SIZE));
     }
 }
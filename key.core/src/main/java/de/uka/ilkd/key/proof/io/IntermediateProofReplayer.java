@@ -5,6 +5,11 @@ package de.uka.ilkd.key.proof.io;
 
 import java.io.StringReader;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -24,6 +29,7 @@ import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.init.ProblemInitializer;
+import de.uka.ilkd.key.proof.io.intermediate.AppIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.AppNodeIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.BranchNodeIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.BuiltInAppIntermediate;
@@ -32,7 +38,7 @@ import de.uka.ilkd.key.proof.io.intermediate.MergePartnerAppIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.NodeIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.SMTAppIntermediate;
 import de.uka.ilkd.key.proof.io.intermediate.TacletAppIntermediate;
-import de.uka.ilkd.key.prover.impl.PerfScope;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.rule.merge.MergePartner;
 import de.uka.ilkd.key.rule.merge.MergeProcedure;
@@ -70,6 +76,7 @@ import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -85,6 +92,16 @@ import static de.uka.ilkd.key.util.mergerule.MergeRuleUtils.sequentToSETriple;
  * replaying, new nodes are added to the supplied proof object. The last goal touched during replay
  * can be obtained by {@link #getLastSelectedGoal()}.
  * </p>
+ * <p>
+ * By default, the proof is replayed depth-first on the calling thread. With more than one worker
+ * (see {@link #setWorkerCount(int)}), the open branches are replayed in rounds: the taclets of the
+ * next rule applications of several branches are looked up and matched concurrently, and then the
+ * rule applications are completed (using the recorded name proposals) and applied one after the
+ * other in a fixed order on the calling thread. Hence, the resulting proof does not depend on the
+ * scheduling of the workers, but its node numbering differs from the one of a depth-first replay.
+ * Proofs containing merge rule applications, which refer to other branches, are always replayed
+ * depth-first.
+ * </p>
  * TODO: Check if joining with more than one partner works out of the box. Potential problem:
  * Different order may result in syntactically different nodes.
  *
@@ -105,6 +122,15 @@ public class IntermediateProofReplayer {
         " not available or not applicable in this context.";
     private static final Logger LOGGER = LoggerFactory.getLogger(IntermediateProofReplayer.class);
 
+    /**
+     * System property defining the number of threads used for replaying independent branches
+     * (see {@link #setWorkerCount(int)}).
+     */
+    public static final String WORKER_COUNT_PROPERTY = "key.replay.workers";
+
+    /** The number of branches replayed per round and worker */
+    private static final int ROUND_SIZE_PER_WORKER = 8;
+
 
     /** The problem loader, for reporting errors */
     private final AbstractProblemLoader loader;
@@ -137,6 +163,12 @@ public class IntermediateProofReplayer {
     /** The current open goal */
     private Goal currGoal = null;
 
+    /** The number of threads used for replaying independent branches */
+    private int workerCount = Math.max(1, Integer.getInteger(WORKER_COUNT_PROPERTY, 1));
+
+    /** The taclet applications found by the workers for the nodes of the current round */
+    private final Map<Node, Future<TacletApp>> preparedApps = new HashMap<>();
+
     /**
      * Constructs a new {@link IntermediateProofReplayer}.
      *
@@ -214,185 +246,298 @@ public class IntermediateProofReplayer {
             reportInterval = Math.max(1, Integer.highestOneBit(max / 256));
         }
 
-        while (!queue.isEmpty()) {
-            // periodically report replay progress
-            if (listener != null && progressMonitor != null && stepIndex % reportInterval == 0) {
-                progressMonitor.setProgress(stepIndex);
+        final ExecutorService pool = createWorkerPool();
+        try {
+            while (!queue.isEmpty()) {
+                for (Pair<Node, NodeIntermediate> currentP : nextRound(pool)) {
+                    // periodically report replay progress
+                    if (listener != null && progressMonitor != null
+                            && stepIndex % reportInterval == 0) {
+                        progressMonitor.setProgress(stepIndex);
+                    }
+                    stepIndex++;
+                    replayStep(currentP, deleteIntermediateTree);
+                }
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
             }
-            stepIndex++;
+            preparedApps.clear();
+        }
+        if (listener != null) {
+            listener.reportStatus(this, "Proof loaded.");
+        }
 
-            final Pair<Node, NodeIntermediate> currentP = queue.pollFirst();
-            final Node currNode = currentP.first;
-            final NodeIntermediate currNodeInterm = currentP.second;
-            currGoal = proof.getOpenGoal(currNode);
+        if (listener != null && progressMonitor != null) {
+            progressMonitor.setProgress(max);
+        }
+        LOGGER.debug("Proof replay took " + ProofProfile.formatTime(System.nanoTime() - time));
+        return new Result(status, errors, currGoal);
+    }
 
-            try {
-                if (currNodeInterm instanceof BranchNodeIntermediate) {
-                    assert currNodeInterm.getChildren().size() <= 1
-                            : "Branch node should have exactly one child.";
-                    if (currNodeInterm.getChildren().size() == 1) {
-                        currNode.getNodeInfo().setBranchLabel(
-                            ((BranchNodeIntermediate) currNodeInterm).getBranchTitle());
-                        queue.addFirst(new Pair<>(currNode,
-                            currNodeInterm.getChildren().get(0)));
-                    }
-                } else if (currNodeInterm instanceof AppNodeIntermediate currInterm) {
+    /**
+     * Sets the number of threads used for replaying independent branches. The default is one
+     * worker, i.e., depth-first replay on the calling thread, unless set by the system property
+     * {@value #WORKER_COUNT_PROPERTY}.
+     *
+     * @param workerCount the number of workers
+     */
+    public void setWorkerCount(int workerCount) {
+        this.workerCount = Math.max(1, workerCount);
+    }
 
-                    currNode.getNodeInfo().setNotes(currInterm.getNotes());
+    /**
+     * @return the worker pool for a parallel replay or null if the proof is replayed depth-first
+     */
+    private @Nullable ExecutorService createWorkerPool() {
+        if (workerCount <= 1 || queue.isEmpty() || containsMergeApps(queue.peekFirst().second)) {
+            return null;
+        }
+        LOGGER.debug("Replaying proof with {} workers", workerCount);
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(workerCount, r -> {
+            final Thread thread = new Thread(r, "replay-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
-                    // Register name proposals
-                    proof.getServices().getNameRecorder()
-                            .setProposals(currInterm.getIntermediateRuleApp().getNewNames());
+    private static boolean containsMergeApps(NodeIntermediate root) {
+        final Deque<NodeIntermediate> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            final NodeIntermediate node = stack.pop();
+            if (node instanceof AppNodeIntermediate app) {
+                final AppIntermediate ruleApp = app.getIntermediateRuleApp();
+                if (ruleApp instanceof MergeAppIntermediate
+                        || ruleApp instanceof MergePartnerAppIntermediate) {
+                    return true;
+                }
+            }
+            for (NodeIntermediate child : node.getChildren()) {
+                stack.push(child);
+            }
+        }
+        return false;
+    }
 
-                    if (currInterm
-                            .getIntermediateRuleApp() instanceof TacletAppIntermediate appInterm) {
+    /**
+     * Removes the entries to be replayed next from the queue. Without a worker pool, this is the
+     * first entry. Otherwise, these are the first entries, which belong to different branches, and
+     * the taclet applications of these entries are looked up by the workers.
+     *
+     * @param pool the worker pool or null
+     * @return the entries to replay
+     */
+    private List<Pair<Node, NodeIntermediate>> nextRound(@Nullable ExecutorService pool) {
+        if (pool == null) {
+            return List.of(queue.pollFirst());
+        }
+        final List<Pair<Node, NodeIntermediate>> round = new ArrayList<>();
+        while (!queue.isEmpty() && round.size() < workerCount * ROUND_SIZE_PER_WORKER) {
+            final Pair<Node, NodeIntermediate> entry = queue.pollFirst();
+            round.add(entry);
+            final Goal goal = proof.getOpenGoal(entry.first);
+            if (goal != null && entry.second instanceof AppNodeIntermediate app
+                    && app.getIntermediateRuleApp() instanceof TacletAppIntermediate appInterm) {
+                preparedApps.put(entry.first, pool.submit(() -> findTacletApp(appInterm, goal)));
+            }
+        }
+        // all workers have to be finished before the first rule is applied, as the rule
+        // application modifies the proof
+        boolean interrupted = false;
+        for (Future<TacletApp> prepared : preparedApps.values()) {
+            while (true) {
+                try {
+                    prepared.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // repeated (and reported) when the entry is replayed
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return round;
+    }
 
-                        try {
-                            currGoal.apply(constructTacletApp(appInterm, currGoal));
+    /**
+     * Replays the rule application of one intermediate node and adds the children of the node to
+     * the queue.
+     *
+     * @param currentP the proof node and the intermediate node to replay on it
+     * @param deleteIntermediateTree whether the children of replayed intermediate nodes are
+     *        deleted
+     */
+    private void replayStep(Pair<Node, NodeIntermediate> currentP,
+            boolean deleteIntermediateTree) {
+        final Node currNode = currentP.first;
+        final NodeIntermediate currNodeInterm = currentP.second;
+        currGoal = proof.getOpenGoal(currNode);
 
-                            final Iterator<Node> children = currNode.childrenIterator();
-                            final LinkedList<NodeIntermediate> intermChildren =
-                                currInterm.getChildren();
+        try {
+            if (currNodeInterm instanceof BranchNodeIntermediate) {
+                assert currNodeInterm.getChildren().size() <= 1
+                        : "Branch node should have exactly one child.";
+                if (currNodeInterm.getChildren().size() == 1) {
+                    currNode.getNodeInfo().setBranchLabel(
+                        ((BranchNodeIntermediate) currNodeInterm).getBranchTitle());
+                    queue.addFirst(new Pair<>(currNode,
+                        currNodeInterm.getChildren().get(0)));
+                }
+            } else if (currNodeInterm instanceof AppNodeIntermediate currInterm) {
 
-                            addChildren(children, intermChildren);
+                currNode.getNodeInfo().setNotes(currInterm.getNotes());
 
-                            // set information about SUCCESSFUL rule application
-                            currNode.getNodeInfo().setInteractiveRuleApplication(
-                                currInterm.isInteractiveRuleApplication());
-                            currNode.getNodeInfo()
-                                    .setScriptRuleApplication(currInterm.isScriptRuleApplication());
+                // Register name proposals
+                proof.getServices().getNameRecorder()
+                        .setProposals(currInterm.getIntermediateRuleApp().getNewNames());
 
-                            if (deleteIntermediateTree) {
-                                // Children are no longer needed, set them to null
-                                // to free memory.
-                                currInterm.setChildren(null);
-                            }
+                if (currInterm
+                        .getIntermediateRuleApp() instanceof TacletAppIntermediate appInterm) {
+
+                    try {
+                        currGoal.apply(
+                            constructTacletApp(appInterm, currGoal, preparedApps.remove(currNode)));
+
+                        final Iterator<Node> children = currNode.childrenIterator();
+                        final LinkedList<NodeIntermediate> intermChildren =
+                            currInterm.getChildren();
+
+                        addChildren(children, intermChildren);
 
+                        // set information about SUCCESSFUL rule application
+                        currNode.getNodeInfo().setInteractiveRuleApplication(
+                            currInterm.isInteractiveRuleApplication());
+                        currNode.getNodeInfo()
+                                .setScriptRuleApplication(currInterm.isScriptRuleApplication());
 
-                        } catch (Exception | AssertionError e) {
-                            reportError(ERROR_LOADING_PROOF_LINE + "Line " + appInterm.getLineNr()
-                                + ", goal " + currGoal.node().serialNr() + ", rule "
-                                + appInterm.getRuleName() + NOT_APPLICABLE, e);
+                        if (deleteIntermediateTree) {
+                            // Children are no longer needed, set them to null
+                            // to free memory.
+                            currInterm.setChildren(null);
                         }
 
-                    } else if (currInterm
-                            .getIntermediateRuleApp() instanceof BuiltInAppIntermediate appInterm) {
-
-                        if (appInterm instanceof MergeAppIntermediate joinAppInterm) {
-                            HashSet<PartnerNode> partnerNodesInfo =
-                                joinPartnerNodes.get(((MergeAppIntermediate) appInterm).getId());
-
-                            if (partnerNodesInfo == null
-                                    || partnerNodesInfo.size() < joinAppInterm.getNrPartners()) {
-                                // In case of an exception happening during the
-                                // replay process, it can happen that the queue
-                                // is
-                                // empty when reaching this point. Then, we may
-                                // not
-                                // add the join node to the end of the queue
-                                // since
-                                // this will result in non-termination.
-
-                                if (queue.isEmpty()) {
-                                    continue;
-                                }
 
-                                // Wait until all partners are found: Add node
-                                // at the end of the queue. NOTE: DO NOT CHANGE
-                                // THIS to adding the node to the front! This
-                                // will
-                                // result in non-termination!
-                                queue.addLast(
-                                    new Pair<>(currNode, currNodeInterm));
-                            } else {
-                                try {
-                                    final Services services = proof.getServices();
-
-                                    MergeRuleBuiltInRuleApp joinApp = instantiateJoinApp(
-                                        joinAppInterm, currNode, partnerNodesInfo, services);
-
-                                    assert joinApp.complete()
-                                            : "Join app should be automatically completed in replay";
-
-                                    currGoal.apply(joinApp);
-
-                                    final Iterator<Node> childrenIterator =
-                                        currNode.childrenIterator();
-                                    for (NodeIntermediate child : currInterm.getChildren()) {
-                                        queue.addFirst(new Pair<>(childrenIterator.next(), child));
-                                    }
-
-                                    // Now add children of partner nodes
-                                    for (PartnerNode partnerNodeInfo : partnerNodesInfo) {
-                                        Iterator<Node> children =
-                                            partnerNodeInfo.node.childrenIterator();
-                                        LinkedList<NodeIntermediate> intermChildren =
-                                            partnerNodeInfo.intermediate.getChildren();
-
-                                        addChildren(children, intermChildren);
-                                    }
-                                } catch (SkipSMTRuleException | BuiltInConstructionException e) {
-                                    reportError(
-                                        ERROR_LOADING_PROOF_LINE + "Line " + appInterm.getLineNr()
-                                            + ", goal " + currGoal.node().serialNr() + ", rule "
-                                            + appInterm.getRuleName() + NOT_APPLICABLE,
-                                        e);
-                                }
+                    } catch (Exception | AssertionError e) {
+                        reportError(ERROR_LOADING_PROOF_LINE + "Line " + appInterm.getLineNr()
+                            + ", goal " + currGoal.node().serialNr() + ", rule "
+                            + appInterm.getRuleName() + NOT_APPLICABLE, e);
+                    }
+
+                } else if (currInterm
+                        .getIntermediateRuleApp() instanceof BuiltInAppIntermediate appInterm) {
+
+                    if (appInterm instanceof MergeAppIntermediate joinAppInterm) {
+                        HashSet<PartnerNode> partnerNodesInfo =
+                            joinPartnerNodes.get(((MergeAppIntermediate) appInterm).getId());
+
+                        if (partnerNodesInfo == null
+                                || partnerNodesInfo.size() < joinAppInterm.getNrPartners()) {
+                            // In case of an exception happening during the
+                            // replay process, it can happen that the queue
+                            // is
+                            // empty when reaching this point. Then, we may
+                            // not
+                            // add the join node to the end of the queue
+                            // since
+                            // this will result in non-termination.
+
+                            if (queue.isEmpty()) {
+                                return;
                             }
-                        } else if (appInterm instanceof MergePartnerAppIntermediate joinPartnerApp) {
-                            // Register this partner node
-                            HashSet<PartnerNode> partnerNodeInfo =
-                                joinPartnerNodes.computeIfAbsent(joinPartnerApp.getMergeNodeId(),
-                                    k -> new HashSet<>());
-
-                            partnerNodeInfo.add(new PartnerNode(
-                                currNode,
-                                PosInOccurrence.findInSequent(
-                                    currGoal.sequent(),
-                                    appInterm.getPosInfo().first, appInterm.getPosInfo().second),
-                                currNodeInterm));
+
+                            // Wait until all partners are found: Add node
+                            // at the end of the queue. NOTE: DO NOT CHANGE
+                            // THIS to adding the node to the front! This
+                            // will
+                            // result in non-termination!
+                            queue.addLast(
+                                new Pair<>(currNode, currNodeInterm));
                         } else {
                             try {
-                                IBuiltInRuleApp app = constructBuiltinApp(appInterm, currGoal);
-                                if (!app.complete()) {
-                                    app = app.tryToInstantiate(currGoal);
+                                final Services services = proof.getServices();
+
+                                MergeRuleBuiltInRuleApp joinApp = instantiateJoinApp(
+                                    joinAppInterm, currNode, partnerNodesInfo, services);
+
+                                assert joinApp.complete()
+                                        : "Join app should be automatically completed in replay";
+
+                                currGoal.apply(joinApp);
+
+                                final Iterator<Node> childrenIterator =
+                                    currNode.childrenIterator();
+                                for (NodeIntermediate child : currInterm.getChildren()) {
+                                    queue.addFirst(new Pair<>(childrenIterator.next(), child));
+                                }
+
+                                // Now add children of partner nodes
+                                for (PartnerNode partnerNodeInfo : partnerNodesInfo) {
+                                    Iterator<Node> children =
+                                        partnerNodeInfo.node.childrenIterator();
+                                    LinkedList<NodeIntermediate> intermChildren =
+                                        partnerNodeInfo.intermediate.getChildren();
+
+                                    addChildren(children, intermChildren);
                                 }
-                                currGoal.apply(app);
-
-                                final Iterator<Node> children = currNode.childrenIterator();
-                                LinkedList<NodeIntermediate> intermChildren =
-                                    currInterm.getChildren();
-
-                                addChildren(children, intermChildren);
-                            } catch (SkipSMTRuleException e) {
-                                // silently continue; status will be reported
-                                // via
-                                // polling
-                            } catch (BuiltInConstructionException | AssertionError
-                                    | RuntimeException e) {
-                                reportError(ERROR_LOADING_PROOF_LINE + "Line "
-                                    + appInterm.getLineNr() + ", goal " + currGoal.node().serialNr()
-                                    + ", rule " + appInterm.getRuleName() + NOT_APPLICABLE, e);
+                            } catch (SkipSMTRuleException | BuiltInConstructionException e) {
+                                reportError(
+                                    ERROR_LOADING_PROOF_LINE + "Line " + appInterm.getLineNr()
+                                        + ", goal " + currGoal.node().serialNr() + ", rule "
+                                        + appInterm.getRuleName() + NOT_APPLICABLE,
+                                    e);
                             }
                         }
+                    } else if (appInterm instanceof MergePartnerAppIntermediate joinPartnerApp) {
+                        // Register this partner node
+                        HashSet<PartnerNode> partnerNodeInfo =
+                            joinPartnerNodes.computeIfAbsent(joinPartnerApp.getMergeNodeId(),
+                                k -> new HashSet<>());
+
+                        partnerNodeInfo.add(new PartnerNode(
+                            currNode,
+                            PosInOccurrence.findInSequent(
+                                currGoal.sequent(),
+                                appInterm.getPosInfo().first, appInterm.getPosInfo().second),
+                            currNodeInterm));
+                    } else {
+                        try {
+                            IBuiltInRuleApp app = constructBuiltinApp(appInterm, currGoal);
+                            if (!app.complete()) {
+                                app = app.tryToInstantiate(currGoal);
+                            }
+                            currGoal.apply(app);
+
+                            final Iterator<Node> children = currNode.childrenIterator();
+                            LinkedList<NodeIntermediate> intermChildren =
+                                currInterm.getChildren();
+
+                            addChildren(children, intermChildren);
+                        } catch (SkipSMTRuleException e) {
+                            // silently continue; status will be reported
+                            // via
+                            // polling
+                        } catch (BuiltInConstructionException | AssertionError
+                                | RuntimeException e) {
+                            reportError(ERROR_LOADING_PROOF_LINE + "Line "
+                                + appInterm.getLineNr() + ", goal " + currGoal.node().serialNr()
+                                + ", rule " + appInterm.getRuleName() + NOT_APPLICABLE, e);
+                        }
                     }
                 }
-            } catch (Throwable throwable) {
-                // Default exception catcher -- proof should not stop loading
-                // if anything goes wrong, but instead continue with the next
-                // node in the queue.
-                reportError(ERROR_LOADING_PROOF_LINE, throwable);
             }
+        } catch (Throwable throwable) {
+            // Default exception catcher -- proof should not stop loading
+            // if anything goes wrong, but instead continue with the next
+            // node in the queue.
+            reportError(ERROR_LOADING_PROOF_LINE, throwable);
         }
-        if (listener != null) {
-            listener.reportStatus(this, "Proof loaded.");
-        }
-
-        if (listener != null && progressMonitor != null) {
-            progressMonitor.setProgress(max);
-        }
-        LOGGER.debug("Proof replay took " + PerfScope.formatTime(System.nanoTime() - time));
-        return new Result(status, errors, currGoal);
     }
 
     /**
@@ -442,16 +587,84 @@ public class IntermediateProofReplayer {
      *
      * @param currInterm The intermediate taclet application to create a "real" application for.
      * @param currGoal The goal on which to apply the taclet app.
+     * @param prepared The result of {@link #findTacletApp(TacletAppIntermediate, Goal)} computed
+     *        by a worker, or null.
      * @return The taclet application corresponding to the supplied intermediate representation.
      * @throws TacletAppConstructionException In case of an error during construction.
      */
-    private TacletApp constructTacletApp(TacletAppIntermediate currInterm, Goal currGoal)
-            throws TacletAppConstructionException {
+    private TacletApp constructTacletApp(TacletAppIntermediate currInterm, Goal currGoal,
+            @Nullable Future<TacletApp> prepared) throws TacletAppConstructionException {
+        TacletApp ourApp = prepared == null ? null : getPreparedApp(prepared);
+        if (ourApp == null) {
+            // a failed preparation is repeated here, which reports the error
+            ourApp = findTacletApp(currInterm, currGoal);
+        }
 
+        final String tacletName = currInterm.getRuleName();
+        final Sequent seq = currGoal.sequent();
+        final Services services = proof.getServices();
+
+        ourApp = constructInsts(ourApp, currGoal, currInterm.getInsts(), services);
+
+        ImmutableList<AssumesFormulaInstantiation> ifFormulaList = ImmutableSLList.nil();
+        for (String ifFormulaStr : currInterm.getIfSeqFormulaList()) {
+            ifFormulaList =
+                ifFormulaList
+                        .append(new AssumesFormulaInstSeq(seq, Integer.parseInt(ifFormulaStr)));
+        }
+        for (String ifFormulaStr : currInterm.getIfDirectFormulaList()) {
+            // MU 2019: #1487. We have to use the right namespaces to not
+            // ignore branch-local functions
+            NamespaceSet nss = currGoal.getLocalNamespaces();
+            Term term = parseTerm(ifFormulaStr, proof, nss.variables(), nss.programVariables(),
+                nss.functions());
+            ifFormulaList =
+                ifFormulaList.append(new AssumesFormulaInstDirect(new SequentFormula(term)));
+        }
+
+        if (!ourApp.ifInstsCorrectSize(ifFormulaList)) {
+            LOGGER.warn("Proof contains wrong number of \\assumes instatiations for {}",
+                tacletName);
+            // try to find instantiations automatically
+            ImmutableList<TacletApp> instApps = ourApp.findIfFormulaInstantiations(seq, services);
+            if (instApps.size() != 1) {
+                // none or not a unique result
+                throw new TacletAppConstructionException("\nCould not apply " + tacletName
+                    + "\nUnknown instantiations for \\assumes. " + instApps.size()
+                    + " candidates.\n" + "Perhaps the rule's definition has been changed in KeY.");
+            }
+
+            TacletApp newApp = instApps.head();
+            ifFormulaList = newApp.assumesFormulaInstantiations();
+        }
+
+        // TODO: In certain cases, the below method call returns null and
+        // induces follow-up NullPointerExceptions. This was encountered
+        // in a proof of the TimSort method binarySort with several joins.
+        ourApp = ourApp.setIfFormulaInstantiations(ifFormulaList, services);
+
+        if (!ourApp.complete()) {
+            ourApp = ourApp.tryToInstantiate(proof.getServices());
+        }
+
+        return ourApp;
+    }
+
+    /**
+     * Looks up the taclet of an intermediate taclet application and matches its find expression
+     * at the position of the application. This neither modifies the proof nor uses the name
+     * proposals and may hence run concurrently for different goals.
+     *
+     * @param currInterm The intermediate taclet application.
+     * @param currGoal The goal on which to apply the taclet app.
+     * @return The taclet application with the instantiations of the find expression.
+     * @throws TacletAppConstructionException In case of an error during construction.
+     */
+    private TacletApp findTacletApp(TacletAppIntermediate currInterm, Goal currGoal)
+            throws TacletAppConstructionException {
         final String tacletName = currInterm.getRuleName();
         final int currFormula = currInterm.getPosInfo().first;
         final PosInTerm currPosInTerm = currInterm.getPosInfo().second;
-        final Sequent seq = currGoal.sequent();
 
         TacletApp ourApp;
         PosInOccurrence pos = null;
@@ -497,50 +710,18 @@ public class IntermediateProofReplayer {
             }
         }
 
-        ourApp = constructInsts(ourApp, currGoal, currInterm.getInsts(), services);
-
-        ImmutableList<AssumesFormulaInstantiation> ifFormulaList = ImmutableSLList.nil();
-        for (String ifFormulaStr : currInterm.getIfSeqFormulaList()) {
-            ifFormulaList =
-                ifFormulaList
-                        .append(new AssumesFormulaInstSeq(seq, Integer.parseInt(ifFormulaStr)));
-        }
-        for (String ifFormulaStr : currInterm.getIfDirectFormulaList()) {
-            // MU 2019: #1487. We have to use the right namespaces to not
-            // ignore branch-local functions
-            NamespaceSet nss = currGoal.getLocalNamespaces();
-            Term term = parseTerm(ifFormulaStr, proof, nss.variables(), nss.programVariables(),
-                nss.functions());
-            ifFormulaList =
-                ifFormulaList.append(new AssumesFormulaInstDirect(new SequentFormula(term)));
-        }
-
-        if (!ourApp.ifInstsCorrectSize(ifFormulaList)) {
-            LOGGER.warn("Proof contains wrong number of \\assumes instatiations for {}",
-                tacletName);
-            // try to find instantiations automatically
-            ImmutableList<TacletApp> instApps = ourApp.findIfFormulaInstantiations(seq, services);
-            if (instApps.size() != 1) {
-                // none or not a unique result
-                throw new TacletAppConstructionException("\nCould not apply " + tacletName
-                    + "\nUnknown instantiations for \\assumes. " + instApps.size()
-                    + " candidates.\n" + "Perhaps the rule's definition has been changed in KeY.");
-            }
-
-            TacletApp newApp = instApps.head();
-            ifFormulaList = newApp.assumesFormulaInstantiations();
-        }
-
-        // TODO: In certain cases, the below method call returns null and
-        // induces follow-up NullPointerExceptions. This was encountered
-        // in a proof of the TimSort method binarySort with several joins.
-        ourApp = ourApp.setIfFormulaInstantiations(ifFormulaList, services);
+        return ourApp;
+    }
 
-        if (!ourApp.complete()) {
-            ourApp = ourApp.tryToInstantiate(proof.getServices());
+    private static @Nullable TacletApp getPreparedApp(Future<TacletApp> prepared) {
+        try {
+            return prepared.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
         }
-
-        return ourApp;
     }
 
     /**
@@ -43,6 +43,7 @@ import de.uka.ilkd.key.smt.SMTRuleApp;
 import de.uka.ilkd.key.strategy.StrategyProperties;
 import de.uka.ilkd.key.util.KeYConstants;
 import de.uka.ilkd.key.util.MiscTools;
+import de.uka.ilkd.key.util.ProgressMonitor;
 
 import org.key_project.logic.Name;
 import org.key_project.logic.PosInTerm;
@@ -64,11 +65,27 @@ import org.slf4j.LoggerFactory;
 /**
  * Saves a proof to a given {@link OutputStream}.
  *
+ * <p>
+ * The proof steps are written node by node directly into a buffered writer while the proof tree
+ * is traversed iteratively, so the memory needed for saving does not grow with the size of the
+ * proof and deep proof trees do not overflow the stack. Progress is reported to an optional
+ * {@link ProgressMonitor} (see {@link #setProgressMonitor(ProgressMonitor)}).
+ * </p>
+ *
  * @author Kai Wallisch
  */
 public class OutputStreamProofSaver {
     private static final Logger LOGGER = LoggerFactory.getLogger(OutputStreamProofSaver.class);
 
+    /** size of the buffer of the writer in characters */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** the progress is reported every that many nodes */
+    private static final int PROGRESS_INTERVAL = 1 << 10;
+
+    /** indentation per nesting level of branches */
+    private static final String INDENT = "   ";
+
     /**
      * The proof to save.
      */
@@ -82,6 +99,16 @@ public class OutputStreamProofSaver {
      */
     protected final boolean saveProofSteps;
 
+    /**
+     * Monitor for the progress of saving the proof steps, counted in nodes.
+     */
+    private ProgressMonitor progressMonitor = ProgressMonitor.Empty.getInstance();
+
+    /**
+     * Number of nodes saved so far.
+     */
+    private int savedNodes;
+
 
     /**
      * Extracts java source directory from {@link Proof#header()}, if it exists.
@@ -126,6 +153,17 @@ public class OutputStreamProofSaver {
         this.saveProofSteps = saveProofSteps;
     }
 
+    /**
+     * Sets the monitor which is informed about the progress of saving the proof steps. The maximum
+     * is the number of nodes of the proof.
+     *
+     * @param progressMonitor the monitor
+     */
+    public void setProgressMonitor(ProgressMonitor progressMonitor) {
+        this.progressMonitor =
+            progressMonitor == null ? ProgressMonitor.Empty.getInstance() : progressMonitor;
+    }
+
     /**
      * Write users and KeY versions to buffer.
      *
@@ -160,8 +198,18 @@ public class OutputStreamProofSaver {
     }
 
     public void save(OutputStream out) throws IOException {
+        save(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes the proof in the textual format to the given writer, which is closed afterwards.
+     *
+     * @param out the writer to write to
+     * @throws IOException if writing fails
+     */
+    public void save(Writer out) throws IOException {
         CopyReferenceResolver.copyCachedGoals(proof, null, null, null);
-        try (var ps = new PrintWriter(out, true, StandardCharsets.UTF_8)) {
+        try (var ps = new PrintWriter(out)) {
             final ProofOblInput po =
                 proof.getServices().getSpecificationRepository().getProofOblInput(proof);
             LogicPrinter printer = createLogicPrinter(proof.getServices(), false);
@@ -232,9 +280,21 @@ public class OutputStreamProofSaver {
                 ps.println("\\proof {");
                 ps.println(writeLog());
                 ps.println("(autoModeTime \"" + proof.getAutoModeTime() + "\")\n");
+                final boolean monitored = progressMonitor != ProgressMonitor.Empty.getInstance();
+                if (monitored) {
+                    progressMonitor.setMaximum(proof.countNodes());
+                }
+                savedNodes = 0;
                 node2Proof(proof.root(), ps);
+                if (monitored) {
+                    progressMonitor.setProgress(savedNodes);
+                }
                 ps.println("}");
             }
+            // a PrintWriter does not report I/O errors (e.g., a full disk) by itself
+            if (ps.checkError()) {
+                throw new IOException("Failed to write the proof");
+            }
         }
     }
 
@@ -318,20 +378,25 @@ public class OutputStreamProofSaver {
         }
     }
 
-    private String newNames2Proof(Node n) {
-        StringBuilder s = new StringBuilder();
+    private static void newNames2Proof(Node n, Appendable output) throws IOException {
         final NameRecorder rec = n.getNameRecorder();
         if (rec == null) {
-            return s.toString();
+            return;
         }
         final ImmutableList<Name> proposals = rec.getProposals();
         if (proposals.isEmpty()) {
-            return s.toString();
+            return;
         }
+        output.append(" (newnames \"");
+        boolean first = true;
         for (final Name proposal : proposals) {
-            s.append(",").append(proposal);
+            if (!first) {
+                output.append(",");
+            }
+            first = false;
+            output.append(proposal.toString());
         }
-        return " (newnames \"" + s.substring(1) + "\")";
+        output.append("\")");
     }
 
     /**
@@ -351,12 +416,12 @@ public class OutputStreamProofSaver {
         output.append(appliedRuleApp.rule().name().toString());
         output.append("\"");
         output.append(posInOccurrence2Proof(node.sequent(), appliedRuleApp.posInOccurrence()));
-        output.append(newNames2Proof(node));
-        output.append(getInteresting(appliedRuleApp.instantiations()));
+        newNames2Proof(node, output);
+        getInteresting(appliedRuleApp.instantiations(), output);
         final ImmutableList<AssumesFormulaInstantiation> l =
             appliedRuleApp.assumesFormulaInstantiations();
         if (l != null) {
-            output.append(assumesFormulaInsts(node, l));
+            assumesFormulaInsts(node, l, output);
         }
         output.append("");
         userInteraction2Proof(node, output);
@@ -547,8 +612,8 @@ public class OutputStreamProofSaver {
         output.append("\"");
         output.append(posInOccurrence2Proof(node.sequent(), appliedRuleApp.posInOccurrence()));
 
-        output.append(newNames2Proof(node));
-        output.append(builtinRuleAssumesInsts(node, appliedRuleApp.assumesInsts()));
+        newNames2Proof(node, output);
+        builtinRuleAssumesInsts(node, appliedRuleApp.assumesInsts(), output);
 
         if (appliedRuleApp.rule() instanceof UseOperationContractRule
                 || appliedRuleApp.rule() instanceof UseDependencyContractRule) {
@@ -591,6 +656,9 @@ public class OutputStreamProofSaver {
      * @throws IOException an exception thrown when printing fails
      */
     private void printSingleNode(Node node, String prefix, Appendable output) throws IOException {
+        if (++savedNodes % PROGRESS_INTERVAL == 0) {
+            progressMonitor.setProgress(savedNodes);
+        }
         final RuleApp appliedRuleApp = node.getAppliedRuleApp();
         if (appliedRuleApp == null && (proof.getOpenGoal(node) != null)) {
             // open goal
@@ -612,46 +680,68 @@ public class OutputStreamProofSaver {
     }
 
     /**
-     * Print applied rule(s) for a proof node and its decendants into the passed writer.
+     * Print applied rule(s) for a proof node and its decendants into the passed writer. The tree
+     * is traversed iteratively (depth first), since proof trees may be too deep for recursion.
      *
      * @param node the proof node from which to be printed
-     * @param prefix a string which the printed rules are concatenated to
      * @param output the writer in which the rule(s) is/are printed
      * @throws IOException an exception thrown when printing fails
      */
-    private void collectProof(Node node, String prefix, Appendable output) throws IOException {
-
-        printSingleNode(node, prefix, output);
-        Iterator<Node> childrenIt;
+    private void collectProof(Node node, Appendable output) throws IOException {
+        // the iterators over the children of the open branching nodes, innermost first
+        final Deque<Iterator<Node>> branches = new ArrayDeque<>();
+        Node current = node;
+        while (current != null) {
+            final String prefix = indentation(branches.size());
+            printSingleNode(current, prefix, output);
+            while (current.childrenCount() == 1) {
+                current = current.child(0);
+                printSingleNode(current, prefix, output);
+            }
 
-        while (node.childrenCount() == 1) {
-            childrenIt = node.childrenIterator();
-            node = childrenIt.next();
-            printSingleNode(node, prefix, output);
-        }
+            if (current.childrenCount() > 0) {
+                final Iterator<Node> childrenIt = current.childrenIterator();
+                branches.push(childrenIt);
+                current = beginBranch(childrenIt.next(), prefix, output);
+                continue;
+            }
 
-        if (node.childrenCount() == 0) {
-            return;
+            // the current branch is complete, close it and all completed enclosing branches
+            current = null;
+            while (current == null && !branches.isEmpty()) {
+                final String branchPrefix = indentation(branches.size() - 1);
+                output.append(branchPrefix).append(")\n");
+                final Iterator<Node> childrenIt = branches.peek();
+                if (childrenIt.hasNext()) {
+                    current = beginBranch(childrenIt.next(), branchPrefix, output);
+                } else {
+                    branches.pop();
+                }
+            }
         }
+    }
 
-        childrenIt = node.childrenIterator();
-
-        while (childrenIt.hasNext()) {
-            final Node child = childrenIt.next();
-            output.append(prefix);
-            final String branchLabel = child.getNodeInfo().getBranchLabel();
-
-            // The branchLabel is ignored when reading in the proof,
-            // print it if we have it, ignore it otherwise. (MU)
-            if (branchLabel == null) {
-                output.append("(branch\n");
-            } else {
-                output.append("(branch \"").append(escapeCharacters(branchLabel)).append("\"\n");
-            }
+    private static Node beginBranch(Node child, String prefix, Appendable output)
+            throws IOException {
+        output.append(prefix);
+        final String branchLabel = child.getNodeInfo().getBranchLabel();
 
-            collectProof(child, prefix + "   ", output);
-            output.append(prefix).append(")\n");
+        // The branchLabel is ignored when reading in the proof,
+        // print it if we have it, ignore it otherwise. (MU)
+        if (branchLabel == null) {
+            output.append("(branch\n");
+        } else {
+            output.append("(branch \"").append(escapeCharacters(branchLabel)).append("\"\n");
         }
+        return child;
+    }
+
+    /**
+     * @param depth the nesting level of branches
+     * @return the prefix of the lines at the given nesting level
+     */
+    private static String indentation(int depth) {
+        return INDENT.repeat(depth);
     }
 
     /**
@@ -700,7 +790,7 @@ public class OutputStreamProofSaver {
      */
     public void node2Proof(Node node, Appendable ps) throws IOException {
         ps.append("(branch \"dummy ID\"\n");
-        collectProof(node, "", ps);
+        collectProof(node, ps);
         ps.append(")\n");
     }
 
@@ -755,26 +845,34 @@ public class OutputStreamProofSaver {
         return s;
     }
 
-    private String getInteresting(SVInstantiations inst) {
-        StringBuilder s = new StringBuilder();
-
+    private void getInteresting(SVInstantiations inst, Appendable output) throws IOException {
         for (String singleInstantiation : getInterestingInstantiations(inst)) {
-            s.append(" (inst \"").append(escapeCharacters(singleInstantiation)).append("\")");
+            output.append(" (inst \"").append(escapeCharacters(singleInstantiation)).append("\")");
         }
-
-        return s.toString();
     }
 
     public String assumesFormulaInsts(Node node,
             ImmutableList<AssumesFormulaInstantiation> instantiations) {
         StringBuilder s = new StringBuilder();
+        try {
+            assumesFormulaInsts(node, instantiations, s);
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return s.toString();
+    }
+
+    private static void assumesFormulaInsts(Node node,
+            ImmutableList<AssumesFormulaInstantiation> instantiations, Appendable s)
+            throws IOException {
         for (final AssumesFormulaInstantiation assumesFormulaInstantiation : instantiations) {
             final SequentFormula sequentFormula = assumesFormulaInstantiation.getSequentFormula();
             if (assumesFormulaInstantiation instanceof AssumesFormulaInstSeq assumesFormulaInSequent) {
                 s.append(" (ifseqformula \"")
-                        .append(node.sequent()
+                        .append(Integer.toString(node.sequent()
                                 .formulaNumberInSequent(assumesFormulaInSequent.inAntecedent(),
-                                    sequentFormula))
+                                    sequentFormula)))
                         .append("\")");
             } else if (assumesFormulaInstantiation instanceof AssumesFormulaInstDirect) {
 
@@ -787,21 +885,30 @@ public class OutputStreamProofSaver {
                 throw new IllegalArgumentException("Unknown Assumes-Seq-Formula type");
             }
         }
-
-        return s.toString();
     }
 
     public String builtinRuleAssumesInsts(Node node,
             ImmutableList<PosInOccurrence> assumesInstantiations) {
         StringBuilder s = new StringBuilder();
-        for (final PosInOccurrence posOfAssumesInstatiation : assumesInstantiations) {
-            s.append(" (ifInst \"\" ");
-            s.append(posInOccurrence2Proof(node.sequent(), posOfAssumesInstatiation));
-            s.append(")");
+        try {
+            builtinRuleAssumesInsts(node, assumesInstantiations, s);
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
         }
         return s.toString();
     }
 
+    private static void builtinRuleAssumesInsts(Node node,
+            ImmutableList<PosInOccurrence> assumesInstantiations, Appendable output)
+            throws IOException {
+        for (final PosInOccurrence posOfAssumesInstatiation : assumesInstantiations) {
+            output.append(" (ifInst \"\" ");
+            output.append(posInOccurrence2Proof(node.sequent(), posOfAssumesInstatiation));
+            output.append(")");
+        }
+    }
+
     /**
      * double escapes quotation marks and backslashes to be storeable in a text file
      *
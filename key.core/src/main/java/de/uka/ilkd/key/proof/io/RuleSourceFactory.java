@@ -59,4 +59,14 @@ public class RuleSourceFactory {
             return new FileRuleSource(file);
         }
     }
+
+    /**
+     * Initialise this object from a binary proof file, see {@link BinaryProofFormat}.
+     *
+     * @param file the non-<code>null</code> file reference
+     * @return the rule source of the file
+     */
+    public static RuleSource initBinaryProofFile(final File file) {
+        return new BinaryProofRuleSource(file);
+    }
 }
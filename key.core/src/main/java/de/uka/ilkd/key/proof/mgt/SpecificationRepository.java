@@ -54,6 +54,12 @@ import org.slf4j.LoggerFactory;
  * Central storage for all specification elements, such as contracts, class axioms, and loop
  * invariants. Provides methods for adding such elements to the repository, and for retrieving them
  * afterwards.
+ * <p>
+ * The repository is shared by all proofs created from the same environment (see
+ * {@link Services#copy(de.uka.ilkd.key.proof.init.Profile, boolean)}), and proof searches
+ * running in parallel modify it, e.g., when loop or block contracts are transferred to
+ * transformed statements. All public methods are therefore synchronized.
+ * </p>
  */
 public final class SpecificationRepository {
     private static final Logger LOGGER = LoggerFactory.getLogger(SpecificationRepository.class);
@@ -278,8 +284,8 @@ public final class SpecificationRepository {
         return DefaultImmutableSet.fromImmutableList(result);
     }
 
-    public ImmutableSet<Pair<KeYJavaType, IObserverFunction>> getOverridingTargets(KeYJavaType kjt,
-            IObserverFunction target) {
+    public synchronized ImmutableSet<Pair<KeYJavaType, IObserverFunction>> getOverridingTargets(
+            KeYJavaType kjt, IObserverFunction target) {
         if (target instanceof IProgramMethod) {
             return getOverridingMethods(kjt, (IProgramMethod) target);
         } else {
@@ -299,7 +305,7 @@ public final class SpecificationRepository {
      * This method is used by Visual DbC and has to be public.
      * </p>
      */
-    public ImmutableSet<ClassInvariant> getClassInvariants(KeYJavaType kjt) {
+    public synchronized ImmutableSet<ClassInvariant> getClassInvariants(KeYJavaType kjt) {
         ImmutableSet<ClassInvariant> result = invs.get(kjt);
         return result == null ? DefaultImmutableSet.nil() : result;
     }
@@ -714,7 +720,7 @@ public final class SpecificationRepository {
      * @param services services.
      * @see SpecificationElement#map(UnaryOperator, Services)
      */
-    public void map(UnaryOperator<Term> op, Services services) {
+    public synchronized void map(UnaryOperator<Term> op, Services services) {
         mapValueSets(contracts, op, services);
         mapValueSets(operationContracts, op, services);
         mapValueSets(wdChecks, op, services);
@@ -731,7 +737,7 @@ public final class SpecificationRepository {
     /**
      * Returns all registered contracts.
      */
-    public ImmutableSet<Contract> getAllContracts() {
+    public synchronized ImmutableSet<Contract> getAllContracts() {
         ImmutableSet<Contract> result = DefaultImmutableSet.nil();
         for (ImmutableSet<Contract> s : contracts.values()) {
             result = result.union(s);
@@ -742,7 +748,8 @@ public final class SpecificationRepository {
     /**
      * Returns all registered (atomic) contracts for the passed target.
      */
-    public ImmutableSet<Contract> getContracts(KeYJavaType kjt, IObserverFunction target) {
+    public synchronized ImmutableSet<Contract> getContracts(KeYJavaType kjt,
+            IObserverFunction target) {
         target =
             getCanonicalFormForKJT(Objects.requireNonNull(target), Objects.requireNonNull(kjt));
         final Pair<KeYJavaType, IObserverFunction> pair = new Pair<>(kjt, target);
@@ -754,8 +761,8 @@ public final class SpecificationRepository {
     /**
      * Returns all registered (atomic) operation contracts for the passed operation.
      */
-    public ImmutableSet<FunctionalOperationContract> getOperationContracts(KeYJavaType kjt,
-            IProgramMethod pm) {
+    public synchronized ImmutableSet<FunctionalOperationContract> getOperationContracts(
+            KeYJavaType kjt, IProgramMethod pm) {
         pm = (IProgramMethod) getCanonicalFormForKJT(pm, kjt);
         final Pair<KeYJavaType, IProgramMethod> pair = new Pair<>(kjt, pm);
         final ImmutableSet<FunctionalOperationContract> result = operationContracts.get(pair);
@@ -766,8 +773,8 @@ public final class SpecificationRepository {
      * Returns all registered (atomic) operation contracts for the passed operation which refer to
      * the passed modality.
      */
-    public ImmutableSet<FunctionalOperationContract> getOperationContracts(KeYJavaType kjt,
-            IProgramMethod pm, Modality.JavaModalityKind modalityKind) {
+    public synchronized ImmutableSet<FunctionalOperationContract> getOperationContracts(
+            KeYJavaType kjt, IProgramMethod pm, Modality.JavaModalityKind modalityKind) {
         ImmutableSet<FunctionalOperationContract> result = getOperationContracts(kjt, pm);
         final boolean transactionModality =
             modalityKind.transaction();
@@ -789,7 +796,7 @@ public final class SpecificationRepository {
      * Returns the registered (atomic or combined) contract corresponding to the passed name, or
      * null.
      */
-    public Contract getContractByName(String name) {
+    public synchronized Contract getContractByName(String name) {
         if (name == null || name.isEmpty()) {
             return null;
         }
@@ -815,7 +822,7 @@ public final class SpecificationRepository {
      * Returns a set encompassing the passed contract and all its versions inherited to overriding
      * methods.
      */
-    public ImmutableSet<Contract> getInheritedContracts(Contract contract) {
+    public synchronized ImmutableSet<Contract> getInheritedContracts(Contract contract) {
         ImmutableSet<Contract> result = DefaultImmutableSet.<Contract>nil().add(contract);
         final ImmutableSet<Pair<KeYJavaType, IObserverFunction>> subs =
             getOverridingTargets(contract.getKJT(), contract.getTarget());
@@ -834,7 +841,8 @@ public final class SpecificationRepository {
      * Returns a set encompassing the passed contracts and all its versions inherited to overriding
      * methods.
      */
-    public ImmutableSet<Contract> getInheritedContracts(ImmutableSet<Contract> contractSet) {
+    public synchronized ImmutableSet<Contract> getInheritedContracts(
+            ImmutableSet<Contract> contractSet) {
         ImmutableSet<Contract> result = DefaultImmutableSet.nil();
         for (Contract c : contractSet) {
             result = result.union(getInheritedContracts(c));
@@ -845,7 +853,7 @@ public final class SpecificationRepository {
     /**
      * Returns all functions for which contracts are registered in the passed type.
      */
-    public ImmutableSet<IObserverFunction> getContractTargets(KeYJavaType kjt) {
+    public synchronized ImmutableSet<IObserverFunction> getContractTargets(KeYJavaType kjt) {
         final ImmutableSet<IObserverFunction> result = contractTargets.get(kjt);
         return result == null ? DefaultImmutableSet.nil() : result;
     }
@@ -853,7 +861,7 @@ public final class SpecificationRepository {
     /**
      * Registers the passed (atomic) contract, and inherits it to all overriding methods.
      */
-    public void addContract(Contract contract) {
+    public synchronized void addContract(Contract contract) {
         contract = prepareContract(contract);
 
         // register and inherit
@@ -871,14 +879,14 @@ public final class SpecificationRepository {
     /**
      * Registers the passed (atomic) contract without inheriting it.
      */
-    public void addContractNoInheritance(Contract contract) {
+    public synchronized void addContractNoInheritance(Contract contract) {
         registerContract(prepareContract(contract));
     }
 
     /**
      * Registers the passed contracts.
      */
-    public void addContracts(ImmutableSet<Contract> toAdd) {
+    public synchronized void addContracts(ImmutableSet<Contract> toAdd) {
         for (Contract contract : toAdd) {
             addContract(contract);
         }
@@ -887,7 +895,7 @@ public final class SpecificationRepository {
     /**
      * Creates a combined contract out of the passed atomic contracts.
      */
-    public FunctionalOperationContract combineOperationContracts(
+    public synchronized FunctionalOperationContract combineOperationContracts(
             ImmutableSet<FunctionalOperationContract> toCombine) {
         assert toCombine != null && !toCombine.isEmpty();
         for (Contract contract : toCombine) {
@@ -906,7 +914,7 @@ public final class SpecificationRepository {
     /**
      * Splits the passed contract into its atomic components.
      */
-    public ImmutableSet<Contract> splitContract(Contract contract) {
+    public synchronized ImmutableSet<Contract> splitContract(Contract contract) {
         ImmutableSet<Contract> result = DefaultImmutableSet.nil();
         String[] atomicNames = contract.getName().split(CONTRACT_COMBINATION_MARKER);
         for (String atomicName : atomicNames) {
@@ -931,7 +939,7 @@ public final class SpecificationRepository {
      * Registers the passed class invariant, and inherits it to all subclasses if it is public or
      * protected.
      */
-    public void addClassInvariant(ClassInvariant inv) {
+    public synchronized void addClassInvariant(ClassInvariant inv) {
         final KeYJavaType kjt = inv.getKJT();
         final IObserverFunction target = inv.isStatic() ? services.getJavaInfo().getStaticInv(kjt)
                 : services.getJavaInfo().getInv();
@@ -981,7 +989,7 @@ public final class SpecificationRepository {
     /**
      * Registers the passed class invariants.
      */
-    public void addClassInvariants(ImmutableSet<ClassInvariant> toAdd) {
+    public synchronized void addClassInvariants(ImmutableSet<ClassInvariant> toAdd) {
         for (ClassInvariant inv : toAdd) {
             addClassInvariant(inv);
         }
@@ -993,7 +1001,7 @@ public final class SpecificationRepository {
      *
      * @throws SLTranslationException may be thrown during contract extraction
      */
-    public void createContractsFromInitiallyClauses() throws SLTranslationException {
+    public synchronized void createContractsFromInitiallyClauses() throws SLTranslationException {
         for (KeYJavaType kjt : initiallyClauses.keySet()) {
             for (InitiallyClause inv : initiallyClauses.get(kjt)) {
                 createContractsFromInitiallyClause(inv, kjt);
@@ -1017,7 +1025,7 @@ public final class SpecificationRepository {
      *
      * @param ini initially clause
      */
-    public void addInitiallyClause(InitiallyClause ini) {
+    public synchronized void addInitiallyClause(InitiallyClause ini) {
         ImmutableSet<InitiallyClause> oldClauses = initiallyClauses.get(ini.getKJT());
         if (oldClauses == null) {
             oldClauses = DefaultImmutableSet.nil();
@@ -1028,7 +1036,7 @@ public final class SpecificationRepository {
     /**
      * Registers the passed initially clauses.
      */
-    public void addInitiallyClauses(ImmutableSet<InitiallyClause> toAdd) {
+    public synchronized void addInitiallyClauses(ImmutableSet<InitiallyClause> toAdd) {
         for (InitiallyClause inv : toAdd) {
             addInitiallyClause(inv);
         }
@@ -1038,7 +1046,7 @@ public final class SpecificationRepository {
      * Returns all class axioms visible in the passed class, including the axioms induced by
      * invariant declarations.
      */
-    public ImmutableSet<ClassAxiom> getClassAxioms(KeYJavaType selfKjt) {
+    public synchronized ImmutableSet<ClassAxiom> getClassAxioms(KeYJavaType selfKjt) {
         ImmutableSet<ClassAxiom> result = allClassAxiomsCache.get(selfKjt);
         if (result == null) {
             // get visible registered axioms of other classes
@@ -1242,7 +1250,7 @@ public final class SpecificationRepository {
     /**
      * Registers the passed class axiom.
      */
-    public void addClassAxiom(ClassAxiom ax) {
+    public synchronized void addClassAxiom(ClassAxiom ax) {
         KeYJavaType kjt = ax.getKJT();
         ImmutableSet<ClassAxiom> currentAxioms = axioms.get(kjt);
         if (currentAxioms == null) {
@@ -1283,7 +1291,7 @@ public final class SpecificationRepository {
     /**
      * Registers the passed class axioms.
      */
-    public void addClassAxioms(ImmutableSet<ClassAxiom> toAdd) {
+    public synchronized void addClassAxioms(ImmutableSet<ClassAxiom> toAdd) {
         for (ClassAxiom ax : toAdd) {
             addClassAxiom(ax);
         }
@@ -1292,7 +1300,7 @@ public final class SpecificationRepository {
     /**
      * Returns all proofs registered for the passed PO (or stronger POs).
      */
-    public ImmutableSet<Proof> getProofs(ProofOblInput po) {
+    public synchronized ImmutableSet<Proof> getProofs(ProofOblInput po) {
         ImmutableSet<Proof> result = DefaultImmutableSet.nil();
         for (Map.Entry<ProofOblInput, ImmutableSet<Proof>> entry : proofs.entrySet()) {
             ProofOblInput mapPO = entry.getKey();
@@ -1308,7 +1316,7 @@ public final class SpecificationRepository {
      * Returns all proofs registered for the passed atomic contract, or for combined contracts
      * including the passed atomic contract
      */
-    public ImmutableSet<Proof> getProofs(Contract atomicContract) {
+    public synchronized ImmutableSet<Proof> getProofs(Contract atomicContract) {
         assert !atomicContract.getName().contains(CONTRACT_COMBINATION_MARKER)
                 : "Contract must be atomic";
 
@@ -1328,7 +1336,7 @@ public final class SpecificationRepository {
     /**
      * Returns all proofs registered for the passed target and its overriding targets.
      */
-    public ImmutableSet<Proof> getProofs(KeYJavaType kjt, IObserverFunction target) {
+    public synchronized ImmutableSet<Proof> getProofs(KeYJavaType kjt, IObserverFunction target) {
         final ImmutableSet<Pair<KeYJavaType, IObserverFunction>> targets =
             getOverridingTargets(kjt, target).add(new Pair<>(kjt, target));
         ImmutableSet<Proof> result = DefaultImmutableSet.nil();
@@ -1350,7 +1358,7 @@ public final class SpecificationRepository {
     /**
      * Returns all proofs registered with this specification repository.
      */
-    public ImmutableSet<Proof> getAllProofs() {
+    public synchronized ImmutableSet<Proof> getAllProofs() {
         ImmutableSet<Proof> result = DefaultImmutableSet.nil();
         Collection<ImmutableSet<Proof>> proofSets = proofs.values();
         for (ImmutableSet<Proof> proofSet : proofSets) {
@@ -1362,7 +1370,7 @@ public final class SpecificationRepository {
     /**
      * Returns the PO that the passed proof is about, or null.
      */
-    public ContractPO getContractPOForProof(Proof proof) {
+    public synchronized ContractPO getContractPOForProof(Proof proof) {
         ProofOblInput po = getProofOblInput(proof);
         if (po instanceof ContractPO) {
             return (ContractPO) po;
@@ -1374,7 +1382,7 @@ public final class SpecificationRepository {
     /**
      * Returns the PO that the passed contract is about, or null.
      */
-    public ContractPO getPO(Contract c) {
+    public synchronized ContractPO getPO(Contract c) {
         for (ProofOblInput po : proofs.keySet()) {
             if (po instanceof ContractPO && ((ContractPO) po).getContract().equals(c)) {
                 return (ContractPO) po;
@@ -1383,7 +1391,7 @@ public final class SpecificationRepository {
         return null;
     }
 
-    public ContractPO getPOForProof(Proof proof) {
+    public synchronized ContractPO getPOForProof(Proof proof) {
         for (Map.Entry<ProofOblInput, ImmutableSet<Proof>> entry : proofs.entrySet()) {
             ProofOblInput po = entry.getKey();
             ImmutableSet<Proof> sop = entry.getValue();
@@ -1401,7 +1409,7 @@ public final class SpecificationRepository {
      * @return The {@link ProofOblInput} of the given {@link Proof} or {@code null} if not
      *         available.
      */
-    public ProofOblInput getProofOblInput(Proof proof) {
+    public synchronized ProofOblInput getProofOblInput(Proof proof) {
         for (Map.Entry<ProofOblInput, ImmutableSet<Proof>> entry : proofs.entrySet()) {
             ProofOblInput po = entry.getKey();
             ImmutableSet<Proof> sop = entry.getValue();
@@ -1415,7 +1423,7 @@ public final class SpecificationRepository {
     /**
      * Returns the target that the passed proof is about, or null.
      */
-    public IObserverFunction getTargetOfProof(Proof proof) {
+    public synchronized IObserverFunction getTargetOfProof(Proof proof) {
         final ContractPO po = getPOForProof(proof);
         return po == null ? null : po.getContract().getTarget();
     }
@@ -1423,14 +1431,14 @@ public final class SpecificationRepository {
     /**
      * Registers the passed proof.
      */
-    public void registerProof(ProofOblInput po, Proof proof) {
+    public synchronized void registerProof(ProofOblInput po, Proof proof) {
         proofs.put(po, getProofs(po).add(proof));
     }
 
     /**
      * Unregisters the passed proof.
      */
-    public void removeProof(Proof proof) {
+    public synchronized void removeProof(Proof proof) {
         for (Map.Entry<ProofOblInput, ImmutableSet<Proof>> entry : proofs.entrySet()) {
             ImmutableSet<Proof> sop = entry.getValue();
             if (sop.contains(proof)) {
@@ -1448,7 +1456,7 @@ public final class SpecificationRepository {
     /**
      * Returns the registered loop invariant for the passed loop, or null.
      */
-    public LoopSpecification getLoopSpec(LoopStatement loop) {
+    public synchronized LoopSpecification getLoopSpec(LoopStatement loop) {
         final int line = loop.getStartPosition().line();
         Pair<LoopStatement, Integer> l = new Pair<>(loop, line);
         LoopSpecification inv = loopInvs.get(l);
@@ -1467,7 +1475,7 @@ public final class SpecificationRepository {
      * @param from the loop with the original contract
      * @param to the loop for which the contract is to be copied
      */
-    public void copyLoopInvariant(LoopStatement from, LoopStatement to) {
+    public synchronized void copyLoopInvariant(LoopStatement from, LoopStatement to) {
         LoopSpecification inv = getLoopSpec(from);
         if (inv != null) {
             inv = inv.setLoop(to);
@@ -1479,7 +1487,7 @@ public final class SpecificationRepository {
      * Registers the passed loop invariant, possibly overwriting an older registration for the same
      * loop.
      */
-    public void addLoopInvariant(final LoopSpecification inv) {
+    public synchronized void addLoopInvariant(final LoopSpecification inv) {
         final LoopStatement loop = inv.getLoop();
         final int line = loop.getStartPosition().line();
         Pair<LoopStatement, Integer> l = new Pair<>(loop, line);
@@ -1496,7 +1504,7 @@ public final class SpecificationRepository {
      * @param block a block.
      * @return all block contracts for the specified block.
      */
-    public ImmutableSet<BlockContract> getBlockContracts(StatementBlock block) {
+    public synchronized ImmutableSet<BlockContract> getBlockContracts(StatementBlock block) {
         var b =
             new BlockContractKey(block, block.getParentClass(), block.getStartPosition().line());
         final ImmutableSet<BlockContract> contracts = blockContracts.get(b);
@@ -1513,7 +1521,7 @@ public final class SpecificationRepository {
      * @param block a block.
      * @return all loop contracts for the specified block.
      */
-    public ImmutableSet<LoopContract> getLoopContracts(StatementBlock block) {
+    public synchronized ImmutableSet<LoopContract> getLoopContracts(StatementBlock block) {
         var b = new LoopContractKey(block, block.getParentClass(), block.getStartPosition().line());
         final ImmutableSet<LoopContract> contracts = loopContracts.get(b);
         if (contracts == null) {
@@ -1529,7 +1537,7 @@ public final class SpecificationRepository {
      * @param loop a loop.
      * @return all loop contracts for the specified loop.
      */
-    public ImmutableSet<LoopContract> getLoopContracts(LoopStatement loop) {
+    public synchronized ImmutableSet<LoopContract> getLoopContracts(LoopStatement loop) {
         final Pair<LoopStatement, Integer> b = new Pair<>(loop, loop.getStartPosition().line());
         final ImmutableSet<LoopContract> contracts = loopContractsOnLoops.get(b);
         if (contracts == null) {
@@ -1539,7 +1547,7 @@ public final class SpecificationRepository {
         }
     }
 
-    public ImmutableSet<MergeContract> getMergeContracts(MergePointStatement mps) {
+    public synchronized ImmutableSet<MergeContract> getMergeContracts(MergePointStatement mps) {
         final ImmutableSet<MergeContract> contracts = mergeContracts.get(mps);
         if (contracts == null) {
             return DefaultImmutableSet.nil();
@@ -1554,7 +1562,7 @@ public final class SpecificationRepository {
      * @param block the given block.
      * @param modalityKind the given modality.
      */
-    public ImmutableSet<BlockContract> getBlockContracts(final StatementBlock block,
+    public synchronized ImmutableSet<BlockContract> getBlockContracts(final StatementBlock block,
             final Modality.JavaModalityKind modalityKind) {
         ImmutableSet<BlockContract> result = getBlockContracts(block);
         final Modality.JavaModalityKind matchModality = getMatchModalityKind(modalityKind);
@@ -1567,7 +1575,7 @@ public final class SpecificationRepository {
         return result;
     }
 
-    public ImmutableSet<LoopContract> getLoopContracts(final StatementBlock block,
+    public synchronized ImmutableSet<LoopContract> getLoopContracts(final StatementBlock block,
             final Modality.JavaModalityKind modalityKind) {
         ImmutableSet<LoopContract> result = getLoopContracts(block);
         final Modality.JavaModalityKind matchModality = getMatchModalityKind(modalityKind);
@@ -1587,7 +1595,7 @@ public final class SpecificationRepository {
      * @param modalityKind the given modality.
      * @return the set of resulting loop statements.
      */
-    public ImmutableSet<LoopContract> getLoopContracts(final LoopStatement loop,
+    public synchronized ImmutableSet<LoopContract> getLoopContracts(final LoopStatement loop,
             final Modality.JavaModalityKind modalityKind) {
         ImmutableSet<LoopContract> result = getLoopContracts(loop);
         final Modality.JavaModalityKind matchModality = getMatchModalityKind(modalityKind);
@@ -1605,7 +1613,7 @@ public final class SpecificationRepository {
      *
      * @param contract the {@code BlockContract} to add.
      */
-    public void addBlockContract(final BlockContract contract) {
+    public synchronized void addBlockContract(final BlockContract contract) {
         addBlockContract(contract, false);
     }
 
@@ -1616,7 +1624,8 @@ public final class SpecificationRepository {
      * @param addFunctionalContract whether or not to add a new {@link FunctionalBlockContract}
      *        based on {@code contract}.
      */
-    public void addBlockContract(final BlockContract contract, boolean addFunctionalContract) {
+    public synchronized void addBlockContract(final BlockContract contract,
+            boolean addFunctionalContract) {
         final StatementBlock block = contract.getBlock();
         var b =
             new BlockContractKey(block, block.getParentClass(), block.getStartPosition().line());
@@ -1638,7 +1647,7 @@ public final class SpecificationRepository {
      *
      * @param contract the {@code BlockContract} to remove.
      */
-    public void removeBlockContract(final BlockContract contract) {
+    public synchronized void removeBlockContract(final BlockContract contract) {
         final StatementBlock block = contract.getBlock();
         var b =
             new BlockContractKey(block, block.getParentClass(), block.getStartPosition().line());
@@ -1651,7 +1660,7 @@ public final class SpecificationRepository {
      *
      * @param contract the {@code LoopContract} to add.
      */
-    public void addLoopContract(final LoopContract contract) {
+    public synchronized void addLoopContract(final LoopContract contract) {
         addLoopContract(contract, false);
     }
 
@@ -1662,7 +1671,8 @@ public final class SpecificationRepository {
      * @param addFunctionalContract whether or not to add a new {@link FunctionalLoopContract} based
      *        on {@code contract}.
      */
-    public void addLoopContract(final LoopContract contract, boolean addFunctionalContract) {
+    public synchronized void addLoopContract(final LoopContract contract,
+            boolean addFunctionalContract) {
         if (contract.isOnBlock()) {
             final StatementBlock block = contract.getBlock();
             var b =
@@ -1695,7 +1705,7 @@ public final class SpecificationRepository {
      *
      * @param contract the {@code LoopContract} to remove.
      */
-    public void removeLoopContract(final LoopContract contract) {
+    public synchronized void removeLoopContract(final LoopContract contract) {
         if (contract.isOnBlock()) {
             final StatementBlock block = contract.getBlock();
             var b =
@@ -1716,7 +1726,7 @@ public final class SpecificationRepository {
      *
      * @param mc The {@link MergeContract} to register.
      */
-    public void addMergeContract(final MergeContract mc) {
+    public synchronized void addMergeContract(final MergeContract mc) {
         final MergePointStatement mps = mc.getMergePointStatement();
         mergeContracts.put(mps, getMergeContracts(mps).add(mc));
     }
@@ -1726,11 +1736,11 @@ public final class SpecificationRepository {
      *
      * @param mps The {@link MergePointStatement} to delete the registered contracts for.
      */
-    public void removeMergeContracts(final MergePointStatement mps) {
+    public synchronized void removeMergeContracts(final MergePointStatement mps) {
         mergeContracts.put(mps, DefaultImmutableSet.nil());
     }
 
-    public void addSpecs(ImmutableSet<SpecificationElement> specs) {
+    public synchronized void addSpecs(ImmutableSet<SpecificationElement> specs) {
         for (SpecificationElement spec : specs) {
             if (spec instanceof Contract) {
                 addContract((Contract) spec);
@@ -1754,7 +1764,8 @@ public final class SpecificationRepository {
         }
     }
 
-    public Pair<IObserverFunction, ImmutableSet<Taclet>> limitObs(IObserverFunction obs) {
+    public synchronized Pair<IObserverFunction, ImmutableSet<Taclet>> limitObs(
+            IObserverFunction obs) {
         assert limitedToUnlimited.get(obs) == null : " observer is already limited: " + obs;
         // TODO Was the exact class match "obs.getClass() !=
         // ObserverFunction.class" correctly converted into IProtramMethod?
@@ -1789,7 +1800,7 @@ public final class SpecificationRepository {
         return new Pair<>(Objects.requireNonNull(limited), Objects.requireNonNull(taclets));
     }
 
-    public IObserverFunction unlimitObs(IObserverFunction obs) {
+    public synchronized IObserverFunction unlimitObs(IObserverFunction obs) {
         IObserverFunction result = limitedToUnlimited.get(obs);
         if (result == null) {
             result = obs;
@@ -1805,7 +1816,7 @@ public final class SpecificationRepository {
      *
      * @param kjt The relevant KeYJavaType
      */
-    public void addRepresentsTermToWdChecksForModelFields(KeYJavaType kjt) {
+    public synchronized void addRepresentsTermToWdChecksForModelFields(KeYJavaType kjt) {
         ImmutableSet<ClassAxiom> axs = axioms.get(kjt);
         if (axs == null) {
             return;
@@ -1841,14 +1852,14 @@ public final class SpecificationRepository {
      *
      * @param swd The well-definedness check
      */
-    public void addWdStatement(StatementWellDefinedness swd) {
+    public synchronized void addWdStatement(StatementWellDefinedness swd) {
         registerWdCheck(swd);
     }
 
     /**
      * Returns all registered well-definedness checks.
      */
-    public ImmutableSet<WellDefinednessCheck> getAllWdChecks() {
+    public synchronized ImmutableSet<WellDefinednessCheck> getAllWdChecks() {
         ImmutableSet<WellDefinednessCheck> result = DefaultImmutableSet.nil();
         for (ImmutableSet<WellDefinednessCheck> s : wdChecks.values()) {
             result = result.union(s);
@@ -1860,11 +1871,12 @@ public final class SpecificationRepository {
     // region Support SetStatement and JmlAssert
     private final Map<Statement, JmlStatementSpec> statementMap = new IdentityHashMap<>();
 
-    public @Nullable JmlStatementSpec getStatementSpec(Statement statement) {
+    public synchronized @Nullable JmlStatementSpec getStatementSpec(Statement statement) {
         return statementMap.get(statement);
     }
 
-    public JmlStatementSpec addStatementSpec(Statement statement, JmlStatementSpec spec) {
+    public synchronized JmlStatementSpec addStatementSpec(Statement statement,
+            JmlStatementSpec spec) {
         return statementMap.put(statement, spec);
     }
 
@@ -0,0 +1,63 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event emitted for each measurement of a {@link ProofProfile}. The event is
+ * disabled by default and can be enabled in a JFR configuration using its name
+ * {@value #NAME}.
+ */
+@Name(ProfilingEvent.NAME)
+@Label("Proof Profiling")
+@Description("A measured step of the prover")
+@Category({ "KeY", "Prover" })
+@StackTrace(false)
+final class ProfilingEvent extends jdk.jfr.Event {
+    /** the name of the event type */
+    static final String NAME = "de.uka.ilkd.key.ProofProfiling";
+
+    private static final EventType TYPE = EventType.getEventType(ProfilingEvent.class);
+
+    @Label("Proof")
+    String proof;
+
+    @Label("Category")
+    String category;
+
+    @Label("Name")
+    String name;
+
+    // not called duration, which is an implicit field of all events
+    @Label("Elapsed Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    /**
+     * commits a new event if events of this type are currently recorded
+     *
+     * @param proof the name of the profiled proof
+     * @param category the category of the measurement
+     * @param name the name of the measured entity
+     * @param duration the measured duration in nanoseconds
+     */
+    static void emit(String proof, ProofProfile.Category category, String name, long duration) {
+        if (!TYPE.isEnabled()) {
+            return;
+        }
+        final ProfilingEvent event = new ProfilingEvent();
+        event.proof = proof;
+        event.category = category.name();
+        event.name = name;
+        event.elapsed = duration;
+        event.commit();
+    }
+}
@@ -0,0 +1,366 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.TacletApp;
+
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.rules.RuleSet;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Collects timing information of a single proof, e.g., how long the applications of each rule,
+ * the cost computations of the strategy features or the updates of the rule application indices
+ * took. Each measured entity is identified by a {@link Category} and a name and has its own
+ * {@link LatencyHistogram}, so besides the total time also percentiles are available.
+ *
+ * <p>
+ * Profiling is disabled by default, as it adds (small) overhead to every rule application. It is
+ * enabled for all proofs by the system property {@value #ENABLED_PROPERTY} or for a single proof
+ * by {@link #setEnabled(boolean)}. Each measurement is additionally emitted as a Java Flight
+ * Recorder event ({@link ProfilingEvent#NAME}) if such events are recorded.
+ * </p>
+ *
+ * <p>
+ * Measurements are taken as follows:
+ * </p>
+ *
+ * <pre>
+ * final long start = profile.start();
+ * // measured code
+ * profile.stop(Category.PHASE, "name", start);
+ * </pre>
+ *
+ * <p>
+ * All methods are thread-safe.
+ * </p>
+ */
+public final class ProofProfile {
+    /** the system property enabling profiling of all proofs */
+    public static final String ENABLED_PROPERTY = "key.profiling.enabled";
+
+    /** the kinds of measured entities */
+    public enum Category {
+        /** the application of a rule, named by the rule */
+        RULE,
+        /** the application of taclets of a rule set, named by the rule set */
+        RULE_SET,
+        /** the evaluation of a strategy feature */
+        FEATURE,
+        /** an internal step of the prover, e.g., the update of an index */
+        PHASE
+    }
+
+    private static final DecimalFormat DECIMAL_FORMAT =
+        new DecimalFormat("#.##", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
+
+    /** the profile used if no proof is available, it never takes measurements */
+    private static final ProofProfile NONE = new ProofProfile("", false);
+
+    private final String proofName;
+
+    private volatile boolean enabled;
+
+    private final Map<Category, ConcurrentMap<String, LatencyHistogram>> histograms =
+        new EnumMap<>(Category.class);
+
+    /**
+     * creates a new profile which is enabled if the system property {@value #ENABLED_PROPERTY} is
+     * set
+     *
+     * @param proofName the name of the profiled proof
+     */
+    public ProofProfile(String proofName) {
+        this(proofName, Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    /**
+     * creates a new profile
+     *
+     * @param proofName the name of the profiled proof
+     * @param enabled whether measurements are taken
+     */
+    public ProofProfile(String proofName, boolean enabled) {
+        this.proofName = proofName;
+        this.enabled = enabled;
+        for (Category category : Category.values()) {
+            histograms.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the profile of the proof the given services belong to.
+     *
+     * @param services the services
+     * @return the profile of the proof of the services or a profile which never takes measurements
+     *         if there is no proof
+     */
+    public static ProofProfile of(Services services) {
+        final Proof proof = services.getProof();
+        return proof == null ? NONE : proof.getProfile();
+    }
+
+    /**
+     * @return the name of the profiled proof
+     */
+    public String getProofName() {
+        return proofName;
+    }
+
+    /**
+     * @return true iff measurements are taken
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * enables or disables measurements; already recorded measurements are kept
+     *
+     * @param enabled whether measurements are taken
+     */
+    public void setEnabled(boolean enabled) {
+        if (this == NONE) {
+            throw new UnsupportedOperationException("Profile without proof cannot be enabled");
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts a measurement.
+     *
+     * @return the start time to be passed to {@link #stop(Category, String, long)} or 0 if
+     *         profiling is disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Finishes a measurement. Nothing is recorded if profiling was disabled when the measurement
+     * was started.
+     *
+     * @param category the category of the measured entity
+     * @param name the name of the measured entity
+     * @param start the result of {@link #start()}
+     */
+    public void stop(Category category, String name, long start) {
+        if (start != 0) {
+            record(category, name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Finishes the measurement of a rule application. The time is recorded for the applied rule
+     * and, in case of a taclet, for each of its rule sets.
+     *
+     * @param app the applied rule application
+     * @param start the result of {@link #start()}
+     */
+    public void stopRule(RuleApp app, long start) {
+        if (start == 0) {
+            return;
+        }
+        final long duration = System.nanoTime() - start;
+        record(Category.RULE, app.rule().name().toString(), duration);
+        if (app instanceof TacletApp tacletApp) {
+            for (RuleSet ruleSet : tacletApp.taclet().getRuleSets()) {
+                record(Category.RULE_SET, ruleSet.name().toString(), duration);
+            }
+        }
+    }
+
+    /**
+     * records a measured duration
+     *
+     * @param category the category of the measured entity
+     * @param name the name of the measured entity
+     * @param duration the duration in nanoseconds
+     */
+    public void record(Category category, String name, long duration) {
+        histograms.get(category).computeIfAbsent(name, n -> new LatencyHistogram())
+                .record(duration);
+        ProfilingEvent.emit(proofName, category, name, duration);
+    }
+
+    /**
+     * @param category a category
+     * @param name the name of a measured entity
+     * @return the measurements of the entity or null if it has not been measured
+     */
+    public @Nullable LatencyHistogram getHistogram(Category category, String name) {
+        return histograms.get(category).get(name);
+    }
+
+    /**
+     * @param category a category
+     * @return an unmodifiable view of the measurements of the entities of the given category
+     */
+    public Map<String, LatencyHistogram> getHistograms(Category category) {
+        return Collections.unmodifiableMap(histograms.get(category));
+    }
+
+    /**
+     * forgets all measurements
+     */
+    public void reset() {
+        for (ConcurrentMap<String, LatencyHistogram> map : histograms.values()) {
+            map.clear();
+        }
+    }
+
+    /**
+     * Writes the measurements as JSON object. The object maps each category to an object which
+     * maps the names of the measured entities to their count, total, mean, p50, p90, p99 and max
+     * (all times in nanoseconds). Entities are sorted by decreasing total time. The object is
+     * written in a single line terminated by a line break, so the profiles of several proofs can
+     * be appended to a file (JSON lines).
+     *
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public void writeJson(Appendable out) throws IOException {
+        out.append("{\"proof\":");
+        appendJsonString(out, proofName);
+        for (Category category : Category.values()) {
+            out.append(',');
+            appendJsonString(out, category.name().toLowerCase(Locale.ROOT));
+            out.append(":{");
+            boolean first = true;
+            for (Map.Entry<String, LatencyHistogram> entry : sortedEntries(category)) {
+                final LatencyHistogram h = entry.getValue();
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                appendJsonString(out, entry.getKey());
+                out.append(":{\"count\":").append(Long.toString(h.getCount()))
+                        .append(",\"total\":").append(Long.toString(h.getTotal()))
+                        .append(",\"mean\":").append(Long.toString(h.getMean()))
+                        .append(",\"p50\":").append(Long.toString(h.getPercentile(50)))
+                        .append(",\"p90\":").append(Long.toString(h.getPercentile(90)))
+                        .append(",\"p99\":").append(Long.toString(h.getPercentile(99)))
+                        .append(",\"max\":").append(Long.toString(h.getMax())).append('}');
+            }
+            out.append('}');
+        }
+        out.append("}\n");
+    }
+
+    /**
+     * @return the measurements as JSON object, see {@link #writeJson(Appendable)}
+     */
+    public String toJson() {
+        final StringBuilder sb = new StringBuilder();
+        try {
+            writeJson(sb);
+        } catch (IOException e) {
+            // cannot happen for a StringBuilder
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates a human-readable summary of the measurements.
+     *
+     * @param limit the maximal number of entities listed per category
+     * @return the entities with the largest total time of each category
+     */
+    public String report(int limit) {
+        final StringBuilder sb = new StringBuilder("Profile of ").append(proofName);
+        for (Category category : Category.values()) {
+            final List<Map.Entry<String, LatencyHistogram>> entries = sortedEntries(category);
+            if (entries.isEmpty()) {
+                continue;
+            }
+            sb.append('\n').append(category).append(':');
+            for (Map.Entry<String, LatencyHistogram> entry : entries.subList(0,
+                Math.min(limit, entries.size()))) {
+                final LatencyHistogram h = entry.getValue();
+                sb.append("\n  ").append(entry.getKey()).append(": ")
+                        .append(formatTime(h.getTotal())).append(" (").append(h.getCount())
+                        .append("x, p50 ").append(formatTime(h.getPercentile(50)))
+                        .append(", p99 ").append(formatTime(h.getPercentile(99)))
+                        .append(", max ").append(formatTime(h.getMax())).append(')');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report(10);
+    }
+
+    private List<Map.Entry<String, LatencyHistogram>> sortedEntries(Category category) {
+        final List<Map.Entry<String, LatencyHistogram>> entries =
+            new ArrayList<>(histograms.get(category).entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().getTotal(), a.getValue().getTotal()));
+        return entries;
+    }
+
+    private static void appendJsonString(Appendable out, String s) throws IOException {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            switch (c) {
+            case '"' -> out.append("\\\"");
+            case '\\' -> out.append("\\\\");
+            case '\n' -> out.append("\\n");
+            case '\r' -> out.append("\\r");
+            case '\t' -> out.append("\\t");
+            default -> {
+                if (c < 0x20) {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Formats a duration using a suitable unit.
+     *
+     * @param dt a duration in nanoseconds
+     * @return the duration in us, ms or s
+     */
+    public static String formatTime(long dt) {
+        String unit;
+        double time;
+        if (dt < 1000000) {
+            time = dt / 1e3;
+            unit = "us";
+        } else if (dt < 1000000000) {
+            time = dt / 1e6;
+            unit = "ms";
+        } else {
+            time = dt / 1e9;
+            unit = "s";
+        }
+
+        synchronized (DECIMAL_FORMAT) {
+            return DECIMAL_FORMAT.format(time) + unit;
+        }
+    }
+}
@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.prover.impl;
 
 
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.proof.*;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
@@ -34,7 +33,15 @@ import org.slf4j.LoggerFactory;
 public class ApplyStrategy extends DefaultProver<Proof, Goal> {
     public static final Logger LOGGER = LoggerFactory.getLogger(ApplyStrategy.class);
 
-    public static final AtomicLong PERF_GOAL_APPLY = new AtomicLong();
+    /**
+     * System property defining the number of goals whose next rule application is selected
+     * concurrently during auto mode (see {@link #setWorkerCount(int)}). Defaults to {@code 1},
+     * i.e., rule applications are selected on the prover thread only.
+     */
+    public static final String WORKER_COUNT_PROPERTY = "prover.threading.workers";
+
+    private static final int DEFAULT_WORKER_COUNT =
+        Math.max(1, Integer.getInteger(WORKER_COUNT_PROPERTY, 1));
 
     /**
      * The default {@link GoalChooser} to choose goals to which rules are applied if the
@@ -50,6 +57,7 @@ public class ApplyStrategy extends DefaultProver<Proof, Goal> {
     // can cause a ConcurrentModificationException during ongoing operation
     public ApplyStrategy(GoalChooser<Proof, Goal> defaultGoalChooser) {
         this.defaultGoalChooser = defaultGoalChooser;
+        setWorkerCount(DEFAULT_WORKER_COUNT);
     }
 
     private void init(Proof newProof, ImmutableList<Goal> goals, int maxSteps, long timeout) {
@@ -173,6 +181,9 @@ public class ApplyStrategy extends DefaultProver<Proof, Goal> {
     private void finishStrategy(ApplyStrategyInfo<Proof, Goal> result) {
         assert result != null; // CS
         proof.addAutoModeTime(result.getTime());
+        if (proof.getProfile().isEnabled() && LOGGER.isDebugEnabled()) {
+            LOGGER.debug(proof.getProfile().report(10));
+        }
         fireTaskFinished(new DefaultTaskFinishedInfo(this, result, proof, result.getTime(),
             result.getNumberOfAppliedRuleApps(), result.getNumberOfClosedGoals()));
     }
@@ -144,6 +144,30 @@ public class DefaultGoalChooser implements GoalChooser<@Nullable Proof, @Nullabl
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The goals following in the list of goals that is currently worked through are returned.
+     * They are handed out by {@link #getNextGoal()} in this order unless a goal is closed,
+     * removed or split, or the list is rotated.
+     * </p>
+     */
+    @Override
+    public ImmutableList<Goal> peekNextGoals(int max) {
+        final ImmutableList<Goal> candidates =
+            allGoalsSatisfiable && !nextGoals.isEmpty() ? nextGoals : selectedList;
+        ImmutableList<Goal> result = ImmutableSLList.nil();
+        int count = 0;
+        for (final Goal goal : candidates) {
+            if (count == max) {
+                break;
+            }
+            result = result.prepend(goal);
+            ++count;
+        }
+        return result.reverse();
+    }
+
     /*
      * (non-Javadoc)
      *
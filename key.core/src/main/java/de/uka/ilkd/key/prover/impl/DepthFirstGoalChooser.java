@@ -48,6 +48,18 @@ public class DepthFirstGoalChooser extends DefaultGoalChooser {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The depth first search decides about the next goal after each single rule application, hence
+     * no goals are predicted.
+     * </p>
+     */
+    @Override
+    public ImmutableList<Goal> peekNextGoals(int max) {
+        return ImmutableSLList.nil();
+    }
+
     /*
      * protected static IList<Goal> rotateList ( IList<Goal> p_list ) { if ( p_list.isEmpty() )
      * return ImmSLList.<Goal>nil(); return p_list; }
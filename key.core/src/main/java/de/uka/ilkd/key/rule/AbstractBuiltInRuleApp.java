@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.rule;
 
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.logic.op.LocationVariable;
 import de.uka.ilkd.key.proof.Goal;
@@ -19,8 +18,6 @@ import org.jspecify.annotations.NonNull;
 
 
 public abstract class AbstractBuiltInRuleApp implements IBuiltInRuleApp {
-    public static final AtomicLong PERF_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
 
     protected final BuiltInRule builtInRule;
 
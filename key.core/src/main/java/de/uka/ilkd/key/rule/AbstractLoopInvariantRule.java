@@ -47,17 +47,12 @@ import static de.uka.ilkd.key.logic.equality.IrrelevantTermLabelsProperty.IRRELE
  */
 public abstract class AbstractLoopInvariantRule implements BuiltInRule {
 
-    /**
-     * The last formula the loop invariant rule was applied to. Used for checking whether
-     * {@link #lastInstantiation} can be used instead of doing a new instantiation.
-     */
-    private static Term lastFocusTerm;
-
     /**
      * A simple cache which ensures that we don't instantiate the rule multiple times for the same
-     * loop.
+     * loop: the last formula the loop invariant rule was applied to together with its
+     * instantiation. Both are replaced at once, as the rule may be instantiated concurrently.
      */
-    private static Instantiation lastInstantiation;
+    private static volatile Pair<Term, Instantiation> lastInstantiation;
 
     /**
      * @return The number of generated goals by this invariant rule.
@@ -373,9 +368,10 @@ public abstract class AbstractLoopInvariantRule implements BuiltInRule {
             Services services) throws RuleAbortException {
         final Term focusTerm = (Term) app.posInOccurrence().subTerm();
 
-        if (focusTerm == lastFocusTerm && lastInstantiation.inv == services
-                .getSpecificationRepository().getLoopSpec(lastInstantiation.loop)) {
-            return lastInstantiation;
+        final Pair<Term, Instantiation> last = lastInstantiation;
+        if (last != null && focusTerm == last.first && last.second.inv == services
+                .getSpecificationRepository().getLoopSpec(last.second.loop)) {
+            return last.second;
         }
 
         // leading update?
@@ -417,8 +413,7 @@ public abstract class AbstractLoopInvariantRule implements BuiltInRule {
         final Instantiation result = new Instantiation( //
             u, progPost, loop, spec, selfTerm, innermostExecutionContext);
 
-        lastFocusTerm = focusTerm;
-        lastInstantiation = result;
+        lastInstantiation = new Pair<>(focusTerm, result);
 
         return result;
     }
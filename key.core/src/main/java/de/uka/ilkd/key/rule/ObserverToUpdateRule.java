@@ -39,6 +39,7 @@ import org.key_project.prover.sequent.PosInOccurrence;
 import org.key_project.prover.sequent.SequentFormula;
 import org.key_project.util.collection.ImmutableArray;
 import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.Pair;
 
 import org.jspecify.annotations.NonNull;
 
@@ -70,10 +71,10 @@ public final class ObserverToUpdateRule implements BuiltInRule {
     private static final Name NAME = new Name("Observer to update");
 
     /**
-     * caching matching results
+     * caching matching results: the last focus term together with its instantiation; both are
+     * replaced at once, as the rule may be instantiated concurrently
      */
-    private static Term lastFocusTerm;
-    private static Union<Instantiation, ModelFieldInstantiation> lastInstantiation;
+    private static volatile Pair<Term, Union<Instantiation, ModelFieldInstantiation>> lastMatch;
 
     // -------------------------------------------------------------------------
     // constructors
@@ -405,26 +406,28 @@ public final class ObserverToUpdateRule implements BuiltInRule {
     private static Union<Instantiation, ModelFieldInstantiation> instantiate(Term focusTerm,
             Services services) {
         // result cached?
-        if (focusTerm == lastFocusTerm) {
-            return lastInstantiation;
+        final Pair<Term, Union<Instantiation, ModelFieldInstantiation>> last = lastMatch;
+        if (last != null && focusTerm == last.first) {
+            return last.second;
         }
 
         // compute
+        final Union<Instantiation, ModelFieldInstantiation> result;
         Instantiation inst = UseOperationContractRule.computeInstantiation(focusTerm, services);
         if (inst != null) {
-            lastInstantiation = Union.fromFirst(inst);
+            result = Union.fromFirst(inst);
         } else {
             ModelFieldInstantiation mfInst = matchModelField(focusTerm, services);
             if (mfInst != null) {
-                lastInstantiation = Union.fromSecond(mfInst);
+                result = Union.fromSecond(mfInst);
             } else {
-                lastInstantiation = null;
+                result = null;
             }
         }
 
         // cache and return
-        lastFocusTerm = focusTerm;
-        return lastInstantiation;
+        lastMatch = new Pair<>(focusTerm, result);
+        return result;
     }
     // endregion
 
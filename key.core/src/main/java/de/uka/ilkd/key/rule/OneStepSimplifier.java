@@ -9,8 +9,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.TermServices;
 import de.uka.ilkd.key.logic.label.TermLabel;
@@ -27,6 +27,8 @@ import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.TacletIndex;
 import de.uka.ilkd.key.proof.TacletIndexKit;
 import de.uka.ilkd.key.proof.calculus.JavaDLSequentKit;
+import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
+import de.uka.ilkd.key.proof.event.ProofDisposedListener;
 import de.uka.ilkd.key.rule.inst.SVInstantiations;
 import de.uka.ilkd.key.settings.ProofSettings;
 import de.uka.ilkd.key.strategy.StrategyProperties;
@@ -40,7 +42,7 @@ import org.key_project.prover.rules.RuleSet;
 import org.key_project.prover.rules.instantiation.AssumesFormulaInstDirect;
 import org.key_project.prover.rules.instantiation.AssumesFormulaInstantiation;
 import org.key_project.prover.sequent.*;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.collection.ImmutableArray;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
@@ -51,6 +53,17 @@ import org.jspecify.annotations.NonNull;
 import static de.uka.ilkd.key.logic.equality.RenamingTermProperty.RENAMING_TERM_PROPERTY;
 
 
+/**
+ * Built-in rule which applies the taclets of some rule sets, as well as replace-known steps, to a
+ * formula as long as possible in one step.
+ *
+ * <p>
+ * The simplifier keeps a separate state for each proof in which it is active: the taclets it has
+ * taken over from the goals of the proof and its caches. Once created, a state is only read or
+ * updated through concurrent caches, so the rule can be applied to several proofs (or several
+ * goals of a proof) at the same time without locking.
+ * </p>
+ */
 public final class OneStepSimplifier implements BuiltInRule {
 
     /**
@@ -83,14 +96,21 @@ public final class OneStepSimplifier implements BuiltInRule {
             .append("update_apply").append("update_join").append("elimQuantifier");
 
     private static final boolean[] bottomUp = { false, false, true, true, true, false };
-    private final Map<SequentFormula, Boolean> applicabilityCache =
-        new LRUCache<>(APPLICABILITY_CACHE_SIZE);
 
-    private Proof lastProof;
-    private ImmutableList<NoPosTacletApp> appsTakenOver;
-    private TacletIndex[] indices;
-    private Map<Term, Term>[] notSimplifiableCaches;
-    private boolean active;
+    /** the states of the proofs in which the simplifier is active */
+    private final Map<Proof, State> states = new ConcurrentHashMap<>();
+
+    /** drops the state of a proof when it is disposed */
+    private final ProofDisposedListener disposedListener = new ProofDisposedListener() {
+        @Override
+        public void proofDisposing(ProofDisposedEvent e) {
+            states.remove(e.getSource());
+        }
+
+        @Override
+        public void proofDisposed(ProofDisposedEvent e) {
+        }
+    };
 
     // -------------------------------------------------------------------------
     // constructors
@@ -112,13 +132,12 @@ public final class OneStepSimplifier implements BuiltInRule {
     /**
      * Selects the taclets suitable for one step simplification out of the given rule set (where
      * taclets that also belong to one of the "excluded" rule sets are not considered). Removes
-     * these taclets from the goal's taclet index, remembers them in the "appsTakenOver" field so
-     * they can be restored later, and returns them.
+     * these taclets from the goal's taclet index and returns them, so they can be restored later.
      */
-    private ImmutableList<Taclet> tacletsForRuleSet(Proof proof, String ruleSetName,
-            ImmutableList<String> excludedRuleSetNames) {
+    private static ImmutableList<NoPosTacletApp> tacletsForRuleSet(Proof proof,
+            String ruleSetName, ImmutableList<String> excludedRuleSetNames) {
         assert !proof.openGoals().isEmpty();
-        ImmutableList<Taclet> result = ImmutableSLList.nil();
+        ImmutableList<NoPosTacletApp> result = ImmutableSLList.nil();
 
         // collect apps present in all open goals
         Set<NoPosTacletApp> allApps =
@@ -127,8 +146,7 @@ public final class OneStepSimplifier implements BuiltInRule {
             allApps.retainAll(goal.ruleAppIndex().tacletIndex().allNoPosTacletApps());
         }
 
-        // identify those apps suitable for the one step simplifier;
-        // store them in appsTakenOver and their taclets in result
+        // identify those apps suitable for the one step simplifier and store them in result
         for (NoPosTacletApp app : allApps) {
             final Taclet tac = app.taclet();
             if (!(tac instanceof RewriteTaclet) || !tac.hasReplaceWith()
@@ -152,8 +170,7 @@ public final class OneStepSimplifier implements BuiltInRule {
             }
 
             if (accept) {
-                appsTakenOver = appsTakenOver.prepend(app);
-                result = result.prepend(tac);
+                result = result.prepend(app);
             }
         }
 
@@ -162,13 +179,11 @@ public final class OneStepSimplifier implements BuiltInRule {
         // (Checks are pretty expensive O(n); could be removed after some time)
         // MU May 2016
 
-        assert Immutables.isDuplicateFree(appsTakenOver)
-                : "If this fails unexpectedly, add a call to Immutables.removeDuplicates.";
         assert Immutables.isDuplicateFree(result)
                 : "If this fails unexpectedly, add a call to Immutables.removeDuplicates.";
 
-        // remove apps in appsTakenOver from taclet indices of all goals
-        for (NoPosTacletApp app : appsTakenOver) {
+        // remove the taken over apps from taclet indices of all goals
+        for (NoPosTacletApp app : result) {
             for (Goal goal : proof.allGoals()) {
                 goal.ruleAppIndex().removeNoPosTacletApp(app);
             }
@@ -179,60 +194,87 @@ public final class OneStepSimplifier implements BuiltInRule {
 
 
     /**
-     * If the rule is applied to a different proof than last time, then clear all caches and
-     * initialise the taclet indices.
+     * Initialises the taclet indices and caches of the simplifier for the given proof.
      */
     @SuppressWarnings("unchecked")
-    private void initIndices(Proof proof) {
-        if (proof != lastProof) {
-            shutdownIndices();
-            lastProof = proof;
-            appsTakenOver = ImmutableSLList.nil();
-            indices = new TacletIndex[ruleSets.size()];
-            notSimplifiableCaches = (Map<Term, Term>[]) new LRUCache[indices.length];
-            int i = 0;
-            ImmutableList<String> done = ImmutableSLList.nil();
-            for (String ruleSet : ruleSets) {
-                ImmutableList<Taclet> taclets = tacletsForRuleSet(proof, ruleSet, done);
-                indices[i] = TacletIndexKit.getKit().createTacletIndex(taclets);
-                notSimplifiableCaches[i] = new LRUCache<>(DEFAULT_CACHE_SIZE);
-                i++;
-                done = done.prepend(ruleSet);
+    private static State createState(Proof proof) {
+        ImmutableList<NoPosTacletApp> appsTakenOver = ImmutableSLList.nil();
+        final TacletIndex[] indices = new TacletIndex[ruleSets.size()];
+        final Map<Term, Term>[] notSimplifiableCaches =
+            (Map<Term, Term>[]) new ConcurrentLRUCache[indices.length];
+        int i = 0;
+        ImmutableList<String> done = ImmutableSLList.nil();
+        for (String ruleSet : ruleSets) {
+            ImmutableList<NoPosTacletApp> apps = tacletsForRuleSet(proof, ruleSet, done);
+            appsTakenOver = appsTakenOver.prepend(apps);
+            indices[i] = TacletIndexKit.getKit().createTacletIndex(apps.map(app -> app.taclet()));
+            notSimplifiableCaches[i] = new ConcurrentLRUCache<>(DEFAULT_CACHE_SIZE);
+            i++;
+            done = done.prepend(ruleSet);
+        }
+        return new State(appsTakenOver, indices, notSimplifiableCaches);
+    }
+
+    /**
+     * Returns the state of the simplifier for the given proof, creating it if the simplifier
+     * has not been activated for the proof yet (e.g., if a proof step is replayed).
+     */
+    private State getState(Proof proof) {
+        State state = states.get(proof);
+        if (state != null) {
+            return state;
+        }
+        synchronized (this) {
+            state = states.get(proof);
+            if (state == null) {
+                state = createState(proof);
+                proof.addProofDisposedListener(disposedListener);
+                states.put(proof, state);
             }
+            return state;
         }
     }
 
 
     /**
-     * Deactivate one-step simplification: clear caches, restore taclets to the goals' taclet
-     * indices.
+     * Deactivate one-step simplification for the given proof: clear caches, restore taclets to
+     * the goals' taclet indices.
+     *
+     * @param proof the proof
      */
-    public synchronized void shutdownIndices() {
-        if (lastProof != null) {
-            if (!lastProof.isDisposed()) {
-                // We need to treat all goals here instead of just open goals;
-                // otherwise pruning a (partially) closed proof leads to errors where
-                // some rule applications are missing.
-                for (Goal g : lastProof.allGoals()) {
-                    g.ruleAppIndex().addNoPosTacletApp(appsTakenOver);
-                    g.getRuleAppManager().clearCache();
-                    g.ruleAppIndex().clearIndexes();
-                }
+    public synchronized void shutdownIndices(Proof proof) {
+        final State state = states.remove(proof);
+        if (state != null && !proof.isDisposed()) {
+            proof.removeProofDisposedListener(disposedListener);
+            // We need to treat all goals here instead of just open goals;
+            // otherwise pruning a (partially) closed proof leads to errors where
+            // some rule applications are missing.
+            for (Goal g : proof.allGoals()) {
+                g.ruleAppIndex().addNoPosTacletApp(state.appsTakenOver);
+                g.getRuleAppManager().clearCache();
+                g.ruleAppIndex().clearIndexes();
             }
-            applicabilityCache.clear();
-            lastProof = null;
-            appsTakenOver = null;
-            indices = null;
-            notSimplifiableCaches = null;
         }
     }
 
 
     /**
-     * returns true if the indices are shutdown
+     * Deactivate one-step simplification for all proofs.
+     */
+    public synchronized void shutdownIndices() {
+        for (Proof proof : new ArrayList<>(states.keySet())) {
+            shutdownIndices(proof);
+        }
+    }
+
+
+    /**
+     * returns true if the indices of the given proof are shutdown
+     *
+     * @param proof the proof
      */
-    public boolean isShutdown() {
-        return indices == null;
+    public boolean isShutdown(Proof proof) {
+        return !states.containsKey(proof);
     }
 
     /**
@@ -241,12 +283,12 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyPos(Goal goal,
+    private SequentFormula simplifyPos(State state, Goal goal,
             PosInOccurrence pos,
             int indexNr, Protocol protocol) {
         var services = goal.getOverlayServices();
         final ImmutableList<NoPosTacletApp> apps =
-            indices[indexNr].getRewriteTaclet(pos, TacletFilter.TRUE, services);
+            state.indices[indexNr].getRewriteTaclet(pos, TacletFilter.TRUE, services);
         for (TacletApp app : apps) {
             app = app.setPosInOccurrence(pos, services);
             if (app == null) {
@@ -277,12 +319,12 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifySub(Goal goal,
+    private SequentFormula simplifySub(State state, Goal goal,
             PosInOccurrence pos,
             int indexNr, Protocol protocol) {
         for (int i = 0, n = pos.subTerm().arity(); i < n; i++) {
             SequentFormula result =
-                simplifyPosOrSub(goal, pos.down(i), indexNr, protocol);
+                simplifyPosOrSub(state, goal, pos.down(i), indexNr, protocol);
             if (result != null) {
                 return result;
             }
@@ -297,29 +339,29 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyPosOrSub(Goal goal,
+    private SequentFormula simplifyPosOrSub(State state, Goal goal,
             PosInOccurrence pos,
             int indexNr, Protocol protocol) {
         final Term term = (Term) pos.subTerm();
-        if (notSimplifiableCaches[indexNr].get(term) != null) {
+        if (state.notSimplifiableCaches[indexNr].get(term) != null) {
             return null;
         }
 
         SequentFormula result;
         if (bottomUp[indexNr]) {
-            result = simplifySub(goal, pos, indexNr, protocol);
+            result = simplifySub(state, goal, pos, indexNr, protocol);
             if (result == null) {
-                result = simplifyPos(goal, pos, indexNr, protocol);
+                result = simplifyPos(state, goal, pos, indexNr, protocol);
             }
         } else {
-            result = simplifyPos(goal, pos, indexNr, protocol);
+            result = simplifyPos(state, goal, pos, indexNr, protocol);
             if (result == null) {
-                result = simplifySub(goal, pos, indexNr, protocol);
+                result = simplifySub(state, goal, pos, indexNr, protocol);
             }
         }
 
         if (result == null) {
-            notSimplifiableCaches[indexNr].put(term, term);
+            state.notSimplifiableCaches[indexNr].put(term, term);
         }
 
         return result;
@@ -343,7 +385,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         if (pos != null) {
             ifInsts.add(pos);
             if (protocol != null) {
-                protocol.add(makeReplaceKnownTacletApp(in, inAntecedent, pos));
+                protocol.add(makeReplaceKnownTacletApp(goal.proof(), in, inAntecedent, pos));
             }
             Term result =
                 pos.isInAntec() ? services.getTermBuilder().tt() : services.getTermBuilder().ff();
@@ -403,21 +445,21 @@ public final class OneStepSimplifier implements BuiltInRule {
         }
     }
 
-    private RuleApp makeReplaceKnownTacletApp(Term formula,
+    private RuleApp makeReplaceKnownTacletApp(Proof proof, Term formula,
             boolean inAntecedent,
             PosInOccurrence pio) {
         FindTaclet taclet;
         if (pio.isInAntec()) {
-            taclet = (FindTaclet) lastProof.getInitConfig()
+            taclet = (FindTaclet) proof.getInitConfig()
                     .lookupActiveTaclet(new Name("replace_known_left"));
         } else {
-            taclet = (FindTaclet) lastProof.getInitConfig()
+            taclet = (FindTaclet) proof.getInitConfig()
                     .lookupActiveTaclet(new Name("replace_known_right"));
         }
 
         SVInstantiations svi = SVInstantiations.EMPTY_SVINSTANTIATIONS;
         FormulaSV sv = SchemaVariableFactory.createFormulaSV(new Name("b"));
-        svi.add(sv, (Term) pio.sequentFormula().formula(), lastProof.getServices());
+        svi.add(sv, (Term) pio.sequentFormula().formula(), proof.getServices());
 
         PosInOccurrence applicatinPIO =
             new PosInOccurrence(new SequentFormula(formula), PosInTerm.getTopLevel(), // TODO: This
@@ -430,7 +472,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         ImmutableList<AssumesFormulaInstantiation> ifInst = ImmutableSLList.nil();
         ifInst = ifInst.append(new AssumesFormulaInstDirect(pio.sequentFormula()));
         TacletApp ta = PosTacletApp.createPosTacletApp(taclet, svi, ifInst, applicatinPIO,
-            lastProof.getServices());
+            proof.getServices());
         return ta;
     }
 
@@ -440,7 +482,7 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyConstrainedFormula(
+    private SequentFormula simplifyConstrainedFormula(State state,
             SequentFormula cf,
             boolean inAntecedent,
             Map<TermReplacementKey, PosInOccurrence> context,
@@ -453,10 +495,10 @@ public final class OneStepSimplifier implements BuiltInRule {
             return result;
         }
 
-        for (int i = 0; i < indices.length; i++) {
+        for (int i = 0; i < state.indices.length; i++) {
             PosInOccurrence pos =
                 new PosInOccurrence(cf, PosInTerm.getTopLevel(), inAntecedent);
-            result = simplifyPosOrSub(goal, pos, i, protocol);
+            result = simplifyPosOrSub(state, goal, pos, i, protocol);
             if (result != null) {
                 return result;
             }
@@ -471,7 +513,7 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private Instantiation computeInstantiation(PosInOccurrence ossPIO,
+    private Instantiation computeInstantiation(State state, PosInOccurrence ossPIO,
             Sequent seq, Protocol protocol, Goal goal,
             RuleApp ruleApp) {
         // collect context formulas (potential if-insts for replace-known)
@@ -497,7 +539,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         ImmutableList<SequentFormula> list = ImmutableSLList.nil();
         SequentFormula simplifiedCf = cf;
         while (true) {
-            simplifiedCf = simplifyConstrainedFormula(simplifiedCf, ossPIO.isInAntec(),
+            simplifiedCf = simplifyConstrainedFormula(state, simplifiedCf, ossPIO.isInAntec(),
                 context, ifInsts, protocol, goal, ruleApp);
             if (simplifiedCf != null && !list.contains(simplifiedCf)) {
                 list = list.prepend(simplifiedCf);
@@ -518,19 +560,19 @@ public final class OneStepSimplifier implements BuiltInRule {
     /**
      * Tells whether the passed formula can be simplified
      */
-    private synchronized boolean applicableTo(Services services,
+    private boolean applicableTo(State state,
             SequentFormula cf,
             boolean inAntecedent, Goal goal, RuleApp ruleApp) {
-        final Boolean b = applicabilityCache.get(cf);
+        final Boolean b = state.applicabilityCache.get(cf);
         if (b != null) {
             return b;
         } else {
             // try one simplification step without replace-known
             final SequentFormula simplifiedCf =
-                simplifyConstrainedFormula(cf,
+                simplifyConstrainedFormula(state, cf,
                     inAntecedent, null, null, null, goal, ruleApp);
             final boolean result = simplifiedCf != null && !simplifiedCf.equals(cf);
-            applicabilityCache.put(cf, result);
+            state.applicabilityCache.put(cf, result);
             return result;
         }
     }
@@ -541,17 +583,14 @@ public final class OneStepSimplifier implements BuiltInRule {
             settings = ProofSettings.DEFAULT_SETTINGS;
         }
 
-        final boolean newActive = settings.getStrategySettings().getActiveStrategyProperties()
+        final boolean active = settings.getStrategySettings().getActiveStrategyProperties()
                 .get(StrategyProperties.OSS_OPTIONS_KEY).equals(StrategyProperties.OSS_ON);
 
-        if (active != newActive || lastProof != proof || // The setting or proof has changed.
-                (isShutdown() && !proof.closed())) { // A closed proof was pruned.
-            active = newActive;
-            if (active && proof != null && !proof.closed()) {
-                initIndices(proof);
-            } else {
-                shutdownIndices();
-            }
+        if (!active) {
+            shutdownIndices(proof);
+        } else if (isShutdown(proof) && !proof.closed()) {
+            // activated, or a closed proof was pruned
+            getState(proof);
         }
     }
 
@@ -577,7 +616,8 @@ public final class OneStepSimplifier implements BuiltInRule {
     @Override
     public boolean isApplicable(Goal goal, PosInOccurrence pio) {
         // abort if switched off
-        if (!active) {
+        final State state = states.get(goal.proof());
+        if (state == null) {
             return false;
         }
 
@@ -592,13 +632,11 @@ public final class OneStepSimplifier implements BuiltInRule {
         }
 
         // applicable to the formula?
-        return applicableTo(goal.proof().getServices(), pio.sequentFormula(),
-            pio.isInAntec(), goal,
-            null);
+        return applicableTo(state, pio.sequentFormula(), pio.isInAntec(), goal, null);
     }
 
     @Override
-    public synchronized @NonNull ImmutableList<Goal> apply(Goal goal, RuleApp ruleApp) {
+    public @NonNull ImmutableList<Goal> apply(Goal goal, RuleApp ruleApp) {
 
         assert ruleApp instanceof OneStepSimplifierRuleApp
                 : "The rule app must be suitable for OSS";
@@ -637,7 +675,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         }
         // get instantiation
         final Instantiation inst =
-            computeInstantiation(pos, seq, protocol, goal, ruleApp);
+            computeInstantiation(getState(goal.proof()), pos, seq, protocol, goal, ruleApp);
 
         ((OneStepSimplifierRuleApp) ruleApp).setProtocol(protocol);
 
@@ -672,14 +710,16 @@ public final class OneStepSimplifier implements BuiltInRule {
     }
 
     /**
-     * Gets an immutable set containing all the taclets captured by the OSS.
+     * Gets an immutable set containing all the taclets captured by the OSS in the given proof.
      *
+     * @param proof the proof
      * @return the captured taclets (as NoPosTacletApps)
      */
-    public Set<NoPosTacletApp> getCapturedTaclets() {
+    public Set<NoPosTacletApp> getCapturedTaclets(Proof proof) {
         Set<NoPosTacletApp> result = new LinkedHashSet<>();
-        synchronized (this) {
-            for (TacletIndex index : indices) {
+        final State state = states.get(proof);
+        if (state != null) {
+            for (TacletIndex index : state.indices) {
                 result.addAll(index.allNoPosTacletApps());
             }
         }
@@ -691,6 +731,29 @@ public final class OneStepSimplifier implements BuiltInRule {
     // inner classes
     // -------------------------------------------------------------------------
 
+    /**
+     * The state of the simplifier for one proof. The taclet indices are not modified after
+     * creation and the caches are concurrent, so the state can be shared by several threads.
+     */
+    private static final class State {
+        /** the taclet apps removed from the goals of the proof */
+        private final ImmutableList<NoPosTacletApp> appsTakenOver;
+        /** the taclet indices for the rule sets */
+        private final TacletIndex[] indices;
+        /** the terms which cannot be simplified by the taclets of the respective index */
+        private final Map<Term, Term>[] notSimplifiableCaches;
+        /** whether a formula can be simplified */
+        private final Map<SequentFormula, Boolean> applicabilityCache =
+            new ConcurrentLRUCache<>(APPLICABILITY_CACHE_SIZE);
+
+        private State(ImmutableList<NoPosTacletApp> appsTakenOver, TacletIndex[] indices,
+                Map<Term, Term>[] notSimplifiableCaches) {
+            this.appsTakenOver = appsTakenOver;
+            this.indices = indices;
+            this.notSimplifiableCaches = notSimplifiableCaches;
+        }
+    }
+
     private static final class Instantiation {
         private final SequentFormula cf;
         private final int numAppliedRules;
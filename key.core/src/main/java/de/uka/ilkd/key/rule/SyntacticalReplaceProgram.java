@@ -0,0 +1,138 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.logic.JavaBlock;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.ElementaryUpdate;
+import de.uka.ilkd.key.logic.op.Modality;
+import de.uka.ilkd.key.logic.op.Operator;
+import de.uka.ilkd.key.logic.op.ProgramSV;
+import de.uka.ilkd.key.logic.op.QuantifiableVariable;
+import de.uka.ilkd.key.logic.op.SortDependingFunction;
+import de.uka.ilkd.key.logic.op.TermTransformer;
+
+import org.key_project.logic.op.sv.SchemaVariable;
+
+/**
+ * Instances of this class represent programs for instantiating a taclet template term (of a
+ * {@code replacewith} or {@code add} section). They are the counterpart of the
+ * {@link de.uka.ilkd.key.rule.match.vm.TacletMatchProgram}s for the construction of the result.
+ *
+ * A program consists of the subterms of the template in the order in which
+ * {@link Term#execPostOrder(org.key_project.logic.Visitor)} visits them, together with the
+ * information which of the checks of {@link SyntacticalReplaceVisitor} are needed for each of
+ * them. It is created once per template using {@link #createProgram(Term)} and executed by
+ * {@link SyntacticalReplaceVisitor#execute(SyntacticalReplaceProgram)}.
+ */
+public final class SyntacticalReplaceProgram {
+    /** the subtree rooted in the term is entered (otherwise, the term is built) */
+    static final byte ENTER = 1;
+    /** the term is a schema variable which may be replaced by its instantiation */
+    static final byte SCHEMA_VARIABLE = 2;
+    /** operator, bound variables and program of the term do not need to be instantiated */
+    static final byte PLAIN = 4;
+    /** the operator of the term is a {@link TermTransformer} */
+    static final byte TRANSFORMER = 8;
+
+    /** the terms the instructions refer to */
+    private final Term[] terms;
+    /** the instructions, a combination of the flags above for each term */
+    private final byte[] code;
+    /** the maximal number of terms on the operand stack during the execution */
+    private final int stackSize;
+
+    private SyntacticalReplaceProgram(Term[] terms, byte[] code, int stackSize) {
+        this.terms = terms;
+        this.code = code;
+        this.stackSize = stackSize;
+    }
+
+    /**
+     * creates the program instantiating the given template
+     *
+     * @param template the {@link Term} to be instantiated
+     * @return the program for the given template
+     */
+    public static SyntacticalReplaceProgram createProgram(Term template) {
+        final List<Term> terms = new ArrayList<>();
+        final List<Byte> code = new ArrayList<>();
+        final int stackSize = createProgram(template, terms, code, 0);
+        final byte[] instructions = new byte[code.size()];
+        for (int i = 0; i < instructions.length; i++) {
+            instructions[i] = code.get(i);
+        }
+        return new SyntacticalReplaceProgram(terms.toArray(new Term[0]), instructions, stackSize);
+    }
+
+    /**
+     * appends the instructions for the given template
+     *
+     * @param template the template
+     * @param terms the terms of the program
+     * @param code the instructions of the program
+     * @param depth the number of terms on the operand stack before the template is executed
+     * @return the maximal number of terms on the operand stack while the template is executed
+     */
+    private static int createProgram(Term template, List<Term> terms, List<Byte> code,
+            int depth) {
+        terms.add(template);
+        code.add(ENTER);
+        int stackSize = depth + 1;
+        for (int i = 0; i < template.arity(); i++) {
+            stackSize = Math.max(stackSize, createProgram(template.sub(i), terms, code, depth + i));
+        }
+        terms.add(template);
+        code.add(flags(template));
+        return stackSize;
+    }
+
+    /**
+     * determines which checks are necessary for building the instantiation of the given term
+     *
+     * @param term a template term
+     * @return a combination of {@link #SCHEMA_VARIABLE}, {@link #PLAIN} and {@link #TRANSFORMER}
+     */
+    static byte flags(Term term) {
+        final Operator op = term.op();
+        byte flags = 0;
+        if (op instanceof SchemaVariable && op.arity() == 0
+                && !(op instanceof ProgramSV psv && psv.isListSV())) {
+            flags |= SCHEMA_VARIABLE;
+        }
+        if (op instanceof TermTransformer) {
+            flags |= TRANSFORMER;
+        }
+        if (!(op instanceof SchemaVariable || op instanceof SortDependingFunction
+                || op instanceof ElementaryUpdate || op instanceof Modality)
+                && term.javaBlock() == JavaBlock.EMPTY_JAVABLOCK && !bindsSchemaVariable(term)) {
+            flags |= PLAIN;
+        }
+        return flags;
+    }
+
+    private static boolean bindsSchemaVariable(Term term) {
+        for (QuantifiableVariable boundVar : term.boundVars()) {
+            if (boundVar instanceof SchemaVariable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Term[] terms() {
+        return terms;
+    }
+
+    byte[] code() {
+        return code;
+    }
+
+    int stackSize() {
+        return stackSize;
+    }
+}
@@ -4,8 +4,8 @@
 package de.uka.ilkd.key.rule;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.Stack;
 
 import de.uka.ilkd.key.java.ContextStatementBlock;
 import de.uka.ilkd.key.java.JavaNonTerminalProgramElement;
@@ -38,6 +38,9 @@ import org.key_project.util.collection.ImmutableArray;
  * method
  * on a term, the visitor builds a new term replacing SchemaVariables with their instantiations that
  * are given as a SVInstantiations object.
+ * <p>
+ * Instead of visiting a template term, a {@link SyntacticalReplaceProgram} compiled from it can be
+ * executed using {@link #execute(SyntacticalReplaceProgram)}.
  */
 public class SyntacticalReplaceVisitor implements DefaultVisitor {
     public static final String SUBSTITUTION_WITH_LABELS_HINT = "SUBSTITUTION_WITH_LABELS";
@@ -56,12 +59,16 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
 
     /**
      * the stack contains the subterms that will be added in the next step of execPostOrder in Term
-     * in order to build the new term. A boolean value between or under the subterms on the stack
-     * indicate that a term using these subterms should build a new term instead of using the old
-     * one, because one of its subterms has been built, too.
+     * in order to build the new term. Its first {@link #stackSize} entries are used.
      */
-    private final Stack<Object> subStack; // of Term (and Boolean)
-    private final Boolean newMarker = Boolean.TRUE;
+    private Term[] subStack = new Term[16];
+    /**
+     * marks the terms on {@link #subStack} which have been built, i.e., which differ from the
+     * corresponding taclet term. A term using such subterms has to build a new term instead of
+     * using the old one.
+     */
+    private boolean[] newOnStack = new boolean[16];
+    private int stackSize = 0;
     private final Deque<Term> tacletTermStack = new ArrayDeque<>();
 
 
@@ -91,7 +98,6 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
         this.ruleApp = ruleApp;
         this.labelHint = labelHint;
         this.goal = goal;
-        subStack = new Stack<>(); // of Term
         if (labelHint != null) {
             labelHint.setTacletTermStack(tacletTermStack);
         }
@@ -124,7 +130,6 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
         this.ruleApp = ruleApp;
         this.labelHint = labelHint;
         this.goal = null;
-        subStack = new Stack<>(); // of Term
         if (labelHint != null) {
             labelHint.setTacletTermStack(tacletTermStack);
         }
@@ -169,7 +174,6 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
         this.goal = null;
         this.ruleApp = null;
         this.labelHint = null;
-        subStack = new Stack<>();
     }
 
     private JavaProgramElement addContext(StatementBlock pe) {
@@ -208,29 +212,62 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
         return (result == jb.program()) ? jb : JavaBlock.createJavaBlock((StatementBlock) result);
     }
 
-    private Term[] neededSubs(int n) {
-        boolean newTerm = false;
-        Term[] result = new Term[n];
-        for (int i = n - 1; i >= 0; i--) {
-            Object top = subStack.pop();
-            if (top == newMarker) {
-                newTerm = true;
-                top = subStack.pop();
+    /**
+     * @param n the number of subterms
+     * @return true iff one of the topmost {@code n} terms on the stack has been built
+     */
+    private boolean subsChanged(int n) {
+        for (int i = stackSize - n; i < stackSize; i++) {
+            if (newOnStack[i]) {
+                return true;
             }
-            result[i] = (Term) top;
-        }
-        if (newTerm && (subStack.empty() || subStack.peek() != newMarker)) {
-            subStack.push(newMarker);
         }
+        return false;
+    }
+
+    /**
+     * removes the topmost {@code n} terms from the stack
+     *
+     * @param n the number of subterms
+     * @return the removed terms
+     */
+    private Term[] neededSubs(int n) {
+        final Term[] result = new Term[n];
+        stackSize -= n;
+        System.arraycopy(subStack, stackSize, result, 0, n);
+        Arrays.fill(subStack, stackSize, stackSize + n, null);
         return result;
     }
 
+    /**
+     * removes the topmost {@code n} terms from the stack, which are the unchanged subterms of the
+     * taclet term
+     *
+     * @param n the number of subterms
+     */
+    private void dropSubs(int n) {
+        Arrays.fill(subStack, stackSize - n, stackSize, null);
+        stackSize -= n;
+    }
 
-    protected void pushNew(Object t) {
-        if (subStack.empty() || subStack.peek() != newMarker) {
-            subStack.push(newMarker);
+    private void push(Term t, boolean isNew) {
+        if (stackSize == subStack.length) {
+            subStack = Arrays.copyOf(subStack, 2 * stackSize);
+            newOnStack = Arrays.copyOf(newOnStack, 2 * stackSize);
         }
-        subStack.push(t);
+        subStack[stackSize] = t;
+        newOnStack[stackSize] = isNew;
+        stackSize++;
+    }
+
+    private Term pop() {
+        final Term t = subStack[--stackSize];
+        subStack[stackSize] = null;
+        return t;
+    }
+
+    protected void pushNew(Object t) {
+        push((Term) t, true);
     }
 
     /**
@@ -328,46 +365,88 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
      */
     @Override
     public void visit(final Term visited) {
+        build(visited, SyntacticalReplaceProgram.flags(visited));
+    }
+
+    /**
+     * Instantiates the template the given program has been created from. This is equivalent to
+     * visiting the template using {@link Term#execPostOrder(Visitor)} and calling
+     * {@link #getTerm()}, but does not need to analyse the template again.
+     *
+     * @param program the program to execute
+     * @return the new built term
+     */
+    public Term execute(SyntacticalReplaceProgram program) {
+        final Term[] terms = program.terms();
+        final byte[] code = program.code();
+        if (subStack.length < program.stackSize()) {
+            subStack = new Term[program.stackSize()];
+            newOnStack = new boolean[program.stackSize()];
+        }
+        for (int i = 0; i < code.length; i++) {
+            if (code[i] == SyntacticalReplaceProgram.ENTER) {
+                subtreeEntered(terms[i]);
+            } else {
+                build(terms[i], code[i]);
+                leave(terms[i], (code[i] & SyntacticalReplaceProgram.TRANSFORMER) != 0);
+            }
+        }
+        return getTerm();
+    }
+
+    /**
+     * builds the instantiation of the given taclet term from the instantiations of its subterms
+     * on the stack
+     *
+     * @param visited the taclet term
+     * @param flags the checks needed for the term (see {@link SyntacticalReplaceProgram})
+     */
+    private void build(final Term visited, final byte flags) {
         // Sort equality has to be ensured before calling this method
         final Operator visitedOp = visited.op();
-        if (visitedOp instanceof SchemaVariable visitedSV && visitedOp.arity() == 0
-                && svInst.isInstantiated(visitedSV)
-                && (!(visitedOp instanceof ProgramSV visitedAsPSV && visitedAsPSV.isListSV()))) {
+        if ((flags & SyntacticalReplaceProgram.SCHEMA_VARIABLE) != 0
+                && svInst.isInstantiated((SchemaVariable) visitedOp)) {
+            final SchemaVariable visitedSV = (SchemaVariable) visitedOp;
             final Term newTerm = toTerm(
                 svInst.getTermInstantiation(visitedSV, svInst.getExecutionContext(), services));
             final Term labeledTerm = TermLabelManager.label(services, termLabelState,
                 applicationPosInOccurrence, rule, ruleApp, goal, labelHint, visited, newTerm);
             pushNew(labeledTerm);
         } else {
-            // instantiation of java block
             boolean jblockChanged = false;
             JavaBlock jb = visited.javaBlock();
-
-            if (jb != JavaBlock.EMPTY_JAVABLOCK) {
-                jb = replacePrg(svInst, jb);
-                if (jb != visited.javaBlock()) {
-                    jblockChanged = true;
+            Operator newOp = visitedOp;
+            ImmutableArray<QuantifiableVariable> boundVars = visited.boundVars();
+
+            if ((flags & SyntacticalReplaceProgram.PLAIN) == 0) {
+                // instantiation of java block
+                if (jb != JavaBlock.EMPTY_JAVABLOCK) {
+                    jb = replacePrg(svInst, jb);
+                    if (jb != visited.javaBlock()) {
+                        jblockChanged = true;
+                    }
                 }
-            }
 
-            final Operator newOp = instantiateOperator(visitedOp, jb);
+                newOp = instantiateOperator(visitedOp, jb);
 
-            // instantiate bound variables
-            final ImmutableArray<QuantifiableVariable> boundVars =
-                instantiateBoundVariables(visited);
+                // instantiate bound variables
+                boundVars = instantiateBoundVariables(visited);
+            }
 
             // instantiate sub terms
-            final Term[] neededsubs = neededSubs(newOp != null ? newOp.arity() : 0);
+            final int arity = newOp != null ? newOp.arity() : 0;
             if (boundVars != visited.boundVars() || jblockChanged || (newOp != visitedOp)
-                    || (!subStack.empty() && subStack.peek() == newMarker)) {
-                final ImmutableArray<TermLabel> labels = instantiateLabels(visited, newOp,
-                    new ImmutableArray<>(neededsubs), boundVars, visited.getLabels());
+                    || subsChanged(arity)) {
+                final Term[] neededsubs = neededSubs(arity);
+                final ImmutableArray<TermLabel> labels = instantiateLabels(visited,
+                    tb.tf().createTerm(newOp, neededsubs, boundVars, visited.getLabels()));
                 final Term newTerm = tb.tf().createTerm(newOp, neededsubs, boundVars, labels);
                 pushNew(resolveSubst(newTerm));
             } else {
+                // the subterms on the stack are the ones of the taclet term
+                dropSubs(arity);
                 Term t;
-                final ImmutableArray<TermLabel> labels = instantiateLabels(visited, visitedOp,
-                    visited.subs(), visited.boundVars(), visited.getLabels());
+                final ImmutableArray<TermLabel> labels = instantiateLabels(visited, visited);
                 if (!visited.hasLabels() && labels != null && labels.isEmpty()) {
                     t = visited;
                 } else {
@@ -375,21 +454,19 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
                         labels);
                 }
                 t = resolveSubst(t);
-                if (t == visited) {
-                    subStack.push(t);
-                } else {
-                    pushNew(t);
-                }
+                push(t, t != visited);
             }
         }
     }
 
-    private ImmutableArray<TermLabel> instantiateLabels(Term tacletTerm, Operator newTermOp,
-            ImmutableArray<Term> newTermSubs, ImmutableArray<QuantifiableVariable> newTermBoundVars,
-            ImmutableArray<TermLabel> newTermOriginalLabels) {
+    /**
+     * @param tacletTerm the taclet term
+     * @param newTerm the new term with the original labels of the taclet term
+     * @return the labels of the new term
+     */
+    private ImmutableArray<TermLabel> instantiateLabels(Term tacletTerm, Term newTerm) {
         return TermLabelManager.instantiateLabels(termLabelState, services,
-            applicationPosInOccurrence, rule, ruleApp, goal, labelHint, tacletTerm,
-            tb.tf().createTerm(newTermOp, newTermSubs, newTermBoundVars, newTermOriginalLabels));
+            applicationPosInOccurrence, rule, ruleApp, goal, labelHint, tacletTerm, newTerm);
     }
 
     private Operator handleSortDependingSymbol(SortDependingFunction depOp) {
@@ -424,16 +501,7 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
      */
     public Term getTerm() {
         if (computedResult == null) {
-            Object o;
-            do {
-                o = subStack.pop();
-            } while (o == newMarker);
-            // Term t = (Term) o;
-            // CollisionDeletingSubstitutionTermApplier substVisit
-            // = new CollisionDeletingSubstitutionTermApplier();
-            // t.execPostOrder(substVisit);
-            // t=substVisit.getTerm();
-            computedResult = (Term) o;
+            computedResult = pop();
         }
         return computedResult;
     }
@@ -460,9 +528,14 @@ public class SyntacticalReplaceVisitor implements DefaultVisitor {
      */
     @Override
     public void subtreeLeft(Term subtreeRoot) {
+        leave(subtreeRoot, subtreeRoot.op() instanceof TermTransformer);
+    }
+
+    private void leave(Term subtreeRoot, boolean transform) {
         tacletTermStack.pop();
-        if (subtreeRoot.op() instanceof TermTransformer mop) {
-            final Term newTerm = mop.transform((Term) subStack.pop(), svInst, services);
+        if (transform) {
+            final TermTransformer mop = (TermTransformer) subtreeRoot.op();
+            final Term newTerm = mop.transform(pop(), svInst, services);
             final Term labeledTerm = TermLabelManager.label(services, termLabelState,
                 applicationPosInOccurrence, rule, ruleApp, goal, labelHint, subtreeRoot,
                 newTerm);
@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.rule;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.*;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
@@ -47,9 +46,6 @@ import org.jspecify.annotations.Nullable;
  * complete, so that is can be applied.
  */
 public abstract class TacletApp implements RuleApp {
-    public static final AtomicLong PERF_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_PRE = new AtomicLong();
 
     /** the taclet for which the application information is collected */
     private final /* @NonNull */ org.key_project.prover.rules.Taclet taclet;
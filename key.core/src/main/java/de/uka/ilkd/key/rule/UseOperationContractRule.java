@@ -89,8 +89,11 @@ public final class UseOperationContractRule implements BuiltInRule {
 
     private static final Name NAME = new Name("Use Operation Contract");
 
-    private static Term lastFocusTerm;
-    private static Instantiation lastInstantiation;
+    /**
+     * the last focus term together with its instantiation; both are replaced at once, as the rule
+     * may be instantiated concurrently
+     */
+    private static volatile Pair<Term, Instantiation> lastInstantiation;
 
     // -------------------------------------------------------------------------
     // constructors
@@ -379,16 +382,16 @@ public final class UseOperationContractRule implements BuiltInRule {
 
     private static Instantiation instantiate(Term focusTerm, Services services) {
         // result cached?
-        if (focusTerm == lastFocusTerm) {
-            return lastInstantiation;
+        final Pair<Term, Instantiation> last = lastInstantiation;
+        if (last != null && focusTerm == last.first) {
+            return last.second;
         }
 
         // compute
         final Instantiation result = computeInstantiation(focusTerm, services);
 
         // cache and return
-        lastFocusTerm = focusTerm;
-        lastInstantiation = result;
+        lastInstantiation = new Pair<>(focusTerm, result);
         return result;
     }
 
@@ -4,12 +4,13 @@
 package de.uka.ilkd.key.rule.executor.javadl;
 
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.label.TermLabelManager;
 import de.uka.ilkd.key.logic.label.TermLabelState;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
 import de.uka.ilkd.key.rule.Taclet;
 import de.uka.ilkd.key.rule.TacletApp;
 
@@ -23,10 +24,6 @@ import org.key_project.util.collection.ImmutableList;
 import org.jspecify.annotations.NonNull;
 
 public abstract class FindTacletExecutor extends TacletExecutor {
-    public static final AtomicLong PERF_APPLY = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_TERM_LABELS = new AtomicLong();
-
     protected FindTacletExecutor(Taclet taclet) {
         super(taclet);
     }
@@ -104,11 +101,12 @@ public abstract class FindTacletExecutor extends TacletExecutor {
         final Iterator<SequentChangeInfo> newSequentsIt =
             newSequentsForGoals.iterator();
 
+        final ProofProfile profile = goal.proof().getProfile();
         for (var gt : taclet.goalTemplates()) {
             final Goal currentGoal = goalIt.next();
             final SequentChangeInfo currentSequent = newSequentsIt.next();
 
-            var timeApply = System.nanoTime();
+            long start = profile.start();
             applyReplacewith(gt, termLabelState, currentSequent, tacletApp.posInOccurrence(), mc,
                 currentGoal, tacletApp, services);
 
@@ -129,22 +127,22 @@ public abstract class FindTacletExecutor extends TacletExecutor {
             // in the new sequent
             applyAddProgVars(gt.addedProgVars(), currentSequent, currentGoal,
                 tacletApp.posInOccurrence(), services, mc);
-            PERF_APPLY.getAndAdd(System.nanoTime() - timeApply);
+            profile.stop(Category.PHASE, "FindTacletExecutor apply", start);
 
-            var timeTermLabels = System.nanoTime();
+            start = profile.start();
             TermLabelManager.mergeLabels(currentSequent, services);
-            timeTermLabels = System.nanoTime() - timeTermLabels;
+            profile.stop(Category.PHASE, "FindTacletExecutor merge term labels", start);
 
-            var timeSetSequent = System.nanoTime();
+            start = profile.start();
             currentGoal.setSequent(currentSequent);
-            PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - timeSetSequent);
+            profile.stop(Category.PHASE, "FindTacletExecutor setSequent", start);
 
             currentGoal.setBranchLabel(gt.name());
 
-            timeTermLabels = System.nanoTime() + timeTermLabels;
+            start = profile.start();
             TermLabelManager.refactorSequent(termLabelState, services, ruleApp.posInOccurrence(),
                 tacletApp.rule(), currentGoal, null, null);
-            PERF_TERM_LABELS.getAndAdd(System.nanoTime() - timeTermLabels);
+            profile.stop(Category.PHASE, "FindTacletExecutor refactor term labels", start);
         }
 
         // in case the assumes sequent of the taclet did not
@@ -4,11 +4,12 @@
 package de.uka.ilkd.key.rule.executor.javadl;
 
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.logic.label.TermLabelManager;
 import de.uka.ilkd.key.logic.label.TermLabelState;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.rule.Taclet.TacletLabelHint;
 import de.uka.ilkd.key.rule.Taclet.TacletLabelHint.TacletOperation;
@@ -19,10 +20,6 @@ import org.key_project.prover.sequent.SequentChangeInfo;
 import org.key_project.util.collection.ImmutableList;
 
 public class NoFindTacletExecutor extends TacletExecutor {
-    public static final AtomicLong PERF_APPLY = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_TERM_LABELS = new AtomicLong();
-
     public NoFindTacletExecutor(NoFindTaclet taclet) {
         super(taclet);
     }
@@ -73,6 +70,7 @@ public class NoFindTacletExecutor extends TacletExecutor {
             newSequentsForGoals.iterator();
 
         final var services = goal.getOverlayServices();
+        final ProofProfile profile = goal.proof().getProfile();
         for (var gt : taclet.goalTemplates()) {
             Goal currentGoal = goalIt.next();
             // add first because we want to use pos information that
@@ -80,29 +78,29 @@ public class NoFindTacletExecutor extends TacletExecutor {
 
             SequentChangeInfo currentSequent = newSequentsIt.next();
 
-            var timeApply = System.nanoTime();
+            long start = profile.start();
             applyAdd(termLabelState, gt.sequent(), currentSequent, mc, goal, tacletApp);
 
             applyAddrule(gt.rules(), currentGoal, services, mc);
 
             applyAddProgVars(gt.addedProgVars(), currentSequent, currentGoal,
                 tacletApp.posInOccurrence(), services, mc);
-            PERF_APPLY.getAndAdd(System.nanoTime() - timeApply);
+            profile.stop(Category.PHASE, "NoFindTacletExecutor apply", start);
 
-            var timeTermLabels = System.nanoTime();
+            start = profile.start();
             TermLabelManager.mergeLabels(currentSequent, services);
-            timeTermLabels = System.nanoTime() - timeTermLabels;
+            profile.stop(Category.PHASE, "NoFindTacletExecutor merge term labels", start);
 
-            var timeSetSequent = System.nanoTime();
+            start = profile.start();
             currentGoal.setSequent(currentSequent);
-            PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - timeSetSequent);
+            profile.stop(Category.PHASE, "NoFindTacletExecutor setSequent", start);
 
             currentGoal.setBranchLabel(gt.name());
-            timeTermLabels = System.nanoTime() + timeTermLabels;
+            start = profile.start();
             TermLabelManager.refactorSequent(termLabelState, services,
                 ruleApp.posInOccurrence(),
                 ruleApp.rule(), currentGoal, null, null);
-            PERF_TERM_LABELS.getAndAdd(System.nanoTime() - timeTermLabels);
+            profile.stop(Category.PHASE, "NoFindTacletExecutor refactor term labels", start);
         }
 
         return newGoals;
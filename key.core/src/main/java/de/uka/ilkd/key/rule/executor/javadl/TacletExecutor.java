@@ -5,6 +5,8 @@ package de.uka.ilkd.key.rule.executor.javadl;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.RenamingTable;
@@ -47,6 +49,11 @@ import org.jspecify.annotations.NonNull;
 public abstract class TacletExecutor
         extends org.key_project.prover.rules.TacletExecutor<@NonNull Goal, @NonNull TacletApp> {
 
+    /**
+     * the programs instantiating the template terms of the taclet, created on first use
+     */
+    private final Map<Term, SyntacticalReplaceProgram> replacePrograms = new IdentityHashMap<>();
+
     protected TacletExecutor(Taclet taclet) {
         super(taclet);
     }
@@ -94,8 +101,20 @@ public abstract class TacletExecutor
                 (TacletLabelHint) instantiationInfo[1], applicationPosInOccurrence,
                 (SVInstantiations) mc.getInstantiations(), goal,
                 taclet, tacletApp);
-        term.execPostOrder(srVisitor);
-        return srVisitor.getTerm();
+        return srVisitor.execute(getReplaceProgram(term));
+    }
+
+    /**
+     * returns the program instantiating the given template term of the taclet
+     *
+     * @param template a term of a {@code replacewith} or {@code add} section of the taclet
+     * @return the program for the template
+     */
+    private SyntacticalReplaceProgram getReplaceProgram(Term template) {
+        synchronized (replacePrograms) {
+            return replacePrograms.computeIfAbsent(template,
+                t -> SyntacticalReplaceProgram.createProgram((de.uka.ilkd.key.logic.Term) t));
+        }
     }
 
     protected Term applyContextUpdate(
@@ -63,6 +63,11 @@ public class DefaultSMTSettings implements SMTSettings {
         return piSettings.getMaxConcurrentProcesses();
     }
 
+    @Override
+    public boolean usePortfolio() {
+        return piSettings.isPortfolio();
+    }
+
     @Override
     public int getMaxNumberOfGenerics() {
 
@@ -23,6 +23,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
     public static final String SHOW_SMT_RES_DIA = "showSMTResDialog";
     public static final String PROGRESS_DIALOG_MODE = "modeOfProgressDialog";
     public static final String MAX_CONCURRENT_PROCESSES = "maxConcurrentProcesses";
+    public static final String PORTFOLIO = "portfolio";
 
     /*
      * The following properties are used to set the bit sizes for bounded counter example
@@ -61,6 +62,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
 
     private long timeout = 2000;
     private int maxConcurrentProcesses = 2;
+    private boolean portfolio = false;
 
     private ProgressMode modeOfProgressDialog = ProgressMode.USER;
 
@@ -279,6 +281,16 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
 
     }
 
+    public boolean isPortfolio() {
+        return portfolio;
+    }
+
+    public void setPortfolio(boolean portfolio) {
+        var old = this.portfolio;
+        this.portfolio = portfolio;
+        firePropertyChange(PORTFOLIO, old, this.portfolio);
+    }
+
     public boolean isEnableOnLoad() {
         return enableOnLoad;
     }
@@ -293,6 +305,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         setStoreTacletTranslationToFile(data.storeTacletTranslationToFile);
         setTimeout(data.timeout);
         setMaxConcurrentProcesses(data.maxConcurrentProcesses);
+        setPortfolio(data.portfolio);
         setPathForSMTTranslation(data.pathForSMTTranslation);
         setPathForTacletTranslation(data.pathForTacletTranslation);
         setModeOfProgressDialog(data.modeOfProgressDialog);
@@ -362,6 +375,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         maxConcurrentProcesses =
             SettingsConverter.read(props, prefix + MAX_CONCURRENT_PROCESSES,
                 maxConcurrentProcesses);
+        portfolio = SettingsConverter.read(props, prefix + PORTFOLIO, portfolio);
         checkForSupport =
             SettingsConverter.read(props, prefix + SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         intBound = SettingsConverter.read(props, prefix + INT_BOUND, intBound);
@@ -394,6 +408,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
             pathForTacletTranslation);
         SettingsConverter.store(props, prefix + ACTIVE_SOLVER, activeSolver);
         SettingsConverter.store(props, prefix + MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses);
+        SettingsConverter.store(props, prefix + PORTFOLIO, portfolio);
         SettingsConverter.store(props, prefix + SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         SettingsConverter.store(props, prefix + INT_BOUND, intBound);
         SettingsConverter.store(props, prefix + HEAP_BOUND, heapBound);
@@ -425,6 +440,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
             cat.getString(PATH_FOR_TACLET_TRANSLATION, pathForTacletTranslation));
         setModeOfProgressDialog(cat.getEnum(PROGRESS_DIALOG_MODE, modeOfProgressDialog));
         setMaxConcurrentProcesses(cat.getInt(MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses));
+        setPortfolio(cat.getBool(PORTFOLIO, portfolio));
         setCheckForSupport(cat.getBool(SOLVER_CHECK_FOR_SUPPORT, checkForSupport));
         setIntBound(cat.getLong(INT_BOUND, intBound));
         setHeapBound(cat.getLong(HEAP_BOUND, heapBound));
@@ -455,6 +471,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         cat.set(PATH_FOR_TACLET_TRANSLATION, pathForTacletTranslation);
         cat.set(ACTIVE_SOLVER, activeSolver);
         cat.set(MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses);
+        cat.set(PORTFOLIO, portfolio);
         cat.set(SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         cat.set(INT_BOUND, intBound);
         cat.set(HEAP_BOUND, heapBound);
@@ -29,6 +29,13 @@ public interface SMTSettings {
      */
     int getMaxConcurrentProcesses();
 
+    /**
+     * Returns <code>true</code> if the solvers started for a problem race against each other,
+     * i.e., the remaining solvers are stopped as soon as one of them has found a definite result
+     * (valid or falsifiable).
+     */
+    boolean usePortfolio();
+
     /**
      * <code>true</code> If the transitive relations in the sort hierarchy should be explicitly
      * modeled by formulas.
@@ -27,7 +27,12 @@ public interface SMTSolver {
      * Possible reasons for why a solver process was interrupted/stopped.
      */
     enum ReasonOfInterruption {
-        User, Timeout, Exception, NoInterruption
+        User, Timeout, Exception, NoInterruption,
+        /**
+         * Another solver has already found a definite result for the problem (see
+         * {@link SMTSettings#usePortfolio()}).
+         */
+        Preempted
     }
 
     /**
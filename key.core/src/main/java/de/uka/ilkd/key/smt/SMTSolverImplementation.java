@@ -14,8 +14,12 @@ import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.mgt.SpecificationRepository;
 import de.uka.ilkd.key.smt.communication.AbstractSolverSocket;
 import de.uka.ilkd.key.smt.communication.ExternalProcessLauncher;
+import de.uka.ilkd.key.smt.communication.Pipe;
 import de.uka.ilkd.key.smt.communication.SolverCommunication;
 import de.uka.ilkd.key.smt.communication.SolverCommunication.Message;
+import de.uka.ilkd.key.smt.communication.SolverProcessPool;
+import de.uka.ilkd.key.smt.communication.SolverResultCache;
+import de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
 import de.uka.ilkd.key.taclettranslation.assumptions.TacletSetTranslation;
@@ -23,6 +27,7 @@ import de.uka.ilkd.key.taclettranslation.assumptions.TacletSetTranslation;
 import org.key_project.prover.sequent.Sequent;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,7 +36,9 @@ import org.slf4j.LoggerFactory;
  * performs the following steps:
  * <ol>
  * <li>Translates the given problem to SMT format.</li>
- * <li>Starts the external solver process.</li>
+ * <li>Looks up the result in the {@link SolverResultCache}, the following steps are skipped if
+ * the problem has been solved before.</li>
+ * <li>Starts the external solver process (or reuses one of the {@link SolverProcessPool}).</li>
  * <li>Sends the problem to the process.</li>
  * <li>Communicates with the solver via the solver socket.</li>
  * </ol>
@@ -78,6 +85,11 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     private final ExternalProcessLauncher processLauncher;
 
+    /**
+     * the session on a pooled solver process, if the problem is solved by a pooled process
+     */
+    private volatile SolverProcessPool.@Nullable Session pooledSession;
+
     /**
      * The services object is stored in order to have the possibility to access it in every method
      */
@@ -125,6 +137,13 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
      */
     private String problemString = "NOT YET COMPUTED";
 
+    /**
+     * The length of the prefix of {@link #problemString} that is shared by all problems of the
+     * translator, i.e., its preamble (see {@link SolverProcessPool}), -1 if the problem cannot be
+     * split.
+     */
+    private int preludeLength = -1;
+
     /**
      * Stores the taclet translation that is associated with this solver.
      */
@@ -248,6 +267,12 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
     @Override
     public void run() {
 
+        if (reasonOfInterruption != ReasonOfInterruption.NoInterruption) {
+            // interrupted (e.g., preempted by another solver) before the thread got here
+            listener.processStopped(this, problem);
+            return;
+        }
+
         // Firstly: Set the state to running and inform the listener.
         setSolverState(SolverState.Running);
         listener.processStarted(this, problem);
@@ -264,16 +289,47 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             return;
         }
 
-        // Thirdly: start the external process.
+        // Thirdly: look up the result of a previous run of the same problem.
+        SolverResultCache cache = SolverResultCache.getInstance();
+        String cacheKey = null;
+        if (cache.isEnabled() && getType() != SolverTypes.Z3_CE_SOLVER) {
+            // the counterexample generator needs the model queries of its socket
+            cacheKey = cache.key(type, commands, timeout, type.modifyProblem(problemString));
+            if (cacheKey != null && cache.restore(cacheKey, solverCommunication,
+                type.getName()) != null) {
+                solverTimeout.cancel();
+                setSolverState(SolverState.Stopped);
+                listener.processStopped(this, problem);
+                return;
+            }
+        }
+
+        // Fourthly: start the external process or reuse a pooled one.
+        SolverProcessPool pool = SolverProcessPool.getInstance();
+        SolverProcessPool.Session session = null;
+        long start = System.currentTimeMillis();
         try {
-            processLauncher.launch(commands);
-            processLauncher.getPipe().sendMessage(type.modifyProblem(problemString));
-            // processLauncher.getPipe().sendEOF();
+            Pipe pipe;
+            if (pool.isEnabled() && preludeLength >= 0) {
+                session = pool.lease(type.getName(), commands, type.getDelimiters(),
+                    problemString.substring(0, preludeLength), solverCommunication);
+                pooledSession = session;
+                pipe = session;
+                pipe.sendMessage(type.modifyProblem(problemString.substring(preludeLength)));
+            } else {
+                processLauncher.launch(commands);
+                pipe = processLauncher.getPipe();
+                pipe.sendMessage(type.modifyProblem(problemString));
+            }
+            // pipe.sendEOF();
 
-            String msg = processLauncher.getPipe().readMessage();
+            String msg = pipe.readMessage();
             while (msg != null) {
-                socket.messageIncoming(processLauncher.getPipe(), msg);
-                msg = processLauncher.getPipe().readMessage();
+                socket.messageIncoming(pipe, msg);
+                msg = pipe.readMessage();
+            }
+            if (cacheKey != null && reasonOfInterruption == ReasonOfInterruption.NoInterruption) {
+                cache.store(cacheKey, solverCommunication, System.currentTimeMillis() - start);
             }
         } catch (IllegalStateException | IOException | InterruptedException e) {
             interruptionOccurred(e);
@@ -283,20 +339,27 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             solverTimeout.cancel();
             setSolverState(SolverState.Stopped);
             listener.processStopped(this, problem);
-            processLauncher.stop();
+            if (session != null) {
+                session.release();
+            } else {
+                processLauncher.stop();
+            }
         }
     }
 
     private void interruptionOccurred(Throwable e) {
         ReasonOfInterruption reason = getReasonOfInterruption();
-        setReasonOfInterruption(ReasonOfInterruption.Exception, e);
+        if (reason != ReasonOfInterruption.Preempted) {
+            // reading from the stopped process of a preempted solver is expected to fail
+            setReasonOfInterruption(ReasonOfInterruption.Exception, e);
+        }
         switch (reason) {
         case Exception, NoInterruption -> {
             setReasonOfInterruption(ReasonOfInterruption.Exception, e);
             listener.processInterrupted(this, problem, e);
         }
         case Timeout -> listener.processTimeout(this, problem);
-        case User -> listener.processUser(this, problem);
+        case User, Preempted -> listener.processUser(this, problem);
         }
     }
 
@@ -342,6 +405,10 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             SMTTranslator trans = getType().createTranslator();
             problemString =
                 indent(trans.translateProblem(sequent, services, smtSettings).toString());
+            if (trans instanceof ModularSMTLib2Translator) {
+                preludeLength =
+                    problemString.indexOf(ModularSMTLib2Translator.DECLARATIONS_HEADER);
+            }
             if (trans instanceof AbstractSMTTranslator) {
                 // Since taclet translation in the old form is no longer used,
                 // this will likely disappear.
@@ -367,6 +434,10 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             solverTimeout.cancel();
         }
         if (thread != null) {
+            SolverProcessPool.Session session = pooledSession;
+            if (session != null) {
+                session.close();
+            }
             processLauncher.stop();
             thread.interrupt();
         }
@@ -10,6 +10,8 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
+import de.uka.ilkd.key.smt.SMTSolver.SolverState;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 
 /**
@@ -71,6 +73,13 @@ import de.uka.ilkd.key.smt.solvertypes.SolverType;
  * </pre>
  *
  * <br>
+ * If {@link SMTSettings#usePortfolio()} is set, the solvers of a problem race against each other:
+ * Once a solver has found a definite result for a problem, the other solvers of the problem are
+ * stopped (or not started at all) with {@link ReasonOfInterruption#Preempted}, which frees their
+ * slots (see {@link SMTSettings#getMaxConcurrentProcesses()}) for the solvers of the next
+ * problems. Since the solvers are started problem by problem, the solvers of a problem run
+ * concurrently if there are enough slots.<br>
+ * <br>
  * NOTE: In case that you add at least one listener to a launcher no exception is thrown when a
  * solver produces an error. The exceptions of the solvers are stored within the solver object and
  * can be accessed by <code>solver.getException</code>.
@@ -252,6 +261,11 @@ public class SolverLauncher implements SolverListener {
         while (startNextSolvers(solvers) && !isInterrupted()) {
             SMTSolver solver = solvers.poll();
             Objects.requireNonNull(solver);
+            if (solver.getState() != SolverState.Waiting) {
+                // preempted by another solver of the same problem
+                session.addFinishedSolver(solver);
+                continue;
+            }
 
             SolverTimeout solverTimeout = new SolverTimeout(solver, session);
             timer.schedule(solverTimeout, solver.getTimeout(), PERIOD);
@@ -401,9 +415,34 @@ public class SolverLauncher implements SolverListener {
     public void processStarted(SMTSolver solver, SMTProblem problem) {
     }
 
+    /**
+     * Stops the other solvers of a problem if the given solver has found a definite result.
+     */
+    private void preemptOtherSolvers(SMTSolver winner, SMTProblem problem) {
+        SMTSolverResult result = winner.getFinalResult();
+        if (result == null || result.isValid() == ThreeValuedTruth.UNKNOWN) {
+            return;
+        }
+        // the launcher lock ensures that no solver of the problem is started meanwhile
+        lock.lock();
+        try {
+            for (SMTSolver solver : problem.getSolvers()) {
+                if (solver != winner && solver.getState() != SolverState.Stopped) {
+                    session.removeCurrentlyRunning(solver);
+                    solver.interrupt(ReasonOfInterruption.Preempted);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public void processStopped(SMTSolver solver, SMTProblem problem) {
         session.addFinishedSolver(solver);
+        if (settings.usePortfolio()) {
+            preemptOtherSolvers(solver, problem);
+        }
         notifySolverHasFinished(solver);
     }
 
@@ -88,4 +88,12 @@ public class ExternalProcessLauncher {
     public Pipe getPipe() {
         return pipe;
     }
+
+    SimplePipe getSimplePipe() {
+        return pipe;
+    }
+
+    boolean isAlive() {
+        return process != null && process.isAlive();
+    }
 }
@@ -26,9 +26,10 @@ public class SimplePipe implements Pipe {
     private final @NonNull BufferedMessageReader reader;
 
     /**
-     *
+     * The store of the messages sent to and received from the process. Processes kept in the
+     * {@link SolverProcessPool} are attached to the communication of the goal they currently solve.
      */
-    private final @NonNull SolverCommunication session;
+    private @NonNull SolverCommunication session;
 
     /**
      * The process this pipe is attached to.
@@ -93,6 +94,18 @@ public class SimplePipe implements Pipe {
         return stdout.toString();
     }
 
+    /**
+     * Attaches this pipe to another communication and forgets the messages captured so far. Used
+     * when a process is reused for another problem.
+     *
+     * @param session the message list where to log the messages to from now on
+     */
+    void reattach(@NonNull SolverCommunication session) {
+        this.session = session;
+        stdin.getBuffer().setLength(0);
+        stdout.getBuffer().setLength(0);
+    }
+
     @Override
     public void sendMessage(@NonNull String message) throws IOException {
         try {
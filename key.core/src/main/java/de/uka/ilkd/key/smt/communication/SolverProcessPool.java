@@ -0,0 +1,326 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps external solver processes alive between problems.
+ *
+ * <p>
+ * A pooled process is started with a prelude (the part of the SMT problem that is identical for
+ * all goals, i.e., the static preamble of the translator with the solver options and the
+ * definitions of the KeY theories), which is sent only once. The declarations of the sorts of the
+ * Java type hierarchy and their axioms depend on the sorts occurring in a goal and are therefore
+ * part of the problem sent for each goal. Every
+ * problem is then solved in a {@link Session} that wraps it into a <code>(push 1)</code> /
+ * <code>(pop 1)</code> scope. The session replaces the <code>(exit)</code> command the solver
+ * sockets send after the result has been read by popping the scope, so that the sockets do not
+ * have to know whether they talk to a pooled process. A process is only reused if its session
+ * ended cleanly; after errors, timeouts or user interruptions it is destroyed.
+ * </p>
+ *
+ * <p>
+ * The number of processes per solver type (running or idle) is bounded by the system property
+ * {@value #SIZE_PROPERTY} (the number of available processors by default). Pooling is disabled
+ * by default and enabled with <code>-D{@value #ENABLED_PROPERTY}=true</code>.
+ * </p>
+ */
+public final class SolverProcessPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverProcessPool.class);
+
+    /** system property to enable or disable pooling of solver processes */
+    public static final String ENABLED_PROPERTY = "key.smt.pool";
+
+    /** system property to set the maximal number of processes per solver type */
+    public static final String SIZE_PROPERTY = "key.smt.pool.size";
+
+    /** the text echoed by the solver when the scope of a session has been closed */
+    private static final String END_MARKER = "key-scope-closed";
+
+    private static final String END_COMMANDS = "(pop 1)\n(echo \"" + END_MARKER + "\")";
+
+    private static final SolverProcessPool INSTANCE = new SolverProcessPool(
+        Boolean.getBoolean(ENABLED_PROPERTY),
+        Integer.getInteger(SIZE_PROPERTY, Runtime.getRuntime().availableProcessors()));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(INSTANCE::shutdown, "SolverProcessPool-shutdown"));
+    }
+
+    private final boolean enabled;
+    private final int size;
+
+    /** the processes per solver type */
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    /** the number of processes started so far */
+    private final AtomicInteger started = new AtomicInteger();
+
+    /**
+     * The processes of one solver type.
+     *
+     * @param permits bounds the number of processes in use
+     * @param idle the processes waiting for the next session
+     */
+    private record Slot(Semaphore permits, Deque<PooledProcess> idle) {
+    }
+
+    /**
+     * A running solver process and the prelude it has been initialized with.
+     */
+    private static final class PooledProcess {
+        private final ExternalProcessLauncher launcher;
+        private final String[] command;
+        private final String prelude;
+
+        private PooledProcess(ExternalProcessLauncher launcher, String[] command,
+                String prelude) {
+            this.launcher = launcher;
+            this.command = command;
+            this.prelude = prelude;
+        }
+
+        private boolean fits(String[] command, String prelude) {
+            return Arrays.equals(this.command, command) && this.prelude.equals(prelude);
+        }
+    }
+
+    /**
+     * Creates a new pool. Normally, the shared instance {@link #getInstance()} is used.
+     *
+     * @param enabled whether processes are pooled at all
+     * @param size the maximal number of processes per solver type
+     */
+    SolverProcessPool(boolean enabled, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + size);
+        }
+        this.enabled = enabled;
+        this.size = size;
+    }
+
+    public static SolverProcessPool getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of solver processes started by this pool so far
+     */
+    public int getStartedProcesses() {
+        return started.get();
+    }
+
+    /**
+     * Opens a session on a process of the given solver type. An idle process started with the
+     * same command and prelude is reused, otherwise a new process is started. Blocks while all
+     * processes of the solver type are in use.
+     *
+     * @param solverName the name of the solver type
+     * @param command the command (program and arguments) starting the solver
+     * @param delimiters the delimiters separating the messages of the solver
+     * @param prelude the commands shared by all problems of the process
+     * @param communication the store for the messages of the new session
+     * @return the session, which has to be {@link Session#release() released} in any case
+     * @throws IOException if the process cannot be started or rejects the prelude
+     * @throws InterruptedException if interrupted while waiting for a process
+     */
+    public Session lease(String solverName, String[] command, String[] delimiters,
+            String prelude, SolverCommunication communication)
+            throws IOException, InterruptedException {
+        final Slot slot = slots.computeIfAbsent(solverName,
+            k -> new Slot(new Semaphore(size), new ArrayDeque<>()));
+        slot.permits().acquire();
+        try {
+            PooledProcess process = null;
+            synchronized (slot) {
+                while (process == null && !slot.idle().isEmpty()) {
+                    final PooledProcess candidate = slot.idle().poll();
+                    if (candidate.launcher.isAlive() && candidate.fits(command, prelude)) {
+                        process = candidate;
+                    } else {
+                        candidate.launcher.stop();
+                    }
+                }
+            }
+            if (process == null) {
+                process = start(command, delimiters, prelude);
+            }
+            final SimplePipe pipe = process.launcher.getSimplePipe();
+            pipe.reattach(communication);
+            final Session session = new Session(slot, process);
+            pipe.sendMessage("(push 1)");
+            return session;
+        } catch (IOException | RuntimeException e) {
+            slot.permits().release();
+            throw e;
+        }
+    }
+
+    private PooledProcess start(String[] command, String[] delimiters, String prelude)
+            throws IOException, InterruptedException {
+        final ExternalProcessLauncher launcher =
+            new ExternalProcessLauncher(new SolverCommunication(), delimiters);
+        launcher.launch(command);
+        started.incrementAndGet();
+        try {
+            final Pipe pipe = launcher.getPipe();
+            pipe.sendMessage(prelude);
+            pipe.sendMessage("(echo \"" + END_MARKER + "\")");
+            String msg = pipe.readMessage();
+            while (msg != null && !msg.contains(END_MARKER)) {
+                if (msg.startsWith("(error") && !msg.contains("WARNING:")) {
+                    throw new IOException("Solver rejected the prelude: " + msg);
+                }
+                msg = pipe.readMessage();
+            }
+            if (msg == null) {
+                throw new IOException("Solver terminated while reading the prelude");
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            launcher.stop();
+            throw e;
+        }
+        LOGGER.debug("Started pooled solver process {}", String.join(" ", command));
+        return new PooledProcess(launcher, command, prelude);
+    }
+
+    /**
+     * Destroys all idle processes. Processes in use are destroyed when their session is released.
+     */
+    public void shutdown() {
+        for (Slot slot : slots.values()) {
+            synchronized (slot) {
+                for (PooledProcess process : slot.idle()) {
+                    process.launcher.stop();
+                }
+                slot.idle().clear();
+            }
+        }
+    }
+
+    /**
+     * The communication with a pooled process for a single problem.
+     */
+    public final class Session implements Pipe {
+        private final Slot slot;
+        private final PooledProcess process;
+        private final SimplePipe pipe;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /** whether the scope of the problem has been closed */
+        private volatile boolean ending;
+
+        /** whether the solver has confirmed the end of the scope */
+        private volatile boolean ended;
+
+        /** whether the process has to be destroyed */
+        private volatile boolean broken;
+
+        private Session(Slot slot, PooledProcess process) {
+            this.slot = slot;
+            this.process = process;
+            this.pipe = process.launcher.getSimplePipe();
+        }
+
+        @Override
+        public void sendMessage(@NonNull String message) throws IOException {
+            if (message.trim().equals("(exit)")) {
+                if (!ending) {
+                    ending = true;
+                    pipe.sendMessage(END_COMMANDS);
+                }
+                return;
+            }
+            if (ending) {
+                // commands after the end of the scope would corrupt the process
+                broken = true;
+            }
+            pipe.sendMessage(message);
+        }
+
+        @Override
+        public @Nullable String readMessage() throws IOException, InterruptedException {
+            if (ended) {
+                return null;
+            }
+            final String msg;
+            try {
+                msg = pipe.readMessage();
+            } catch (IOException | InterruptedException e) {
+                broken = true;
+                throw e;
+            }
+            if (msg == null) {
+                broken = true;
+                return null;
+            }
+            if (ending && msg.contains(END_MARKER)) {
+                ended = true;
+                return null;
+            }
+            return msg;
+        }
+
+        @Override
+        public @NonNull SolverCommunication getSolverCommunication() {
+            return pipe.getSolverCommunication();
+        }
+
+        /**
+         * Destroys the process, e.g., if the solver has been interrupted.
+         */
+        @Override
+        public void close() {
+            broken = true;
+            process.launcher.stop();
+        }
+
+        @Override
+        public void sendEOF() {
+            // the process cannot be reused without its input stream
+            broken = true;
+            pipe.sendEOF();
+        }
+
+        /**
+         * Ends the session. The process is returned to the pool if the problem has been solved
+         * without errors, otherwise it is destroyed.
+         */
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (ended && !broken && process.launcher.isAlive()) {
+                    synchronized (slot) {
+                        slot.idle().push(process);
+                    }
+                } else {
+                    process.launcher.stop();
+                }
+            } finally {
+                slot.permits().release();
+            }
+        }
+    }
+}
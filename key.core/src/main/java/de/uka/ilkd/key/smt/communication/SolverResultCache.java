@@ -0,0 +1,355 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.settings.PathConfig;
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+import de.uka.ilkd.key.smt.VersionChecker;
+import de.uka.ilkd.key.smt.communication.SolverCommunication.Message;
+import de.uka.ilkd.key.smt.communication.SolverCommunication.MessageType;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the results of external solver runs on disk, so that a problem that has been solved
+ * before (e.g., when a proof is re-run or a proof containing SMT rule applications is replayed)
+ * does not have to be sent to the solver again.
+ *
+ * <p>
+ * A result is identified by a SHA-256 hash of the solver name, command line and version, the
+ * timeout and the SMT problem. Only results of runs that have not been interrupted are stored.
+ * Besides the result (sat/unsat/unknown), an entry contains the time the solver needed and the
+ * output of the solver, from which, e.g., unsat cores are read.
+ * </p>
+ *
+ * <p>
+ * The cache is disabled by default and enabled with <code>-D{@value #ENABLED_PROPERTY}=true</code>.
+ * The results are then stored in the directory <code>smtResults</code> in the KeY configuration
+ * directory, one file per problem. The store is bounded: entries that have not been used for 30
+ * days are dropped, and if there are more than 10000 entries, the least recently used ones are
+ * evicted. The bounds can be changed with <code>-D{@value #MAX_AGE_DAYS_PROPERTY}</code> and
+ * <code>-D{@value #MAX_ENTRIES_PROPERTY}</code>.
+ * </p>
+ */
+public final class SolverResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverResultCache.class);
+
+    /** system property to enable or disable the result cache */
+    public static final String ENABLED_PROPERTY = "key.smt.resultCache";
+
+    /** system property for the maximal number of stored results */
+    public static final String MAX_ENTRIES_PROPERTY = "key.smt.resultCache.maxEntries";
+
+    /** system property for the number of days after which an unused result is dropped */
+    public static final String MAX_AGE_DAYS_PROPERTY = "key.smt.resultCache.maxAgeDays";
+
+    /** the number of stored results after which the store is checked for entries to evict */
+    private static final int EVICTION_INTERVAL = 100;
+
+    private static final int MAGIC = 0x4B655352; // "KeSR"
+    private static final int VERSION = 1;
+
+    private static final SolverResultCache INSTANCE = new SolverResultCache(
+        Boolean.getBoolean(ENABLED_PROPERTY)
+                ? new File(PathConfig.getKeyConfigDir(), "smtResults")
+                : null);
+
+    /** the directory containing the results, null if the cache is disabled */
+    private volatile @Nullable File directory;
+
+    /** the maximal number of stored results */
+    private volatile int maxEntries = Integer.getInteger(MAX_ENTRIES_PROPERTY, 10000);
+
+    /** the time in milliseconds after which an unused result is dropped */
+    private volatile long maxAgeMillis =
+        TimeUnit.DAYS.toMillis(Integer.getInteger(MAX_AGE_DAYS_PROPERTY, 30));
+
+    /** the number of results stored since the store has been checked for entries to evict */
+    private final AtomicInteger storesSinceEviction = new AtomicInteger();
+
+    /** set while the store is checked for entries to evict */
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /** the versions of the solver commands, empty if the version cannot be determined */
+    private final Map<String, Optional<String>> versions = new ConcurrentHashMap<>();
+
+    /**
+     * A stored result.
+     *
+     * @param result the result of the solver
+     * @param durationMillis the time needed by the solver in milliseconds
+     * @param output the output of the solver (output and error messages)
+     */
+    public record Entry(ThreeValuedTruth result, long durationMillis, List<Message> output) {
+    }
+
+    private SolverResultCache(@Nullable File directory) {
+        this.directory = directory;
+    }
+
+    public static SolverResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the directory in which the results are stored.
+     *
+     * @param directory the directory or null to disable the cache
+     */
+    public void setDirectory(@Nullable File directory) {
+        this.directory = directory;
+        // the new directory is checked with the next stored result
+        storesSinceEviction.set(EVICTION_INTERVAL);
+    }
+
+    /**
+     * Sets the bounds of the store. They are enforced when the next result is stored.
+     *
+     * @param maxEntries the maximal number of stored results
+     * @param maxAgeMillis the time in milliseconds after which an unused result is dropped
+     */
+    public void setBounds(int maxEntries, long maxAgeMillis) {
+        this.maxEntries = maxEntries;
+        this.maxAgeMillis = maxAgeMillis;
+        storesSinceEviction.set(EVICTION_INTERVAL);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Computes the key under which the result of a solver run is stored.
+     *
+     * @param type the solver type
+     * @param command the command (program and arguments) starting the solver
+     * @param timeout the timeout of the run in milliseconds
+     * @param problem the problem sent to the solver
+     * @return the key or null if the version of the solver cannot be determined
+     */
+    public @Nullable String key(SolverType type, String[] command, long timeout,
+            String problem) {
+        final String version = versionOf(type);
+        if (version == null) {
+            return null;
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, type.getName());
+            for (String part : command) {
+                update(digest, part);
+            }
+            update(digest, version);
+            update(digest, Long.toString(timeout));
+            update(digest, problem);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String part) {
+        digest.update(part.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private @Nullable String versionOf(SolverType type) {
+        final String command = type.getSolverCommand() + " " + type.getVersionParameter();
+        return versions.computeIfAbsent(command, c -> {
+            try {
+                return Optional.ofNullable(VersionChecker.INSTANCE
+                        .getVersionFor(type.getSolverCommand(), type.getVersionParameter()));
+            } catch (RuntimeException e) {
+                LOGGER.debug("Cannot determine the version of {}", c, e);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    private @Nullable File fileOf(String key) {
+        final File dir = directory;
+        return dir == null ? null : new File(new File(dir, key.substring(0, 2)), key);
+    }
+
+    /**
+     * Looks up a stored result.
+     *
+     * @param key the key of the run
+     * @return the stored result or null if there is none
+     */
+    public @Nullable Entry lookup(String key) {
+        final File file = fileOf(key);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        final long now = System.currentTimeMillis();
+        if (now - file.lastModified() > maxAgeMillis) {
+            delete(file);
+            return null;
+        }
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(key)) {
+                return null;
+            }
+            final ThreeValuedTruth result = ThreeValuedTruth.valueOf(in.readUTF());
+            final long duration = in.readLong();
+            final int count = in.readInt();
+            final List<Message> output = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final MessageType type = MessageType.valueOf(in.readUTF());
+                final byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                output.add(new Message(new String(content, StandardCharsets.UTF_8), type));
+            }
+            // the modification time is the time of the last use, which determines the eviction
+            file.setLastModified(now);
+            return new Entry(result, duration, output);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.debug("Failed to read solver result {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Looks up a stored result and replays it into a solver communication.
+     *
+     * @param key the key of the run
+     * @param communication the communication of the solver
+     * @param solverName the name of the solver reported in the result
+     * @return the stored result or null if there is none
+     */
+    public @Nullable Entry restore(String key, SolverCommunication communication,
+            String solverName) {
+        final Entry entry = lookup(key);
+        if (entry != null) {
+            for (Message message : entry.output()) {
+                communication.addMessage(message.content(), message.type());
+            }
+            communication.setFinalResult(switch (entry.result()) {
+            case VALID -> SMTSolverResult.createValidResult(solverName);
+            case FALSIFIABLE -> SMTSolverResult.createInvalidResult(solverName);
+            case UNKNOWN -> SMTSolverResult.createUnknownResult(solverName, false);
+            });
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the result of a finished solver run. Nothing is stored if the solver has not
+     * produced a result.
+     *
+     * @param key the key of the run
+     * @param communication the communication of the solver
+     * @param durationMillis the time needed by the solver in milliseconds
+     */
+    public void store(String key, SolverCommunication communication, long durationMillis) {
+        final File file = fileOf(key);
+        final SMTSolverResult result = communication.getFinalResult();
+        if (file == null || result == SMTSolverResult.NO_IDEA) {
+            return;
+        }
+        final List<Message> output = new ArrayList<>();
+        communication.getOutMessages().forEach(output::add);
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            final File tmp = File.createTempFile(key, ".tmp", file.getParentFile());
+            try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeUTF(result.isValid().name());
+                out.writeLong(durationMillis);
+                out.writeInt(output.size());
+                for (Message message : output) {
+                    out.writeUTF(message.type().name());
+                    final byte[] content = message.content().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(content.length);
+                    out.write(content);
+                }
+            }
+            // concurrent runs may store the same result, the last one wins
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store solver result {}", file, e);
+        }
+        if (storesSinceEviction.incrementAndGet() >= EVICTION_INTERVAL) {
+            evict();
+        }
+    }
+
+    /**
+     * Drops the results that have not been used for too long and, if there are still too many,
+     * the least recently used ones. Does nothing if another thread is already evicting.
+     */
+    private void evict() {
+        final File dir = directory;
+        if (dir == null || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            storesSinceEviction.set(0);
+            final long now = System.currentTimeMillis();
+            final List<File> files = new ArrayList<>();
+            final Map<File, Long> lastUse = new HashMap<>();
+            final File[] buckets = dir.listFiles(File::isDirectory);
+            for (File bucket : buckets == null ? new File[0] : buckets) {
+                // files being written by concurrent runs are skipped
+                final File[] entries =
+                    bucket.listFiles(f -> f.isFile() && !f.getName().endsWith(".tmp"));
+                for (File file : entries == null ? new File[0] : entries) {
+                    final long modified = file.lastModified();
+                    if (now - modified > maxAgeMillis) {
+                        delete(file);
+                    } else {
+                        files.add(file);
+                        lastUse.put(file, modified);
+                    }
+                }
+            }
+            final int excess = files.size() - maxEntries;
+            if (excess > 0) {
+                files.sort(Comparator.comparing(lastUse::get));
+                for (File file : files.subList(0, excess)) {
+                    delete(file);
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LOGGER.debug("Failed to delete solver result {}", file, e);
+        }
+    }
+}
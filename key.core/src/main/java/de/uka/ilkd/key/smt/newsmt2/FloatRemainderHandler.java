@@ -66,6 +66,7 @@ public class FloatRemainderHandler implements SMTHandler {
 
         SExpr alreadySeen = map.get(term);
         if (alreadySeen != null) {
+            trans.useSymbol(alreadySeen.getName());
             return alreadySeen;
         }
 
@@ -88,6 +89,7 @@ public class FloatRemainderHandler implements SMTHandler {
         SExpr abbr = new SExpr(name, type);
         SExpr e = new SExpr("declare-const", abbr, new SExpr(smtType));
         trans.addDeclaration(e);
+        trans.recordSymbol(name);
         map.put(term, abbr);
         return abbr;
     }
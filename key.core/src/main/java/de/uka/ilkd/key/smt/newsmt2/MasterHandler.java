@@ -25,6 +25,8 @@ import org.key_project.logic.Term;
 import org.key_project.logic.op.Operator;
 import org.key_project.logic.sort.Sort;
 
+import org.jspecify.annotations.Nullable;
+
 /**
  * Instances of this class are the controlling units of the translation. They control how the
  * translation is delegated to different {@link SMTHandler}s and collects the translations.
@@ -73,6 +75,34 @@ public class MasterHandler {
      */
     private final Map<Operator, SMTHandler> handlerMap = new IdentityHashMap<>();
 
+    /**
+     * The footprint of the formula currently translated, null if footprints are not recorded (see
+     * {@link SMTTranslationCache}).
+     */
+    private @Nullable Footprint footprint;
+
+    /** The footprints of the formulas whose translation introduced a symbol */
+    private final Map<String, Footprint> symbolOrigins = new HashMap<>();
+
+    /**
+     * The declarations, axioms and sorts needed by the translation of a formula. Symbols introduced
+     * by the translation of another formula are represented by a dependency on its footprint.
+     * Declarations and axioms added when the handlers are initialized are not part of any
+     * footprint.
+     */
+    static final class Footprint {
+        /** the indices of the declarations added for the formula */
+        final List<Integer> declarations = new ArrayList<>();
+        /** the indices of the axioms added for the formula */
+        final List<Integer> axioms = new ArrayList<>();
+        /** the sorts added for the formula */
+        final Set<Sort> sorts = new HashSet<>();
+        /** the footprints of the formulas introducing symbols used by the formula */
+        final Set<Footprint> dependencies = new HashSet<>();
+        /** the exceptions that occurred while translating the formula */
+        final List<Throwable> exceptions = new ArrayList<>();
+    }
+
     /**
      * Create a new handler with the default set of smt handlers.
      *
@@ -200,6 +230,26 @@ public class MasterHandler {
         }
     }
 
+    /**
+     * Translates a formula like {@link #translate(Term, Type)} and records what the translation
+     * needs.
+     *
+     * @param formula the non-null formula to translate
+     * @param footprint the footprint to record the needed declarations, axioms and sorts in
+     * @return the S-Expression representing the translation
+     */
+    SExpr translate(Term formula, Footprint footprint) {
+        assert this.footprint == null : "Nested footprints";
+        int exceptionCount = exceptions.size();
+        this.footprint = footprint;
+        try {
+            return translate(formula, Type.BOOL);
+        } finally {
+            this.footprint = null;
+            footprint.exceptions.addAll(exceptions.subList(exceptionCount, exceptions.size()));
+        }
+    }
+
     /**
      * If no handler can handle a term, it is taken care of here.
      *
@@ -208,11 +258,14 @@ public class MasterHandler {
      */
     private SExpr handleAsUnknownValue(Term problem) {
         if (unknownValues.containsKey(problem)) {
-            return unknownValues.get(problem);
+            SExpr abbr = unknownValues.get(problem);
+            useSymbol(abbr.getName());
+            return abbr;
         }
         int number = unknownValues.size();
         SExpr translation;
         SExpr abbr = new SExpr("unknown_" + number, Type.UNIVERSE);
+        recordSymbol(abbr.getName());
         var freeVars = problem.freeVars();
         if (freeVars.isEmpty()) {
             // simple case: unknown value does not depend on anything else
@@ -289,14 +342,58 @@ public class MasterHandler {
      * @return true iff the name is already known
      */
     boolean isKnownSymbol(String pr) {
-        return knownSymbols.contains(pr);
+        if (knownSymbols.contains(pr)) {
+            useSymbol(pr);
+            return true;
+        }
+        return false;
     }
 
     void addKnownSymbol(String symbol) {
         assert !knownSymbols.contains(symbol) : symbol + " already known";
         knownSymbols.add(symbol);
+        recordSymbol(symbol);
     }
 
+    /**
+     * Records that the declarations and axioms of a symbol are added by the translation of the
+     * current formula. Handlers that keep their own tables of introduced symbols have to call this
+     * method when they introduce a symbol.
+     *
+     * @param symbol the SMT name of the symbol
+     */
+    void recordSymbol(String symbol) {
+        if (footprint != null) {
+            symbolOrigins.put(symbol, footprint);
+        }
+    }
+
+    /**
+     * Records that the current formula uses a symbol introduced before. Handlers that keep their
+     * own tables of introduced symbols have to call this method when they reuse a symbol.
+     *
+     * @param symbol the SMT name of the symbol
+     */
+    void useSymbol(String symbol) {
+        if (footprint != null) {
+            Footprint origin = symbolOrigins.get(symbol);
+            if (origin != null && origin != footprint) {
+                footprint.dependencies.add(origin);
+            }
+        }
+    }
+
+    /**
+     * @param symbol the SMT name of a symbol
+     * @return the footprint of the formula whose translation introduced the symbol, null if the
+     *         symbol has not been introduced while recording a footprint
+     */
+    @Nullable
+    Footprint getOrigin(String symbol) {
+        return symbolOrigins.get(symbol);
+    }
+
+
     public List<Throwable> getExceptions() {
         return exceptions;
     }
@@ -333,10 +430,16 @@ public class MasterHandler {
     }
 
     void addDeclaration(Writable decl) {
+        if (footprint != null) {
+            footprint.declarations.add(declarations.size());
+        }
         declarations.add(decl);
     }
 
     void addAxiom(Writable decl) {
+        if (footprint != null) {
+            footprint.axioms.add(axioms.size());
+        }
         axioms.add(decl);
     }
 
@@ -346,6 +449,9 @@ public class MasterHandler {
 
     public void addSort(Sort s) {
         sorts.add(s);
+        if (footprint != null) {
+            footprint.sorts.add(s);
+        }
     }
 
     public Set<Sort> getSorts() {
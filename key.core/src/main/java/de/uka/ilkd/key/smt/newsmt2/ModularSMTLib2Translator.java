@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.TermBuilder;
@@ -52,6 +53,12 @@ public class ModularSMTLib2Translator implements SMTTranslator {
      */
     private static final String GET_UNSAT_CORE = "getUnsatCore";
 
+    /**
+     * The comment separating the preamble, which is the same for all problems of a translator,
+     * from the problem specific declarations.
+     */
+    public static final String DECLARATIONS_HEADER = "; --- Declarations";
+
     /**
      * The smt preamble prepended to smt problems that are created with this translator.
      */
@@ -107,6 +114,19 @@ public class ModularSMTLib2Translator implements SMTTranslator {
 
     @Override
     public CharSequence translateProblem(Sequent sequent, Services services, SMTSettings settings) {
+        SMTTranslationCache.Context context =
+            SMTTranslationCache.getContext(services, settings, handlerNames, handlerOptions);
+        List<Term> sequentAsserts = getTermsFromSequent(sequent, services);
+        if (context != null) {
+            SMTTranslationCache.Problem problem;
+            try {
+                problem = context.translate(sequentAsserts);
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+            return makeProblem(problem.declarations(), problem.axioms(), problem.assertions(),
+                problem.unknownValues(), problem.exceptions());
+        }
 
         MasterHandler master;
         try {
@@ -115,24 +135,29 @@ public class ModularSMTLib2Translator implements SMTTranslator {
             throw new RuntimeException(ex);
         }
 
-        List<Term> sequentAsserts = getTermsFromSequent(sequent, services);
         List<SExpr> sequentSMTAsserts = makeSMTAsserts(master, sequentAsserts);
+        extractSortDeclarations(services, master);
+        return makeProblem(master.getDeclarations(), master.getAxioms(), sequentSMTAsserts,
+            master.getUnknownValues(), master.getExceptions());
+    }
 
+    private CharSequence makeProblem(List<Writable> declarations, List<Writable> axioms,
+            List<SExpr> sequentSMTAsserts, Map<Term, SExpr> unknownValues,
+            List<Throwable> exceptions) {
         StringBuilder sb = new StringBuilder();
 
         sb.append("; --- Preamble\n");
         sb.append(preamble);
         sb.append(System.lineSeparator());
 
-        sb.append("; --- Declarations\n");
-        extractSortDeclarations(services, master);
-        for (Writable decl : master.getDeclarations()) {
+        sb.append(DECLARATIONS_HEADER).append("\n");
+        for (Writable decl : declarations) {
             decl.appendTo(sb);
             sb.append("\n");
         }
 
         sb.append("\n; --- Axioms\n");
-        for (Writable ax : master.getAxioms()) {
+        for (Writable ax : axioms) {
             ax.appendTo(sb);
             sb.append("\n");
         }
@@ -153,16 +178,15 @@ public class ModularSMTLib2Translator implements SMTTranslator {
 
         sb.append("\n(check-sat)");
 
-        if (!master.getUnknownValues().isEmpty()) {
+        if (!unknownValues.isEmpty()) {
             sb.append("\n\n; --- Translation of unknown values\n");
-            for (Term t : master.getUnknownValues().keySet()) {
-                sb.append("; ").append(master.getUnknownValues().get(t).toString()).append(" :  ")
+            for (Term t : unknownValues.keySet()) {
+                sb.append("; ").append(unknownValues.get(t).toString()).append(" :  ")
                         .append(t.toString().replace("\n", "")).append("\n");
             }
         }
 
         // any exceptions?
-        List<Throwable> exceptions = master.getExceptions();
         for (Throwable t : exceptions) {
             sb.append("\n; ").append(t.toString().replace("\n", "\n;"));
             LOGGER.warn("Exception", t);
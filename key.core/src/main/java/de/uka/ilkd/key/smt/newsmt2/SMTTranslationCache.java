@@ -0,0 +1,298 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.newsmt2;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.smt.SMTSettings;
+import de.uka.ilkd.key.smt.newsmt2.MasterHandler.Footprint;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.Term;
+import org.key_project.logic.op.Operator;
+import org.key_project.logic.op.QuantifiableVariable;
+import org.key_project.logic.sort.Sort;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Caches the SMT translations of the formulas of a proof, so that the formulas a goal shares with
+ * goals translated before (e.g., its siblings after a split) are not translated again.
+ *
+ * <p>
+ * All goals of a proof translated with the same handlers and settings share one
+ * {@link MasterHandler}. The cache maps each formula to its translation and to the
+ * {@link Footprint} of the translation, i.e., the declarations, axioms and sorts it needs. The
+ * problem of a goal consists of the declarations and axioms of the footprints of its formulas and
+ * of the footprints they depend on, so only the symbols occurring in the goal are declared. The
+ * sort declarations and the type hierarchy are created for each goal from the sorts of its
+ * footprints.
+ * </p>
+ *
+ * <p>
+ * Since the handlers name SMT symbols after the KeY symbols, the shared handler is replaced if a
+ * goal contains a symbol that has the same name as a different symbol translated before (e.g.,
+ * Skolem constants introduced independently in two branches), if a translation fails, and if
+ * more than {@value #DEFAULT_MAX_FORMULAS} formulas (system property {@value #SIZE_PROPERTY})
+ * have been cached.
+ * </p>
+ *
+ * <p>
+ * Since the unknown values and abbreviations introduced by the shared handler are numbered across
+ * all goals, the problem of a goal depends on the goals translated before. The cache is therefore
+ * disabled by default and enabled with <code>-D{@value #ENABLED_PROPERTY}=true</code>.
+ * </p>
+ */
+final class SMTTranslationCache {
+    /** system property to enable or disable the cache */
+    static final String ENABLED_PROPERTY = "key.smt.translationCache";
+
+    /** system property to set the maximal number of formulas cached per shared handler */
+    static final String SIZE_PROPERTY = "key.smt.translationCache.size";
+
+    private static final int DEFAULT_MAX_FORMULAS = 10000;
+
+    private static final int MAX_FORMULAS =
+        Integer.getInteger(SIZE_PROPERTY, DEFAULT_MAX_FORMULAS);
+
+    /** the contexts of the proof by translator configuration */
+    private final Map<Key, Context> contexts = new HashMap<>();
+
+    private record Key(List<String> handlerNames, List<String> handlerOptions,
+            Map<String, String> settings) {
+    }
+
+    /**
+     * The translation of a single formula.
+     *
+     * @param smt the translated formula
+     * @param footprint what the translation needs
+     */
+    private record Translation(SExpr smt, Footprint footprint) {
+    }
+
+    /**
+     * The translation of the formulas of one goal.
+     *
+     * @param assertions the translations of the formulas (in the given order)
+     * @param declarations the needed declarations
+     * @param axioms the needed axioms
+     * @param unknownValues the terms translated as unknown values
+     * @param exceptions the exceptions that occurred during the translation
+     */
+    record Problem(List<SExpr> assertions, List<Writable> declarations, List<Writable> axioms,
+            Map<Term, SExpr> unknownValues, List<Throwable> exceptions) {
+    }
+
+    private SMTTranslationCache() {
+    }
+
+    /**
+     * Returns the translation context for a proof.
+     *
+     * @param services the services of the proof
+     * @param settings the settings of the translation
+     * @param handlerNames the names of the handlers
+     * @param handlerOptions the options of the handlers
+     * @return the context or null if translations cannot be cached, e.g., because the services do
+     *         not belong to a proof
+     */
+    static @Nullable Context getContext(Services services, SMTSettings settings,
+            String[] handlerNames, String[] handlerOptions) {
+        Proof proof = services.getProof();
+        if (!Boolean.getBoolean(ENABLED_PROPERTY) || proof == null || proof.isDisposed()
+                || proof.getServices() != services) {
+            return null;
+        }
+        Key key = new Key(List.of(handlerNames), List.of(handlerOptions),
+            Map.copyOf(settings.getNewSettings().getMap()));
+        synchronized (proof) {
+            SMTTranslationCache cache = proof.lookup(SMTTranslationCache.class);
+            if (cache == null) {
+                cache = new SMTTranslationCache();
+                proof.register(cache, SMTTranslationCache.class);
+            }
+            return cache.contexts.computeIfAbsent(key,
+                k -> new Context(services, settings, handlerNames, handlerOptions));
+        }
+    }
+
+    /**
+     * The shared master handler for one translator configuration and the translations made with
+     * it.
+     */
+    static final class Context {
+        private final Services services;
+        private final SMTSettings settings;
+        private final String[] handlerNames;
+        private final String[] handlerOptions;
+
+        private @Nullable MasterHandler master;
+        private int baseDeclarations;
+        private int baseAxioms;
+        private Set<Sort> baseSorts = Set.of();
+
+        /** the translations of the cached formulas */
+        private final Map<Term, Translation> formulas = new HashMap<>();
+
+        /** the operators and sorts of the cached formulas by name */
+        private final Map<Name, Object> symbols = new HashMap<>();
+
+        private Context(Services services, SMTSettings settings, String[] handlerNames,
+                String[] handlerOptions) {
+            this.services = services;
+            this.settings = settings;
+            this.handlerNames = Arrays.copyOf(handlerNames, handlerNames.length);
+            this.handlerOptions = Arrays.copyOf(handlerOptions, handlerOptions.length);
+        }
+
+        private void reset() throws IOException {
+            master = new MasterHandler(services, settings, handlerNames, handlerOptions);
+            baseDeclarations = master.getDeclarations().size();
+            baseAxioms = master.getAxioms().size();
+            baseSorts = new HashSet<>(master.getSorts());
+            formulas.clear();
+            symbols.clear();
+        }
+
+        /**
+         * @return the number of cached formulas
+         */
+        synchronized int size() {
+            return formulas.size();
+        }
+
+        /**
+         * Translates the formulas of a goal, reusing the translations of formulas translated
+         * before.
+         *
+         * @param goalFormulas the formulas of the goal
+         * @return the translation
+         * @throws IOException if the handlers cannot be loaded
+         */
+        synchronized Problem translate(List<Term> goalFormulas) throws IOException {
+            Map<Name, Object> newSymbols = new HashMap<>();
+            boolean clash = false;
+            for (Term formula : goalFormulas) {
+                if (!formulas.containsKey(formula)) {
+                    clash |= !collectSymbols(formula, newSymbols);
+                }
+            }
+            if (master == null || clash || formulas.size() + goalFormulas.size() > MAX_FORMULAS) {
+                reset();
+                newSymbols.clear();
+                for (Term formula : goalFormulas) {
+                    collectSymbols(formula, newSymbols);
+                }
+            }
+            symbols.putAll(newSymbols);
+            MasterHandler master = this.master;
+
+            List<SExpr> assertions = new ArrayList<>(goalFormulas.size());
+            List<Footprint> footprints = new ArrayList<>(goalFormulas.size());
+            List<Throwable> exceptions = new ArrayList<>();
+            for (Term formula : goalFormulas) {
+                Translation translation = formulas.get(formula);
+                if (translation == null) {
+                    Footprint footprint = new Footprint();
+                    translation = new Translation(master.translate(formula, footprint), footprint);
+                    if (footprint.exceptions.isEmpty()) {
+                        formulas.put(formula, translation);
+                    }
+                    exceptions.addAll(footprint.exceptions);
+                }
+                assertions.add(translation.smt());
+                footprints.add(translation.footprint());
+            }
+
+            Set<Footprint> needed = closure(footprints);
+            Set<Integer> declarationIndices = new TreeSet<>();
+            Set<Integer> axiomIndices = new TreeSet<>();
+            Set<Sort> sorts = new HashSet<>(baseSorts);
+            for (Footprint footprint : needed) {
+                declarationIndices.addAll(footprint.declarations);
+                axiomIndices.addAll(footprint.axioms);
+                sorts.addAll(footprint.sorts);
+            }
+            List<Writable> declarations =
+                new ArrayList<>(master.getDeclarations().subList(0, baseDeclarations));
+            for (int i : declarationIndices) {
+                declarations.add(master.getDeclarations().get(i));
+            }
+            List<Writable> axioms = new ArrayList<>(master.getAxioms().subList(0, baseAxioms));
+            for (int i : axiomIndices) {
+                axioms.add(master.getAxioms().get(i));
+            }
+            new TypeManager(services).handle(master, sorts, declarations::add, axioms::add);
+
+            Map<Term, SExpr> unknownValues = new LinkedHashMap<>();
+            for (Map.Entry<Term, SExpr> entry : master.getUnknownValues().entrySet()) {
+                if (needed.contains(master.getOrigin(entry.getValue().getName()))) {
+                    unknownValues.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            if (!exceptions.isEmpty()) {
+                // the state of the handlers is unknown after a failed translation
+                this.master = null;
+            }
+            return new Problem(assertions, declarations, axioms, unknownValues,
+                Collections.unmodifiableList(exceptions));
+        }
+
+        private static Set<Footprint> closure(List<Footprint> footprints) {
+            Set<Footprint> result = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<Footprint> todo = new ArrayDeque<>(footprints);
+            while (!todo.isEmpty()) {
+                Footprint footprint = todo.pop();
+                if (result.add(footprint)) {
+                    todo.addAll(footprint.dependencies);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Collects the operators and sorts of a formula by name.
+         *
+         * @return false iff a name of the formula denotes a different operator or sort than in
+         *         the cached formulas or the symbols collected so far
+         */
+        private boolean collectSymbols(Term term, Map<Name, Object> collected) {
+            boolean consistent = true;
+            Operator op = term.op();
+            if (!(op instanceof QuantifiableVariable)) {
+                consistent = register(op.name(), op, collected);
+            }
+            consistent &= register(term.sort().name(), term.sort(), collected);
+            for (Term sub : term.subs()) {
+                consistent &= collectSymbols(sub, collected);
+            }
+            return consistent;
+        }
+
+        private boolean register(Name name, Object symbol, Map<Name, Object> collected) {
+            Object known = symbols.get(name);
+            if (known == null) {
+                known = collected.putIfAbsent(name, symbol);
+            }
+            return known == null || known == symbol;
+        }
+    }
+}
@@ -82,6 +82,7 @@ public class SeqDefHandler implements SMTHandler {
 
         for (Entry<Term, SExpr> entry : seqDefMap.entrySet()) {
             if (RENAMING_TERM_PROPERTY.equalsModThisProperty(entry.getKey(), term)) {
+                trans.useSymbol(entry.getValue().getName());
                 return entry.getValue();
             }
         }
@@ -89,6 +90,7 @@ public class SeqDefHandler implements SMTHandler {
         int number = (int) state.getOrDefault("SEQDEF_COUNTER", 0) + 1;
         state.put("SEQDEF_COUNTER", number);
         String name = SEQ_DEF_PREFIX + number;
+        trans.recordSymbol(name);
 
         Set<ParsableVariable> vars = Collections.newSetFromMap(new LinkedHashMap<>());
         collectVars(term, vars, DefaultImmutableSet.nil());
@@ -45,7 +45,9 @@ public class SumProdHandler implements SMTHandler {
         if (op == bsumOp) {
             for (Term t : usedBsumTerms.keySet()) {
                 if (RENAMING_TERM_PROPERTY.equalsModThisProperty(t, term)) {
-                    return usedBsumTerms.get(t);
+                    SExpr known = usedBsumTerms.get(t);
+                    trans.useSymbol(known.getName());
+                    return known;
                 }
             }
             List<SExpr> exprs = new LinkedList<>();
@@ -53,13 +55,16 @@ public class SumProdHandler implements SMTHandler {
             exprs.add(SExprs.coerce(trans.translate(term.sub(1)), IntegerOpHandler.INT));
             String s = String.valueOf(usedBsumTerms.size());
             trans.addDeclaration(bsumOrProdDecl("bsum", s));
+            trans.recordSymbol("bsum" + s);
             SExpr ret = new SExpr("bsum" + s, IntegerOpHandler.INT, exprs);
             usedBsumTerms.put(term, ret);
             return ret;
         } else if (op == bprodOp) {
             for (Term t : usedBprodTerms.keySet()) {
                 if (RENAMING_TERM_PROPERTY.equalsModThisProperty(t, term)) {
-                    return usedBprodTerms.get(t);
+                    SExpr known = usedBprodTerms.get(t);
+                    trans.useSymbol(known.getName());
+                    return known;
                 }
             }
             List<SExpr> exprs = new LinkedList<>();
@@ -67,6 +72,7 @@ public class SumProdHandler implements SMTHandler {
             exprs.add(SExprs.coerce(trans.translate(term.sub(1)), IntegerOpHandler.INT));
             String s = String.valueOf(usedBprodTerms.size());
             trans.addDeclaration(bsumOrProdDecl("bprod", s));
+            trans.recordSymbol("bprod" + s);
             SExpr ret = new SExpr("bprod" + s, IntegerOpHandler.INT, exprs);
             usedBprodTerms.put(term, ret);
             return ret;
@@ -3,7 +3,6 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy;
 
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.ldt.BooleanLDT;
@@ -19,6 +18,8 @@ import de.uka.ilkd.key.logic.op.Quantifier;
 import de.uka.ilkd.key.logic.op.SortDependingFunction;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
 import de.uka.ilkd.key.rule.UseDependencyContractRule;
 import de.uka.ilkd.key.strategy.feature.*;
 import de.uka.ilkd.key.strategy.feature.findprefix.FindPrefixRestrictionFeature;
@@ -62,10 +63,6 @@ import org.jspecify.annotations.NonNull;
  * Strategy tailored to be used as long as a java program can be found in the sequent.
  */
 public class JavaCardDLStrategy extends AbstractFeatureStrategy {
-    public static final AtomicLong PERF_COMPUTE = new AtomicLong();
-    public static final AtomicLong PERF_APPROVE = new AtomicLong();
-    public static final AtomicLong PERF_INSTANTIATE = new AtomicLong();
-
     public static final String JAVA_CARD_DL_STRATEGY = "JavaCardDLStrategy";
 
     private static final int IN_EQ_SIMP_NON_LIN_COST = 1000;
@@ -102,7 +99,8 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
         approvalDispatcher = setupApprovalDispatcher();
         instantiationDispatcher = setupInstantiationF();
 
-        costComputationF = setupGlobalF(costComputationDispatcher);
+        costComputationF =
+            LocalCostCachingFeature.create(setupGlobalF(costComputationDispatcher));
         instantiationF = setupGlobalF(instantiationDispatcher);
         approvalF = add(setupApprovalF(), approvalDispatcher);
 
@@ -240,7 +238,7 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
         final IntegerLDT numbers = getServices().getTypeConverter().getIntegerLDT();
         final LocSetLDT locSetLDT = getServices().getTypeConverter().getLocSetLDT();
 
-        final RuleSetDispatchFeature d = new RuleSetDispatchFeature();
+        final RuleSetDispatchFeature d = new RuleSetDispatchFeature("cost");
 
         bindRuleSet(d, "semantics_blasting", inftyConst());
         bindRuleSet(d, "simplify_heap_high_costs", inftyConst());
@@ -1905,7 +1903,7 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     }
 
     private RuleSetDispatchFeature setupApprovalDispatcher() {
-        final RuleSetDispatchFeature d = new RuleSetDispatchFeature();
+        final RuleSetDispatchFeature d = new RuleSetDispatchFeature("approval");
         final IntegerLDT numbers = getServices().getTypeConverter().getIntegerLDT();
 
         if (arithNonLinInferences()) {
@@ -2014,7 +2012,7 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     private RuleSetDispatchFeature setupInstantiationF() {
         enableInstantiate();
 
-        final RuleSetDispatchFeature d = new RuleSetDispatchFeature();
+        final RuleSetDispatchFeature d = new RuleSetDispatchFeature("instantiation");
 
         setupQuantifierInstantiation(d);
 
@@ -2083,11 +2081,12 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             PosInOccurrence pio,
             Goal goal,
             MutableState mState) {
-        var time = System.nanoTime();
+        final ProofProfile profile = getProof().getProfile();
+        final long start = profile.start();
         try {
             return costComputationF.computeCost(app, pio, goal, mState);
         } finally {
-            PERF_COMPUTE.addAndGet(System.nanoTime() - time);
+            profile.stop(Category.FEATURE, "cost", start);
         }
     }
 
@@ -2103,12 +2102,13 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     @Override
     public final boolean isApprovedApp(RuleApp app,
             PosInOccurrence pio, Goal goal) {
-        var time = System.nanoTime();
+        final ProofProfile profile = getProof().getProfile();
+        final long start = profile.start();
         try {
             return !(approvalF.computeCost(app, pio, goal,
                 new MutableState()) == TopRuleAppCost.INSTANCE);
         } finally {
-            PERF_APPROVE.addAndGet(System.nanoTime() - time);
+            profile.stop(Category.FEATURE, "approval", start);
         }
     }
 
@@ -2116,11 +2116,12 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     protected RuleAppCost instantiateApp(RuleApp app,
             PosInOccurrence pio, Goal goal,
             MutableState mState) {
-        var time = System.nanoTime();
+        final ProofProfile profile = getProof().getProfile();
+        final long start = profile.start();
         try {
             return instantiationF.computeCost(app, pio, goal, mState);
         } finally {
-            PERF_INSTANTIATE.addAndGet(System.nanoTime() - time);
+            profile.stop(Category.FEATURE, "instantiation", start);
         }
     }
 
@@ -0,0 +1,171 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link RuleAppQueue} implemented as a binary heap in an array, which does not allocate when
+ * elements are added or removed (except for growing the array).
+ *
+ * <p>
+ * A {@link #snapshot()} shares the array with this queue until one of the queues is modified,
+ * which then copies the array. Hence, copying the queue of a goal that is split is cheap, and only
+ * the goals that are actually worked on pay for a copy.
+ * </p>
+ */
+@NullMarked
+final class MutableRuleAppQueue implements RuleAppQueue {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final RuleAppContainer[] EMPTY = new RuleAppContainer[0];
+
+    /** the heap, the children of index i are at 2i+1 and 2i+2 */
+    private @Nullable RuleAppContainer[] heap;
+
+    private int size;
+
+    /** true iff {@link #heap} may be shared with a snapshot and has to be copied on write */
+    private boolean shared;
+
+    MutableRuleAppQueue() {
+        this(EMPTY, 0);
+    }
+
+    private MutableRuleAppQueue(@Nullable RuleAppContainer[] heap, int size) {
+        this.heap = heap;
+        this.size = size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public RuleAppContainer findMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    @Override
+    public RuleAppContainer removeMin() {
+        final RuleAppContainer min = findMin();
+        prepareWrite(size);
+        size--;
+        final RuleAppContainer last = heap[size];
+        heap[size] = null;
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return min;
+    }
+
+    @Override
+    public void add(RuleAppContainer container) {
+        prepareWrite(size + 1);
+        siftUp(size, container);
+        size++;
+    }
+
+    @Override
+    public void addAll(RuleAppQueue other) {
+        prepareWrite(size + other.size());
+        for (RuleAppContainer container : other) {
+            siftUp(size, container);
+            size++;
+        }
+    }
+
+    /**
+     * Makes sure that the array is not shared and has at least the given capacity.
+     */
+    private void prepareWrite(int capacity) {
+        if (shared || heap.length < capacity) {
+            int newLength = Math.max(heap.length, INITIAL_CAPACITY);
+            while (newLength < capacity) {
+                newLength *= 2;
+            }
+            heap = Arrays.copyOf(heap, newLength);
+            shared = false;
+        }
+    }
+
+    private void siftUp(int index, RuleAppContainer container) {
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            final RuleAppContainer p = heap[parent];
+            if (container.compareTo(p) >= 0) {
+                break;
+            }
+            heap[index] = p;
+            index = parent;
+        }
+        heap[index] = container;
+    }
+
+    private void siftDown(int index, RuleAppContainer container) {
+        final int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            RuleAppContainer c = heap[child];
+            final int right = child + 1;
+            if (right < size && c.compareTo(heap[right]) > 0) {
+                child = right;
+                c = heap[child];
+            }
+            if (container.compareTo(c) <= 0) {
+                break;
+            }
+            heap[index] = c;
+            index = child;
+        }
+        heap[index] = container;
+    }
+
+    @Override
+    public RuleAppQueue snapshot() {
+        shared = true;
+        final MutableRuleAppQueue copy = new MutableRuleAppQueue(heap, size);
+        copy.shared = true;
+        return copy;
+    }
+
+    @Override
+    public RuleAppQueue newQueue() {
+        return new MutableRuleAppQueue();
+    }
+
+    @Override
+    public Iterator<RuleAppContainer> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public RuleAppContainer next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return heap[next++];
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.util.Iterator;
+
+import org.key_project.util.collection.ImmutableHeap;
+import org.key_project.util.collection.ImmutableLeftistHeap;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * {@link RuleAppQueue} backed by an {@link ImmutableLeftistHeap}. Every modification allocates
+ * new heap nodes, but snapshots are free, since they share the heap.
+ */
+@NullMarked
+final class PersistentRuleAppQueue implements RuleAppQueue {
+    private ImmutableHeap<RuleAppContainer> heap;
+
+    PersistentRuleAppQueue() {
+        this(ImmutableLeftistHeap.nilHeap());
+    }
+
+    private PersistentRuleAppQueue(ImmutableHeap<RuleAppContainer> heap) {
+        this.heap = heap;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public RuleAppContainer findMin() {
+        return heap.findMin();
+    }
+
+    @Override
+    public RuleAppContainer removeMin() {
+        final RuleAppContainer min = heap.findMin();
+        heap = heap.deleteMin();
+        return min;
+    }
+
+    @Override
+    public void add(RuleAppContainer container) {
+        heap = heap.insert(container);
+    }
+
+    @Override
+    public void addAll(Iterator<RuleAppContainer> containers) {
+        heap = heap.insert(containers);
+    }
+
+    @Override
+    public void addAll(RuleAppQueue other) {
+        if (other instanceof PersistentRuleAppQueue persistent) {
+            heap = heap.insert(persistent.heap);
+        } else {
+            addAll(other.iterator());
+        }
+    }
+
+    @Override
+    public RuleAppQueue snapshot() {
+        return new PersistentRuleAppQueue(heap);
+    }
+
+    @Override
+    public RuleAppQueue newQueue() {
+        return new PersistentRuleAppQueue();
+    }
+
+    @Override
+    public Iterator<RuleAppContainer> iterator() {
+        return heap.iterator();
+    }
+}
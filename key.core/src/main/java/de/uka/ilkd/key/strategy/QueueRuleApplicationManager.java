@@ -4,10 +4,11 @@
 package de.uka.ilkd.key.strategy;
 
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Locale;
 
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
 
 import org.key_project.prover.proof.ProofGoal;
 import org.key_project.prover.rules.RuleApp;
@@ -17,12 +18,9 @@ import org.key_project.prover.strategy.costbased.MutableState;
 import org.key_project.prover.strategy.costbased.RuleAppCost;
 import org.key_project.prover.strategy.costbased.TopRuleAppCost;
 import org.key_project.prover.strategy.costbased.feature.Feature;
-import org.key_project.util.collection.ImmutableHeap;
-import org.key_project.util.collection.ImmutableLeftistHeap;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 
-import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -34,12 +32,44 @@ import org.jspecify.annotations.Nullable;
  * {@link RuleAppCost} by converting it into a {@link RuleAppContainer}. The cost of a
  * {@link RuleApp} is computed according to a given {@link Strategy} (see
  * {@link Feature#computeCost(RuleApp, PosInOccurrence, ProofGoal, MutableState)}).
+ *
+ * <p>
+ * The priority queue is either persistent (the default), which makes copying it for the new goals
+ * of a split free but allocates on every modification, or mutable, which does not allocate but
+ * copies the queue when a copied goal is worked on (see {@link QueueKind}). The default can be
+ * changed with <code>-D{@value #QUEUE_PROPERTY}=mutable</code>, and a goal can be given its own
+ * manager with {@link Goal#setRuleAppManager(RuleApplicationManager)}. The kinds may order
+ * rule applications of equal costs differently.
+ * </p>
  */
 @NullMarked
 public class QueueRuleApplicationManager implements RuleApplicationManager<Goal> {
-    public static final AtomicLong PERF_QUEUE_OPS = new AtomicLong();
-    public static final AtomicLong PERF_PEEK = new AtomicLong();
-    public static final AtomicLong PERF_CREATE_CONTAINER = new AtomicLong();
+    /** names of the profiled phases */
+    private static final String PROFILE_QUEUE_OPS = "QueueRuleApplicationManager queue ops";
+    private static final String PROFILE_PEEK = "QueueRuleApplicationManager peek";
+    private static final String PROFILE_CREATE_CONTAINER =
+        "QueueRuleApplicationManager create container";
+
+    /** system property selecting the default {@link QueueKind} */
+    public static final String QUEUE_PROPERTY = "key.strategy.ruleAppQueue";
+
+    /**
+     * The implementations of the priority queue.
+     */
+    public enum QueueKind {
+        /** a persistent leftist heap */
+        PERSISTENT,
+        /** a mutable binary heap, copied on write after a split */
+        MUTABLE;
+
+        private RuleAppQueue create() {
+            return this == MUTABLE ? new MutableRuleAppQueue() : new PersistentRuleAppQueue();
+        }
+    }
+
+    private static final QueueKind DEFAULT_QUEUE_KIND = defaultQueueKind();
+
+    private final QueueKind queueKind;
 
     /**
      * The goal this manager belongs to.
@@ -50,7 +80,7 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
      * Priority queue containing all {@link RuleAppContainer}s that are candidates for application
      * on a {@link Goal}.
      */
-    private @Nullable ImmutableHeap<RuleAppContainer> queue = null;
+    private @Nullable RuleAppQueue queue = null;
 
     /**
      * The minimum {@link RuleAppContainer} from a previous round. It is taken out of queue
@@ -67,6 +97,36 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
 
     private long nextRuleTime;
 
+    /**
+     * Creates a manager using the queue selected by the system property {@value #QUEUE_PROPERTY}.
+     */
+    public QueueRuleApplicationManager() {
+        this(DEFAULT_QUEUE_KIND);
+    }
+
+    /**
+     * @param queueKind the implementation of the priority queue
+     */
+    public QueueRuleApplicationManager(QueueKind queueKind) {
+        this.queueKind = queueKind;
+    }
+
+    private static QueueKind defaultQueueKind() {
+        final String kind = System.getProperty(QUEUE_PROPERTY, "persistent");
+        try {
+            return QueueKind.valueOf(kind.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return QueueKind.PERSISTENT;
+        }
+    }
+
+    /**
+     * @return the implementation of the priority queue
+     */
+    public QueueKind getQueueKind() {
+        return queueKind;
+    }
+
     @Override
     public void setGoal(Goal p_goal) {
         goal = p_goal;
@@ -102,7 +162,7 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
             return;
         }
 
-        queue = ImmutableLeftistHeap.nilHeap();
+        queue = queueKind.create();
         previousMinimum = null;
 
         // to support encapsulating rule managers (delegation, like in
@@ -125,9 +185,9 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
             return;
         }
 
-        var time = System.nanoTime();
+        final long start = startProfiling();
         RuleAppContainer c = RuleAppContainer.createAppContainer(rule, pos, goal);
-        PERF_CREATE_CONTAINER.addAndGet(System.nanoTime() - time);
+        stopProfiling(PROFILE_CREATE_CONTAINER, start);
 
         ensureQueueExists();
         addRuleApp(c);
@@ -146,10 +206,10 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
             return;
         }
 
-        var time = System.nanoTime();
+        final long start = startProfiling();
         final ImmutableList<RuleAppContainer> containers =
             RuleAppContainer.createAppContainers(rules, pos, goal);
-        PERF_CREATE_CONTAINER.addAndGet(System.nanoTime() - time);
+        stopProfiling(PROFILE_CREATE_CONTAINER, start);
         ensureQueueExists();
         for (RuleAppContainer rac : containers) {
             addRuleApp(rac);
@@ -157,45 +217,40 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
     }
 
     private void addRuleApp(RuleAppContainer rac) {
-        var time = System.nanoTime();
+        final long start = startProfiling();
         try {
-            queue = push(rac, queue);
+            push(rac, queue);
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            stopProfiling(PROFILE_QUEUE_OPS, start);
         }
     }
 
     /**
      * Add a number of new rule apps to the heap
      */
-    private static ImmutableHeap<RuleAppContainer> push(Iterator<RuleAppContainer> it,
-            ImmutableHeap<RuleAppContainer> sourceQueue) {
-        while (it.hasNext()) {
-            sourceQueue = push(it.next(), sourceQueue);
+    private static void push(Iterable<RuleAppContainer> containers, RuleAppQueue targetQueue) {
+        for (RuleAppContainer c : containers) {
+            push(c, targetQueue);
         }
-        return sourceQueue;
     }
 
     /**
      * Add a new rule app to the heap, provided that the rule app is not infinitely expensive
      */
-    private static ImmutableHeap<RuleAppContainer> push(RuleAppContainer c,
-            ImmutableHeap<RuleAppContainer> sourceQueue) {
-        if (c.getCost() == TopRuleAppCost.INSTANCE) {
-            return sourceQueue;
-        } else {
-            return sourceQueue.insert(c);
+    private static void push(RuleAppContainer c, RuleAppQueue targetQueue) {
+        if (c.getCost() != TopRuleAppCost.INSTANCE) {
+            targetQueue.add(c);
         }
     }
 
-    private static ImmutableHeap<RuleAppContainer> createFurtherApps(
-            @Nullable RuleAppContainer from, Goal goal) {
+    private RuleAppQueue createFurtherApps(@Nullable RuleAppContainer from, Goal goal) {
+        final RuleAppQueue furtherApps = queueKind.create();
         if (from == null) {
-            return ImmutableLeftistHeap.nilHeap();
+            return furtherApps;
         }
         var apps = from.createFurtherApps(goal);
         if (apps.isEmpty()) {
-            return ImmutableLeftistHeap.nilHeap();
+            return furtherApps;
         }
 
         var actualApps = new ArrayList<RuleAppContainer>(apps.size());
@@ -205,11 +260,13 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
             }
             actualApps.add(app);
         }
-        var time = System.nanoTime();
+        final ProofProfile profile = goal.proof().getProfile();
+        final long start = profile.start();
         try {
-            return ImmutableLeftistHeap.<RuleAppContainer>nilHeap().insert(actualApps.iterator());
+            furtherApps.addAll(actualApps.iterator());
+            return furtherApps;
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            profile.stop(Category.PHASE, PROFILE_QUEUE_OPS, start);
         }
     }
 
@@ -221,7 +278,7 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
      */
     @Override
     public RuleApp peekNext() {
-        var otime = System.nanoTime();
+        final long start = startProfiling();
         try {
             ensureQueueExists();
 
@@ -241,14 +298,13 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
              * Create further appcontainers from previous minimum, which was removed from queue in a
              * previous round.
              */
-            ImmutableHeap<@NonNull RuleAppContainer> furtherAppsQueue =
-                createFurtherApps(previousMinimum, goal);
+            final RuleAppQueue furtherAppsQueue = createFurtherApps(previousMinimum, goal);
             previousMinimum = null;
 
             computeNextRuleApp(furtherAppsQueue);
             return nextRuleApp;
         } finally {
-            PERF_PEEK.addAndGet(System.nanoTime() - otime);
+            stopProfiling(PROFILE_PEEK, start);
         }
     }
 
@@ -272,7 +328,7 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
      * iteration includes all rule app containers that are contained either in primary or secondary
      * queue.
      */
-    private void computeNextRuleApp(ImmutableHeap<@NonNull RuleAppContainer> furtherAppsQueue) {
+    private void computeNextRuleApp(RuleAppQueue furtherAppsQueue) {
         /*
          * Working list contains rule apps that cannot be completed in the current round but will be
          * reconsidered during the next round.
@@ -285,50 +341,43 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
         while (nextRuleApp == null && !(queue.isEmpty() && furtherAppsQueue.isEmpty())) {
 
             /*
-             * Determine the minimum rule app container, ranging over both queues. Putting this into
-             * a separate method would be convenient. But since we are using immutable data
-             * structures, this cannot be done very elegantly.
+             * Determine the minimum rule app container, ranging over both queues.
              */
             final RuleAppContainer minRuleAppContainer;
             final boolean furtherAppsQueueUsed;
             if (queue.isEmpty()) {
                 // Use furtherAppsQueue in case queue is empty.
                 furtherAppsQueueUsed = true;
-                var time = System.nanoTime();
+                final long start = startProfiling();
                 try {
-                    minRuleAppContainer = furtherAppsQueue.findMin();
-                    furtherAppsQueue = furtherAppsQueue.deleteMin();
+                    minRuleAppContainer = furtherAppsQueue.removeMin();
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    stopProfiling(PROFILE_QUEUE_OPS, start);
                 }
             } else if (furtherAppsQueue.isEmpty()) {
                 // Use queue in case furtherAppsQueueUsed is empty.
                 furtherAppsQueueUsed = false;
-                var time = System.nanoTime();
+                final long start = startProfiling();
                 try {
-                    minRuleAppContainer = queue.findMin();
-                    queue = queue.deleteMin();
+                    minRuleAppContainer = queue.removeMin();
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    stopProfiling(PROFILE_QUEUE_OPS, start);
                 }
             } else {
                 // Neither queue is empty. Find a minimum that ranges over both
                 // queues.
-                var time = System.nanoTime();
+                final long start = startProfiling();
                 try {
                     RuleAppContainer queueMin = queue.findMin();
                     RuleAppContainer furtherAppsQueueMin = furtherAppsQueue.findMin();
-                    assert (queueMin != null && furtherAppsQueueMin != null);
                     furtherAppsQueueUsed = queueMin.compareTo(furtherAppsQueueMin) > 0;
                     if (furtherAppsQueueUsed) {
-                        furtherAppsQueue = furtherAppsQueue.deleteMin();
-                        minRuleAppContainer = furtherAppsQueueMin;
+                        minRuleAppContainer = furtherAppsQueue.removeMin();
                     } else {
-                        queue = queue.deleteMin();
-                        minRuleAppContainer = queueMin;
+                        minRuleAppContainer = queue.removeMin();
                     }
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    stopProfiling(PROFILE_QUEUE_OPS, start);
                 }
             }
 
@@ -353,13 +402,11 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
                      * Create further apps if found in main queue. Rule apps obtained this way will
                      * be considered during the current round.
                      */
-                    var time = System.nanoTime();
+                    final long start = startProfiling();
                     try {
-                        furtherAppsQueue =
-                            push(minRuleAppContainer.createFurtherApps(goal).iterator(),
-                                furtherAppsQueue);
+                        push(minRuleAppContainer.createFurtherApps(goal), furtherAppsQueue);
                     } finally {
-                        PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                        stopProfiling(PROFILE_QUEUE_OPS, start);
                     }
                 }
             } else {
@@ -373,12 +420,22 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
         /*
          * Put remaining elements into main queue, so they can be considered in the upcoming rounds.
          */
-        var time = System.nanoTime();
+        final long start = startProfiling();
         try {
-            queue = queue.insert(workingList.iterator());
-            queue = queue.insert(furtherAppsQueue);
+            queue.addAll(workingList.iterator());
+            queue.addAll(furtherAppsQueue);
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            stopProfiling(PROFILE_QUEUE_OPS, start);
+        }
+    }
+
+    private long startProfiling() {
+        return goal == null ? 0 : goal.proof().getProfile().start();
+    }
+
+    private void stopProfiling(String phase, long start) {
+        if (start != 0 && goal != null) {
+            goal.proof().getProfile().stop(Category.PHASE, phase, start);
         }
     }
 
@@ -390,8 +447,8 @@ public class QueueRuleApplicationManager implements RuleApplicationManager<Goal>
 
     @Override
     public Object clone() {
-        QueueRuleApplicationManager res = new QueueRuleApplicationManager();
-        res.queue = queue;
+        QueueRuleApplicationManager res = new QueueRuleApplicationManager(queueKind);
+        res.queue = queue == null ? null : queue.snapshot();
         res.previousMinimum = previousMinimum;
         return res;
     }
@@ -0,0 +1,83 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.util.Iterator;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Priority queue of {@link RuleAppContainer}s used by {@link QueueRuleApplicationManager}. The
+ * container with the least cost is the minimum of the queue; the order of containers with equal
+ * costs depends on the implementation.
+ *
+ * <p>
+ * Queues are mutable objects. A {@link #snapshot()} is an independent queue with the same
+ * elements, which is needed when a goal is split and the queue of the goal is copied.
+ * </p>
+ */
+@NullMarked
+interface RuleAppQueue extends Iterable<RuleAppContainer> {
+    /**
+     * @return true iff the queue contains no element
+     */
+    boolean isEmpty();
+
+    /**
+     * @return the number of elements in the queue
+     */
+    int size();
+
+    /**
+     * @return the minimum of the queue, which must not be empty
+     */
+    RuleAppContainer findMin();
+
+    /**
+     * Removes the minimum of the queue, which must not be empty.
+     *
+     * @return the removed minimum
+     */
+    RuleAppContainer removeMin();
+
+    /**
+     * @param container the element to add
+     */
+    void add(RuleAppContainer container);
+
+    /**
+     * @param containers the elements to add
+     */
+    default void addAll(Iterator<RuleAppContainer> containers) {
+        while (containers.hasNext()) {
+            add(containers.next());
+        }
+    }
+
+    /**
+     * Adds all elements of another queue (of the same kind) to this queue.
+     *
+     * @param other the queue whose elements are added; it must not be used afterwards
+     */
+    default void addAll(RuleAppQueue other) {
+        addAll(other.iterator());
+    }
+
+    /**
+     * @return an independent copy of this queue
+     */
+    RuleAppQueue snapshot();
+
+    /**
+     * @return a new empty queue of the same kind as this queue
+     */
+    RuleAppQueue newQueue();
+
+    /**
+     * Returns the elements of the queue in no particular order. The queue must not be modified
+     * while iterating.
+     */
+    @Override
+    Iterator<RuleAppContainer> iterator();
+}
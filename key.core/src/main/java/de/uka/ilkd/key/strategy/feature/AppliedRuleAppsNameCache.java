@@ -27,13 +27,12 @@ public class AppliedRuleAppsNameCache {
         new LRUCache<>(32);
 
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
     private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
 
     public AppliedRuleAppsNameCache() {}
 
     /**
-     * Fills the cache value of this instance for node
+     * Returns the cache value of this instance for node, filling it if necessary
      *
      * @param node the node
      * @return the value
@@ -117,17 +116,8 @@ public class AppliedRuleAppsNameCache {
             throw new AssertionFailure("Expected an empty leaf node");
         }
 
-        HashMap<Name, List<RuleApp>> nodeCache;
-        try {
-            readLock.lock();
-            nodeCache = cache.get(node);
-        } finally {
-            readLock.unlock();
-        }
-
-        if (nodeCache == null) {
-            nodeCache = fillCacheForNode(node);
-        }
+        // the lookup needs the write lock as well, as it reorders the access-ordered cache
+        final HashMap<Name, List<RuleApp>> nodeCache = fillCacheForNode(node);
 
         List<RuleApp> apps = nodeCache.get(name);
         return apps == null ? Collections.emptyList() : Collections.unmodifiableList(apps);
@@ -70,4 +70,8 @@ public class CheckApplyEqFeature extends BinaryTacletAppFeature {
         return it.getChild() != 0;
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -101,4 +101,9 @@ public class ContainsTermFeature implements Feature {
             // nothing to do
         }
     }
+
+    @Override
+    public boolean isPositionLocal() {
+        return proj1.isPositionLocal() && proj2.isPositionLocal();
+    }
 }
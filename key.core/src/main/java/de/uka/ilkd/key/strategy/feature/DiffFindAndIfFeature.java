@@ -52,4 +52,8 @@ public class DiffFindAndIfFeature extends BinaryTacletAppFeature {
         return true;
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -41,4 +41,9 @@ public class DiffFindAndReplacewithFeature extends BinaryTacletAppFeature {
         }
         return true;
     }
+
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
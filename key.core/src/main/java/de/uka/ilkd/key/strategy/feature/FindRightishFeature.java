@@ -55,5 +55,8 @@ public class FindRightishFeature implements Feature {
         return res;
     }
 
-
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
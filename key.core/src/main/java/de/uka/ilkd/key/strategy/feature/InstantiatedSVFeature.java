@@ -34,4 +34,8 @@ public class InstantiatedSVFeature extends BinaryTacletAppFeature {
         return instProj.toTerm(app, pos, goal, mState) != null;
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -0,0 +1,283 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
+import de.uka.ilkd.key.rule.TacletApp;
+
+import org.key_project.prover.proof.ProofGoal;
+import org.key_project.prover.rules.Rule;
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.rules.RuleSet;
+import org.key_project.prover.sequent.PosInOccurrence;
+import org.key_project.prover.strategy.costbased.MutableState;
+import org.key_project.prover.strategy.costbased.NumberRuleAppCost;
+import org.key_project.prover.strategy.costbased.RuleAppCost;
+import org.key_project.prover.strategy.costbased.TopRuleAppCost;
+import org.key_project.prover.strategy.costbased.feature.Feature;
+import org.key_project.prover.strategy.costbased.feature.SumFeature;
+import org.key_project.util.ConcurrentLRUCache;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Wraps the global cost feature of a strategy and caches the costs of its position-local parts
+ * (see {@link Feature#isPositionLocal()}). Rule applications are re-evaluated whenever the goal
+ * they belong to changes, although most of their costs only depend on the application and its
+ * position and hence have not changed.
+ *
+ * <p>
+ * For each rule, the global feature is split into its summands, where a
+ * {@link RuleSetDispatchFeature} is replaced by the summands of the features of the rule sets of
+ * the taclet. The summands are evaluated in their original order until the sum is
+ * {@link TopRuleAppCost infinite}, so features guarded by preceding summands are not evaluated
+ * either. The costs of position-local summands are cached per rule application (by identity) and
+ * position, the other summands are computed each time. If profiling of the proof is enabled, the
+ * features of a rule set are recorded under the same name as by the dispatcher.
+ * </p>
+ *
+ * <p>
+ * The cache holds at most {@value #DEFAULT_MAX_ENTRIES} rule applications (system property
+ * {@value #SIZE_PROPERTY}). Its correctness depends on the features declaring themselves
+ * position-local correctly, so it is disabled by default and enabled with
+ * <code>-D{@value #ENABLED_PROPERTY}=true</code>.
+ * </p>
+ */
+public class LocalCostCachingFeature implements Feature {
+    /** system property to enable or disable the cache */
+    public static final String ENABLED_PROPERTY = "key.strategy.localCostCache";
+
+    /** system property to set the maximal number of cached rule applications */
+    public static final String SIZE_PROPERTY = "key.strategy.localCostCache.size";
+
+    private static final int DEFAULT_MAX_ENTRIES = 50000;
+
+    private final Feature feature;
+
+    /** the summands of the feature for each rule */
+    private final Map<Rule, Plan> plans = new ConcurrentHashMap<>();
+
+    /** the costs of the position-local summands, indexed by {@link Step#slot} */
+    private final ConcurrentLRUCache<Key, RuleAppCost[]> cache;
+
+    /**
+     * A summand of the feature.
+     *
+     * @param feature the feature
+     * @param slot the index of the cached costs or -1 if the feature is not position-local
+     */
+    private record Step(Feature feature, int slot) {
+    }
+
+    /**
+     * Summands that are profiled together.
+     *
+     * @param profileName the name under which the summands are profiled or null
+     * @param steps the summands
+     */
+    private record Group(@Nullable String profileName, Step[] steps) {
+    }
+
+    /**
+     * The summands of the feature for one rule.
+     *
+     * @param groups the summands in order of evaluation
+     * @param slots the number of position-local segments
+     */
+    private record Plan(Group[] groups, int slots) {
+    }
+
+    /**
+     * The key of a rule application; applications are compared by identity, since equal
+     * applications are expensive to compare and rarely built twice.
+     */
+    private static final class Key {
+        private final RuleApp app;
+        private final @Nullable PosInOccurrence pos;
+        private final int hashCode;
+
+        Key(RuleApp app, @Nullable PosInOccurrence pos) {
+            this.app = app;
+            this.pos = pos;
+            this.hashCode = System.identityHashCode(app) * 31 + Objects.hashCode(pos);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key key && app == key.app && Objects.equals(pos, key.pos);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private LocalCostCachingFeature(Feature feature, int maxEntries) {
+        this.feature = feature;
+        this.cache = new ConcurrentLRUCache<>(maxEntries);
+    }
+
+    /**
+     * Creates a feature caching the position-local costs of the given feature.
+     *
+     * @param feature the global cost feature of a strategy
+     * @return the caching feature or <code>feature</code> if the cache is disabled
+     */
+    public static Feature create(Feature feature) {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return feature;
+        }
+        return new LocalCostCachingFeature(feature,
+            Integer.getInteger(SIZE_PROPERTY, DEFAULT_MAX_ENTRIES));
+    }
+
+    @Override
+    public <Goal extends ProofGoal<@NonNull Goal>> RuleAppCost computeCost(RuleApp app,
+            PosInOccurrence pos, Goal goal, MutableState mState) {
+        final Plan plan = plans.computeIfAbsent(app.rule(), r -> createPlan(app));
+        final ProofProfile profile =
+            goal.proof() instanceof Proof proof ? proof.getProfile() : null;
+
+        RuleAppCost[] cached = null;
+        RuleAppCost res = NumberRuleAppCost.getZeroCost();
+        for (Group group : plan.groups()) {
+            final long start = profile == null || group.profileName() == null ? 0 : profile.start();
+            for (Step step : group.steps()) {
+                RuleAppCost cost;
+                if (step.slot() < 0) {
+                    cost = step.feature().computeCost(app, pos, goal, mState);
+                } else {
+                    if (cached == null) {
+                        final Key key = new Key(app, pos);
+                        cached = cache.get(key);
+                        if (cached == null) {
+                            cached = new RuleAppCost[plan.slots()];
+                            final RuleAppCost[] present = cache.putIfAbsent(key, cached);
+                            if (present != null) {
+                                cached = present;
+                            }
+                        }
+                    }
+                    // concurrent evaluations may compute a slot twice, costs are immutable
+                    cost = cached[step.slot()];
+                    if (cost == null) {
+                        cost = step.feature().computeCost(app, pos, goal, mState);
+                        cached[step.slot()] = cost;
+                    }
+                }
+                res = res.add(cost);
+                if (res instanceof TopRuleAppCost) {
+                    break;
+                }
+            }
+            if (start != 0) {
+                profile.stop(Category.FEATURE, group.profileName(), start);
+            }
+            if (res instanceof TopRuleAppCost) {
+                break;
+            }
+        }
+        return res;
+    }
+
+    private Plan createPlan(RuleApp app) {
+        final List<Group> groups = new ArrayList<>();
+        final int[] slots = { 0 };
+        final List<Feature> global = new ArrayList<>();
+        flatten(feature, global);
+        List<Feature> pending = new ArrayList<>();
+        for (Feature f : global) {
+            if (f instanceof RuleSetDispatchFeature dispatcher) {
+                groups.add(createGroup(null, pending, slots));
+                pending = new ArrayList<>();
+                if (app instanceof TacletApp tacletApp) {
+                    for (RuleSet rs : tacletApp.taclet().getRuleSets()) {
+                        final Feature partialF = dispatcher.get(rs);
+                        if (partialF != null) {
+                            final List<Feature> summands = new ArrayList<>();
+                            flatten(partialF, summands);
+                            groups.add(
+                                createGroup(dispatcher.getProfileName(rs), summands, slots));
+                        }
+                    }
+                }
+            } else {
+                pending.add(f);
+            }
+        }
+        groups.add(createGroup(null, pending, slots));
+        groups.removeIf(g -> g.steps().length == 0);
+        return new Plan(groups.toArray(new Group[0]), slots[0]);
+    }
+
+    /**
+     * Creates a group of summands, where consecutive position-local summands share a slot.
+     */
+    private static Group createGroup(@Nullable String profileName, List<Feature> summands,
+            int[] slots) {
+        final List<Step> steps = new ArrayList<>();
+        final List<Feature> local = new ArrayList<>();
+        for (Feature f : summands) {
+            if (f.isPositionLocal()) {
+                local.add(f);
+            } else {
+                addLocal(local, steps, slots);
+                steps.add(new Step(f, -1));
+            }
+        }
+        addLocal(local, steps, slots);
+        return new Group(profileName, steps.toArray(new Step[0]));
+    }
+
+    private static void addLocal(List<Feature> local, List<Step> steps, int[] slots) {
+        if (!local.isEmpty()) {
+            steps.add(new Step(SumFeature.createSum(local.toArray(new Feature[0])), slots[0]++));
+            local.clear();
+        }
+    }
+
+    private static void flatten(Feature f, List<Feature> summands) {
+        if (f instanceof SumFeature sum) {
+            for (Feature summand : sum.getSummands()) {
+                flatten(summand, summands);
+            }
+        } else {
+            summands.add(f);
+        }
+    }
+
+    /**
+     * @return the number of rule applications whose costs are cached
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the hit/miss statistics of the cache
+     */
+    public String getStatistics() {
+        return cache.getStatistics();
+    }
+
+    @Override
+    public boolean isPositionLocal() {
+        return feature.isPositionLocal();
+    }
+
+    @Override
+    public String toString() {
+        return "LocalCostCachingFeature: " + feature;
+    }
+}
@@ -25,4 +25,8 @@ public final class MatchedAssumesFeature extends BinaryTacletAppFeature {
         return app.assumesInstantionsComplete();
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -46,4 +46,8 @@ public class NoSelfApplicationFeature extends BinaryTacletAppFeature {
         return noSelfApplication;
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -55,4 +55,8 @@ public class NotInScopeOfModalityFeature extends BinaryFeature {
         return false;
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
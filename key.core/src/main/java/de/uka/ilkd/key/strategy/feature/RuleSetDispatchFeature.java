@@ -6,6 +6,9 @@ package de.uka.ilkd.key.strategy.feature;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
 import de.uka.ilkd.key.rule.TacletApp;
 
 import org.key_project.prover.proof.ProofGoal;
@@ -28,11 +31,33 @@ import org.jspecify.annotations.NonNull;
  * iterate over the rule sets that the taclet belongs to, and for each rule set the corresponding
  * feature term (if existing) is evaluated. The result of the feature is the sum of the results of
  * the different rule set features.
+ *
+ * <p>
+ * If profiling of the proof is enabled, the evaluation time of each rule set feature is recorded in
+ * the {@link ProofProfile} of the proof as {@link Category#FEATURE} named
+ * {@code <name of dispatcher>:<rule set>}.
+ * </p>
  */
 public class RuleSetDispatchFeature implements Feature {
 
     private final Map<RuleSet, Feature> rulesetToFeature = new LinkedHashMap<>();
 
+    /** the names under which the rule set features are profiled */
+    private final Map<RuleSet, String> rulesetToProfileName = new LinkedHashMap<>();
+
+    private final String name;
+
+    public RuleSetDispatchFeature() {
+        this("RuleSetDispatchFeature");
+    }
+
+    /**
+     * @param name the name used to identify the features of this dispatcher when profiling
+     */
+    public RuleSetDispatchFeature(String name) {
+        this.name = name;
+    }
+
     @Override
     public <Goal extends ProofGoal<@NonNull Goal>> RuleAppCost computeCost(RuleApp app,
             PosInOccurrence pos, Goal goal,
@@ -41,6 +66,7 @@ public class RuleSetDispatchFeature implements Feature {
             return NumberRuleAppCost.getZeroCost();
         }
 
+        final ProofProfile profile = goal.proof() instanceof Proof proof ? proof.getProfile() : null;
         RuleAppCost res = NumberRuleAppCost.getZeroCost();
         ImmutableList<RuleSet> ruleSetsOfAppliedTaclet = ((TacletApp) app).taclet().getRuleSets();
         /*
@@ -53,7 +79,11 @@ public class RuleSetDispatchFeature implements Feature {
 
             final Feature partialF = rulesetToFeature.get(rs);
             if (partialF != null) {
+                final long start = profile == null ? 0 : profile.start();
                 res = res.add(partialF.computeCost(app, pos, goal, mState));
+                if (start != 0) {
+                    profile.stop(Category.FEATURE, rulesetToProfileName.get(rs), start);
+                }
                 if (res instanceof TopRuleAppCost) {
                     break;
                 }
@@ -76,6 +106,7 @@ public class RuleSetDispatchFeature implements Feature {
         }
 
         rulesetToFeature.put(ruleSet, combinedF);
+        rulesetToProfileName.put(ruleSet, name + ":" + ruleSet.name());
     }
 
     /**
@@ -83,6 +114,7 @@ public class RuleSetDispatchFeature implements Feature {
      */
     public void clear(RuleSet ruleSet) {
         rulesetToFeature.remove(ruleSet);
+        rulesetToProfileName.remove(ruleSet);
     }
 
     /**
@@ -95,4 +127,12 @@ public class RuleSetDispatchFeature implements Feature {
     public Feature get(RuleSet ruleSet) {
         return rulesetToFeature.get(ruleSet);
     }
+
+    /**
+     * @param ruleSet a rule set with a feature
+     * @return the name under which the feature of the rule set is profiled
+     */
+    String getProfileName(RuleSet ruleSet) {
+        return rulesetToProfileName.get(ruleSet);
+    }
 }
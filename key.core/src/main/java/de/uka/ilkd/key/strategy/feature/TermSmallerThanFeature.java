@@ -34,4 +34,8 @@ public class TermSmallerThanFeature extends SmallerThanFeature {
             pos, goal);
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return left.isPositionLocal() && right.isPositionLocal();
+    }
 }
@@ -95,4 +95,8 @@ public abstract class TopLevelFindFeature extends BinaryTacletAppFeature {
 
     protected abstract boolean checkPosition(PosInOccurrence pos);
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
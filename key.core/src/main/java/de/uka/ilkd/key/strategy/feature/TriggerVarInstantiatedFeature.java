@@ -28,5 +28,8 @@ public class TriggerVarInstantiatedFeature extends BinaryTacletAppFeature {
         return instProj.toTerm(app, pos, goal, mState) != null;
     }
 
-
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -21,9 +21,6 @@ public class OneOfCP implements Feature {
 
     private final Feature[] features;
 
-    private int theChosenOne;
-    private final ChoicePoint cp = new CP();
-
     private OneOfCP(Feature[] features) {
         this.features = features;
     }
@@ -38,11 +35,21 @@ public class OneOfCP implements Feature {
             Goal goal,
             MutableState mState) {
         final BackTrackingManager manager = mState.getBacktrackingManager();
-        manager.passChoicePoint(cp, this);
-        return features[theChosenOne].computeCost(app, pos, goal, mState);
+        manager.passChoicePoint(new CP(mState), this);
+        return features[mState.getChosenBranch(this)].computeCost(app, pos, goal, mState);
     }
 
+    /**
+     * The choice point of a single cost computation. The chosen feature is kept in the
+     * {@link MutableState} of the computation, as costs may be computed concurrently.
+     */
     private final class CP implements ChoicePoint {
+        private final MutableState mState;
+
+        private CP(MutableState mState) {
+            this.mState = mState;
+        }
+
         private final class BranchIterator implements Iterator<CPBranch> {
             private int num = 0;
             private final RuleApp oldApp;
@@ -62,7 +69,7 @@ public class OneOfCP implements Feature {
                 return new CPBranch() {
                     @Override
                     public void choose() {
-                        theChosenOne = chosen;
+                        mState.chooseBranch(OneOfCP.this, chosen);
                     }
 
                     @Override
@@ -3,6 +3,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy.quantifierHeuristics;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import de.uka.ilkd.key.ldt.JavaDLTheory;
 import de.uka.ilkd.key.logic.op.AbstractSortedOperator;
 
@@ -17,22 +19,18 @@ public final class Metavariable extends AbstractSortedOperator
 
     // Used to define an alternative order of all existing
     // metavariables
-    private static int maxSerial = 0;
-    private int serial;
+    private static final AtomicInteger maxSerial = new AtomicInteger();
+    private final int serial;
 
     private final boolean isTemporaryVariable;
 
-    private synchronized void setSerial() {
-        serial = maxSerial++;
-    }
-
     private Metavariable(Name name, Sort sort, boolean isTemporaryVariable) {
         super(name, sort, true);
         if (sort == JavaDLTheory.FORMULA) {
             throw new RuntimeException("Attempt to create metavariable of type formula");
         }
         this.isTemporaryVariable = isTemporaryVariable;
-        setSerial();
+        serial = maxSerial.getAndIncrement();
         // assert false : "metavariables are disabled";
     }
 
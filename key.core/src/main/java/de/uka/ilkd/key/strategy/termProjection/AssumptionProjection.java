@@ -41,4 +41,9 @@ public class AssumptionProjection implements ProjectionToTerm<Goal> {
 
         return tapp.assumesFormulaInstantiations().take(no).head().getSequentFormula().formula();
     }
+
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -24,4 +24,8 @@ public class FocusFormulaProjection implements ProjectionToTerm<Goal> {
         return (Term) pos.sequentFormula().formula();
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
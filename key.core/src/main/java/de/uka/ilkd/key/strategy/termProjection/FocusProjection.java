@@ -43,4 +43,8 @@ public class FocusProjection implements ProjectionToTerm<Goal> {
         return (Term) pos.subTerm();
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -49,5 +49,8 @@ public class SVInstantiationProjection implements ProjectionToTerm<Goal> {
         return instantiation;
     }
 
-
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -35,4 +35,9 @@ public class SubtermProjection implements ProjectionToTerm<Goal> {
     public Term toTerm(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState) {
         return (Term) pit.getSubTerm(completeTerm.toTerm(app, pos, goal, mState));
     }
+
+    @Override
+    public boolean isPositionLocal() {
+        return completeTerm.isPositionLocal();
+    }
 }
@@ -46,4 +46,13 @@ public class TermConstructionProjection implements ProjectionToTerm<Goal> {
         return goal.proof().getServices().getTermFactory().createTerm(op, subs, null, null);
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        for (ProjectionToTerm<Goal> subTerm : subTerms) {
+            if (!subTerm.isPositionLocal()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
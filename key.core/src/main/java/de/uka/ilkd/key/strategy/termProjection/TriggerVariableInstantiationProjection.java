@@ -24,6 +24,8 @@ public class TriggerVariableInstantiationProjection implements ProjectionToTerm<
         return instProj.toTerm(app, pos, goal, mState);
     }
 
-
-
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -0,0 +1,204 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.ProofOblInput;
+import de.uka.ilkd.key.speclang.Contract;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Proves many contracts of one {@link KeYEnvironment} concurrently.
+ *
+ * <p>
+ * The rule base and the Java model are read only once, when the environment is loaded, and are
+ * shared by all proofs. Each proof obligation works on its own copy of the services of the
+ * environment, whose namespaces are copied lazily (copy-on-write), so creating a proof does not
+ * copy the symbols of the Java model. Proof obligations are created one at a time, while the
+ * proof searches run in parallel on a fixed number of threads. The specification repository is
+ * shared by all proofs as well; it is modified during the proof searches (e.g., when loop
+ * invariants and block contracts are transferred to renamed statements) and is therefore
+ * synchronized.
+ * </p>
+ *
+ * <p>
+ * The number of threads defaults to the number of available processors and can be overridden
+ * with the system property {@value #PARALLELISM_PROPERTY}.
+ * </p>
+ */
+public final class BatchProver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchProver.class);
+
+    /** system property to set the default number of proofs searched in parallel */
+    public static final String PARALLELISM_PROPERTY = "key.batch.parallelism";
+
+    private final KeYEnvironment<?> env;
+    private int parallelism =
+        Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+    private int maxSteps = -1;
+    private long timeout = -1;
+    private @Nullable StrategyProperties strategyProperties;
+    private boolean keepProofs;
+
+    /**
+     * The outcome of the proof attempt for one contract.
+     *
+     * @param contract the contract
+     * @param proof the proof, if proofs are kept (see {@link #setKeepProofs(boolean)})
+     * @param closed whether the proof has been closed
+     * @param nodes the number of nodes of the proof
+     * @param durationMillis the time needed to create and search the proof in milliseconds
+     * @param exception the exception that aborted the proof attempt, if any
+     */
+    public record Result(Contract contract, @Nullable Proof proof, boolean closed, int nodes,
+            long durationMillis, @Nullable Throwable exception) {
+    }
+
+    /**
+     * Creates a batch prover for the contracts of the given environment.
+     *
+     * @param env the loaded environment
+     */
+    public BatchProver(KeYEnvironment<?> env) {
+        this.env = env;
+    }
+
+    /**
+     * @param parallelism the number of proofs searched at the same time
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param maxSteps the maximal number of rule applications per proof; a negative value uses
+     *        the setting of the proof
+     */
+    public void setMaxRuleApplications(int maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * @param timeout the time limit per proof in milliseconds; a negative value uses the setting
+     *        of the proof
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @param strategyProperties the strategy properties used for all proofs or null to use
+     *        those of the proofs
+     */
+    public void setStrategyProperties(@Nullable StrategyProperties strategyProperties) {
+        this.strategyProperties = strategyProperties;
+    }
+
+    /**
+     * @param keepProofs whether the proofs are returned in the results; otherwise they are
+     *        disposed as soon as the proof search has finished
+     */
+    public void setKeepProofs(boolean keepProofs) {
+        this.keepProofs = keepProofs;
+    }
+
+    /**
+     * Tries to prove all contracts of the environment.
+     *
+     * @return the results in the order of {@link KeYEnvironment#getProofContracts()}
+     * @throws InterruptedException if the thread is interrupted while waiting for the proofs
+     */
+    public List<Result> proveAll() throws InterruptedException {
+        return prove(env.getProofContracts());
+    }
+
+    /**
+     * Tries to prove the given contracts.
+     *
+     * @param contracts contracts of the environment
+     * @return the results in the order of the contracts
+     * @throws InterruptedException if the thread is interrupted while waiting for the proofs
+     */
+    public List<Result> prove(List<Contract> contracts) throws InterruptedException {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            final Thread thread = new Thread(r, "BatchProver-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Result>> futures = new ArrayList<>(contracts.size());
+            for (Contract contract : contracts) {
+                futures.add(executor.submit(() -> prove(contract)));
+            }
+            final List<Result> results = new ArrayList<>(contracts.size());
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // prove(Contract) catches all exceptions
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Result prove(Contract contract) {
+        final long start = System.nanoTime();
+        Proof proof = null;
+        Throwable exception = null;
+        try {
+            synchronized (env) {
+                final ProofOblInput po = contract.createProofObl(env.getInitConfig(), contract);
+                proof = env.createProof(po);
+            }
+            final ProofStarter starter = new ProofStarter(false);
+            starter.init(proof);
+            if (maxSteps >= 0) {
+                starter.setMaxRuleApplications(maxSteps);
+            }
+            if (timeout >= 0) {
+                starter.setTimeout(timeout);
+            }
+            if (strategyProperties != null) {
+                starter.setStrategyProperties((StrategyProperties) strategyProperties.clone());
+            }
+            starter.start();
+        } catch (Exception | StackOverflowError e) {
+            LOGGER.warn("Proof attempt for {} failed", contract.getName(), e);
+            exception = e;
+        }
+        final long duration = (System.nanoTime() - start) / 1_000_000;
+        final boolean closed = proof != null && proof.closed();
+        final int nodes = proof != null ? proof.countNodes() : 0;
+        LOGGER.info("Contract {} is {} ({} nodes, {} ms)", contract.getName(),
+            closed ? "proven" : "open", nodes, duration);
+        if (proof != null && !keepProofs) {
+            synchronized (env) {
+                proof.dispose();
+            }
+            proof = null;
+        }
+        return new Result(contract, proof, closed, nodes, duration, exception);
+    }
+}
@@ -5,7 +5,13 @@ package de.uka.ilkd.key.java;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 
 import de.uka.ilkd.key.java.recoderext.Ghost;
@@ -21,6 +27,7 @@ import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import recoder.ParserException;
 import recoder.abstraction.Method;
 import recoder.convenience.TreeWalker;
 import recoder.java.Comment;
@@ -167,6 +174,52 @@ public class ProofJavaProgramFactoryTest {
     }
 
 
+    @Test
+    public void testConcurrentParsing() throws Exception {
+        File resources = new File(FindResources.getTestResourcesDirectory(),
+            "de/uka/ilkd/key/java/recoderext");
+        File[] inputFiles = { new File(resources, "AssertsFalse.java"),
+            new File(resources, "Steinhoefel1.java"), new File(resources, "SetInMethodBody.java"),
+            new File("../key.ui/examples/heap/SmansEtAl/src/ArrayList.java") };
+        List<String> contents = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (File inputFile : inputFiles) {
+            Assumptions.assumeTrue(inputFile.exists(),
+                "Required input file " + inputFile + " does not exists!");
+            String content = IOUtil.readFrom(inputFile);
+            contents.add(content);
+            expected.add(parseAndPrint(content));
+        }
+
+        // every thread uses its own parser, comments and positions must not get mixed up
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8 * contents.size(); i++) {
+                String content = contents.get(i % contents.size());
+                results.add(executor.submit(() -> parseAndPrint(content)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals(expected.get(i % contents.size()), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private String parseAndPrint(String content) throws IOException, ParserException {
+        CompilationUnit cu = r2k.getServiceConfiguration().getProgramFactory()
+                .parseCompilationUnit(new StringReader(content));
+        StringBuilder positions = new StringBuilder();
+        TreeWalker walker = new TreeWalker(cu);
+        while (walker.next()) {
+            ProgramElement pe = walker.getProgramElement();
+            positions.append(pe.getClass().getSimpleName()).append(pe.getStartPosition())
+                    .append(pe.getEndPosition()).append("\n");
+        }
+        return getActualResult(cu) + positions;
+    }
+
     private String getActualResult(CompilationUnit cu) {
         StringBuilder out = new StringBuilder();
         TreeWalker walker = new TreeWalker(cu);
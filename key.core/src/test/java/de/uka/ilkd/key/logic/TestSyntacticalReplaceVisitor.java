@@ -11,6 +11,7 @@ import de.uka.ilkd.key.logic.op.LogicVariable;
 import de.uka.ilkd.key.logic.op.OperatorSV;
 import de.uka.ilkd.key.proof.*;
 import de.uka.ilkd.key.rule.RewriteTaclet;
+import de.uka.ilkd.key.rule.SyntacticalReplaceProgram;
 import de.uka.ilkd.key.rule.SyntacticalReplaceVisitor;
 import de.uka.ilkd.key.rule.TacletForTests;
 import de.uka.ilkd.key.rule.inst.SVInstantiations;
@@ -25,6 +26,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class TestSyntacticalReplaceVisitor {
 
@@ -98,4 +100,26 @@ public class TestSyntacticalReplaceVisitor {
         assertEquals(v.getTerm().sub(0), result.sub(0),
             "Substitution Term not resolved correctly.");
     }
+
+    @Test
+    public void testProgram() {
+        SyntacticalReplaceVisitor srv = new SyntacticalReplaceVisitor(new TermLabelState(), null,
+            null, insts, TacletForTests.createGoal(), null, null);
+        assertEquals(t_allxpxpx, srv.execute(SyntacticalReplaceProgram.createProgram(rw)));
+
+        Term orig = TacletForTests.parseTerm("{\\subst s x; f(const)}(\\forall s y; p(x))");
+        Term result = TacletForTests.parseTerm("(\\forall s y; p(f(const)))");
+        SyntacticalReplaceVisitor v = new SyntacticalReplaceVisitor(new TermLabelState(), null,
+            null, SVInstantiations.EMPTY_SVINSTANTIATIONS, TacletForTests.createGoal(), null, null);
+        assertEquals(result.sub(0),
+            v.execute(SyntacticalReplaceProgram.createProgram(orig)).sub(0));
+    }
+
+    @Test
+    public void testUnchangedTermIsReused() {
+        Term orig = TacletForTests.parseTerm("(\\forall s y; p(f(const)))");
+        SyntacticalReplaceVisitor v = new SyntacticalReplaceVisitor(new TermLabelState(), null,
+            null, insts, TacletForTests.createGoal(), null, null);
+        assertSame(orig, v.execute(SyntacticalReplaceProgram.createProgram(orig)));
+    }
 }
@@ -0,0 +1,79 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.io.File;
+import java.util.List;
+
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.TacletForTests;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.key_project.util.collection.ImmutableList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestDiscriminationTree {
+
+    NoPosTacletApp remove_f;
+    NoPosTacletApp remove_ff;
+    NoPosTacletApp remove_zero;
+    NoPosTacletApp not_free_conflict;
+
+    private NoPosTacletApp app(String name) {
+        return NoPosTacletApp.createNoPosTacletApp(TacletForTests.getTaclet(name).taclet());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        File tacletFile = new File(HelperClassForTests.TESTCASE_DIRECTORY
+            + "/../de/uka/ilkd/key/proof/ruleForTestTacletIndex.taclet");
+        assertTrue(tacletFile.exists(), "File '" + tacletFile + "' does not exist.");
+        TacletForTests.parse(tacletFile);
+
+        remove_f = app("remove_f");
+        remove_ff = app("remove_ff");
+        remove_zero = app("remove_zero");
+        not_free_conflict = app("not_free_conflict");
+    }
+
+    private List<NoPosTacletApp> candidates(DiscriminationTree tree, String term) {
+        ImmutableList<NoPosTacletApp> result =
+            tree.getCandidates(TacletForTests.parseTerm(term));
+        return result.toList();
+    }
+
+    @Test
+    public void testCandidatesAreFilteredByStructure() {
+        DiscriminationTree tree = DiscriminationTree.EMPTY.add(remove_f).add(remove_ff)
+                .add(remove_zero).add(not_free_conflict);
+        assertEquals(4, tree.size());
+
+        assertEquals(List.of(remove_f), candidates(tree, "f(zero)"));
+        // reverse order of insertion
+        assertEquals(List.of(remove_ff, remove_f), candidates(tree, "f(f(zero))"));
+        assertEquals(List.of(remove_zero), candidates(tree, "zero"));
+        assertEquals(List.of(), candidates(tree, "one"));
+        assertEquals(List.of(not_free_conflict), candidates(tree, "\\forall nat z; p(z, zero)"));
+        assertEquals(List.of(), candidates(tree, "\\forall nat z; z = zero"));
+    }
+
+    @Test
+    public void testRemove() {
+        DiscriminationTree tree = DiscriminationTree.EMPTY.add(remove_f).add(remove_ff);
+        DiscriminationTree removed = tree.remove(remove_f);
+
+        assertEquals(1, removed.size());
+        assertEquals(List.of(remove_ff), candidates(removed, "f(f(zero))"));
+        assertEquals(List.of(), candidates(removed, "f(zero)"));
+        // persistent
+        assertEquals(List.of(remove_ff, remove_f), candidates(tree, "f(f(zero))"));
+        assertSame(removed, removed.remove(remove_zero));
+    }
+}
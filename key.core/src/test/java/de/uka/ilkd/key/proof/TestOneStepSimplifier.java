@@ -4,10 +4,14 @@
 package de.uka.ilkd.key.proof;
 
 import java.io.File;
+import java.util.Set;
 
 import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
 import de.uka.ilkd.key.control.KeYEnvironment;
 import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.OneStepSimplifier;
+import de.uka.ilkd.key.util.MiscTools;
 
 import org.key_project.util.helper.FindResources;
 
@@ -29,4 +33,34 @@ public class TestOneStepSimplifier {
         Assertions.assertTrue(env.getLoadedProof().closed());
         env.dispose();
     }
+
+    @Test
+    void separateStatePerProof() throws ProblemLoaderException {
+        // the simplifier is shared by the proofs, but keeps the captured taclets of each proof
+        KeYEnvironment<DefaultUserInterfaceControl> env1 =
+            KeYEnvironment.load(new File(testCaseDirectory, "dummyTrue.key"));
+        KeYEnvironment<DefaultUserInterfaceControl> env2 =
+            KeYEnvironment.load(new File(testCaseDirectory, "dummyTrue.key"));
+        Proof p1 = env1.getLoadedProof();
+        Proof p2 = env2.getLoadedProof();
+        OneStepSimplifier simplifier = MiscTools.findOneStepSimplifier(p1);
+        Assertions.assertSame(simplifier, MiscTools.findOneStepSimplifier(p2));
+        Assertions.assertFalse(simplifier.isShutdown(p1));
+        Assertions.assertFalse(simplifier.isShutdown(p2));
+
+        Set<NoPosTacletApp> captured = simplifier.getCapturedTaclets(p1);
+        Assertions.assertFalse(captured.isEmpty());
+        Assertions.assertEquals(captured.size(), simplifier.getCapturedTaclets(p2).size());
+        Set<NoPosTacletApp> remaining =
+            p1.openGoals().head().ruleAppIndex().tacletIndex().allNoPosTacletApps();
+        for (NoPosTacletApp app : captured) {
+            Assertions.assertFalse(remaining.contains(app));
+        }
+
+        env1.dispose();
+        Assertions.assertTrue(simplifier.isShutdown(p1));
+        Assertions.assertFalse(simplifier.isShutdown(p2));
+        env2.dispose();
+        Assertions.assertTrue(simplifier.isShutdown(p2));
+    }
 }
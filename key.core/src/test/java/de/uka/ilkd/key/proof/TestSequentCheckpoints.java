@@ -0,0 +1,102 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.prover.sequent.Sequent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests dropping the sequents of inner nodes (see {@link Proof#setSequentCheckpointInterval(int)}).
+ */
+public class TestSequentCheckpoints {
+    private static final int INTERVAL = 3;
+
+    @Test
+    public void testRestoredSequents(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("problem.key");
+        Files.writeString(file, """
+                \\predicates { p; q; r; s; t; }
+                \\functions { int x; }
+                \\problem {
+                  (p -> q) -> (q -> r) -> (r -> s | t) -> (t -> s) -> p & x > 0
+                      -> s & x + 1 > 1 & x * 2 >= x
+                }
+                """);
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(file.toFile());
+        Proof proof = env.getLoadedProof();
+        try {
+            proof.setSequentCheckpointInterval(INTERVAL);
+            // the original sequents, recorded before they are dropped
+            final Map<Node, Sequent> sequents = new IdentityHashMap<>();
+            proof.addRuleAppListener(
+                e -> sequents.put(e.getRuleAppInfo().getOriginalNode(),
+                    e.getRuleAppInfo().getOriginalNode().sequent()));
+            ProofStarter starter = new ProofStarter(false);
+            starter.init(proof);
+            starter.setMaxRuleApplications(20);
+            starter.start();
+            assertFalse(proof.closed(), "The problem should not be proven in 20 steps");
+            Node dropped = checkSequents(proof, sequents);
+            assertNotNull(dropped, "Some sequents of open branches should have been dropped");
+
+            // pruning makes the node a goal again, which needs its sequent
+            proof.pruneProof(dropped);
+            assertTrue(dropped.leaf());
+            assertTrue(dropped.hasSequent());
+            assertEquals(sequents.get(dropped), dropped.sequent());
+
+            starter.setMaxRuleApplications(1000);
+            starter.start();
+            assertTrue(proof.closed(), "The problem should be provable");
+            checkSequents(proof, sequents);
+        } finally {
+            proof.dispose();
+            env.dispose();
+        }
+    }
+
+    /**
+     * Checks that the sequents of all nodes are equal to the recorded ones.
+     *
+     * @return a node of an open branch whose sequent has been dropped
+     */
+    private static Node checkSequents(Proof proof, Map<Node, Sequent> sequents) {
+        Node dropped = null;
+        Iterator<Node> it = proof.root().subtreeIterator();
+        while (it.hasNext()) {
+            Node node = it.next();
+            if (node.leaf() || node.childrenCount() > 1) {
+                assertTrue(node.hasSequent(), "Goals and branching points keep their sequent");
+            }
+            if (!node.hasSequent()) {
+                if (!node.isClosed()) {
+                    dropped = node;
+                }
+                int above = 0;
+                for (Node n = node.parent(); n != null && !n.hasSequent(); n = n.parent()) {
+                    above++;
+                }
+                assertTrue(above < INTERVAL - 1, "Too many nodes without sequent");
+            }
+            if (sequents.containsKey(node)) {
+                assertEquals(sequents.get(node), node.sequent());
+            }
+        }
+        return dropped;
+    }
+}
@@ -4,6 +4,8 @@
 package de.uka.ilkd.key.proof;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import de.uka.ilkd.key.java.ServiceCaches;
@@ -115,10 +117,65 @@ public class TestTermTacletAppIndex {
         }
     }
 
+    @Test
+    public void testIndex0MultiThreaded() {
+        doTestIndex0(noCache, new MultiThreadedTacletIndex());
+        doTestIndex0(realCache, new MultiThreadedTacletIndex());
+    }
+
+    @Test
+    public void testBatchMatchingEqualsSingleMatching() {
+        Services serv = TacletForTests.services();
+
+        TacletIndex singleIdx = new SingleThreadedTacletIndex();
+        TacletIndex multiIdx = new MultiThreadedTacletIndex();
+        for (TacletIndex idx : List.of(singleIdx, multiIdx)) {
+            idx.add(remove_f);
+            idx.add(remove_ff);
+            idx.add(remove_zero);
+        }
+
+        Term term = TacletForTests.parseTerm("f(f(f(f(f(f(f(f(f(f(zero))))))))))"
+            + "=f(f(f(f(f(f(f(f(f(f(one))))))))))");
+        PosInOccurrence pio =
+            new PosInOccurrence(new SequentFormula(term), PosInTerm.getTopLevel(), false);
+        List<PosInOccurrence> positions = new ArrayList<>();
+        collectPositions(pio, positions);
+
+        // repeated, as the index decides adaptively whether to match in parallel
+        for (int i = 0; i != 3; ++i) {
+            Map<PosInOccurrence, ImmutableList<NoPosTacletApp>> matched =
+                multiIdx.getFindTaclets(positions, TacletFilter.TRUE, serv);
+            assertEquals(positions.size(), matched.size());
+            for (PosInOccurrence pos : positions) {
+                checkTacletList(matched.get(pos),
+                    toTaclets(singleIdx.getFindTaclet(pos, TacletFilter.TRUE, serv)));
+            }
+        }
+    }
+
+    private static void collectPositions(PosInOccurrence pio, List<PosInOccurrence> positions) {
+        positions.add(pio);
+        for (int i = 0; i < pio.subTerm().arity(); i++) {
+            collectPositions(pio.down(i), positions);
+        }
+    }
+
+    private static ImmutableList<Taclet> toTaclets(ImmutableList<NoPosTacletApp> apps) {
+        ImmutableList<Taclet> result = ImmutableSLList.nil();
+        for (NoPosTacletApp app : apps) {
+            result = result.append(app.taclet());
+        }
+        return result;
+    }
+
     private void doTestIndex0(TermTacletAppIndexCacheSet cache) {
+        doTestIndex0(cache, TacletIndexKit.getKit().createTacletIndex());
+    }
+
+    private void doTestIndex0(TermTacletAppIndexCacheSet cache, TacletIndex ruleIdx) {
         Services serv = TacletForTests.services();
 
-        TacletIndex ruleIdx = TacletIndexKit.getKit().createTacletIndex();
         ruleIdx.add(remove_f);
         ruleIdx.add(remove_zero);
 
@@ -0,0 +1,160 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.nparser.ParsingFacade;
+import de.uka.ilkd.key.nparser.ProofReplayer;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.KeYConstants;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryProofFormatTest {
+    private static final Path MERGE_DIR = HelperClassForTests.TESTCASE_DIRECTORY.toPath()
+            .resolve("merge");
+
+    /**
+     * Records the proof elements reported to it.
+     */
+    private static final class Recorder implements IProofFileParser {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void beginExpr(ProofElementID eid, String str) {
+            events.add("(" + eid + " " + str);
+        }
+
+        @Override
+        public void endExpr(ProofElementID eid, int stringLiteralLine) {
+            events.add(")" + eid);
+        }
+
+        @Override
+        public String getStatus() {
+            return "";
+        }
+
+        @Override
+        public List<Throwable> getErrors() {
+            return List.of();
+        }
+    }
+
+    private static List<String> readText(Path file) throws Exception {
+        Recorder recorder = new Recorder();
+        CharStream text = CharStreams.fromPath(file);
+        Token token = ParsingFacade.parseFile(text).findProof();
+        ProofReplayer.run(token, text, recorder, file.toUri());
+        return recorder.events;
+    }
+
+    private static List<String> readBinary(byte[] binary) throws Exception {
+        Recorder recorder = new Recorder();
+        try (InputStream in = new ByteArrayInputStream(binary)) {
+            BinaryProofFormat.readHeader(in);
+            BinaryProofFormat.readProof(in, recorder);
+        }
+        return recorder.events;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "gcd.closed.proof",
+        "gcd.closed.predicateAbstractionWithUserChoices.proof",
+        "IndistinguishablePathConditions.twoJoins.proof" })
+    void roundTrip(String name, @TempDir Path dir) throws Exception {
+        Path source = MERGE_DIR.resolve(name);
+        Path binary = dir.resolve("a" + BinaryProofFormat.FILE_EXTENSION);
+        Path text = dir.resolve("b.proof");
+        Path binary2 = dir.resolve("c" + BinaryProofFormat.FILE_EXTENSION);
+
+        BinaryProofFormat.convert(source, binary);
+        assertTrue(BinaryProofFormat.isBinaryProof(binary));
+        assertFalse(BinaryProofFormat.isBinaryProof(source));
+        BinaryProofFormat.convert(binary, text);
+        BinaryProofFormat.convert(text, binary2);
+
+        List<String> expected = readText(source);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, readBinary(Files.readAllBytes(binary)));
+        assertEquals(expected, readText(text));
+        assertEquals(expected, readBinary(Files.readAllBytes(binary2)));
+
+        String header = Files.readString(source);
+        header = header.substring(0, header.indexOf("\\proof {"));
+        assertTrue(Files.readString(text).startsWith(header));
+        assertTrue(Files.size(binary) < Files.size(source));
+    }
+
+    @Test
+    void loadBinaryProof(@TempDir Path dir) throws Exception {
+        Files.copy(MERGE_DIR.resolve("Gcd.java"), dir.resolve("Gcd.java"));
+        Path source =
+            Files.copy(MERGE_DIR.resolve("gcd.closed.proof"), dir.resolve("gcd.closed.proof"));
+        Path binary = dir.resolve("gcd" + BinaryProofFormat.FILE_EXTENSION);
+        BinaryProofFormat.convert(source, binary);
+
+        int nodes = loadAndCountNodes(source);
+        assertEquals(nodes, loadAndCountNodes(binary));
+    }
+
+    @Test
+    void binarySaverEqualsConversion(@TempDir Path dir) throws Exception {
+        Files.copy(MERGE_DIR.resolve("Gcd.java"), dir.resolve("Gcd.java"));
+        Path source =
+            Files.copy(MERGE_DIR.resolve("gcd.closed.proof"), dir.resolve("gcd.closed.proof"));
+        Path text = dir.resolve("saved.proof");
+        Path binary = dir.resolve("saved" + BinaryProofFormat.FILE_EXTENSION);
+        Path converted = dir.resolve("converted" + BinaryProofFormat.FILE_EXTENSION);
+
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(source.toFile());
+        try {
+            Proof proof = env.getLoadedProof();
+            // every save adds an entry to the logs, which would make the saved proofs differ
+            List<String> userLog = new ArrayList<>(proof.userLog);
+            List<String> keyVersionLog = new ArrayList<>(proof.keyVersionLog);
+            assertNull(
+                new ProofSaver(proof, text.toString(), KeYConstants.INTERNAL_VERSION).save());
+            proof.userLog = userLog;
+            proof.keyVersionLog = keyVersionLog;
+            assertNull(new BinaryProofSaver(proof, binary.toString(),
+                KeYConstants.INTERNAL_VERSION).save());
+        } finally {
+            env.dispose();
+        }
+
+        BinaryProofFormat.convert(text, converted);
+        assertArrayEquals(Files.readAllBytes(converted), Files.readAllBytes(binary));
+        assertEquals(loadAndCountNodes(source), loadAndCountNodes(binary));
+    }
+
+    private static int loadAndCountNodes(Path file) throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(file.toFile());
+        try {
+            Proof proof = env.getLoadedProof();
+            assertFalse(env.getReplayResult().hasErrors(), "Replay failed for " + file);
+            assertTrue(proof.closed(), "The proof should be closed");
+            return proof.countNodes();
+        } finally {
+            env.dispose();
+        }
+    }
+}
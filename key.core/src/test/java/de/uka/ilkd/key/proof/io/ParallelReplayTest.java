@@ -0,0 +1,109 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the replay of independent branches by several workers (see
+ * {@link IntermediateProofReplayer#setWorkerCount(int)}).
+ */
+class ParallelReplayTest {
+    private static final File PROBLEM =
+        new File(FindResources.getExampleDirectory(), "standard_key/arith/cubicSum.key");
+
+    /**
+     * Replays a proof with several workers and checks that the replayed proofs are closed, that
+     * they consist of the same rule applications as the depth-first replay and that they do not
+     * depend on the scheduling of the workers.
+     */
+    @Test
+    void testParallelReplay(@TempDir Path dir) throws Exception {
+        // the proof refers to the Java sources next to it
+        final Path sources = PROBLEM.toPath().resolveSibling("CubicSum_src");
+        Files.createDirectories(dir.resolve("CubicSum_src"));
+        Files.copy(sources.resolve("CubicSum.java"), dir.resolve("CubicSum_src/CubicSum.java"));
+        final File proofFile = dir.resolve("cubicSum.proof").toFile();
+        final KeYEnvironment<?> env = KeYEnvironment.load(PROBLEM);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ProofStarter starter = new ProofStarter(false);
+            starter.init(proof);
+            starter.start();
+            assertTrue(proof.closed(), "The problem should be provable");
+            assertTrue(proof.countBranches() > 1, "The proof should have several branches");
+            ProofSaver.saveToFile(proofFile, proof);
+        } finally {
+            env.dispose();
+        }
+
+        final List<String> sequential = replay(proofFile, 1);
+        final List<String> parallel = replay(proofFile, 4);
+        assertEquals(parallel, replay(proofFile, 4));
+        assertEquals(sorted(sequential), sorted(parallel));
+    }
+
+    /**
+     * @return the serial numbers and applied rules of all nodes of the replayed proof
+     */
+    private static List<String> replay(File proofFile, int workers) throws Exception {
+        final String old = System.setProperty(IntermediateProofReplayer.WORKER_COUNT_PROPERTY,
+            Integer.toString(workers));
+        final KeYEnvironment<?> env;
+        try {
+            env = KeYEnvironment.load(proofFile);
+        } finally {
+            if (old == null) {
+                System.clearProperty(IntermediateProofReplayer.WORKER_COUNT_PROPERTY);
+            } else {
+                System.setProperty(IntermediateProofReplayer.WORKER_COUNT_PROPERTY, old);
+            }
+        }
+        try {
+            final Proof proof = env.getLoadedProof();
+            assertFalse(env.getReplayResult().hasErrors());
+            assertTrue(proof.closed(),
+                "Replay with " + workers + " workers did not close the proof");
+
+            final List<String> nodes = new ArrayList<>();
+            final Iterator<Node> it = proof.root().subtreeIterator();
+            while (it.hasNext()) {
+                final Node node = it.next();
+                nodes.add(node.serialNr() + ": "
+                    + (node.getAppliedRuleApp() == null ? "-"
+                            : node.getAppliedRuleApp().rule().name()));
+            }
+            return nodes;
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private static List<String> sorted(List<String> nodes) {
+        final List<String> rules = new ArrayList<>();
+        for (String node : nodes) {
+            rules.add(node.substring(node.indexOf(':')));
+        }
+        Collections.sort(rules);
+        return rules;
+    }
+}
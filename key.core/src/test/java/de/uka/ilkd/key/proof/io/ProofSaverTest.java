@@ -5,17 +5,23 @@ package de.uka.ilkd.key.proof.io;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.nparser.KeyIO;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.init.AbstractProfile;
 import de.uka.ilkd.key.proof.init.InitConfig;
 import de.uka.ilkd.key.rule.TacletForTests;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProgressMonitor;
 
 import org.key_project.prover.sequent.Sequent;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -52,4 +58,46 @@ class ProofSaverTest {
         String content = "\\problem { true, false ==> false, false }";
         testSaveProblemToFile(content);
     }
+
+    @Test
+    void saveBranchingProof(@TempDir Path dir) throws Exception {
+        File source = new File(HelperClassForTests.TESTCASE_DIRECTORY,
+            "merge/IndistinguishablePathConditions.proof");
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(source);
+        Proof proof = env.getLoadedProof();
+        File file = dir.resolve("saved.proof").toFile();
+        int[] progress = { -1, -1 };
+        int branches;
+        try {
+            branches = proof.countBranches();
+            assertTrue(branches > 1);
+            ProofSaver saver = new ProofSaver(proof, file);
+            saver.setProgressMonitor(new ProgressMonitor() {
+                @Override
+                public void setProgress(int value) {
+                    assertTrue(value > progress[0]);
+                    progress[0] = value;
+                }
+
+                @Override
+                public void setMaximum(int maximum) {
+                    progress[1] = maximum;
+                }
+            });
+            assertNull(saver.save());
+            assertEquals(proof.countNodes(), progress[1]);
+            assertEquals(progress[1], progress[0]);
+        } finally {
+            proof.dispose();
+            env.dispose();
+        }
+
+        KeYEnvironment<DefaultUserInterfaceControl> reloaded = KeYEnvironment.load(file);
+        try {
+            assertEquals(progress[1], reloaded.getLoadedProof().countNodes());
+            assertEquals(branches, reloaded.getLoadedProof().countBranches());
+        } finally {
+            reloaded.dispose();
+        }
+    }
 }
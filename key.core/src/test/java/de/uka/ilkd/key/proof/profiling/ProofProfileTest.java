@@ -0,0 +1,77 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.profiling;
+
+import de.uka.ilkd.key.proof.profiling.ProofProfile.Category;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProofProfileTest {
+
+    @Test
+    void bucketsCoverAllValues() {
+        long previousBound = -1;
+        for (int bucket = 0; bucket < (Long.SIZE - 3) * 8; bucket++) {
+            final long bound = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue(bound > previousBound);
+            assertEquals(bucket, LatencyHistogram.bucketOf(previousBound + 1));
+            assertEquals(bucket, LatencyHistogram.bucketOf(bound));
+            previousBound = bound;
+        }
+        assertEquals(Long.MAX_VALUE, previousBound);
+    }
+
+    @Test
+    void percentiles() {
+        final LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getPercentile(50));
+        for (int i = 1; i <= 1000; i++) {
+            h.record(i * 1000L);
+        }
+        assertEquals(1000, h.getCount());
+        assertEquals(500500000L, h.getTotal());
+        assertEquals(1000000L, h.getMax());
+        assertEquals(500500L, h.getMean());
+        final long p50 = h.getPercentile(50);
+        assertTrue(p50 >= 500000 && p50 <= 500000 * 1.125, "p50 was " + p50);
+        final long p99 = h.getPercentile(99);
+        assertTrue(p99 >= 990000 && p99 <= 1000000, "p99 was " + p99);
+        assertEquals(1000000L, h.getPercentile(100));
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+    }
+
+    @Test
+    void disabledProfileRecordsNothing() {
+        final ProofProfile profile = new ProofProfile("test", false);
+        final long start = profile.start();
+        assertEquals(0, start);
+        profile.stop(Category.PHASE, "phase", start);
+        assertTrue(profile.getHistograms(Category.PHASE).isEmpty());
+    }
+
+    @Test
+    void writesJson() {
+        final ProofProfile profile = new ProofProfile("a \"quoted\" proof", true);
+        profile.record(Category.RULE, "andLeft", 100);
+        profile.record(Category.RULE, "andLeft", 300);
+        profile.record(Category.RULE, "cut", 1000);
+        profile.stop(Category.PHASE, "phase", profile.start());
+        assertEquals(2, profile.getHistogram(Category.RULE, "andLeft").getCount());
+        assertEquals(1, profile.getHistogram(Category.PHASE, "phase").getCount());
+
+        final String json = profile.toJson();
+        assertTrue(json.startsWith("{\"proof\":\"a \\\"quoted\\\" proof\",\"rule\":{\"cut\":"),
+            json);
+        assertTrue(json.contains("\"andLeft\":{\"count\":2,\"total\":400,\"mean\":200,"), json);
+        assertTrue(json.contains("\"rule_set\":{}"), json);
+        assertEquals(json.length() - 1, json.indexOf('\n'));
+
+        profile.reset();
+        assertNull(profile.getHistogram(Category.RULE, "cut"));
+    }
+}
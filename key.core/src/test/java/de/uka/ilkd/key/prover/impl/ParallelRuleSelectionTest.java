@@ -0,0 +1,75 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the concurrent selection of rule applications by {@link ApplyStrategy} (see
+ * {@link ApplyStrategy#setWorkerCount(int)}).
+ */
+class ParallelRuleSelectionTest {
+    /**
+     * Proves the same problem with a single worker and with several workers and checks that both
+     * proofs are closed and equal node by node: the same rules are applied at the same positions,
+     * and the sequents of all nodes are the same.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = { "standard_key/arith/cubicSum.key",
+        "standard_key/arith/median.key", "standard_key/java_dl/arrayMax.key",
+        "standard_key/quantifiers/heuristic_PUZ001p1.key" })
+    void testSameProofAsSequential(String problem) throws ProblemLoaderException {
+        final File file = new File(FindResources.getExampleDirectory(), problem);
+        final List<String> sequential = prove(file, 1);
+        assertTrue(sequential.size() > 1);
+        assertEquals(sequential, prove(file, 4));
+    }
+
+    /**
+     * Proves the given problem with the given number of workers.
+     *
+     * @return for each node of the proof tree: its serial number, the applied rule with its
+     *         position, and its sequent
+     */
+    private static List<String> prove(File problem, int workers) throws ProblemLoaderException {
+        final KeYEnvironment<?> env = KeYEnvironment.load(problem);
+        try {
+            final Proof proof = env.getLoadedProof();
+            final ApplyStrategy prover = new ApplyStrategy(new DefaultGoalChooser());
+            prover.setWorkerCount(workers);
+            prover.start(proof, proof.openGoals());
+            assertTrue(proof.closed(), "Proof could not be closed using " + workers + " workers");
+
+            final List<String> nodes = new ArrayList<>();
+            final Iterator<Node> it = proof.root().subtreeIterator();
+            while (it.hasNext()) {
+                final Node node = it.next();
+                final RuleApp app = node.getAppliedRuleApp();
+                nodes.add(node.serialNr() + ": "
+                    + (app == null ? "-" : app.rule().name() + " at " + app.posInOccurrence())
+                    + "\n" + node.sequent());
+            }
+            return nodes;
+        } finally {
+            env.dispose();
+        }
+    }
+}
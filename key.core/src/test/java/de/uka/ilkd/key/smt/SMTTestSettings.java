@@ -27,6 +27,11 @@ public class SMTTestSettings implements de.uka.ilkd.key.smt.SMTSettings {
         return 1;
     }
 
+    @Override
+    public boolean usePortfolio() {
+        return false;
+    }
+
     @Override
     public int getMaxNumberOfGenerics() {
         return 2;
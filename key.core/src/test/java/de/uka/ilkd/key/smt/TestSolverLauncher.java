@@ -0,0 +1,234 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
+import de.uka.ilkd.key.smt.SMTSolver.SolverState;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+import de.uka.ilkd.key.smt.communication.Z3Socket;
+import de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypeImplementation;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the portfolio mode of the {@link SolverLauncher} (see {@link SMTSettings#usePortfolio()}).
+ * Instead of real SMT solvers, the solvers run {@link FakeSolver}, which answers
+ * <code>(check-sat)</code> with a fixed result after a fixed delay.
+ */
+@Timeout(60)
+public class TestSolverLauncher {
+    /**
+     * The delay of the slow solvers in milliseconds, which is shorter than the timeout of the
+     * {@link SMTTestSettings}, so that a slow solver is not stopped by its timeout.
+     */
+    private static final long SLOW_DELAY = 30000;
+
+    private KeYEnvironment<?> env;
+    private Proof proof;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        env = KeYEnvironment.load(
+            new File(HelperClassForTests.TESTCASE_DIRECTORY, "smt/launcher/problem.key"));
+        proof = env.getLoadedProof();
+    }
+
+    @AfterEach
+    void tearDown() {
+        proof.dispose();
+        env.dispose();
+    }
+
+    @Test
+    void winnerPreemptsRunningSolver() throws Exception {
+        SMTProblem problem = new SMTProblem(proof.openGoals().head());
+        long start = System.currentTimeMillis();
+        launch(2, List.of(problem), fakeSolver("Fast", "unsat", 0),
+            fakeSolver("Slow", "unsat", SLOW_DELAY));
+        assertTrue(System.currentTimeMillis() - start < SLOW_DELAY,
+            "The slow solver has not been stopped");
+
+        Iterator<SMTSolver> solvers = problem.getSolvers().iterator();
+        SMTSolver fast = solvers.next();
+        SMTSolver slow = solvers.next();
+        assertEquals(ThreeValuedTruth.VALID, fast.getFinalResult().isValid());
+        assertEquals(ReasonOfInterruption.NoInterruption, fast.getReasonOfInterruption());
+        assertEquals(ReasonOfInterruption.Preempted, slow.getReasonOfInterruption());
+        assertEquals(ThreeValuedTruth.VALID, problem.getFinalResult().isValid());
+    }
+
+    @Test
+    void waitingSolverIsNotStarted() throws Exception {
+        SMTProblem problem = new SMTProblem(proof.openGoals().head());
+        launch(1, List.of(problem), fakeSolver("Fast", "unsat", 0),
+            fakeSolver("Slow", "unsat", SLOW_DELAY));
+
+        Iterator<SMTSolver> solvers = problem.getSolvers().iterator();
+        SMTSolver fast = solvers.next();
+        SMTSolver slow = solvers.next();
+        assertNotEquals(-1, fast.getStartTime());
+        // no timeout has been scheduled, i.e., the solver has never been started
+        assertEquals(-1, slow.getStartTime());
+        assertEquals(SolverState.Stopped, slow.getState());
+        assertEquals(ReasonOfInterruption.Preempted, slow.getReasonOfInterruption());
+    }
+
+    @Test
+    void freedSlotsAreUsedByNextProblem() throws Exception {
+        SMTProblem first = new SMTProblem(proof.openGoals().head());
+        SMTProblem second = new SMTProblem(proof.openGoals().head());
+        long start = System.currentTimeMillis();
+        // without preemption, the second problem would wait for the slow solver of the first one
+        launch(2, List.of(first, second), fakeSolver("Fast", "unsat", 0),
+            fakeSolver("Slow", "unsat", SLOW_DELAY));
+        assertTrue(System.currentTimeMillis() - start < SLOW_DELAY,
+            "The second problem has waited for the slow solver of the first problem");
+
+        for (SMTProblem problem : List.of(first, second)) {
+            Iterator<SMTSolver> solvers = problem.getSolvers().iterator();
+            SMTSolver fast = solvers.next();
+            SMTSolver slow = solvers.next();
+            assertNotEquals(-1, fast.getStartTime());
+            assertEquals(ThreeValuedTruth.VALID, fast.getFinalResult().isValid());
+            assertEquals(ReasonOfInterruption.Preempted, slow.getReasonOfInterruption());
+        }
+    }
+
+    @Test
+    void unknownResultDoesNotPreempt() throws Exception {
+        SMTProblem problem = new SMTProblem(proof.openGoals().head());
+        launch(2, List.of(problem), fakeSolver("Fast", "unknown", 0),
+            fakeSolver("Slow", "unsat", 1000));
+
+        Iterator<SMTSolver> solvers = problem.getSolvers().iterator();
+        SMTSolver fast = solvers.next();
+        SMTSolver slow = solvers.next();
+        assertEquals(ThreeValuedTruth.UNKNOWN, fast.getFinalResult().isValid());
+        assertEquals(ReasonOfInterruption.NoInterruption, slow.getReasonOfInterruption());
+        assertEquals(ThreeValuedTruth.VALID, slow.getFinalResult().isValid());
+        assertEquals(ThreeValuedTruth.VALID, problem.getFinalResult().isValid());
+    }
+
+    @Test
+    void solverInterruptedBeforeRunDoesNotStart() throws Exception {
+        SMTProblem problem = new SMTProblem(proof.openGoals().head());
+        AtomicBoolean started = new AtomicBoolean();
+        CountDownLatch stopped = new CountDownLatch(1);
+        SolverListener listener = new SolverListener() {
+            @Override
+            public void processStarted(SMTSolver solver, SMTProblem problem) {
+                started.set(true);
+            }
+
+            @Override
+            public void processStopped(SMTSolver solver, SMTProblem problem) {
+                stopped.countDown();
+            }
+
+            @Override
+            public void processInterrupted(SMTSolver solver, SMTProblem problem, Throwable e) {
+            }
+
+            @Override
+            public void processTimeout(SMTSolver solver, SMTProblem problem) {
+            }
+
+            @Override
+            public void processUser(SMTSolver solver, SMTProblem problem) {
+            }
+        };
+        SMTSolver solver = fakeSolver("Slow", "unsat", SLOW_DELAY)
+                .createSolver(problem, listener, proof.getServices());
+        solver.interrupt(ReasonOfInterruption.Preempted);
+        solver.start(new SolverTimeout(solver, null), portfolioSettings(1));
+
+        assertTrue(stopped.await(SLOW_DELAY / 2, TimeUnit.MILLISECONDS));
+        assertFalse(started.get());
+        assertEquals(SolverState.Stopped, solver.getState());
+        assertEquals(ReasonOfInterruption.Preempted, solver.getReasonOfInterruption());
+    }
+
+    private void launch(int maxConcurrentProcesses, List<SMTProblem> problems,
+            SolverType... types) {
+        SolverLauncher launcher = new SolverLauncher(portfolioSettings(maxConcurrentProcesses));
+        launcher.launch(List.of(types), problems, proof.getServices());
+    }
+
+    private static SMTSettings portfolioSettings(int maxConcurrentProcesses) {
+        return new SMTTestSettings() {
+            @Override
+            public int getMaxConcurrentProcesses() {
+                return maxConcurrentProcesses;
+            }
+
+            @Override
+            public boolean usePortfolio() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Creates a solver type running {@link FakeSolver}.
+     *
+     * @param name the name of the solver type
+     * @param answer the answer to <code>(check-sat)</code>
+     * @param delay the delay of the answer in milliseconds
+     */
+    private static SolverType fakeSolver(String name, String answer, long delay)
+            throws Exception {
+        String classpath = new File(FakeSolver.class.getProtectionDomain().getCodeSource()
+                .getLocation().toURI()).getAbsolutePath();
+        String params = "-cp " + classpath + " " + FakeSolver.class.getName() + " " + answer
+            + " " + delay;
+        return new SolverTypeImplementation(name, "Fake solver", params,
+            System.getProperty("java.home") + "/bin/java", "", "", -1,
+            new String[] { "\n", "\r" }, ModularSMTLib2Translator.class, new String[0],
+            new String[0], Z3Socket.class, null);
+    }
+
+    /**
+     * A stand-in for an SMT solver. Answers <code>(check-sat)</code> with the first argument after
+     * the number of milliseconds given by the second argument and ignores everything else.
+     */
+    public static final class FakeSolver {
+        public static void main(String[] args) throws IOException, InterruptedException {
+            String answer = args[0];
+            long delay = Long.parseLong(args[1]);
+            BufferedReader in =
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.contains("(check-sat)")) {
+                    Thread.sleep(delay);
+                    System.out.println(answer);
+                    System.out.flush();
+                } else if (line.contains("(exit)")) {
+                    return;
+                }
+            }
+        }
+    }
+}
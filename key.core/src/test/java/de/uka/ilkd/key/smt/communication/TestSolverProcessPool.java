@@ -0,0 +1,170 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SolverProcessPool}. Instead of a real SMT solver, the pool runs
+ * {@link FakeSolver}, which understands just enough SMT-LIB to check the scoping of
+ * declarations.
+ */
+@Timeout(60)
+public class TestSolverProcessPool {
+    private static final String[] DELIMITERS = { "\n", "\r" };
+    private static final String PRELUDE = "(set-option :print-success true)\n(declare-sort T 0)";
+
+    private SolverProcessPool pool;
+    private String[] command;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = new SolverProcessPool(true, 1);
+        String classpath = new File(FakeSolver.class.getProtectionDomain().getCodeSource()
+                .getLocation().toURI()).getAbsolutePath();
+        command = new String[] { System.getProperty("java.home") + "/bin/java", "-cp", classpath,
+            FakeSolver.class.getName() };
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private SolverCommunication solve(String prelude, String problem) throws Exception {
+        SolverCommunication communication = new SolverCommunication();
+        SolverProcessPool.Session session =
+            pool.lease("Fake", command, DELIMITERS, prelude, communication);
+        try {
+            Z3Socket socket = new Z3Socket("Fake", null);
+            session.sendMessage(problem);
+            String msg = session.readMessage();
+            while (msg != null) {
+                socket.messageIncoming(session, msg);
+                msg = session.readMessage();
+            }
+        } finally {
+            session.release();
+        }
+        return communication;
+    }
+
+    @Test
+    void processIsReused() throws Exception {
+        SolverCommunication first =
+            solve(PRELUDE, "(declare-fun x () T)\n(assert false)\n(check-sat)");
+        assertEquals(ThreeValuedTruth.VALID, first.getFinalResult().isValid());
+
+        // x is declared again, which only works if the scope of the first problem was popped
+        SolverCommunication second = solve(PRELUDE, "(declare-fun x () T)\n(check-sat)");
+        assertEquals(ThreeValuedTruth.FALSIFIABLE, second.getFinalResult().isValid());
+        assertEquals(1, pool.getStartedProcesses());
+
+        // only the messages of the second problem are recorded in its communication
+        for (SolverCommunication.Message m : second.getMessages()) {
+            assertFalse(m.content().contains("assert false"), m.content());
+        }
+
+        solve(PRELUDE + "\n(declare-sort U 0)", "(check-sat)");
+        assertEquals(2, pool.getStartedProcesses());
+    }
+
+    @Test
+    void closedProcessIsNotReused() throws Exception {
+        SolverProcessPool.Session session =
+            pool.lease("Fake", command, DELIMITERS, PRELUDE, new SolverCommunication());
+        session.close();
+        session.release();
+
+        SolverCommunication communication = solve(PRELUDE, "(check-sat)");
+        assertEquals(ThreeValuedTruth.FALSIFIABLE, communication.getFinalResult().isValid());
+        assertEquals(2, pool.getStartedProcesses());
+    }
+
+    @Test
+    void rejectedPreludeFails() {
+        assertThrows(IOException.class,
+            () -> solve(PRELUDE + "\n(declare-sort T 0)", "(check-sat)"));
+        // the permit of the failed lease has been returned
+        assertDoesNotThrow(() -> solve(PRELUDE, "(check-sat)"));
+    }
+
+    /**
+     * A minimal stand-in for an incremental SMT solver. Expects one command per line. Answers
+     * <code>unsat</code> if <code>(assert false)</code> is in scope and fails on duplicate
+     * declarations.
+     */
+    public static final class FakeSolver {
+        public static void main(String[] args) throws IOException {
+            BufferedReader in =
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            Deque<Set<String>> declarations = new ArrayDeque<>();
+            Deque<Boolean> inconsistent = new ArrayDeque<>();
+            declarations.push(new HashSet<>());
+            inconsistent.push(false);
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] words = line.replace("(", " ").replace(")", " ").trim().split("\\s+");
+                String answer = "success";
+                switch (words[0]) {
+                case "push" -> {
+                    declarations.push(new HashSet<>());
+                    inconsistent.push(inconsistent.peek());
+                }
+                case "pop" -> {
+                    declarations.pop();
+                    inconsistent.pop();
+                }
+                case "declare-fun", "declare-sort" -> {
+                    boolean known = declarations.stream().anyMatch(s -> s.contains(words[1]));
+                    if (known) {
+                        answer = "(error \"" + words[1] + " already declared\")";
+                    } else {
+                        declarations.peek().add(words[1]);
+                    }
+                }
+                case "assert" -> {
+                    if (words[1].equals("false")) {
+                        inconsistent.pop();
+                        inconsistent.push(true);
+                    }
+                }
+                case "check-sat" -> answer = inconsistent.peek() ? "unsat" : "sat";
+                case "echo" -> answer = line.substring(line.indexOf('"') + 1,
+                    line.lastIndexOf('"'));
+                case "get-model" -> answer = "(model)";
+                case "get-unsat-core" -> answer = "()";
+                case "exit" -> {
+                    return;
+                }
+                default -> {
+                }
+                }
+                System.out.println(answer);
+                System.out.flush();
+            }
+        }
+    }
+}
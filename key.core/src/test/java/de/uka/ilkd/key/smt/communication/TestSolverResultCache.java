@@ -0,0 +1,140 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
+import de.uka.ilkd.key.smt.communication.SolverCommunication.Message;
+import de.uka.ilkd.key.smt.communication.SolverCommunication.MessageType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SolverResultCache}.
+ */
+public class TestSolverResultCache {
+    private static final String KEY =
+        "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final SolverResultCache cache = SolverResultCache.getInstance();
+
+    @AfterEach
+    void tearDown() {
+        cache.setDirectory(null);
+        cache.setBounds(Integer.getInteger(SolverResultCache.MAX_ENTRIES_PROPERTY, 10000),
+            TimeUnit.DAYS.toMillis(Integer.getInteger(SolverResultCache.MAX_AGE_DAYS_PROPERTY, 30)));
+    }
+
+    private static SolverCommunication solved() {
+        SolverCommunication communication = new SolverCommunication();
+        communication.addMessage("(check-sat)", MessageType.INPUT);
+        communication.addMessage("unsat", MessageType.OUTPUT);
+        communication.addMessage("(a1 a3)", MessageType.OUTPUT);
+        communication.setFinalResult(SMTSolverResult.createValidResult("Z3"));
+        return communication;
+    }
+
+    @Test
+    void storedResultIsRestored(@TempDir Path dir) {
+        cache.setDirectory(dir.toFile());
+        assertNull(cache.lookup(KEY));
+        cache.store(KEY, solved(), 42);
+
+        SolverCommunication communication = new SolverCommunication();
+        SolverResultCache.Entry entry = cache.restore(KEY, communication, "Z3");
+        assertNotNull(entry);
+        assertEquals(42, entry.durationMillis());
+        assertEquals(ThreeValuedTruth.VALID, communication.getFinalResult().isValid());
+        // the input is not stored, the output (e.g., the unsat core) is
+        assertEquals(List.of(new Message("unsat", MessageType.OUTPUT),
+            new Message("(a1 a3)", MessageType.OUTPUT)), entry.output());
+        assertIterableEquals(entry.output(), communication.getOutMessages());
+    }
+
+    @Test
+    void runsWithoutResultAreNotStored(@TempDir Path dir) {
+        cache.setDirectory(dir.toFile());
+        cache.store(KEY, new SolverCommunication(), 42);
+        assertNull(cache.lookup(KEY));
+
+        cache.setDirectory(null);
+        assertFalse(cache.isEnabled());
+        cache.store(KEY, solved(), 42);
+        assertNull(cache.lookup(KEY));
+    }
+
+    @Test
+    void corruptEntryIsIgnored(@TempDir Path dir) throws Exception {
+        cache.setDirectory(dir.toFile());
+        cache.store(KEY, solved(), 42);
+        File file = new File(new File(dir.toFile(), KEY.substring(0, 2)), KEY);
+        assertTrue(file.isFile());
+
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(content, content.length / 2));
+        SolverCommunication communication = new SolverCommunication();
+        assertNull(cache.restore(KEY, communication, "Z3"));
+        assertSame(SMTSolverResult.NO_IDEA, communication.getFinalResult());
+
+        // storing again replaces the corrupt entry
+        cache.store(KEY, solved(), 7);
+        assertEquals(7, cache.lookup(KEY).durationMillis());
+    }
+
+    private static String key(int i) {
+        return String.format("%064x", i);
+    }
+
+    private static File fileOf(Path dir, String key) {
+        return new File(new File(dir.toFile(), key.substring(0, 2)), key);
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvicted(@TempDir Path dir) throws Exception {
+        cache.setDirectory(dir.toFile());
+        cache.setBounds(10, TimeUnit.DAYS.toMillis(1));
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < 99; i++) {
+            cache.store(key(i), solved(), 1);
+            // the entries are stored in intervals of a second, the first one 200 seconds ago
+            assertTrue(fileOf(dir, key(i)).setLastModified(now - 200_000 + i * 1000L));
+        }
+        // the oldest entry is used again
+        assertNotNull(cache.lookup(key(0)));
+        cache.store(key(99), solved(), 1);
+        // the store is checked with every 100th stored result
+        cache.store(key(100), solved(), 1);
+
+        try (var files = Files.walk(dir)) {
+            assertEquals(10, files.filter(Files::isRegularFile).count());
+        }
+        assertNotNull(cache.lookup(key(0)));
+        assertNull(cache.lookup(key(1)));
+        assertNull(cache.lookup(key(91)));
+        assertNotNull(cache.lookup(key(92)));
+        assertNotNull(cache.lookup(key(100)));
+    }
+
+    @Test
+    void expiredEntryIsDropped(@TempDir Path dir) {
+        cache.setDirectory(dir.toFile());
+        cache.setBounds(10, 60_000);
+        cache.store(KEY, solved(), 42);
+        File file = fileOf(dir, KEY);
+        assertTrue(file.setLastModified(System.currentTimeMillis() - 120_000));
+        assertNull(cache.lookup(KEY));
+        assertFalse(file.exists());
+    }
+}
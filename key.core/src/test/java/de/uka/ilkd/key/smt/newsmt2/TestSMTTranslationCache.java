@@ -0,0 +1,110 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.newsmt2;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.DefaultSMTSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.smt.SMTSettings;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SMTTranslationCache}.
+ */
+public class TestSMTTranslationCache {
+    @Test
+    public void testSiblingGoalsShareTranslations() throws Exception {
+        final String old = System.getProperty(SMTTranslationCache.ENABLED_PROPERTY);
+        System.setProperty(SMTTranslationCache.ENABLED_PROPERTY, "true");
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(
+            new File(HelperClassForTests.TESTCASE_DIRECTORY, "smt/translationCache/split.key"));
+        Proof proof = env.getLoadedProof();
+        try {
+            ProofStarter starter = new ProofStarter(false);
+            starter.init(proof);
+            starter.setMaxRuleApplications(200);
+            starter.start();
+            assertTrue(proof.openGoals().size() > 1, "The problem has to be split");
+
+            SMTSettings settings = new DefaultSMTSettings(proof.getSettings().getSMTSettings(),
+                ProofIndependentSettings.DEFAULT_INSTANCE.getSMTSettings(),
+                proof.getSettings().getNewSMTSettings(), proof);
+            ModularSMTLib2Translator translator = new ModularSMTLib2Translator();
+
+            int formulas = 0;
+            String first = null;
+            for (Goal goal : proof.openGoals()) {
+                String translation = translator
+                        .translateProblem(goal.sequent(), proof.getServices(), settings)
+                        .toString();
+                assertDeclared(translation);
+                formulas += goal.sequent().size();
+                if (first == null) {
+                    first = translation;
+                }
+            }
+
+            SMTTranslationCache.Context context = SMTTranslationCache
+                    .getContext(proof.getServices(), settings, new String[0], new String[0]);
+            assertNotNull(context);
+            int cached = context.size();
+            assertTrue(cached < formulas, cached + " formulas cached for " + formulas);
+
+            // translating a goal again yields the same problem without translating anything
+            Goal goal = proof.openGoals().head();
+            assertEquals(first, translator
+                    .translateProblem(goal.sequent(), proof.getServices(), settings).toString());
+            assertEquals(cached, context.size());
+        } finally {
+            proof.dispose();
+            env.dispose();
+            if (old == null) {
+                System.clearProperty(SMTTranslationCache.ENABLED_PROPERTY);
+            } else {
+                System.setProperty(SMTTranslationCache.ENABLED_PROPERTY, old);
+            }
+        }
+    }
+
+    /**
+     * Checks that every symbol introduced by the handlers is declared exactly once.
+     */
+    private static void assertDeclared(String translation) {
+        Map<String, Integer> declared = new HashMap<>();
+        Set<String> used = new HashSet<>();
+        for (String line : translation.split("\n")) {
+            if (line.startsWith(";")) {
+                continue;
+            }
+            String[] tokens = line.trim().split("[\\s()]+");
+            for (int i = 0; i < tokens.length; i++) {
+                if ((tokens[i].equals("declare-fun") || tokens[i].equals("declare-const"))
+                        && i + 1 < tokens.length) {
+                    declared.merge(tokens[i + 1], 1, Integer::sum);
+                } else if (tokens[i].startsWith(UninterpretedSymbolsHandler.PREFIX)
+                        || tokens[i].startsWith("unknown_")) {
+                    used.add(tokens[i]);
+                }
+            }
+        }
+        assertFalse(used.isEmpty(), translation);
+        for (String symbol : used) {
+            assertEquals(1, declared.getOrDefault(symbol, 0), symbol + " in\n" + translation);
+        }
+    }
+}
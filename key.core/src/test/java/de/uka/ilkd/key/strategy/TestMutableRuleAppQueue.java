@@ -0,0 +1,124 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.strategy.QueueRuleApplicationManager.QueueKind;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.key_project.prover.rules.RuleApp;
+import org.key_project.prover.strategy.costbased.NumberRuleAppCost;
+import org.key_project.util.collection.ImmutableList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MutableRuleAppQueue} and the mutable queue of
+ * {@link QueueRuleApplicationManager}.
+ */
+public class TestMutableRuleAppQueue {
+    private static final class Container extends RuleAppContainer {
+        Container(long cost) {
+            super(null, NumberRuleAppCost.create(cost));
+        }
+
+        @Override
+        public ImmutableList<RuleAppContainer> createFurtherApps(Goal p_goal) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public RuleApp completeRuleApp(Goal p_goal) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static List<Long> drain(RuleAppQueue queue) {
+        List<Long> costs = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            costs.add(((NumberRuleAppCost) queue.removeMin().getCost()).getValue());
+        }
+        return costs;
+    }
+
+    @Test
+    public void testSameOrderAsPersistentQueue() {
+        Random random = new Random(42);
+        RuleAppQueue mutable = new MutableRuleAppQueue();
+        RuleAppQueue persistent = new PersistentRuleAppQueue();
+        for (int round = 0; round < 50; round++) {
+            RuleAppQueue further = mutable.newQueue();
+            for (int i = 0; i < 40; i++) {
+                Container c = new Container(random.nextInt(200) - 100);
+                if (i % 4 == 0) {
+                    further.add(c);
+                } else {
+                    mutable.add(c);
+                }
+                persistent.add(c);
+            }
+            mutable.addAll(further);
+            for (int i = 0; i < 20; i++) {
+                assertEquals(persistent.findMin().getCost(), mutable.findMin().getCost());
+                assertEquals(persistent.removeMin().getCost(), mutable.removeMin().getCost());
+            }
+            assertEquals(persistent.size(), mutable.size());
+        }
+        assertEquals(drain(persistent), drain(mutable));
+    }
+
+    @Test
+    public void testSnapshotsAreIndependent() {
+        RuleAppQueue queue = new MutableRuleAppQueue();
+        for (int i = 10; i > 0; i--) {
+            queue.add(new Container(i));
+        }
+        RuleAppQueue snapshot = queue.snapshot();
+        queue.removeMin();
+        queue.add(new Container(-1));
+        RuleAppQueue second = snapshot.snapshot();
+        snapshot.add(new Container(0));
+
+        assertEquals(List.of(-1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), drain(queue));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), drain(snapshot));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), drain(second));
+    }
+
+    @Test
+    public void testProofWithMutableQueue(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("problem.key");
+        Files.writeString(file, """
+                \\predicates { p; q; r; s; }
+                \\problem {
+                  (p | q) & (p -> r) & (q -> r) -> r
+                }
+                """);
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(file.toFile());
+        Proof proof = env.getLoadedProof();
+        try {
+            Goal root = proof.openGoals().head();
+            root.setRuleAppManager(new QueueRuleApplicationManager(QueueKind.MUTABLE));
+            ProofStarter starter = new ProofStarter(false);
+            starter.init(proof);
+            starter.setMaxRuleApplications(1000);
+            starter.start();
+            assertTrue(proof.closed(), "The problem should be provable");
+        } finally {
+            proof.dispose();
+            env.dispose();
+        }
+    }
+}
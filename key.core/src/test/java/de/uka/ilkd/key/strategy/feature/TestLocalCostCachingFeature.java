@@ -0,0 +1,65 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.util.HelperClassForTests;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LocalCostCachingFeature}.
+ */
+public class TestLocalCostCachingFeature {
+    /**
+     * Runs the strategy on the problem (with a bounded number of steps) and returns the applied
+     * rules in the order of the nodes.
+     */
+    private static List<String> prove(File file, boolean cache) throws Exception {
+        final String old = System.getProperty(LocalCostCachingFeature.ENABLED_PROPERTY);
+        System.setProperty(LocalCostCachingFeature.ENABLED_PROPERTY, Boolean.toString(cache));
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(file);
+        Proof proof = env.getLoadedProof();
+        try {
+            ProofStarter starter = new ProofStarter(false);
+            starter.init(proof);
+            starter.setMaxRuleApplications(2000);
+            starter.start();
+            List<String> rules = new ArrayList<>();
+            for (Iterator<Node> it = proof.root().subtreeIterator(); it.hasNext();) {
+                Node node = it.next();
+                if (node.getAppliedRuleApp() != null) {
+                    rules.add(node.getAppliedRuleApp().rule().name().toString());
+                }
+            }
+            assertTrue(rules.size() > 100, "Only " + rules.size() + " rules applied");
+            return rules;
+        } finally {
+            proof.dispose();
+            env.dispose();
+            if (old == null) {
+                System.clearProperty(LocalCostCachingFeature.ENABLED_PROPERTY);
+            } else {
+                System.setProperty(LocalCostCachingFeature.ENABLED_PROPERTY, old);
+            }
+        }
+    }
+
+    @Test
+    public void testCachedCostsYieldSameProof() throws Exception {
+        File file = new File(HelperClassForTests.TESTCASE_DIRECTORY, "localCostCache/squares.key");
+        assertEquals(prove(file, false), prove(file, true));
+    }
+}
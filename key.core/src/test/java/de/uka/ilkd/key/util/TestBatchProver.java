@@ -0,0 +1,89 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+import java.io.File;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.speclang.Contract;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BatchProver}.
+ */
+public class TestBatchProver {
+    @Test
+    @Timeout(300)
+    public void testParallelEqualsSequential() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(
+            new File(HelperClassForTests.TESTCASE_DIRECTORY, "batchProver"), null, null, null);
+        try {
+            BatchProver prover = new BatchProver(env);
+            prover.setMaxRuleApplications(10000);
+            prover.setParallelism(1);
+            List<BatchProver.Result> sequential = prover.proveAll();
+            prover.setParallelism(4);
+            List<BatchProver.Result> parallel = prover.proveAll();
+
+            assertEquals(4, sequential.size());
+            assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                BatchProver.Result expected = sequential.get(i);
+                BatchProver.Result actual = parallel.get(i);
+                assertNull(actual.exception());
+                assertNull(actual.proof());
+                assertSame(expected.contract(), actual.contract());
+                assertEquals(!expected.contract().getTarget().name().toString().contains("sub"),
+                    actual.closed(), actual.contract().getName());
+                assertEquals(expected.closed(), actual.closed());
+                assertEquals(expected.nodes(), actual.nodes());
+            }
+        } finally {
+            env.dispose();
+        }
+    }
+
+    /**
+     * Proves contracts of methods with loop invariants and block contracts, which are transferred
+     * to the renamed statements in the specification repository shared by all proofs while the
+     * proofs are searched.
+     */
+    @Test
+    @Timeout(600)
+    public void testParallelProofsSharingSpecifications() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(
+            new File(HelperClassForTests.TESTCASE_DIRECTORY, "batchProverLoops"), null, null,
+            null);
+        try {
+            List<Contract> contracts = env.getProofContracts();
+            assertFalse(contracts.isEmpty());
+            BatchProver prover = new BatchProver(env);
+            prover.setMaxRuleApplications(10000);
+            prover.setParallelism(1);
+            List<BatchProver.Result> sequential = prover.prove(contracts);
+            prover.setParallelism(4);
+            for (int round = 0; round < 3; round++) {
+                List<BatchProver.Result> parallel = prover.prove(contracts);
+                assertEquals(sequential.size(), parallel.size());
+                for (int i = 0; i < sequential.size(); i++) {
+                    BatchProver.Result expected = sequential.get(i);
+                    BatchProver.Result actual = parallel.get(i);
+                    assertNull(expected.exception(), expected.contract().getName());
+                    assertNull(actual.exception(), actual.contract().getName());
+                    assertSame(expected.contract(), actual.contract());
+                    assertEquals(expected.closed(), actual.closed(), actual.contract().getName());
+                    assertEquals(expected.nodes(), actual.nodes(), actual.contract().getName());
+                }
+            }
+        } finally {
+            env.dispose();
+        }
+    }
+}
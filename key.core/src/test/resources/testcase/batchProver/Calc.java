@@ -0,0 +1,30 @@
+public class Calc {
+    /*@ normal_behavior
+      @ ensures \result == x + y;
+      @*/
+    public static int add(int x, int y) {
+        return x + y;
+    }
+
+    /*@ normal_behavior
+      @ ensures \result == x - y;
+      @*/
+    public static int sub(int x, int y) {
+        return x + y;
+    }
+
+    /*@ normal_behavior
+      @ ensures \result >= x && \result >= y;
+      @*/
+    public static int max(int x, int y) {
+        return x > y ? x : y;
+    }
+
+    /*@ normal_behavior
+      @ requires x >= 0;
+      @ ensures \result == x;
+      @*/
+    public static int abs(int x) {
+        return x < 0 ? -x : x;
+    }
+}
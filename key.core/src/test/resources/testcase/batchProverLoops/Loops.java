@@ -0,0 +1,91 @@
+public class Loops {
+    /*@ normal_behavior
+      @ requires n >= 0;
+      @ ensures \result == n;
+      @*/
+    public static int count(int n) {
+        int i = 0;
+        /*@ loop_invariant 0 <= i && i <= n;
+          @ decreases n - i;
+          @ assignable \nothing;
+          @*/
+        while (i < n) {
+            i++;
+        }
+        return i;
+    }
+
+    /*@ normal_behavior
+      @ requires n >= 0;
+      @ ensures \result == 2 * n;
+      @*/
+    public static int twice(int n) {
+        int r = 0;
+        /*@ loop_invariant 0 <= i && i <= n && r == 2 * i;
+          @ decreases n - i;
+          @ assignable \nothing;
+          @*/
+        for (int i = 0; i < n; i++) {
+            r = r + 2;
+        }
+        return r;
+    }
+
+    /*@ normal_behavior
+      @ requires a != null;
+      @ ensures \result >= 0;
+      @*/
+    public static int countPositive(int[] a) {
+        int c = 0;
+        /*@ loop_invariant 0 <= i && i <= a.length && 0 <= c && c <= i;
+          @ decreases a.length - i;
+          @ assignable \nothing;
+          @*/
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > 0) {
+                c++;
+            }
+        }
+        return c;
+    }
+
+    /*@ normal_behavior
+      @ ensures \result >= 0;
+      @*/
+    public static int abs(int x) {
+        int y = x;
+        /*@ normal_behavior
+          @ ensures y >= 0 || y == Integer.MIN_VALUE;
+          @ assignable \nothing;
+          @*/
+        {
+            if (y < 0) {
+                y = -y;
+            }
+        }
+        return y < 0 ? 0 : y;
+    }
+
+    /*@ normal_behavior
+      @ requires x >= 0 && x < 1000;
+      @ ensures \result == x + 2;
+      @*/
+    public static int incTwice(int x) {
+        int y = x;
+        /*@ normal_behavior
+          @ ensures y == \before(y) + 1;
+          @ assignable \nothing;
+          @*/
+        {
+            y = y + 1;
+        }
+        /*@ normal_behavior
+          @ ensures y == \before(y) + 1;
+          @ assignable \nothing;
+          @*/
+        {
+            y = y + 1;
+        }
+        return y;
+    }
+}
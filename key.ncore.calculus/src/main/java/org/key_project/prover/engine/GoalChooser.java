@@ -6,6 +6,7 @@ package org.key_project.prover.engine;
 import org.key_project.prover.proof.ProofGoal;
 import org.key_project.prover.proof.ProofObject;
 import org.key_project.util.collection.ImmutableList;
+import org.key_project.util.collection.ImmutableSLList;
 
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
@@ -29,6 +30,24 @@ public interface GoalChooser<P extends @Nullable ProofObject<@NonNull G>, G exte
     @Nullable
     G getNextGoal();
 
+    /**
+     * Returns up to {@code max} distinct goals which are likely to be handed out by the next calls
+     * of {@link #getNextGoal()}, without changing the state of this chooser. The prover may select
+     * the rule applications of these goals in advance and concurrently, but the goals are still
+     * worked on in the order determined by {@link #getNextGoal()}.
+     * <p>
+     * The default implementation returns no goals, i.e., no rule applications are selected in
+     * advance. Choosers whose order depends on the outcome of each single rule application should
+     * keep it.
+     * </p>
+     *
+     * @param max the maximal number of goals to return
+     * @return the goals probably worked on next
+     */
+    default ImmutableList<G> peekNextGoals(int max) {
+        return ImmutableSLList.nil();
+    }
+
     /**
      * Remove p_goal from selectedList (e.g. no taclet can be applied to p_goal)
      */
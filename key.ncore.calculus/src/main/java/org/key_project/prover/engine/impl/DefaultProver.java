@@ -3,7 +3,16 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package org.key_project.prover.engine.impl;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.key_project.prover.engine.AbstractProverCore;
 import org.key_project.prover.engine.GoalChooser;
@@ -36,9 +45,6 @@ public abstract class DefaultProver<Proof extends ProofObject<@NonNull Goal>, Go
     /** Logger for tracing and debugging the prover's execution. */
     private final static Logger LOGGER = LoggerFactory.getLogger(DefaultProver.class);
 
-    /** Counter for tracking performance metrics related to goal application. */
-    public static final AtomicLong PERF_GOAL_APPLY = new AtomicLong();
-
     /** The proof currently being constructed or manipulated by this prover. */
     protected Proof proof;
 
@@ -71,6 +77,26 @@ public abstract class DefaultProver<Proof extends ProofObject<@NonNull Goal>, Go
     /** A strategy component that selects the next goal to be processed. */
     protected GoalChooser<Proof, Goal> goalChooser;
 
+    /**
+     * The number of goals whose next rule application is selected concurrently (see
+     * {@link GoalChooser#peekNextGoals(int)}). A value of {@code 1} disables the worker pool.
+     */
+    private int workerCount = 1;
+
+    /**
+     * The pool of threads selecting rule applications in advance; only exists while
+     * {@link #doWork(GoalChooser, StopCondition)} runs with more than one worker.
+     */
+    private @Nullable ExecutorService workerPool;
+
+    /**
+     * Goals whose rule applications have been selected in advance, together with the goal handed
+     * out by the goal chooser before the selection. As long as a goal handed out is contained, its
+     * rule application has been selected already (unless the goal has changed, in which case the
+     * rule application manager selects it anew).
+     */
+    private final Set<Goal> selectedGoals = Collections.newSetFromMap(new IdentityHashMap<>());
+
     /**
      * This is currently a hook method for the JavaDL prover as according to a
      * comment the built-in-rule index is not updated when rules are applied.
@@ -102,6 +128,10 @@ public abstract class DefaultProver<Proof extends ProofObject<@NonNull Goal>, Go
         SingleRuleApplicationInfo srInfo = null;
 
         long applyAutomatic = 0;
+        selectedGoals.clear();
+        if (workerCount > 1) {
+            workerPool = createWorkerPool(workerCount);
+        }
         try {
             LOGGER.trace("Strategy started.");
             boolean shouldStop = stopCondition.shouldStop(maxApplications, timeout, time,
@@ -140,6 +170,11 @@ public abstract class DefaultProver<Proof extends ProofObject<@NonNull Goal>, Go
             return new ApplyStrategyInfo<>("Error.", proof, t, null,
                 System.currentTimeMillis() - time, countApplied, closedGoals);
         } finally {
+            selectedGoals.clear();
+            if (workerPool != null) {
+                workerPool.shutdownNow();
+                workerPool = null;
+            }
             time = (System.currentTimeMillis() - time);
             LOGGER.trace("Strategy stopped, applied {} steps in {}ms", countApplied, time);
             LOGGER.trace("applyAutomaticRule: " + applyAutomatic);
@@ -163,7 +198,7 @@ public abstract class DefaultProver<Proof extends ProofObject<@NonNull Goal>, Go
         // Look for the strategy ...
         RuleApp app = null;
         Goal g;
-        while ((g = goalChooser.getNextGoal()) != null) {
+        while ((g = nextGoal(goalChooser)) != null) {
             if (!stopCondition.isGoalAllowed(g, maxApplications, timeout, startTime,
                 countApplied)) {
                 return new SingleRuleApplicationInfo(stopCondition.getGoalNotAllowedMessage(
@@ -187,12 +222,116 @@ public abstract class DefaultProver<Proof extends ProofObject<@NonNull Goal>, Go
             return new SingleRuleApplicationInfo(
                 "No more rules automatically applicable to any goal.", g, app);
         } else {
-            try {
-                g.apply(app);
-            } finally {
-                PERF_GOAL_APPLY.getAndAdd(System.nanoTime() - time);
-            }
+            g.apply(app);
             return new SingleRuleApplicationInfo(g, app);
         }
     }
+
+    /**
+     * Determines the goal to which the next rule is applied.
+     * <p>
+     * If more than one worker is configured, the next rule applications of the handed out goal
+     * and of the goals the goal chooser expects to hand out next
+     * ({@link GoalChooser#peekNextGoals(int)}) are selected in advance by the worker pool. The
+     * goals are still worked on in the order of {@link GoalChooser#getNextGoal()}, and the rule
+     * applications are applied one after the other on the thread running the prover, so the proof
+     * is the same as with a single worker.
+     * </p>
+     *
+     * @param goalChooser the {@link GoalChooser} for selecting the next goal
+     * @return the next goal to work on or {@code null} if there is none
+     */
+    private @Nullable Goal nextGoal(GoalChooser<Proof, Goal> goalChooser) {
+        final Goal goal = goalChooser.getNextGoal();
+        if (goal == null || workerPool == null || selectedGoals.remove(goal)) {
+            return goal;
+        }
+        selectedGoals.clear();
+        final List<Goal> goals = new ArrayList<>(workerCount);
+        goals.add(goal);
+        for (Goal g : goalChooser.peekNextGoals(workerCount - 1)) {
+            if (g != goal && goals.size() < workerCount) {
+                goals.add(g);
+                selectedGoals.add(g);
+            }
+        }
+        if (goals.size() > 1) {
+            selectRuleApps(workerPool, goals);
+        }
+        return goal;
+    }
+
+    /**
+     * Selects the next rule applications of the given goals using the worker pool. The results are
+     * cached by the rule application managers of the goals and are picked up by the following
+     * calls of {@link org.key_project.prover.strategy.RuleApplicationManager#next()}.
+     * <p>
+     * Thread confinement: each goal, including its rule application manager and rule application
+     * index, is accessed by exactly one worker, and the thread running the prover waits until all
+     * selections are finished before it continues. State shared between the goals which is
+     * accessed during the selection, like the strategy, the services and their caches, and the
+     * built-in rules, must be safe for concurrent use; its modification, e.g., the application of
+     * rules, is confined to the thread running the prover.
+     * </p>
+     *
+     * @param pool the worker pool
+     * @param goals the goals to select rule applications for
+     */
+    private static <Goal extends ProofGoal<@NonNull Goal>> void selectRuleApps(
+            ExecutorService pool, List<Goal> goals) {
+        final List<Future<RuleApp>> selections = new ArrayList<>(goals.size());
+        for (Goal goal : goals) {
+            selections.add(pool.submit(() -> goal.getRuleAppManager().peekNext()));
+        }
+        boolean interrupted = false;
+        for (Future<RuleApp> selection : selections) {
+            while (true) {
+                try {
+                    selection.get();
+                    break;
+                } catch (InterruptedException e) {
+                    // all selections have to be finished before the first rule is applied, as
+                    // the goals must not be accessed concurrently
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // the failed selection is repeated (and reported) when the rule application
+                    // of the goal is requested
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService createWorkerPool(int workerCount) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(workerCount, r -> {
+            final Thread thread = new Thread(r, "prover-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the number of goals whose next rule application is selected concurrently during
+     * automatic proof search.
+     *
+     * @param workerCount the number of worker threads; {@code 1} selects rule applications on the
+     *        thread running the prover only
+     */
+    public synchronized void setWorkerCount(int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("At least one worker is required: " + workerCount);
+        }
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * @return the number of goals whose next rule application is selected concurrently
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
 }
@@ -38,6 +38,9 @@ public class MutableState {
     /** manages backtracking for features that create {@link ChoicePoint}s */
     private BackTrackingManager btManager;
 
+    /** maps a choice point to the index of the branch taken in the current evaluation run */
+    private HashMap<Object, Integer> chosenBranches;
+
     /**
      * assign the given {@link TermBuffer} the provided value
      *
@@ -75,4 +78,33 @@ public class MutableState {
         }
         return btManager;
     }
+
+    /**
+     * records the branch taken by a {@link ChoicePoint} whose branches do not modify the rule
+     * application
+     *
+     * @param choicePoint the choice point (or the feature representing it)
+     * @param branch the index of the branch taken
+     */
+    public void chooseBranch(Object choicePoint, int branch) {
+        if (chosenBranches == null) {
+            chosenBranches = new HashMap<>();
+        }
+        chosenBranches.put(choicePoint, branch);
+    }
+
+    /**
+     * retrieves the branch taken by a {@link ChoicePoint} as recorded by
+     * {@link #chooseBranch(Object, int)}
+     *
+     * @param choicePoint the choice point (or the feature representing it)
+     * @return the index of the branch taken or {@code 0} if none has been recorded
+     */
+    public int getChosenBranch(Object choicePoint) {
+        if (chosenBranches == null) {
+            return 0;
+        }
+        final Integer branch = chosenBranches.get(choicePoint);
+        return branch == null ? 0 : branch;
+    }
 }
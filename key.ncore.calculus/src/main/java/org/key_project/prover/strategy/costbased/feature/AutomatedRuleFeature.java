@@ -33,4 +33,9 @@ public class AutomatedRuleFeature
         return !(app.rule() instanceof Taclet)
                 || AnyRuleSetTacletFilter.INSTANCE.filter(app.rule());
     }
+
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
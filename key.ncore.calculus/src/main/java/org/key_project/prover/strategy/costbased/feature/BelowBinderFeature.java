@@ -48,4 +48,8 @@ public class BelowBinderFeature extends BinaryFeature {
         return false;
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -53,4 +53,8 @@ public abstract class CompareCostsFeature
         };
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return a.isPositionLocal() && b.isPositionLocal();
+    }
 }
@@ -100,4 +100,9 @@ public class ConditionalFeature implements Feature {
      * The feature for negative results of <code>filter</code>
      */
     private final Feature elseFeature;
+
+    @Override
+    public boolean isPositionLocal() {
+        return thenFeature.isPositionLocal() && elseFeature.isPositionLocal();
+    }
 }
@@ -35,4 +35,9 @@ public class ConstFeature implements Feature {
     }
 
     private final RuleAppCost val;
+
+    @Override
+    public boolean isPositionLocal() {
+        return true;
+    }
 }
@@ -33,4 +33,17 @@ public interface Feature {
     <Goal extends ProofGoal<@NonNull Goal>> RuleAppCost computeCost(RuleApp app,
             PosInOccurrence pos,
             Goal goal, MutableState mState);
+
+    /**
+     * Returns whether the costs computed by this feature are position-local, i.e., only depend on
+     * the rule application (including its instantiations) and the position it is applied at, but
+     * neither on the rest of the sequent nor on the goal (e.g., its age or the rules applied so
+     * far). Strategies may cache the costs of position-local features per rule application and
+     * position.
+     *
+     * @return true iff the costs of this feature are position-local, false by default
+     */
+    default boolean isPositionLocal() {
+        return false;
+    }
 }
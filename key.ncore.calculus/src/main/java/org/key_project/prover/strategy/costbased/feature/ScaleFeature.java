@@ -192,4 +192,8 @@ public abstract class ScaleFeature implements Feature {
         }
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return feature.isPositionLocal();
+    }
 }
@@ -187,4 +187,9 @@ public class ShannonFeature implements Feature {
             NumberRuleAppCost.getZeroCost());
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return cond.isPositionLocal() && thenFeature.isPositionLocal()
+                && elseFeature.isPositionLocal();
+    }
 }
@@ -56,4 +56,8 @@ public class SortComparisonFeature<Goal extends ProofGoal<@NonNull Goal>>
         return false;
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return s1.isPositionLocal() && s2.isPositionLocal();
+    }
 }
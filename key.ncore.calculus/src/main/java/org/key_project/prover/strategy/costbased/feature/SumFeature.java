@@ -4,7 +4,9 @@
 package org.key_project.prover.strategy.costbased.feature;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 import org.key_project.prover.proof.ProofGoal;
 import org.key_project.prover.rules.RuleApp;
@@ -67,6 +69,23 @@ public class SumFeature implements Feature {
 
     private final Feature[] features;
 
+    /**
+     * @return the features whose costs are summed up, in the order of evaluation
+     */
+    public List<Feature> getSummands() {
+        return Collections.unmodifiableList(Arrays.asList(features));
+    }
+
+    @Override
+    public boolean isPositionLocal() {
+        for (Feature f : features) {
+            if (!f.isPositionLocal()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public String toString() {
         return "SumFeature: " + Arrays.toString(features);
@@ -16,4 +16,15 @@ import org.key_project.prover.strategy.costbased.MutableState;
  */
 public interface ProjectionToTerm<Goal extends ProofGoal<Goal>> {
     Term toTerm(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState);
+
+    /**
+     * Returns whether the computed term only depends on the rule application and the position it
+     * is applied at (see
+     * {@link org.key_project.prover.strategy.costbased.feature.Feature#isPositionLocal()}).
+     *
+     * @return true iff the projection is position-local, false by default
+     */
+    default boolean isPositionLocal() {
+        return false;
+    }
 }
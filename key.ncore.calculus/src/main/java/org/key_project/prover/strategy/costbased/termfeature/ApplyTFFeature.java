@@ -65,4 +65,8 @@ public class ApplyTFFeature<Goal extends ProofGoal<@NonNull Goal>> implements Fe
         return termFeature.compute(te, mState, goal.proof().getServices());
     }
 
+    @Override
+    public boolean isPositionLocal() {
+        return proj.isPositionLocal();
+    }
 }
@@ -29,6 +29,12 @@ public class Namespace<E extends Named> {
      */
     private @Nullable Map<Name, E> symbols;
 
+    /**
+     * Whether {@link #symbols} is shared with copies of this namespace (see {@link #copy()}) and
+     * hence has to be copied before it is modified.
+     */
+    private boolean sharedSymbols;
+
     /**
      * A namespace can be made immutable, this is called "sealing". This flag indicates whether this
      * namespace has been sealed or not.
@@ -81,9 +87,11 @@ public class Namespace<E extends Named> {
 
         if (symbols == null) {
             symbols = Collections.singletonMap(sym.name(), sym);
+            sharedSymbols = false;
         } else {
-            if (symbols.size() == 1) {
+            if (symbols.size() == 1 || sharedSymbols) {
                 symbols = new LinkedHashMap<>(symbols);
+                sharedSymbols = false;
             }
             symbols.put(sym.name(), sym);
         }
@@ -128,6 +136,10 @@ public class Namespace<E extends Named> {
      */
     public void remove(Name name) {
         if (symbols != null) {
+            if (sharedSymbols) {
+                symbols = new LinkedHashMap<>(symbols);
+                sharedSymbols = false;
+            }
             symbols.remove(name);
         }
     }
@@ -221,10 +233,18 @@ public class Namespace<E extends Named> {
         return res + "]";
     }
 
+    /**
+     * Creates a copy of this namespace with the same parent. The table of symbols is shared by
+     * both namespaces until one of them is modified, so copying is cheap even for large namespaces.
+     *
+     * @return the copy
+     */
     public Namespace<E> copy() {
         Namespace<E> copy = new Namespace<>(parent);
         if (symbols != null) {
-            copy.add(symbols.values());
+            copy.symbols = symbols;
+            copy.sharedSymbols = true;
+            sharedSymbols = true;
         }
 
         return copy;
@@ -233,6 +253,7 @@ public class Namespace<E extends Named> {
     private void reset() {
         parent = null;
         symbols = null;
+        sharedSymbols = false;
     }
 
     public <T extends E> void set(ImmutableSet<T> names) {
@@ -0,0 +1,58 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.logic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamespaceTest {
+
+    private record Symbol(Name name) implements Named {
+        Symbol(String name) {
+            this(new Name(name));
+        }
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        final Namespace<Symbol> parent = new Namespace<>();
+        final Namespace<Symbol> original = new Namespace<>(parent);
+        final Symbol a = new Symbol("a");
+        final Symbol b = new Symbol("b");
+        original.add(a);
+        original.add(b);
+
+        final Namespace<Symbol> copy = original.copy();
+        assertSame(parent, copy.parent());
+        assertSame(a, copy.lookup("a"));
+        assertSame(b, copy.lookup("b"));
+
+        final Symbol c = new Symbol("c");
+        copy.add(c);
+        copy.remove(a.name());
+        assertSame(c, copy.lookup("c"));
+        assertNull(copy.lookup("a"));
+        assertNull(original.lookup("c"));
+        assertSame(a, original.lookup("a"));
+
+        final Symbol d = new Symbol("d");
+        original.add(d);
+        assertNull(copy.lookup("d"));
+        assertEquals(3, original.elements().size());
+        assertEquals(2, copy.elements().size());
+    }
+
+    @Test
+    void copyOfSingleton() {
+        final Namespace<Symbol> original = new Namespace<>();
+        final Symbol a = new Symbol("a");
+        original.add(a);
+
+        final Namespace<Symbol> copy = original.copy();
+        copy.remove(a.name());
+        assertTrue(copy.isEmpty());
+        assertSame(a, original.lookup("a"));
+    }
+}
@@ -24,6 +24,7 @@ import de.uka.ilkd.key.macros.SkipMacro;
 import de.uka.ilkd.key.proof.init.AbstractProfile;
 import de.uka.ilkd.key.proof.io.AutoSaver;
 import de.uka.ilkd.key.proof.io.RuleSourceFactory;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
 import de.uka.ilkd.key.settings.GeneralSettings;
 import de.uka.ilkd.key.settings.PathConfig;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
@@ -78,6 +79,7 @@ public final class Main {
     public static final String JUSTIFY_RULES = "--justify-rules";
     private static final String SAVE_ALL_CONTRACTS = "--save-all";
     private static final String TIMEOUT = "--timeout";
+    private static final String PROFILE = "--profile";
     private static final String EXAMPLES = "--examples";
     private static final String RIFL = "--rifl";
     public static final String JKEY_PREFIX = "--jr-";
@@ -158,6 +160,12 @@ public final class Main {
 
     private static ProofMacro autoMacro = new SkipMacro();
 
+    /**
+     * File the profiles of the proofs are appended to in auto mode, {@code null} if proofs are not
+     * profiled.
+     */
+    private static File profileFile = null;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
 
     /**
@@ -277,6 +285,9 @@ public final class Main {
         cl.addOption(TIMEOUT, "<timeout>",
             "timeout for each automatic proof of a problem in ms (default: "
                 + LemmataAutoModeOptions.DEFAULT_TIMEOUT + ", i.e., no timeout)");
+        cl.addOption(PROFILE, "<filename>",
+            "profile the automatic proofs and append their profiles to the file (one JSON "
+                + "object per line)");
         cl.addSection("Options for justify rules:");
         cl.addOption(JUSTIFY_RULES, "<filename>",
             "autoprove taclets (options always with prefix --jr) needs the path to the rule file as argument");
@@ -389,6 +400,12 @@ public final class Main {
             ProofSettings.DEFAULT_SETTINGS.getStrategySettings().setTimeout(timeout);
         }
 
+        if (cl.isSet(PROFILE)) {
+            profileFile = new File(cl.getString(PROFILE, ""));
+            System.setProperty(ProofProfile.ENABLED_PROPERTY, "true");
+            LOGGER.info("Profiles are written to {}", profileFile);
+        }
+
         if (cl.isSet(EXAMPLES)) {
             examplesDir = cl.getString(EXAMPLES, null);
         }
@@ -518,7 +535,9 @@ public final class Main {
                 printUsageAndExit(true, "Error: No file to load from.", -4);
             }
 
-            return new ConsoleUserInterfaceControl(loadOnly);
+            final ConsoleUserInterfaceControl ui = new ConsoleUserInterfaceControl(loadOnly);
+            ui.setProfileFile(profileFile);
+            return ui;
         } else {
             /*
              * explicitly enable pruning in closed branches for interactive mode (if not manually
@@ -386,7 +386,9 @@ public class WindowUserInterfaceControl extends AbstractMediatorUserInterfaceCon
             file = fc.getSelectedFile();
             final String filename = file.getAbsolutePath();
             ProofSaver saver;
-            if (fc.useCompression()) {
+            if (filename.endsWith(BinaryProofFormat.FILE_EXTENSION)) {
+                saver = new BinaryProofSaver(proof, filename, KeYConstants.INTERNAL_VERSION);
+            } else if (fc.useCompression()) {
                 saver = new GZipProofSaver(proof, filename, KeYConstants.INTERNAL_VERSION);
             } else {
                 saver = new ProofSaver(proof, filename, KeYConstants.INTERNAL_VERSION);
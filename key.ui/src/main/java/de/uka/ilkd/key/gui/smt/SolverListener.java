@@ -468,6 +468,7 @@ public class SolverListener implements SolverLauncherListener {
             progressModel.setText("Timeout.", x, y);
         }
         case User -> progressModel.setText("Interrupted by user.", x, y);
+        case Preempted -> progressModel.setText("Stopped, another solver was faster.", x, y);
         }
     }
 
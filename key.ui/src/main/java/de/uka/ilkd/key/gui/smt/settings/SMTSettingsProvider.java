@@ -67,6 +67,11 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
                 If this option is activated, each time before a solver is started\
                 it is checked whether the version of that solver is supported. If the version is not supported, a warning is\
                 presented in the progress dialog.""";
+    public static final String INFO_PORTFOLIO =
+        """
+                If this option is activated, the solvers started for a goal race against \
+                each other: Once a solver has proven the goal or found a counterexample, \
+                the other solvers of the goal are stopped.""";
     public static final String INFO_MAX_PROCESSES =
         "Maximal number or processes that are allowed to run concurrently";
     public static final String INFO_TIMEOUT_FIELD =
@@ -113,6 +118,7 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
     private final JSpinner objectBoundField;
     private final JSpinner locsetBoundField;
     private final JCheckBox solverSupportCheck;
+    private final JCheckBox portfolioCheck;
     private final JCheckBox enableOnLoad;
 
     private transient ProofIndependentSMTSettings settings;
@@ -129,6 +135,7 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
         locsetBoundField = createLocSetBoundField();
         seqBoundField = createSeqBoundField();
         solverSupportCheck = createSolverSupportCheck();
+        portfolioCheck = createPortfolioCheck();
         enableOnLoad = createEnableOnLoad();
 
         // Load all available solver types in the system according to SolverTypes.
@@ -234,6 +241,12 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
             e -> settings.setCheckForSupport(solverSupportCheck.isSelected()));
     }
 
+    private JCheckBox createPortfolioCheck() {
+        return addCheckBox("Stop the other solvers once a solver has a result",
+            INFO_PORTFOLIO, false,
+            e -> settings.setPortfolio(portfolioCheck.isSelected()));
+    }
+
     private JCheckBox createEnableOnLoad() {
         return addCheckBox("Enable SMT solvers when loading proofs",
             "", true,
@@ -258,6 +271,7 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
         this.settings = settings;
         saveToFilePanel.setText(this.settings.getPathForSMTTranslation());
         solverSupportCheck.setSelected(this.settings.isCheckForSupport());
+        portfolioCheck.setSelected(this.settings.isPortfolio());
         progressModeBox.setSelectedIndex(this.settings.getModeOfProgressDialog().ordinal());
         intBoundField.setValue(this.settings.getIntBound());
         locsetBoundField.setValue(this.settings.getLocsetBound());
@@ -31,6 +31,7 @@ import de.uka.ilkd.key.proof.init.Profile;
 import de.uka.ilkd.key.proof.init.ProofOblInput;
 import de.uka.ilkd.key.proof.io.ProblemLoader;
 import de.uka.ilkd.key.proof.io.ProofSaver;
+import de.uka.ilkd.key.proof.profiling.ProofProfile;
 import de.uka.ilkd.key.prover.impl.DefaultTaskStartedInfo;
 import de.uka.ilkd.key.rule.IBuiltInRuleApp;
 import de.uka.ilkd.key.scripts.ProofScriptEngine;
@@ -84,11 +85,40 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
      */
     public boolean allProofsSuccessful = true;
 
+    /**
+     * File the profiles of the finished proofs are appended to, {@code null} if profiles are not
+     * written.
+     */
+    private File profileFile = null;
+
     public ConsoleUserInterfaceControl(boolean loadOnly) {
         this.mediator = new KeYMediator(this);
         this.loadOnly = loadOnly;
     }
 
+    /**
+     * Sets the file the profiles of the finished proofs are appended to (as one JSON object per
+     * line, see {@link ProofProfile#writeJson(Appendable)}). Note that profiling has to be enabled
+     * separately.
+     *
+     * @param profileFile the file or {@code null} if no profiles are written
+     */
+    public void setProfileFile(File profileFile) {
+        this.profileFile = profileFile;
+    }
+
+    private void writeProfile(Proof proof) {
+        if (profileFile == null) {
+            return;
+        }
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(profileFile, true),
+            StandardCharsets.UTF_8)) {
+            proof.getProfile().writeJson(out);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write the profile to {}", profileFile, e);
+        }
+    }
+
     private void printResults(final int openGoals, TaskFinishedInfo info, final Object result2) {
         LOGGER.info("]"); // end progress bar
         LOGGER.info("[ DONE  ... rule application ]");
@@ -100,6 +130,7 @@ public class ConsoleUserInterfaceControl extends AbstractMediatorUserInterfaceCo
             LOGGER.debug("Automode Time: {} ms", stat.autoModeTimeInMillis);
             LOGGER.debug("Time per step: {} ms", stat.timePerStepInMillis);
         }
+        writeProfile((Proof) info.getProof());
         LOGGER.info("Number of goals remaining open: {}", openGoals);
         if (openGoals == 0) {
             LOGGER.info("Proved");
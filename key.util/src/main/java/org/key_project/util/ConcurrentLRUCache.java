@@ -0,0 +1,251 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A thread-safe, bounded cache with an approximated least-recently-used eviction policy.
+ *
+ * <p>
+ * The cache is split into segments, each of which is an {@link LRUCache} of a fraction of the
+ * maximal size protected by its own monitor. Hence, accesses to different segments do not block
+ * each other and the least recently used entry is evicted per segment. Callers do not need to (and
+ * should not) synchronize on the cache.
+ * </p>
+ *
+ * <p>
+ * The cache counts hits and misses of {@link #get(Object)} as well as evictions, which helps to
+ * choose a reasonable maximal size.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public class ConcurrentLRUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    /** minimal number of entries per segment */
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    /** maximal cache size */
+    private final int maxEntries;
+
+    private final Segment<K, V>[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * creates a new cache with maxEntries slots and a number of segments depending on the number of
+     * available processors
+     *
+     * @param maxEntries the maximal number of cached entries
+     */
+    public ConcurrentLRUCache(int maxEntries) {
+        this(maxEntries, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * creates a new cache with maxEntries slots
+     *
+     * @param maxEntries the maximal number of cached entries
+     * @param concurrencyLevel the estimated number of concurrently accessing threads; the number of
+     *        segments is the next power of two, but segments contain at least
+     *        {@value #MIN_SEGMENT_SIZE} entries
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLRUCache(int maxEntries, int concurrencyLevel) {
+        this.maxEntries = maxEntries;
+        int count = 1;
+        while (count < concurrencyLevel && (count << 1) * MIN_SEGMENT_SIZE <= maxEntries) {
+            count <<= 1;
+        }
+        segments = (Segment<K, V>[]) new Segment<?, ?>[count];
+        final int segmentSize = (maxEntries + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(segmentSize, evictions);
+        }
+    }
+
+    private Segment<K, V> segmentFor(@Nullable Object key) {
+        final int h = Objects.hashCode(key);
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    @Override
+    public @Nullable V get(@Nullable Object key) {
+        final Segment<K, V> segment = segmentFor(key);
+        final V result;
+        synchronized (segment) {
+            result = segment.get(key);
+        }
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    @Override
+    public @Nullable V put(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    @Override
+    public @Nullable V putIfAbsent(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.putIfAbsent(key, value);
+        }
+    }
+
+    @Override
+    public @Nullable V remove(@Nullable Object key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    @Override
+    public boolean remove(@Nullable Object key, @Nullable Object value) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key, value);
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.replace(key, oldValue, newValue);
+        }
+    }
+
+    @Override
+    public @Nullable V replace(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.replace(key, value);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cached entries. Changes of the cache are not reflected by the
+     * returned set and vice versa.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        final Map<K, V> snapshot = new LinkedHashMap<>();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                snapshot.putAll(segment);
+            }
+        }
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    /**
+     * @return the maximal number of cached entries
+     */
+    public int getMaxSize() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the number of calls of {@link #get(Object)} that found a cached value
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of calls of {@link #get(Object)} that did not find a cached value
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed to make room for new entries
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return a short human-readable summary of the usage counters of this cache
+     */
+    public String getStatistics() {
+        final long h = getHitCount();
+        final long total = h + getMissCount();
+        return String.format("size %d/%d, hits %d/%d (%.1f%%), evictions %d", size(), maxEntries,
+            h, total, total == 0 ? 0.0 : 100.0 * h / total, getEvictionCount());
+    }
+
+    /**
+     * A segment of the cache; all accesses have to hold the monitor of the segment.
+     */
+    private static final class Segment<K, V> extends LRUCache<K, V> {
+        private static final long serialVersionUID = -1439640312541233541L;
+
+        private final transient LongAdder evictions;
+
+        Segment(int maxEntries, LongAdder evictions) {
+            super(maxEntries);
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            final boolean remove = super.removeEldestEntry(eldest);
+            if (remove) {
+                evictions.increment();
+            }
+            return remove;
+        }
+    }
+}
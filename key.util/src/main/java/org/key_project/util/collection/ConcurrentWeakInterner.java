@@ -0,0 +1,261 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A thread-safe interning table, i.e., a canonicalizing set that maps each object to a
+ * representative of its equivalence class (with respect to {@link Object#equals(Object)}).
+ *
+ * <p>
+ * The representatives are only weakly referenced, so an interned object is dropped from the table
+ * as soon as it is no longer reachable from anywhere else. The table is split into independent
+ * stripes. Lookups ({@link #get(Object)}) are lock-free; adding a new representative
+ * ({@link #intern(Object)}) only locks the stripe the object belongs to, so there is no global
+ * monitor.
+ * </p>
+ *
+ * @param <T> the type of the interned objects
+ */
+public final class ConcurrentWeakInterner<T> {
+    /** initial number of buckets of each stripe */
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+    private final Stripe<T>[] stripes;
+
+    /** number of bits needed to address a stripe */
+    private final int stripeBits;
+
+    /**
+     * creates a new interning table with a number of stripes depending on the number of available
+     * processors
+     */
+    public ConcurrentWeakInterner() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * creates a new interning table
+     *
+     * @param concurrencyLevel the estimated number of concurrently modifying threads; the number of
+     *        stripes is the next power of two
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentWeakInterner(int concurrencyLevel) {
+        int bits = 1;
+        while ((1 << bits) < concurrencyLevel && bits < 16) {
+            bits++;
+        }
+        stripeBits = bits;
+        stripes = (Stripe<T>[]) new Stripe<?>[1 << bits];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Returns the representative of the given object if one has been interned before.
+     *
+     * @param obj the object to look up
+     * @return the representative equal to {@code obj} or {@code null} if there is none
+     */
+    public @Nullable T get(T obj) {
+        final int hash = hash(obj);
+        return stripeFor(hash).get(obj, hash);
+    }
+
+    /**
+     * Returns the representative of the given object. If there is none yet, {@code obj} becomes the
+     * representative of its equivalence class.
+     *
+     * @param obj the object to intern
+     * @return the representative equal to {@code obj}
+     */
+    public T intern(T obj) {
+        final int hash = hash(obj);
+        return stripeFor(hash).intern(obj, hash);
+    }
+
+    /**
+     * Returns the number of interned objects. Objects that have been garbage collected but not yet
+     * removed from the table may be included.
+     *
+     * @return the number of interned objects
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe<T> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * removes all interned objects
+     */
+    public void clear() {
+        for (Stripe<T> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private Stripe<T> stripeFor(int hash) {
+        // Fibonacci hashing, uses the high bits which are not used to address the buckets
+        return stripes[(hash * 0x9E3779B9) >>> (32 - stripeBits)];
+    }
+
+    private static int hash(Object obj) {
+        final int h = obj.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * An entry of a bucket chain. Entries are never modified after they became visible to
+     * readers, chains are changed by copying the part in front of the changed entry.
+     */
+    private static final class Entry<T> extends WeakReference<T> {
+        final int hash;
+        final @Nullable Entry<T> next;
+
+        Entry(T referent, int hash, @Nullable Entry<T> next, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    /**
+     * A single stripe, i.e., a hash table with lock-free reads. All modifications are performed
+     * while holding the monitor of the stripe.
+     */
+    private static final class Stripe<T> {
+        private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+        private volatile AtomicReferenceArray<@Nullable Entry<T>> table =
+            new AtomicReferenceArray<>(INITIAL_STRIPE_CAPACITY);
+        /** number of entries in {@link #table}; guarded by the monitor of this stripe */
+        private int count;
+
+        @Nullable
+        T get(T obj, int hash) {
+            final AtomicReferenceArray<@Nullable Entry<T>> tab = table;
+            for (Entry<T> e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+                if (e.hash == hash) {
+                    final T candidate = e.get();
+                    if (candidate != null && (candidate == obj || candidate.equals(obj))) {
+                        return candidate;
+                    }
+                }
+            }
+            return null;
+        }
+
+        synchronized T intern(T obj, int hash) {
+            expungeStaleEntries();
+            final T existing = get(obj, hash);
+            if (existing != null) {
+                return existing;
+            }
+            AtomicReferenceArray<@Nullable Entry<T>> tab = table;
+            if (count >= tab.length() - (tab.length() >>> 2)) {
+                tab = resize(tab);
+            }
+            final int idx = hash & (tab.length() - 1);
+            tab.set(idx, new Entry<>(obj, hash, tab.get(idx), queue));
+            count++;
+            return obj;
+        }
+
+        synchronized int size() {
+            expungeStaleEntries();
+            return count;
+        }
+
+        synchronized void clear() {
+            table = new AtomicReferenceArray<>(INITIAL_STRIPE_CAPACITY);
+            count = 0;
+            while (queue.poll() != null) {
+                // entries of the old table are no longer of interest
+            }
+        }
+
+        /**
+         * doubles the size of the given table; the new table is completely built before it is
+         * published to readers
+         */
+        private AtomicReferenceArray<@Nullable Entry<T>> resize(
+                AtomicReferenceArray<@Nullable Entry<T>> oldTable) {
+            final AtomicReferenceArray<@Nullable Entry<T>> newTable =
+                new AtomicReferenceArray<>(oldTable.length() << 1);
+            final int mask = newTable.length() - 1;
+            int newCount = 0;
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (Entry<T> e = oldTable.get(i); e != null; e = e.next) {
+                    final T referent = e.get();
+                    if (referent != null) {
+                        final int idx = e.hash & mask;
+                        newTable.set(idx, new Entry<>(referent, e.hash, newTable.get(idx), queue));
+                        newCount++;
+                    }
+                }
+            }
+            count = newCount;
+            table = newTable;
+            return newTable;
+        }
+
+        /**
+         * removes the entries whose referents have been garbage collected
+         */
+        private void expungeStaleEntries() {
+            Reference<? extends T> ref;
+            while ((ref = queue.poll()) != null) {
+                final Entry<?> stale = (Entry<?>) ref;
+                final AtomicReferenceArray<@Nullable Entry<T>> tab = table;
+                final int idx = stale.hash & (tab.length() - 1);
+                final Entry<T> head = tab.get(idx);
+                if (contains(head, stale)) {
+                    tab.set(idx, copyWithout(head, stale));
+                    count--;
+                }
+                // otherwise the entry has already been dropped by a resize or a previous copy
+            }
+        }
+
+        private static boolean contains(@Nullable Entry<?> chain, Entry<?> entry) {
+            for (Entry<?> e = chain; e != null; e = e.next) {
+                if (e == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * copies the part of the chain in front of {@code removed}, dropping entries whose referents
+         * have been garbage collected on the way
+         */
+        private @Nullable Entry<T> copyWithout(@Nullable Entry<T> head, Entry<?> removed) {
+            if (head == null) {
+                return null;
+            }
+            if (head == removed) {
+                return head.next;
+            }
+            final Entry<T> rest = copyWithout(head.next, removed);
+            final T referent = head.get();
+            if (referent == null) {
+                // will be enqueued as well, but is no longer contained in the chain
+                count--;
+                return rest;
+            }
+            return new Entry<>(referent, head.hash, rest, queue);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLRUCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(3, 1);
+        cache.put(1, "1");
+        cache.put(2, "2");
+        cache.put(3, "3");
+        // access 1, so that 2 is the least recently used entry
+        assertEquals("1", cache.get(1));
+        cache.put(4, "4");
+        assertEquals(3, cache.size());
+        assertNull(cache.get(2));
+        assertEquals("1", cache.get(1));
+        assertEquals("3", cache.get(3));
+        assertEquals("4", cache.get(4));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        final ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(100);
+        assertNull(cache.get("a"));
+        cache.put("a", "b");
+        assertEquals("b", cache.get("a"));
+        assertEquals("b", cache.get("a"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals("b", cache.putIfAbsent("a", "c"));
+        assertTrue(cache.remove("a", "b"));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void staysBoundedUnderConcurrentAccess() throws Exception {
+        final int maxSize = 1000;
+        final ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(maxSize, 8);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t * 10000;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        cache.put(offset + i, i);
+                        final Integer value = cache.get(offset + i / 2);
+                        assertTrue(value == null || value == i / 2);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= maxSize);
+        assertEquals(80000, cache.getHitCount() + cache.getMissCount());
+        assertEquals(80000 - cache.size(), cache.getEvictionCount());
+    }
+}
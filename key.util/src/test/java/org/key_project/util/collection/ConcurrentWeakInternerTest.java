@@ -0,0 +1,94 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentWeakInternerTest {
+
+    // make reasonably sure that gc has been run and collected unreachable objects
+    private void encourageGC(int nr) {
+        for (int i = 0; i < nr; i++) {
+            System.gc();
+        }
+    }
+
+    @Test
+    void internReturnsRepresentative() {
+        ConcurrentWeakInterner<String> interner = new ConcurrentWeakInterner<>();
+        final String a = new String("term");
+        final String b = new String("term");
+        assertNull(interner.get(a));
+        assertSame(a, interner.intern(a));
+        assertSame(a, interner.intern(b));
+        assertSame(a, interner.get(b));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        ConcurrentWeakInterner<Integer> interner = new ConcurrentWeakInterner<>(2);
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            values.add(interner.intern(i * 31));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertSame(values.get(i), interner.get(i * 31));
+        }
+        assertEquals(10000, interner.size());
+        interner.clear();
+        assertEquals(0, interner.size());
+        assertNull(interner.get(31));
+    }
+
+    @Test
+    void unreachableObjectsAreDropped() {
+        ConcurrentWeakInterner<Object> interner = new ConcurrentWeakInterner<>();
+        final Object kept = new Object();
+        interner.intern(kept);
+        for (int i = 0; i < 1000; i++) {
+            interner.intern(new Object());
+        }
+        encourageGC(100);
+        assertSame(kept, interner.get(kept));
+        assertTrue(interner.size() < 1001,
+            "As the objects are no longer reachable they should have been removed");
+    }
+
+    @Test
+    void concurrentInterningAgreesOnRepresentative() throws Exception {
+        final ConcurrentWeakInterner<String> interner = new ConcurrentWeakInterner<>();
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    final List<String> representatives = new ArrayList<>();
+                    for (int i = 0; i < 5000; i++) {
+                        representatives.add(interner.intern(new String("s" + i)));
+                    }
+                    return representatives;
+                }));
+            }
+            final List<String> first = results.get(0).get();
+            for (Future<List<String>> result : results) {
+                final List<String> representatives = result.get();
+                for (int i = 0; i < first.size(); i++) {
+                    assertSame(first.get(i), representatives.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
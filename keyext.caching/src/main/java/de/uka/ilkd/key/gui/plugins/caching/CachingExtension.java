@@ -35,6 +35,7 @@ import de.uka.ilkd.key.proof.RuleAppListener;
 import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
 import de.uka.ilkd.key.proof.event.ProofDisposedListener;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
+import de.uka.ilkd.key.proof.reference.ClosedGoalIndexStore;
 import de.uka.ilkd.key.proof.reference.CopyReferenceResolver;
 import de.uka.ilkd.key.proof.reference.ReferenceSearcher;
 import de.uka.ilkd.key.proof.replay.CopyingProofReplayer;
@@ -188,6 +189,20 @@ public class CachingExtension
     @Override
     public void init(MainWindow window, KeYMediator mediator) {
         cachingPruneHandler = new CachingPruneHandler(mediator);
+        ProofCachingSettings settings = CachingSettingsProvider.getCachingSettings();
+        updateIndexStore(settings);
+        settings.addPropertyChangeListener(ProofCachingSettings.PERSIST_INDEX_KEY,
+            e -> updateIndexStore(settings));
+    }
+
+    /**
+     * Enables or disables the persistent storage of closed goal indices according to the settings.
+     *
+     * @param settings the proof caching settings
+     */
+    private static void updateIndexStore(ProofCachingSettings settings) {
+        ClosedGoalIndexStore.setDirectory(
+            settings.getPersistIndex() ? ClosedGoalIndexStore.DEFAULT_DIRECTORY : null);
     }
 
     @Override
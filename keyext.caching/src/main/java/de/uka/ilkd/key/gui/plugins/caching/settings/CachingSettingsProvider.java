@@ -47,6 +47,11 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      */
     private static final String PRUNE_TITLE =
         "Behaviour when pruning into referenced proof";
+    /**
+     * Label for fourth option.
+     */
+    private static final String PERSIST_INDEX =
+        "Store the index of closed goals of loaded proofs";
 
     /**
      * Checkbox for first option.
@@ -60,6 +65,10 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      * Combobox for third option (prune behaviour).
      */
     private final JComboBox<String> pruneOption;
+    /**
+     * Checkbox for fourth option.
+     */
+    private final JCheckBox persistIndex;
 
     /**
      * Construct a new settings provider.
@@ -81,6 +90,11 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
                  all cached branches that reference it.""",
             0, x -> {
             }, PRUNE_REOPEN, PRUNE_COPY);
+        persistIndex = addCheckBox(PERSIST_INDEX, """
+                Stores the index used to search for references in the KeY
+                 configuration directory, so that it is not rebuilt when
+                 the same proof is loaded again.""",
+            false, emptyValidator());
     }
 
     @Override
@@ -102,6 +116,7 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
         strategySearch.setSelected(ss.getEnabled());
         disposeOption.setSelectedItem(ss.getDispose());
         pruneOption.setSelectedItem(ss.getPrune());
+        persistIndex.setSelected(ss.getPersistIndex());
         return this;
     }
 
@@ -111,6 +126,7 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
         ss.setEnabled(strategySearch.isEnabled());
         ss.setDispose(disposeOption.getSelectedItem().toString());
         ss.setPrune(pruneOption.getSelectedItem().toString());
+        ss.setPersistIndex(persistIndex.isSelected());
     }
 
 
@@ -28,6 +28,10 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
      * Key ID for {@link #prune}.
      */
     private static final String PRUNE_KEY = "Prune";
+    /**
+     * Key ID for {@link #persistIndex}.
+     */
+    public static final String PERSIST_INDEX_KEY = "PersistIndex";
 
 
     /**
@@ -45,6 +49,12 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
      */
     private final AbstractPropertiesSettings.PropertyEntry<String> prune =
         createStringProperty(PRUNE_KEY, "");
+    /**
+     * Whether the indices of closed goals are stored in the KeY configuration directory, so that
+     * they can be reused when the same proof is loaded again.
+     */
+    private final AbstractPropertiesSettings.PropertyEntry<Boolean> persistIndex =
+        createBooleanProperty(PERSIST_INDEX_KEY, false);
 
     public ProofCachingSettings() {
         super("ProofCaching");
@@ -95,4 +105,17 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
     public void setPrune(String operation) {
         prune.set(operation);
     }
+
+    public boolean getPersistIndex() {
+        return persistIndex.get();
+    }
+
+    /**
+     * Set whether the indices of closed goals are stored persistently.
+     *
+     * @param persist value
+     */
+    public void setPersistIndex(boolean persist) {
+        persistIndex.set(persist);
+    }
 }
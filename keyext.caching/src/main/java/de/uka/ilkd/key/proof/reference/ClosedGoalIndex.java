@@ -0,0 +1,355 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.util.*;
+
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.Modality;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.ProofTreeEvent;
+import de.uka.ilkd.key.proof.ProofTreeListener;
+import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
+
+import org.key_project.logic.op.Operator;
+import org.key_project.prover.sequent.Semisequent;
+import org.key_project.prover.sequent.Sequent;
+import org.key_project.prover.sequent.SequentFormula;
+import org.key_project.slicing.DependencyTracker;
+import org.key_project.slicing.analysis.AnalysisResults;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Index of the closed branches of a proof which can be referenced when closing a goal of another
+ * proof (see {@link ReferenceSearcher}).
+ *
+ * <p>
+ * Each indexed node is described by the fingerprints of the formulas of its sequent (or of the
+ * sequent reduced to the formulas used in the proof, if a {@link DependencyTracker} is
+ * available). A fingerprint only depends on the names of the operators of a formula, so formulas
+ * which are equal modulo proof irrelevancy have equal fingerprints, also across different proofs
+ * and sessions. To determine the nodes whose sequent is a subset of a given sequent, each node is
+ * filed under the fingerprint of its formula which is least frequent in the proof. Only the nodes
+ * filed under a fingerprint of the given sequent have to be checked.
+ * </p>
+ *
+ * <p>
+ * The index of a proof is created on demand by {@link #of(Proof)} and rebuilt after the proof
+ * has changed. If the proof has been loaded from a file, the index is saved by
+ * {@link ClosedGoalIndexStore} and restored when the same proof is loaded again.
+ * </p>
+ */
+public final class ClosedGoalIndex {
+    /** mixed into the fingerprints of succedent formulas to distinguish them */
+    private static final long SUCCEDENT = 0x9E3779B97F4A7C15L;
+
+    private final Proof proof;
+    /** the indexed nodes, in the order in which they are preferred */
+    private final List<Entry> entries;
+    /** the indexed nodes by the fingerprint of their least frequent formula */
+    private final Map<Long, List<Entry>> entriesByAnchor = new HashMap<>();
+    /** the indexed nodes with an empty sequent */
+    private final List<Entry> unconditional = new ArrayList<>();
+    /** whether the index was built for reduced sequents */
+    private final boolean reduced;
+    /** the analysis used to reduce the sequents, computed on demand if restored */
+    private @Nullable AnalysisResults results;
+    /** whether {@link #results} have been computed (successfully or not) */
+    private boolean analyzed;
+    /** whether the proof changed after the index was created */
+    private volatile boolean stale;
+
+    private final ProofTreeListener invalidator = new ProofTreeListener() {
+        @Override
+        public void proofExpanded(ProofTreeEvent e) {
+            stale = true;
+        }
+
+        @Override
+        public void proofPruned(ProofTreeEvent e) {
+            stale = true;
+        }
+
+        @Override
+        public void proofStructureChanged(ProofTreeEvent e) {
+            stale = true;
+        }
+
+        @Override
+        public void proofGoalRemoved(ProofTreeEvent e) {
+            stale = true;
+        }
+
+        @Override
+        public void proofGoalsAdded(ProofTreeEvent e) {
+            stale = true;
+        }
+
+        @Override
+        public void proofGoalsChanged(ProofTreeEvent e) {
+            stale = true;
+        }
+    };
+
+    /**
+     * An indexed node.
+     *
+     * @param rank the position of the entry in the list of all entries
+     * @param node the first node of a closed branch
+     * @param keys the fingerprints of the formulas of its (reduced) sequent, without duplicates
+     */
+    record Entry(int rank, Node node, long[] keys) {
+    }
+
+    /**
+     * Creates an index.
+     *
+     * @param proof the indexed proof
+     * @param entries the indexed nodes, ordered by their rank
+     * @param reduced whether the sequents of the nodes are reduced by a dependency analysis
+     * @param results the result of that analysis, if available
+     * @param analyzed whether the analysis has already been performed
+     */
+    ClosedGoalIndex(Proof proof, List<Entry> entries, boolean reduced,
+            @Nullable AnalysisResults results, boolean analyzed) {
+        this.proof = proof;
+        this.entries = entries;
+        this.reduced = reduced;
+        this.results = results;
+        this.analyzed = analyzed;
+
+        final Map<Long, Integer> frequency = new HashMap<>();
+        for (Entry entry : entries) {
+            for (long key : entry.keys) {
+                frequency.merge(key, 1, Integer::sum);
+            }
+        }
+        for (Entry entry : entries) {
+            if (entry.keys.length == 0) {
+                unconditional.add(entry);
+                continue;
+            }
+            long anchor = entry.keys[0];
+            for (long key : entry.keys) {
+                if (frequency.get(key) < frequency.get(anchor)) {
+                    anchor = key;
+                }
+            }
+            entriesByAnchor.computeIfAbsent(anchor, k -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    /**
+     * Returns the index of the given proof, creating it if the proof has not been indexed yet or
+     * has changed since.
+     *
+     * @param proof a proof
+     * @return the index of the closed branches of the proof
+     */
+    public static ClosedGoalIndex of(Proof proof) {
+        synchronized (proof) {
+            final boolean reduce = shouldReduce(proof);
+            final ClosedGoalIndex existing = proof.lookup(ClosedGoalIndex.class);
+            if (existing != null && !existing.stale && existing.reduced == reduce) {
+                return existing;
+            }
+            if (existing != null) {
+                proof.removeProofTreeListener(existing.invalidator);
+                proof.deregister(existing, ClosedGoalIndex.class);
+            }
+
+            ClosedGoalIndex index = ClosedGoalIndexStore.load(proof, reduce);
+            if (index == null) {
+                index = build(proof, reduce);
+                ClosedGoalIndexStore.save(index);
+            }
+            proof.addProofTreeListener(index.invalidator);
+            proof.register(index, ClosedGoalIndex.class);
+            return index;
+        }
+    }
+
+    /**
+     * Sequents are reduced to the formulas used in the proof if its dependencies are tracked and
+     * it is a pure proof, i.e., none of its branches is closed by reference.
+     */
+    private static boolean shouldReduce(Proof proof) {
+        return proof.lookup(DependencyTracker.class) != null && proof.closedGoals().stream()
+                .noneMatch(x -> x.node().lookup(ClosedBy.class) != null);
+    }
+
+    private static @Nullable AnalysisResults analyze(Proof proof) {
+        try {
+            return Objects.requireNonNull(proof.lookup(DependencyTracker.class))
+                    .analyze(true, false);
+        } catch (Exception ignored) {
+            // if the analysis for some reason fails, we simply proceed as usual
+            return null;
+        }
+    }
+
+    /**
+     * Determines the nodes that may be referenced, that is the first node of each closed branch
+     * which is not closed by merging. Parents are visited after their children (in breadth-first
+     * order starting at the closed goals), so that nodes closer to the closed goals are preferred.
+     *
+     * @param proof the proof
+     * @return the nodes in the order in which they are preferred
+     */
+    static List<Node> collectNodes(Proof proof) {
+        final List<Node> result = new ArrayList<>();
+        final Set<Node> checkedNodes = new HashSet<>();
+        final Queue<Node> nodesToCheck = new ArrayDeque<>();
+        for (Goal goal : proof.closedGoals()) {
+            Node n = goal.node();
+            if (n.parent() == null
+                    || n.parent().getAppliedRuleApp().rule() != CloseAfterMerge.INSTANCE) {
+                nodesToCheck.add(n);
+            }
+        }
+        while (!nodesToCheck.isEmpty()) {
+            Node n = nodesToCheck.remove();
+            if (checkedNodes.contains(n) || !n.isClosed()) {
+                continue;
+            }
+            checkedNodes.add(n);
+
+            // find the first node in the branch
+            while (n.parent() != null && n.parent().childrenCount() == 1) {
+                n = n.parent();
+            }
+            if (n.parent() != null) {
+                nodesToCheck.add(n.parent());
+            }
+            result.add(n);
+        }
+        return result;
+    }
+
+    private static ClosedGoalIndex build(Proof proof, boolean reduce) {
+        final AnalysisResults results = reduce ? analyze(proof) : null;
+        final List<Entry> entries = new ArrayList<>();
+        for (Node n : collectNodes(proof)) {
+            final Sequent seq = results != null ? results.reduceSequent(n) : n.sequent();
+            entries.add(new Entry(entries.size(), n, keys(seq)));
+        }
+        return new ClosedGoalIndex(proof, entries, reduce, results, reduce);
+    }
+
+    /**
+     * Searches a node whose (reduced) sequent is contained in the given sequent.
+     *
+     * @param sequent the sequent of the goal to close
+     * @return a reference to the first such node or null if there is none
+     */
+    public synchronized @Nullable ClosedBy find(Sequent sequent) {
+        final long[] keys = keys(sequent);
+        final Set<Long> available = new HashSet<>(keys.length * 2);
+        final List<Entry> candidates = new ArrayList<>(unconditional);
+        for (long key : keys) {
+            available.add(key);
+            candidates.addAll(entriesByAnchor.getOrDefault(key, Collections.emptyList()));
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        candidates.sort(Comparator.comparingInt(Entry::rank));
+
+        for (Entry entry : candidates) {
+            if (!containsAll(available, entry.keys)) {
+                continue;
+            }
+            if (reduced && !analyzed) {
+                results = analyze(proof);
+                analyzed = true;
+            }
+            final Node n = entry.node;
+            final Sequent seq = results != null ? results.reduceSequent(n) : n.sequent();
+            if (!ReferenceSearcher.containedIn(sequent.antecedent(), seq.antecedent())
+                    || !ReferenceSearcher.containedIn(sequent.succedent(), seq.succedent())) {
+                continue;
+            }
+            final Set<Node> toSkip = new HashSet<>();
+            if (results != null) {
+                // computed skipped nodes by iterating through all nodes
+                final AnalysisResults finalResults = results;
+                n.subtreeIterator().forEachRemaining(x -> {
+                    if (!finalResults.usefulSteps.contains(x)) {
+                        toSkip.add(x);
+                    }
+                });
+            }
+            return new ClosedBy(proof, n, toSkip);
+        }
+        return null;
+    }
+
+    private static boolean containsAll(Set<Long> available, long[] keys) {
+        for (long key : keys) {
+            if (!available.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Proof getProof() {
+        return proof;
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    boolean isReduced() {
+        return reduced;
+    }
+
+    /**
+     * @param sequent a sequent
+     * @return the fingerprints of the formulas of the sequent, without duplicates
+     */
+    static long[] keys(Sequent sequent) {
+        final Set<Long> keys = new LinkedHashSet<>();
+        addKeys(sequent.antecedent(), 0, keys);
+        addKeys(sequent.succedent(), SUCCEDENT, keys);
+        final long[] result = new long[keys.size()];
+        int i = 0;
+        for (long key : keys) {
+            result[i++] = key;
+        }
+        return result;
+    }
+
+    private static void addKeys(Semisequent semisequent, long salt, Set<Long> keys) {
+        for (SequentFormula sf : semisequent) {
+            keys.add(fingerprint((Term) sf.formula()) ^ salt);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of a term which is equal for all terms that are equal modulo proof
+     * irrelevancy. It only depends on the names and arities of the operators, so it is stable
+     * across proofs and sessions.
+     *
+     * @param term a term
+     * @return the fingerprint
+     */
+    static long fingerprint(Term term) {
+        final Operator op = term.op();
+        final String name =
+            op instanceof Modality mod ? mod.kind().name().toString() : op.name().toString();
+        long hash = name.hashCode() * 31L + op.arity();
+        for (int i = 0; i < term.arity(); i++) {
+            hash = hash * 0x100000001B3L + fingerprint(term.sub(i));
+        }
+        // finalizer of SplitMix64 to spread the bits
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,162 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.PathConfig;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the {@link ClosedGoalIndex} of proofs loaded from a file, so that it does not have to
+ * be rebuilt when the same proof is loaded in another session.
+ *
+ * <p>
+ * The index of a proof is stored in a file named after the path of the proof file. It refers to
+ * the indexed nodes by their serial number and is only restored if the proof file has not been
+ * modified and the loaded proof has the same shape (number of nodes and closed goals) as the
+ * indexed one. Since the fingerprints of the formulas only depend on the names of the operators,
+ * they remain valid in another session. Any doubt leads to rebuilding the index.
+ * </p>
+ * <p>
+ * Storage is disabled unless a directory is set, e.g., by the proof caching extension if enabled
+ * in its settings.
+ * </p>
+ */
+public final class ClosedGoalIndexStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClosedGoalIndexStore.class);
+
+    private static final int MAGIC = 0x4B654943; // "KeIC"
+    private static final int VERSION = 1;
+
+    /** the directory used if storage is enabled by the user */
+    public static final File DEFAULT_DIRECTORY =
+        new File(PathConfig.getKeyConfigDir(), "proofCaching");
+
+    /** the directory containing the stored indices, null if storage is disabled */
+    private static volatile @Nullable File directory;
+
+    private ClosedGoalIndexStore() {
+    }
+
+    /**
+     * Sets the directory in which indices are stored.
+     *
+     * @param dir the directory or null to disable storage
+     */
+    public static void setDirectory(@Nullable File dir) {
+        directory = dir;
+    }
+
+    private static @Nullable File fileOf(Proof proof) {
+        final File dir = directory;
+        final File proofFile = proof.getProofFile();
+        if (dir == null || proofFile == null || !proofFile.isFile()) {
+            return null;
+        }
+        final String path = proofFile.getAbsolutePath();
+        return new File(dir, Integer.toHexString(path.hashCode()) + ".idx");
+    }
+
+    /**
+     * Restores the stored index of a proof.
+     *
+     * @param proof the proof
+     * @param reduced whether the index has to be built for reduced sequents
+     * @return the restored index or null if there is no valid stored index
+     */
+    static @Nullable ClosedGoalIndex load(Proof proof, boolean reduced) {
+        final File file = fileOf(proof);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        final File proofFile = proof.getProofFile();
+        try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || !in.readUTF().equals(proofFile.getAbsolutePath())
+                    || in.readLong() != proofFile.length()
+                    || in.readLong() != proofFile.lastModified()
+                    || in.readInt() != proof.countNodes()
+                    || in.readInt() != proof.closedGoals().size()
+                    || in.readBoolean() != reduced) {
+                return null;
+            }
+            final int count = in.readInt();
+            final int[] serialNrs = new int[count];
+            final long[][] keys = new long[count][];
+            for (int i = 0; i < count; i++) {
+                serialNrs[i] = in.readInt();
+                keys[i] = new long[in.readInt()];
+                for (int j = 0; j < keys[i].length; j++) {
+                    keys[i][j] = in.readLong();
+                }
+            }
+
+            final Map<Integer, Node> nodes = new HashMap<>();
+            proof.root().subtreeIterator().forEachRemaining(n -> nodes.put(n.serialNr(), n));
+            final List<ClosedGoalIndex.Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final Node node = nodes.get(serialNrs[i]);
+                if (node == null || !node.isClosed()) {
+                    return null;
+                }
+                entries.add(new ClosedGoalIndex.Entry(i, node, keys[i]));
+            }
+            return new ClosedGoalIndex(proof, entries, reduced, null, false);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to load closed goal index {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the index of a proof, if the proof has been loaded from a file.
+     *
+     * @param index the index to store
+     */
+    static void save(ClosedGoalIndex index) {
+        final Proof proof = index.getProof();
+        final File file = fileOf(proof);
+        if (file == null) {
+            return;
+        }
+        final File proofFile = proof.getProofFile();
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(proofFile.getAbsolutePath());
+                out.writeLong(proofFile.length());
+                out.writeLong(proofFile.lastModified());
+                out.writeInt(proof.countNodes());
+                out.writeInt(proof.closedGoals().size());
+                out.writeBoolean(index.isReduced());
+                final List<ClosedGoalIndex.Entry> entries = index.getEntries();
+                out.writeInt(entries.size());
+                for (ClosedGoalIndex.Entry entry : entries) {
+                    out.writeInt(entry.node().serialNr());
+                    out.writeInt(entry.keys().length);
+                    for (long key : entry.keys()) {
+                        out.writeLong(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to save closed goal index {}", file, e);
+        }
+    }
+}
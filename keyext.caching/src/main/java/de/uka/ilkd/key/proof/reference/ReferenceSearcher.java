@@ -4,20 +4,16 @@
 package de.uka.ilkd.key.proof.reference;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.rule.EqualityModuloProofIrrelevancy;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
-import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
 
 import org.key_project.prover.sequent.Semisequent;
 import org.key_project.prover.sequent.Sequent;
 import org.key_project.prover.sequent.SequentFormula;
-import org.key_project.slicing.DependencyTracker;
-import org.key_project.slicing.analysis.AnalysisResults;
 
 /**
  * Utility class for proof caching.
@@ -73,66 +69,9 @@ public final class ReferenceSearcher {
                     .equals(newNode.proof().getSettings().getChoiceSettings())) {
                 continue;
             }
-            Set<Node> checkedNodes = new HashSet<>();
-            Queue<Node> nodesToCheck = p.closedGoals().stream().map(goal -> {
-                // first, find the initial node in this branch
-                Node n = goal.node();
-                if (n.parent() != null
-                        && n.parent().getAppliedRuleApp().rule() == CloseAfterMerge.INSTANCE) {
-                    // cannot reference this kind of branch
-                    return null;
-                }
-                return n;
-            }).filter(Objects::nonNull).collect(Collectors.toCollection(ArrayDeque::new));
-            var depTracker = p.lookup(DependencyTracker.class);
-            AnalysisResults results = null;
-            // only try to get analysis results if it is a pure proof
-            if (depTracker != null && p.closedGoals().stream()
-                    .noneMatch(x -> x.node().lookup(ClosedBy.class) != null)) {
-                try {
-                    results = depTracker.analyze(true, false);
-                } catch (Exception ignored) {
-                    // if the analysis for some reason fails, we simply proceed as usual
-                }
-            }
-            while (!nodesToCheck.isEmpty()) {
-                // for each node, check that the sequent in the reference is
-                // a subset of the new sequent
-                Node n = nodesToCheck.remove();
-                if (checkedNodes.contains(n) || !n.isClosed()) {
-                    continue;
-                }
-                checkedNodes.add(n);
-
-                // find the first node in the branch
-                while (n.parent() != null && n.parent().childrenCount() == 1) {
-                    n = n.parent();
-                }
-                if (n.parent() != null) {
-                    nodesToCheck.add(n.parent());
-                }
-                Sequent seq = n.sequent();
-                if (results != null) {
-                    seq = results.reduceSequent(n);
-                }
-                Semisequent ante = seq.antecedent();
-                Semisequent succ = seq.succedent();
-                Semisequent anteNew = newNode.sequent().antecedent();
-                Semisequent succNew = newNode.sequent().succedent();
-                if (!containedIn(anteNew, ante) || !containedIn(succNew, succ)) {
-                    continue;
-                }
-                Set<Node> toSkip = new HashSet<>();
-                if (results != null) {
-                    // computed skipped nodes by iterating through all nodes
-                    AnalysisResults finalResults = results;
-                    n.subtreeIterator().forEachRemaining(x -> {
-                        if (!finalResults.usefulSteps.contains(x)) {
-                            toSkip.add(x);
-                        }
-                    });
-                }
-                return new ClosedBy(p, n, toSkip);
+            final ClosedBy reference = ClosedGoalIndex.of(p).find(newNode.sequent());
+            if (reference != null) {
+                return reference;
             }
         }
         return null;
@@ -145,7 +84,7 @@ public final class ReferenceSearcher {
      * @param subset Semisequent supposed to be in {@code superset}
      * @return whether all formulas are present
      */
-    private static boolean containedIn(Semisequent superset, Semisequent subset) {
+    static boolean containedIn(Semisequent superset, Semisequent subset) {
         for (SequentFormula sf : subset) {
             boolean found = false;
             for (SequentFormula sf2 : superset) {
@@ -0,0 +1,101 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestClosedGoalIndex {
+    private static final File testCaseDirectory = FindResources.getTestCasesDirectory();
+    private static final File PROOF = new File(testCaseDirectory,
+        "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof");
+
+    @BeforeEach
+    void setUp() {
+        // closed goals are only kept if pruning closed branches is allowed
+        GeneralSettings.noPruningClosed = false;
+    }
+
+    @AfterEach
+    void tearDown() {
+        GeneralSettings.noPruningClosed = true;
+        ClosedGoalIndexStore.setDirectory(null);
+    }
+
+    private static Proof load() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(PROOF);
+        return env.getLoadedProof();
+    }
+
+    @Test
+    void fingerprintsAreStableAcrossProofs() throws Exception {
+        ClosedGoalIndexStore.setDirectory(null);
+        Proof p = load();
+        Proof p2 = load();
+
+        ClosedGoalIndex index = ClosedGoalIndex.of(p);
+        assertFalse(index.getEntries().isEmpty());
+        assertSame(index, ClosedGoalIndex.of(p));
+        ClosedGoalIndex index2 = ClosedGoalIndex.of(p2);
+        assertEquals(index.getEntries().size(), index2.getEntries().size());
+        for (int i = 0; i < index.getEntries().size(); i++) {
+            ClosedGoalIndex.Entry e = index.getEntries().get(i);
+            ClosedGoalIndex.Entry e2 = index2.getEntries().get(i);
+            assertEquals(e.node().serialNr(), e2.node().serialNr());
+            assertArrayEquals(e.keys(), e2.keys());
+
+            // every indexed node is found for its own sequent
+            ClosedBy c = index2.find(e.node().sequent());
+            assertNotNull(c);
+            assertSame(p2, c.proof());
+        }
+
+        // changing the proof invalidates the index
+        p.pruneProof(index.getEntries().get(0).node());
+        assertNotSame(index, ClosedGoalIndex.of(p));
+        assertTrue(ClosedGoalIndex.of(p).getEntries().size() < index.getEntries().size());
+
+        p.dispose();
+        p2.dispose();
+    }
+
+    @Test
+    void storedIndexIsRestored(@TempDir Path dir) throws Exception {
+        ClosedGoalIndexStore.setDirectory(dir.toFile());
+        Proof p = load();
+        List<ClosedGoalIndex.Entry> entries = ClosedGoalIndex.of(p).getEntries();
+        assertEquals(1, dir.toFile().list().length);
+        p.dispose();
+
+        Proof p2 = load();
+        ClosedGoalIndex restored = ClosedGoalIndexStore.load(p2, false);
+        assertNotNull(restored);
+        assertEquals(entries.size(), restored.getEntries().size());
+        for (int i = 0; i < entries.size(); i++) {
+            Node n = restored.getEntries().get(i).node();
+            assertSame(p2, n.proof());
+            assertEquals(entries.get(i).node().serialNr(), n.serialNr());
+            assertArrayEquals(entries.get(i).keys(), restored.getEntries().get(i).keys());
+        }
+        // stored for sequents that were not reduced
+        assertNull(ClosedGoalIndexStore.load(p2, true));
+        p2.dispose();
+    }
+}